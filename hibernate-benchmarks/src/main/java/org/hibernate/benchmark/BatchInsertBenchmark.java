@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Author;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a flush of many new entities through JDBC batching
+ * ({@code BatchImpl}), with and without insert ordering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+	@Param({ "1000" })
+	public int booksPerFlush;
+
+	@Param({ "50" })
+	public int batchSize;
+
+	@Param({ "false", "true" })
+	public boolean orderInserts;
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final Map<String, Object> settings = new HashMap<>();
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, batchSize );
+		settings.put( AvailableSettings.ORDER_INSERTS, orderInserts );
+		sessionFactory = BenchmarkSessionFactories.build( settings );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public void insert() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			// interleave the entity types, so that ordering has an effect
+			Author author = null;
+			for ( int i = 0; i < booksPerFlush; i++ ) {
+				if ( i % 10 == 0 ) {
+					author = new Author( (long) i, "Author " + i, "BE" );
+					session.persist( author );
+				}
+				session.persist( BenchmarkSessionFactories.createBook( author, i ) );
+			}
+			session.flush();
+			// roll back, so that each invocation inserts into the same (empty) tables
+			session.getTransaction().rollback();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import jakarta.persistence.ValidationMode;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Author;
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.tool.schema.Action;
+
+/**
+ * Builds the {@link SessionFactoryImplementor} shared by the benchmarks.
+ * <p>
+ * Each factory gets its own private in-memory H2 database so that benchmarks
+ * never see each other's data and need no external infrastructure.
+ */
+public final class BenchmarkSessionFactories {
+	private static final AtomicInteger DB_COUNTER = new AtomicInteger();
+
+	private BenchmarkSessionFactories() {
+	}
+
+	/**
+	 * Build a SessionFactory for the benchmark model, applying the given
+	 * settings on top of the defaults.
+	 */
+	public static SessionFactoryImplementor build(Map<String, Object> settings) {
+		final StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.URL, "jdbc:h2:mem:bench" + DB_COUNTER.incrementAndGet() + ";DB_CLOSE_DELAY=-1" )
+				.applySetting( AvailableSettings.USER, "sa" )
+				.applySetting( AvailableSettings.PASS, "" )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, Action.CREATE_DROP )
+				.applySetting( AvailableSettings.SHOW_SQL, false )
+				.applySetting( AvailableSettings.GENERATE_STATISTICS, false )
+				.applySetting( AvailableSettings.JAKARTA_VALIDATION_MODE, ValidationMode.NONE )
+				.applySettings( settings );
+
+		final StandardServiceRegistry registry = registryBuilder.build();
+		try {
+			return (SessionFactoryImplementor) new MetadataSources( registry )
+					.addAnnotatedClass( Author.class )
+					.addAnnotatedClass( Book.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+	}
+
+	/**
+	 * Insert {@code authors} authors, each with {@code booksPerAuthor} books.
+	 * Author ids are assigned sequentially starting at 1.
+	 */
+	public static void populate(SessionFactoryImplementor sessionFactory, int authors, int booksPerAuthor) {
+		sessionFactory.inTransaction(
+				session -> {
+					for ( int a = 1; a <= authors; a++ ) {
+						final Author author = new Author( (long) a, "Author " + a, a % 2 == 0 ? "BE" : "NL" );
+						session.persist( author );
+						for ( int b = 0; b < booksPerAuthor; b++ ) {
+							session.persist( createBook( author, b ) );
+						}
+						flushAndClearPeriodically( session, a );
+					}
+				}
+		);
+	}
+
+	static Book createBook(Author author, int index) {
+		return new Book(
+				"Title " + index + " by " + author.getName(),
+				"978-" + author.getId() + "-" + index,
+				100 + index,
+				BigDecimal.valueOf( 1000 + index, 2 ),
+				LocalDate.of( 2000, 1, 1 ).plusDays( index ),
+				author
+		);
+	}
+
+	private static void flushAndClearPeriodically(Session session, int count) {
+		if ( count % 50 == 0 ) {
+			session.flush();
+			session.clear();
+		}
+	}
+}
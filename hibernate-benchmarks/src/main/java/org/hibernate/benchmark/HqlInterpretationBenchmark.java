@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.hql.HqlTranslator;
+import org.hibernate.query.spi.HqlInterpretation;
+import org.hibernate.query.spi.QueryInterpretationCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures HQL interpretation through the {@link QueryInterpretationCache}:
+ * the cache-hit path every query execution pays, the parse + semantic
+ * analysis a cache miss pays, and a full execution which additionally
+ * translates the SQM tree to SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HqlInterpretationBenchmark {
+	private static final String HQL = "select b from Book b join fetch b.author a "
+			+ "where a.country = :country and b.price > :price order by b.published desc";
+
+	private SessionFactoryImplementor sessionFactory;
+	private QueryInterpretationCache interpretationCache;
+	private HqlTranslator hqlTranslator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSessionFactories.build( Collections.emptyMap() );
+		BenchmarkSessionFactories.populate( sessionFactory, 10, 1 );
+		interpretationCache = sessionFactory.getQueryEngine().getInterpretationCache();
+		hqlTranslator = sessionFactory.getQueryEngine().getHqlTranslator();
+		// prime the cache for the hit benchmarks
+		resolve( HQL );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public HqlInterpretation interpretationCacheHit() {
+		return resolve( HQL );
+	}
+
+	@Benchmark
+	public Object interpretationCacheMiss() {
+		// bypass the cache entirely: this is what a miss costs
+		return hqlTranslator.translate( HQL, Book.class );
+	}
+
+	@Benchmark
+	public List<Book> executeQuery() {
+		return sessionFactory.fromSession(
+				session -> session.createSelectionQuery( HQL, Book.class )
+						.setParameter( "country", "BE" )
+						.setParameter( "price", BigDecimal.TEN )
+						.setMaxResults( 1 )
+						.list()
+		);
+	}
+
+	private HqlInterpretation resolve(String hql) {
+		return interpretationCache.resolveHqlInterpretation(
+				hql,
+				Book.class,
+				s -> hqlTranslator.translate( s, Book.class )
+		);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.action.internal.AbstractEntityInsertAction;
+import org.hibernate.action.internal.EntityInsertAction;
+import org.hibernate.benchmark.model.Author;
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.engine.internal.InsertActionSorter;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the ordering of the insert actions of a huge flush by the {@link InsertActionSorter},
+ * without executing them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertOrderingBenchmark {
+	@Param({ "10000", "100000", "1000000" })
+	public int actions;
+
+	private SessionFactoryImplementor sessionFactory;
+	private EventSource session;
+	private List<AbstractEntityInsertAction> insertions;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSessionFactories.build( Collections.emptyMap() );
+		session = sessionFactory.openSession().unwrap( EventSource.class );
+
+		final EntityPersister authorPersister = sessionFactory.getMappingMetamodel()
+				.getEntityDescriptor( Author.class );
+		final EntityPersister bookPersister = sessionFactory.getMappingMetamodel()
+				.getEntityDescriptor( Book.class );
+
+		// interleave the entity types in cascade order, so that each author precedes their books
+		insertions = new ArrayList<>( actions );
+		Author author = null;
+		for ( int i = 0; i < actions; i++ ) {
+			if ( i % 10 == 0 ) {
+				author = new Author( (long) i, "Author " + i, "BE" );
+				insertions.add( insertAction( author.getId(), author, authorPersister ) );
+			}
+			else {
+				final Book book = BenchmarkSessionFactories.createBook( author, i );
+				insertions.add( insertAction( (long) i, book, bookPersister ) );
+			}
+		}
+	}
+
+	private EntityInsertAction insertAction(Long id, Object entity, EntityPersister persister) {
+		return new EntityInsertAction( id, persister.getValues( entity ), entity, null, persister, false, session );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		session.close();
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public List<AbstractEntityInsertAction> sort() {
+		// sort a copy, so that each invocation starts from the cascade order
+		final List<AbstractEntityInsertAction> copy = new ArrayList<>( insertions );
+		InsertActionSorter.INSTANCE.sort( copy );
+		return copy;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.internal.util.cache.InternalCache;
+import org.hibernate.internal.util.cache.InternalCacheEviction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link InternalCache} implementations backing the query plan
+ * cache under many concurrent readers, with a skewed key distribution
+ * (a hot set plus a tail of one-off keys which miss and are then put).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class InternalCacheBenchmark {
+	private static final int MAXIMUM_SIZE = 2048;
+
+	@Param({ "LIRS", "TINY_LFU" })
+	public InternalCacheEviction eviction;
+
+	/**
+	 * Percentage of lookups using a key outside the hot set.
+	 */
+	@Param({ "0", "10" })
+	public int oneOffPercentage;
+
+	private InternalCache<String, String> cache;
+	private String[] hotKeys;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		cache = eviction.createCache( MAXIMUM_SIZE );
+		hotKeys = new String[MAXIMUM_SIZE / 2];
+		for ( int i = 0; i < hotKeys.length; i++ ) {
+			hotKeys[i] = "select e from Entity" + i + " e";
+			cache.put( hotKeys[i], hotKeys[i] );
+		}
+	}
+
+	@Benchmark
+	public String lookup() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final String key = random.nextInt( 100 ) < oneOffPercentage
+				? "select e from Entity e where e.id = " + random.nextLong()
+				: hotKeys[random.nextInt( hotKeys.length )];
+		final String cached = cache.get( key );
+		if ( cached != null ) {
+			return cached;
+		}
+		cache.put( key, key );
+		return key;
+	}
+}
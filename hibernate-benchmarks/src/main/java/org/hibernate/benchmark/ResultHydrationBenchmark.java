@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmark.model.Book;
+import org.hibernate.benchmark.model.BookSummary;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading of larger result sets, which is dominated by
+ * {@code JdbcValuesResultSetImpl} and {@code StandardRowReader}: entity
+ * results (hydration into managed instances), scalar projections and
+ * constructor results.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rate per operation
+ * of the single scalar and constructor-result queries, which do not build
+ * a row array per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultHydrationBenchmark {
+	@Param({ "1000" })
+	public int rows;
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSessionFactories.build( Collections.emptyMap() );
+		BenchmarkSessionFactories.populate( sessionFactory, rows / 10, 10 );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public List<Book> entities() {
+		return sessionFactory.fromSession(
+				session -> session.createSelectionQuery( "from Book", Book.class ).list()
+		);
+	}
+
+	@Benchmark
+	public List<Book> readOnlyEntities() {
+		return sessionFactory.fromSession(
+				session -> session.createSelectionQuery( "from Book", Book.class )
+						.setReadOnly( true )
+						.list()
+		);
+	}
+
+	@Benchmark
+	public List<Object[]> scalars() {
+		return sessionFactory.fromSession(
+				session -> session.createSelectionQuery(
+						"select b.id, b.title, b.pages, b.price, b.published from Book b",
+						Object[].class
+				).list()
+		);
+	}
+
+	@Benchmark
+	public List<Long> singleScalar() {
+		return sessionFactory.fromSession(
+				session -> session.createSelectionQuery( "select b.id from Book b", Long.class ).list()
+		);
+	}
+
+	@Benchmark
+	public List<BookSummary> constructorResult() {
+		return sessionFactory.fromSession(
+				session -> session.createSelectionQuery(
+						"select new org.hibernate.benchmark.model.BookSummary(b.id, b.title, b.pages, b.price) from Book b",
+						BookSummary.class
+				).list()
+		);
+	}
+}
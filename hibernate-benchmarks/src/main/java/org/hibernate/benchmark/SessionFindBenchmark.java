@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Author;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code SessionImpl.find}: a load by id which misses the persistence
+ * context and goes to the database, and one which hits the persistence context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionFindBenchmark {
+	@Param({ "1000" })
+	public int authors;
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		sessionFactory = BenchmarkSessionFactories.build( Collections.emptyMap() );
+		BenchmarkSessionFactories.populate( sessionFactory, authors, 0 );
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessionFactory.close();
+	}
+
+	@State(Scope.Thread)
+	public static class OpenSession {
+		Session session;
+
+		@Setup(Level.Iteration)
+		public void open(SessionFindBenchmark benchmark) {
+			session = benchmark.sessionFactory.openSession();
+			session.getTransaction().begin();
+		}
+
+		@TearDown(Level.Iteration)
+		public void close() {
+			session.getTransaction().rollback();
+			session.close();
+		}
+	}
+
+	@Benchmark
+	public Author findFromDatabase(OpenSession state) {
+		final Author author = state.session.find( Author.class, randomId() );
+		// keep the persistence context from growing so that every call misses it
+		state.session.clear();
+		return author;
+	}
+
+	@Benchmark
+	public Author findFromPersistenceContext(OpenSession state) {
+		return state.session.find( Author.class, 1L );
+	}
+
+	private long randomId() {
+		return ThreadLocalRandom.current().nextInt( authors ) + 1;
+	}
+}
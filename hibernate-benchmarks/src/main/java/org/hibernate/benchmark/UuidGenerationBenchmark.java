@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.id.UUIDGenerationStrategy;
+import org.hibernate.id.uuid.CustomVersionOneStrategy;
+import org.hibernate.id.uuid.StandardRandomStrategy;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number of UUIDs per second generated by each strategy behind
+ * {@link UuidGenerator.Style}, with many threads
+ * sharing a single generator.  Run with {@code -t} to vary the thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class UuidGenerationBenchmark {
+
+	@Param({ "RANDOM", "TIME", "VERSION_7" })
+	public UuidGenerator.Style style;
+
+	private UUIDGenerationStrategy strategy;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		switch ( style ) {
+			case RANDOM:
+				strategy = StandardRandomStrategy.INSTANCE;
+				break;
+			case TIME:
+				strategy = new CustomVersionOneStrategy();
+				break;
+			case VERSION_7:
+				strategy = new UuidVersion7Strategy();
+				break;
+			default:
+				throw new IllegalArgumentException( "Unknown style: " + style );
+		}
+	}
+
+	@Benchmark
+	public UUID generate() {
+		return strategy.generateUUID( null );
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Benchmark model: a DTO for constructor-result ({@code select new}) queries of {@link Book}.
+ */
+public class BookSummary {
+	private final Long id;
+	private final String title;
+	private final int pages;
+	private final BigDecimal price;
+
+	public BookSummary(Long id, String title, int pages, BigDecimal price) {
+		this.id = id;
+		this.title = title;
+		this.pages = pages;
+		this.price = price;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public int getPages() {
+		return pages;
+	}
+
+	public BigDecimal getPrice() {
+		return price;
+	}
+}
@@ -315,6 +315,57 @@ public interface Cache extends jakarta.persistence.Cache {
 
 
 
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Preloading
+
+	/**
+	 * Load every instance of the given entity into the second-level cache.
+	 *
+	 * @param entityClass The entity class.
+	 *
+	 * @return The number of instances loaded
+	 *
+	 * @see #preloadEntityData(String, String)
+	 *
+	 * @since 6.3
+	 */
+	long preloadEntityData(Class<?> entityClass);
+
+	/**
+	 * Load every instance of the given entity into the second-level cache.
+	 *
+	 * @param entityName The entity name.
+	 *
+	 * @return The number of instances loaded
+	 *
+	 * @see #preloadEntityData(String, String)
+	 *
+	 * @since 6.3
+	 */
+	long preloadEntityData(String entityName);
+
+	/**
+	 * Load the instances of the given entity whose identifiers are returned by the
+	 * given HQL query into the second-level cache.  The identifiers are scrolled,
+	 * and the instances are loaded in chunks, in parallel, by separate sessions.
+	 * Instances already cached may or may not be loaded again.
+	 * <p>
+	 * Nothing is loaded if the entity is not cacheable.
+	 *
+	 * @param entityName The entity name.
+	 * @param identifierQuery An HQL query returning identifiers of the entity, or
+	 *                        {@code null} to load every instance
+	 *
+	 * @return The number of instances loaded
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_PRELOAD_ENTITIES
+	 *
+	 * @since 6.3
+	 */
+	long preloadEntityData(String entityName, String identifierQuery);
+
+
+
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Misc
 
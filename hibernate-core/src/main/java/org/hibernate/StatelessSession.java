@@ -6,6 +6,8 @@
  */
 package org.hibernate;
 
+import java.util.Collection;
+
 /**
  * A command-oriented API often used for performing bulk operations against
  * the database. A stateless session has no persistence context, and always
@@ -68,6 +70,22 @@ public interface StatelessSession extends SharedSessionContract {
 	 */
 	Object insert(String entityName, Object entity);
 
+	/**
+	 * Insert multiple rows, in the iteration order of the given collection.
+	 * <p>
+	 * The rows are inserted using JDBC batches of the {@linkplain #getJdbcBatchSize()
+	 * JDBC batch size} or, if JDBC batching is not enabled, of a default size, and all
+	 * the rows are written to the database when this method returns. Rows with an
+	 * identifier generated by the database on insert are inserted one at a time.
+	 *
+	 * @param entities new transient instances
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_INSERT_SIZE
+	 *
+	 * @since 6.3
+	 */
+	void insertAll(Collection<?> entities);
+
 	/**
 	 * Update a row.
 	 *
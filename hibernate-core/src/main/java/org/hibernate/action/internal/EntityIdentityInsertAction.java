@@ -6,6 +6,9 @@
  */
 package org.hibernate.action.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.EntityKey;
@@ -66,31 +69,81 @@ public class EntityIdentityInsertAction extends AbstractEntityInsertAction  {
 
 	@Override
 	public void execute() throws HibernateException {
-		nullifyTransientReferencesIfNotAlready();
+		if ( prepareInsert() ) {
+			inserted( getPersister().insert( getState(), getInstance(), getSession() ) );
+		}
+		completeInsert();
+	}
 
-		final EntityPersister persister = getPersister();
-		final SharedSessionContractImplementor session = getSession();
-		final Object instance = getInstance();
+	/**
+	 * Execute the given delayed insertions of instances of the same entity,
+	 * inserting the instances as a single JDBC batch.  The state of the
+	 * instances must not refer to another instance whose insertion is delayed.
+	 *
+	 * @see EntityPersister#insertBatch
+	 */
+	public static void executeBatch(List<EntityIdentityInsertAction> actions) throws HibernateException {
+		final List<EntityIdentityInsertAction> inserts = new ArrayList<>( actions.size() );
+		for ( EntityIdentityInsertAction action : actions ) {
+			assert !action.isEarlyInsert();
+			if ( action.prepareInsert() ) {
+				inserts.add( action );
+			}
+		}
 
-		setVeto( preInsert() );
+		if ( inserts.size() == 1 ) {
+			final EntityIdentityInsertAction insert = inserts.get( 0 );
+			insert.inserted( insert.getPersister().insert( insert.getState(), insert.getInstance(), insert.getSession() ) );
+		}
+		else if ( !inserts.isEmpty() ) {
+			final Object[][] states = new Object[inserts.size()][];
+			final Object[] instances = new Object[inserts.size()];
+			for ( int i = 0; i < inserts.size(); i++ ) {
+				states[i] = inserts.get( i ).getState();
+				instances[i] = inserts.get( i ).getInstance();
+			}
+			final EntityIdentityInsertAction first = inserts.get( 0 );
+			final Object[] generatedIds = first.getPersister().insertBatch( states, instances, first.getSession() );
+			for ( int i = 0; i < inserts.size(); i++ ) {
+				inserts.get( i ).inserted( generatedIds[i] );
+			}
+		}
+
+		for ( EntityIdentityInsertAction action : actions ) {
+			action.completeInsert();
+		}
+	}
 
+	/**
+	 * @return {@code true} if the insertion was not vetoed
+	 */
+	private boolean prepareInsert() {
+		nullifyTransientReferencesIfNotAlready();
+		setVeto( preInsert() );
 		// Don't need to lock the cache here, since if someone
 		// else inserted the same pk first, the insert would fail
+		return !isVeto();
+	}
 
-		if ( !isVeto() ) {
-			generatedId = persister.insert( getState(), instance, session );
-			if ( persister.hasInsertGeneratedProperties() ) {
-				persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
-			}
-			//need to do that here rather than in the save event listener to let
-			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-			persister.setIdentifier( instance, generatedId, session );
-			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
-			persistenceContext.registerInsertedKey( getPersister(), generatedId );
-			entityKey = session.generateEntityKey( generatedId, persister );
-			persistenceContext.checkUniqueness( entityKey, getInstance() );
+	private void inserted(Object generatedId) {
+		final EntityPersister persister = getPersister();
+		final SharedSessionContractImplementor session = getSession();
+		final Object instance = getInstance();
+
+		this.generatedId = generatedId;
+		if ( persister.hasInsertGeneratedProperties() ) {
+			persister.processInsertGeneratedProperties( generatedId, instance, getState(), session );
 		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier( instance, generatedId, session );
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		persistenceContext.registerInsertedKey( getPersister(), generatedId );
+		entityKey = session.generateEntityKey( generatedId, persister );
+		persistenceContext.checkUniqueness( entityKey, getInstance() );
+	}
 
+	private void completeInsert() {
 		//TODO: this bit actually has to be called after all cascades!
 		//      but since identity insert is called *synchronously*,
 		//      instead of asynchronously as other actions, it isn't
@@ -101,7 +154,7 @@ public class EntityIdentityInsertAction extends AbstractEntityInsertAction  {
 
 		postInsert();
 
-		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		final StatisticsImplementor statistics = getSession().getFactory().getStatistics();
 		if ( statistics.isStatisticsEnabled() && !isVeto() ) {
 			statistics.insertEntity( getPersister().getEntityName() );
 		}
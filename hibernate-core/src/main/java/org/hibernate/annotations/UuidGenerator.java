@@ -44,7 +44,17 @@ public @interface UuidGenerator {
 		 * @implNote Can be a bottleneck due to the need to synchronize in order
 		 *           to increment an internal count as part of the algorithm.
 		 */
-		TIME
+		TIME,
+		/**
+		 * Applies a time-ordered generation strategy consistent with IETF RFC 9562
+		 * (UUID version 7), generating values which are strictly increasing within
+		 * the JVM, and which are therefore inserted next to each other in an index.
+		 *
+		 * @see org.hibernate.id.uuid.UuidVersion7Strategy
+		 *
+		 * @since 6.3
+		 */
+		VERSION_7
 	}
 
 	/**
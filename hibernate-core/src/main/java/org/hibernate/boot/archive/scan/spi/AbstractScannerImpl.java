@@ -37,15 +37,20 @@ public abstract class AbstractScannerImpl implements Scanner {
 		if ( environment.getNonRootUrls() != null ) {
 			final ArchiveContext context = new ArchiveContextImpl( false, collector );
 			for ( URL url : environment.getNonRootUrls() ) {
+				if ( ScanIndex.replay( url, collector, false ) ) {
+					continue;
+				}
 				final ArchiveDescriptor descriptor = buildArchiveDescriptor( url, environment, false );
 				descriptor.visitArchive( context );
 			}
 		}
 
 		if ( environment.getRootUrl() != null ) {
-			final ArchiveContext context = new ArchiveContextImpl( true, collector );
-			final ArchiveDescriptor descriptor = buildArchiveDescriptor( environment.getRootUrl(), environment, true );
-			descriptor.visitArchive( context );
+			if ( !ScanIndex.replay( environment.getRootUrl(), collector, true ) ) {
+				final ArchiveContext context = new ArchiveContextImpl( true, collector );
+				final ArchiveDescriptor descriptor = buildArchiveDescriptor( environment.getRootUrl(), environment, true );
+				descriptor.visitArchive( context );
+			}
 		}
 
 		return collector.toScanResult();
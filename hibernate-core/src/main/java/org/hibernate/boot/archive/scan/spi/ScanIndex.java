@@ -0,0 +1,258 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.boot.archive.scan.spi;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.hibernate.boot.archive.internal.StandardArchiveDescriptorFactory;
+import org.hibernate.boot.archive.internal.UrlInputStreamAccess;
+import org.hibernate.boot.archive.scan.internal.ClassDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.MappingFileDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.PackageDescriptorImpl;
+import org.hibernate.boot.archive.scan.internal.ScanResultCollector;
+import org.hibernate.boot.archive.scan.internal.StandardScanOptions;
+import org.hibernate.boot.archive.scan.internal.StandardScanParameters;
+import org.hibernate.boot.archive.spi.ArchiveException;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A build-time index of the entries of an archive which are relevant to
+ * {@linkplain Scanner scanning}: the annotated model classes, converters,
+ * annotated packages and mapping files.
+ * <p>
+ * The index is written by the Hibernate build tooling to {@value #RESOURCE_NAME}
+ * within the archive.  When an archive containing an index is scanned, the
+ * entries of the index are used instead of visiting the archive and reading
+ * each class file, which is the most expensive part of scanning a large
+ * domain model.  The outcome of the scan is the same, since the index only
+ * replaces the discovery of candidates, not the filtering according to the
+ * {@link ScanOptions} and the {@link ScanEnvironment}.
+ * <p>
+ * Besides {@code hbm.xml} and {@code orm.xml} files, only the {@code .xml}
+ * files of the archive are recorded as candidate mapping files.
+ */
+public final class ScanIndex {
+	private static final Logger log = Logger.getLogger( ScanIndex.class );
+
+	/**
+	 * The location of the index within the archive
+	 */
+	public static final String RESOURCE_NAME = "META-INF/hibernate/scan-index.bin";
+
+	private static final int MAGIC = 0x48534958;
+	private static final int FORMAT_VERSION = 1;
+
+	private ScanIndex() {
+	}
+
+	/**
+	 * Scans the given archives as a whole and writes the index of their entries
+	 * to the given stream.  The archives would usually be the directories which
+	 * are packaged together into a single jar file.
+	 */
+	public static void write(List<URL> archiveUrls, OutputStream outputStream) throws IOException {
+		final Map<String, ClassDescriptor.Categorization> classes = new TreeMap<>();
+		final TreeSet<String> packages = new TreeSet<>();
+		final TreeSet<String> mappingFiles = new TreeSet<>();
+
+		final ScanResultCollector collector = new ScanResultCollector(
+				new IndexingScanEnvironment(),
+				new StandardScanOptions( "hbm,class", false ),
+				StandardScanParameters.INSTANCE
+		) {
+			@Override
+			public void handleClass(ClassDescriptor classDescriptor, boolean rootUrl) {
+				classes.put( classDescriptor.getName(), classDescriptor.getCategorization() );
+			}
+
+			@Override
+			public void handlePackage(PackageDescriptor packageDescriptor, boolean rootUrl) {
+				packages.add( packageDescriptor.getName() );
+			}
+
+			@Override
+			public void handleMappingFile(MappingFileDescriptor mappingFileDescriptor, boolean rootUrl) {
+				final String name = mappingFileDescriptor.getName();
+				if ( name.endsWith( ".xml" ) ) {
+					mappingFiles.add( name );
+				}
+			}
+		};
+
+		final AbstractScannerImpl.ArchiveContextImpl context = new AbstractScannerImpl.ArchiveContextImpl( true, collector );
+		for ( URL archiveUrl : archiveUrls ) {
+			StandardArchiveDescriptorFactory.INSTANCE.buildArchiveDescriptor( archiveUrl ).visitArchive( context );
+		}
+
+		final DataOutputStream output = new DataOutputStream( outputStream );
+		output.writeInt( MAGIC );
+		output.writeInt( FORMAT_VERSION );
+		output.writeInt( classes.size() );
+		for ( Map.Entry<String, ClassDescriptor.Categorization> entry : classes.entrySet() ) {
+			output.writeUTF( entry.getKey() );
+			output.writeByte( entry.getValue().ordinal() );
+		}
+		output.writeInt( packages.size() );
+		for ( String packageName : packages ) {
+			output.writeUTF( packageName );
+		}
+		output.writeInt( mappingFiles.size() );
+		for ( String mappingFile : mappingFiles ) {
+			output.writeUTF( mappingFile );
+		}
+		output.flush();
+	}
+
+	/**
+	 * Passes the entries recorded in the index of the given archive to the
+	 * collector, if the archive contains an index.
+	 *
+	 * @return {@code true} if the archive contains an index, {@code false} if
+	 * it needs to be visited
+	 */
+	static boolean replay(URL archiveUrl, ScanResultCollector collector, boolean rootUrl) {
+		final URL base = resolveBase( archiveUrl );
+		if ( base == null ) {
+			return false;
+		}
+
+		try ( DataInputStream input = openIndex( base ) ) {
+			if ( input == null ) {
+				return false;
+			}
+			if ( input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION ) {
+				log.debugf( "Ignoring scan index of unknown format in %s", archiveUrl );
+				return false;
+			}
+
+			final ClassDescriptor.Categorization[] categorizations = ClassDescriptor.Categorization.values();
+			final int classCount = input.readInt();
+			for ( int i = 0; i < classCount; i++ ) {
+				final String className = input.readUTF();
+				final ClassDescriptor.Categorization categorization = categorizations[input.readByte()];
+				collector.handleClass(
+						new ClassDescriptorImpl(
+								className,
+								categorization,
+								new UrlInputStreamAccess( new URL( base, className.replace( '.', '/' ) + ".class" ) )
+						),
+						rootUrl
+				);
+			}
+
+			final int packageCount = input.readInt();
+			for ( int i = 0; i < packageCount; i++ ) {
+				final String packageName = input.readUTF();
+				collector.handlePackage(
+						new PackageDescriptorImpl(
+								packageName,
+								new UrlInputStreamAccess( new URL( base, packageName.replace( '.', '/' ) + "/package-info.class" ) )
+						),
+						rootUrl
+				);
+			}
+
+			final int mappingFileCount = input.readInt();
+			for ( int i = 0; i < mappingFileCount; i++ ) {
+				final String mappingFile = input.readUTF();
+				collector.handleMappingFile(
+						new MappingFileDescriptorImpl( mappingFile, new UrlInputStreamAccess( new URL( base, mappingFile ) ) ),
+						rootUrl
+				);
+			}
+
+			log.debugf(
+					"Used scan index of %s (%s classes, %s packages, %s mapping files)",
+					archiveUrl,
+					classCount,
+					packageCount,
+					mappingFileCount
+			);
+			return true;
+		}
+		catch (IOException e) {
+			throw new ArchiveException( "Could not read scan index of " + archiveUrl, e );
+		}
+	}
+
+	private static DataInputStream openIndex(URL base) throws IOException {
+		final InputStream inputStream;
+		try {
+			inputStream = new URL( base, RESOURCE_NAME ).openStream();
+		}
+		catch (FileNotFoundException e) {
+			return null;
+		}
+		return new DataInputStream( new BufferedInputStream( inputStream ) );
+	}
+
+	/**
+	 * The URL against which the names of the archive entries are resolved,
+	 * or {@code null} if the archive is of a kind which may not contain an
+	 * index.
+	 */
+	private static URL resolveBase(URL archiveUrl) {
+		try {
+			final String protocol = archiveUrl.getProtocol();
+			if ( "file".equals( protocol ) ) {
+				final File file = new File( archiveUrl.toURI() );
+				if ( file.isDirectory() ) {
+					return file.toURI().toURL();
+				}
+				else if ( file.isFile() ) {
+					return new URL( "jar:" + file.toURI() + "!/" );
+				}
+			}
+			else if ( "jar".equals( protocol ) ) {
+				final String externalForm = archiveUrl.toExternalForm();
+				return externalForm.endsWith( "/" ) ? archiveUrl : new URL( externalForm + "/" );
+			}
+		}
+		catch (URISyntaxException | IllegalArgumentException | MalformedURLException e) {
+			log.debugf( "Unable to resolve possible scan index location for %s: %s", archiveUrl, e.getMessage() );
+		}
+		return null;
+	}
+
+	private static class IndexingScanEnvironment implements ScanEnvironment {
+		@Override
+		public URL getRootUrl() {
+			return null;
+		}
+
+		@Override
+		public List<URL> getNonRootUrls() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<String> getExplicitlyListedClassNames() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<String> getExplicitlyListedMappingFiles() {
+			return Collections.emptyList();
+		}
+	}
+}
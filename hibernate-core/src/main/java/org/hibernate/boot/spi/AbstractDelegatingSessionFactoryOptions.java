@@ -262,6 +262,36 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isStructuredCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isQueryCacheRowInvalidationEnabled() {
+		return delegate.isQueryCacheRowInvalidationEnabled();
+	}
+
+	@Override
+	public boolean isShallowQueryCacheEnabled() {
+		return delegate.isShallowQueryCacheEnabled();
+	}
+
+	@Override
+	public int getQueryCacheStaleGracePeriod() {
+		return delegate.getQueryCacheStaleGracePeriod();
+	}
+
+	@Override
+	public int getQueryCacheCoalescingTimeout() {
+		return delegate.getQueryCacheCoalescingTimeout();
+	}
+
+	@Override
+	public int getEntityLoadCoalescingTimeout() {
+		return delegate.getEntityLoadCoalescingTimeout();
+	}
+
+	@Override
+	public boolean isBinaryCacheEntriesEnabled() {
+		return delegate.isBinaryCacheEntriesEnabled();
+	}
+
 	@Override
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return delegate.isDirectReferenceCacheEntriesEnabled();
@@ -297,6 +327,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isGetGeneratedKeysEnabled();
 	}
 
+	@Override
+	public boolean isJdbcBatchIdentityInserts() {
+		return delegate.isJdbcBatchIdentityInserts();
+	}
+
 	@Override
 	public Integer getJdbcFetchSize() {
 		return delegate.getJdbcFetchSize();
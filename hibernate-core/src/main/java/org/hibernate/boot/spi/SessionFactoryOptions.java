@@ -170,6 +170,60 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isStructuredCacheEntriesEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION
+	 *
+	 * @since 6.3
+	 */
+	default boolean isQueryCacheRowInvalidationEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_SHALLOW_QUERY_CACHE
+	 *
+	 * @since 6.3
+	 */
+	default boolean isShallowQueryCacheEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_STALE_GRACE_PERIOD
+	 *
+	 * @since 6.3
+	 */
+	default int getQueryCacheStaleGracePeriod() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COALESCING_TIMEOUT
+	 *
+	 * @since 6.3
+	 */
+	default int getQueryCacheCoalescingTimeout() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#ENTITY_LOAD_COALESCING_TIMEOUT
+	 *
+	 * @since 6.3
+	 */
+	default int getEntityLoadCoalescingTimeout() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE
+	 *
+	 * @since 6.3
+	 */
+	default boolean isBinaryCacheEntriesEnabled() {
+		return false;
+	}
+
 	boolean isDirectReferenceCacheEntriesEnabled();
 
 	boolean isAutoEvictCollectionCache();
@@ -184,6 +238,15 @@ public interface SessionFactoryOptions extends QueryEngineOptions {
 
 	boolean isGetGeneratedKeysEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 *
+	 * @since 6.3
+	 */
+	default boolean isJdbcBatchIdentityInserts() {
+		return false;
+	}
+
 	Integer getJdbcFetchSize();
 
 	PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode();
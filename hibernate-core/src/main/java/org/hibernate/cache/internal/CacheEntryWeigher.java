@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+/**
+ * Estimates the number of bytes of heap retained by the values stored
+ * in the second-level cache.
+ * <p>
+ * The estimate is cheap rather than exact: it only knows the shape of
+ * the cache entries built by Hibernate, and of the values they usually
+ * hold, assuming a 64-bit JVM with compressed references.
+ */
+final class CacheEntryWeigher {
+	/**
+	 * The estimated size of the key, and of the map entry, of a cached value
+	 */
+	static final long ENTRY_OVERHEAD = 96;
+
+	private static final long OBJECT_HEADER = 16;
+	private static final long REFERENCE = 4;
+	private static final long UNKNOWN_OBJECT = 32;
+	private static final int MAX_DEPTH = 8;
+
+	private CacheEntryWeigher() {
+	}
+
+	static long weigh(Object value) {
+		return weigh( value, 0 );
+	}
+
+	private static long weigh(Object value, int depth) {
+		if ( value == null ) {
+			return 0;
+		}
+		if ( depth > MAX_DEPTH ) {
+			return UNKNOWN_OBJECT;
+		}
+
+		if ( value instanceof String ) {
+			return 24 + OBJECT_HEADER + ( (String) value ).length();
+		}
+		if ( value instanceof Long || value instanceof Double ) {
+			return 24;
+		}
+		if ( value instanceof Number || value instanceof Boolean || value instanceof Character ) {
+			return value instanceof BigDecimal || value instanceof BigInteger ? 64 : 16;
+		}
+
+		if ( value instanceof AbstractReadWriteAccess.Lockable ) {
+			return 32 + weigh( ( (AbstractReadWriteAccess.Lockable) value ).getValue(), depth + 1 );
+		}
+		if ( value instanceof StandardCacheEntryImpl ) {
+			return 32 + weigh( ( (StandardCacheEntryImpl) value ).getDisassembledState(), depth + 1 );
+		}
+		if ( value instanceof CollectionCacheEntry ) {
+			return OBJECT_HEADER + weigh( ( (CollectionCacheEntry) value ).getState(), depth + 1 );
+		}
+		if ( value instanceof QueryResultsCacheImpl.CacheItem ) {
+			final QueryResultsCacheImpl.CacheItem cacheItem = (QueryResultsCacheImpl.CacheItem) value;
+			return 32 + 24 + weigh( cacheItem.getResults(), depth + 1 ) + weigh( cacheItem.getIds(), depth + 1 );
+		}
+
+		if ( value instanceof Object[] ) {
+			final Object[] array = (Object[]) value;
+			long weight = OBJECT_HEADER + REFERENCE * array.length;
+			for ( Object element : array ) {
+				weight += weigh( element, depth + 1 );
+			}
+			return weight;
+		}
+		if ( value instanceof byte[] ) {
+			return OBJECT_HEADER + ( (byte[]) value ).length;
+		}
+		if ( value instanceof char[] ) {
+			return OBJECT_HEADER + 2L * ( (char[]) value ).length;
+		}
+		if ( value instanceof Collection ) {
+			final Collection<?> collection = (Collection<?>) value;
+			long weight = 48;
+			for ( Object element : collection ) {
+				weight += REFERENCE + OBJECT_HEADER + weigh( element, depth + 1 );
+			}
+			return weight;
+		}
+		if ( value instanceof Map ) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			long weight = 48;
+			for ( Map.Entry<?, ?> entry : map.entrySet() ) {
+				weight += 32 + weigh( entry.getKey(), depth + 1 ) + weigh( entry.getValue(), depth + 1 );
+			}
+			return weight;
+		}
+
+		return UNKNOWN_OBJECT;
+	}
+}
@@ -0,0 +1,557 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+
+import static org.hibernate.cfg.AvailableSettings.CACHE_PRELOAD_ENTITIES;
+import static org.hibernate.cfg.AvailableSettings.CACHE_PRELOAD_HOT_KEYS_FILE;
+import static org.hibernate.cfg.AvailableSettings.CACHE_PRELOAD_QUERY;
+
+/**
+ * Loads entities into the second-level cache, either on demand, or when the
+ * {@link SessionFactory} is created, for the entities listed by
+ * {@value org.hibernate.cfg.AvailableSettings#CACHE_PRELOAD_ENTITIES}.
+ * <p>
+ * The identifiers of the instances to load are scrolled by a stateless session,
+ * and the instances are loaded by id, in chunks, in parallel, by sessions whose
+ * {@link CacheMode} only puts entities into the cache.
+ * <p>
+ * When {@value org.hibernate.cfg.AvailableSettings#CACHE_PRELOAD_HOT_KEYS_FILE}
+ * is specified, the loads by id of the instances of the preloaded entities are
+ * counted, and the identifiers of the most frequently loaded instances are written
+ * to the file when the {@code SessionFactory} is closed.  Only these instances are
+ * preloaded when the next {@code SessionFactory} is created.  Only identifiers of
+ * basic types, that is, integral numbers, strings, characters and UUIDs, are
+ * written, each preceded by a tag identifying its type, so that reading the file
+ * never instantiates any other class.
+ *
+ * @since 6.3
+ */
+public class CachePreloader implements SessionFactoryObserver {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( CachePreloader.class );
+
+	/**
+	 * The number of instances loaded at once by a session
+	 */
+	private static final int CHUNK_SIZE = 256;
+	/**
+	 * The maximum number of identifiers of instances of each entity written to
+	 * the hot keys file
+	 */
+	static final int MAX_HOT_KEYS = 10_000;
+
+	private static final int MAGIC = 0x48435048;
+	private static final int FORMAT_VERSION = 2;
+
+	private static final byte LONG = 1;
+	private static final byte INTEGER = 2;
+	private static final byte SHORT = 3;
+	private static final byte BYTE = 4;
+	private static final byte CHARACTER = 5;
+	private static final byte STRING = 6;
+	private static final byte UUID_TAG = 7;
+	private static final byte BIG_INTEGER = 8;
+	private static final byte BIG_DECIMAL = 9;
+
+	private final SessionFactoryImplementor sessionFactory;
+	private final List<String> entityNames;
+	private final Path hotKeysFile;
+
+	private boolean created;
+	// only assigned once the entities have been preloaded
+	private volatile Map<String, HotKeys> hotKeysByEntityName = Collections.emptyMap();
+
+	public CachePreloader(SessionFactoryImplementor sessionFactory) {
+		this.sessionFactory = sessionFactory;
+		final Map<String, Object> properties = sessionFactory.getProperties();
+		this.entityNames = StringHelper.parseCommaSeparatedString(
+				ConfigurationHelper.getString( CACHE_PRELOAD_ENTITIES, properties, "" )
+		);
+		final String file = ConfigurationHelper.getString( CACHE_PRELOAD_HOT_KEYS_FILE, properties );
+		this.hotKeysFile = StringHelper.isEmpty( file ) ? null : Paths.get( file );
+	}
+
+	/**
+	 * Are entities preloaded when the {@link SessionFactory} is created?
+	 */
+	public boolean hasEntitiesToPreload() {
+		return !entityNames.isEmpty();
+	}
+
+	@Override
+	public void sessionFactoryCreated(SessionFactory factory) {
+		created = true;
+		final Map<String, List<Object>> hotKeys = hotKeysFile == null ? Collections.emptyMap() : readHotKeys();
+		final Map<String, HotKeys> hotKeysByEntityName = new HashMap<>();
+		for ( String entityName : entityNames ) {
+			final EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor( entityName );
+			if ( !persister.canWriteToCache() ) {
+				LOG.warnf( "Entity '%s' is not cacheable and cannot be preloaded into the second-level cache", entityName );
+				continue;
+			}
+			final String query = ConfigurationHelper.getString(
+					CACHE_PRELOAD_QUERY + '.' + entityName,
+					sessionFactory.getProperties()
+			);
+			final List<Object> ids = hotKeys.get( persister.getEntityName() );
+			try {
+				final long start = System.nanoTime();
+				final long count = query == null && ids != null
+						? preload( persister, ids )
+						: preload( persister, query );
+				LOG.debugf(
+						"Preloaded entity '%s' into the second-level cache: %s instances in %s ms",
+						entityName,
+						count,
+						( System.nanoTime() - start ) / 1_000_000
+				);
+			}
+			catch (RuntimeException e) {
+				// the instances are simply loaded when the application needs them
+				LOG.warnf( e, "Unable to preload entity '%s' into the second-level cache", entityName );
+			}
+			if ( hotKeysFile != null ) {
+				hotKeysByEntityName.put( persister.getEntityName(), new HotKeys() );
+			}
+		}
+		this.hotKeysByEntityName = hotKeysByEntityName;
+	}
+
+	@Override
+	public void sessionFactoryClosing(SessionFactory factory) {
+		if ( created && hotKeysFile != null ) {
+			writeHotKeys();
+		}
+	}
+
+	/**
+	 * Record a load by id of the given entity instance, if the entity is preloaded
+	 * and its most frequently loaded instances are recorded
+	 */
+	public void recordLoad(EntityPersister persister, Object id) {
+		final Map<String, HotKeys> hotKeysByEntityName = this.hotKeysByEntityName;
+		if ( !hotKeysByEntityName.isEmpty() ) {
+			HotKeys hotKeys = hotKeysByEntityName.get( persister.getEntityName() );
+			if ( hotKeys == null && persister.isInherited() ) {
+				hotKeys = hotKeysByEntityName.get( persister.getRootEntityName() );
+			}
+			if ( hotKeys != null ) {
+				hotKeys.record( id );
+			}
+		}
+	}
+
+	/**
+	 * Load the instances of the given entity whose identifiers are returned by
+	 * the given query, or every instance if the query is null
+	 *
+	 * @return the number of instances loaded
+	 */
+	public long preload(EntityPersister persister, String identifierQuery) {
+		final String query = identifierQuery == null
+				? "select id(e) from " + persister.getEntityName() + " e"
+				: identifierQuery;
+		final ChunkLoader loader = new ChunkLoader( persister );
+		try {
+			try ( StatelessSession session = sessionFactory.openStatelessSession();
+					ScrollableResults<Object> results = session.createSelectionQuery( query, Object.class )
+							.setFetchSize( CHUNK_SIZE )
+							.scroll( ScrollMode.FORWARD_ONLY ) ) {
+				List<Object> chunk = new ArrayList<>( CHUNK_SIZE );
+				while ( results.next() ) {
+					chunk.add( results.get() );
+					if ( chunk.size() == CHUNK_SIZE ) {
+						loader.submit( chunk );
+						chunk = new ArrayList<>( CHUNK_SIZE );
+					}
+				}
+				if ( !chunk.isEmpty() ) {
+					loader.submit( chunk );
+				}
+			}
+			return loader.await();
+		}
+		finally {
+			loader.shutdown();
+		}
+	}
+
+	/**
+	 * Load the instances of the given entity with the given identifiers
+	 *
+	 * @return the number of instances loaded
+	 */
+	public long preload(EntityPersister persister, List<Object> ids) {
+		final ChunkLoader loader = new ChunkLoader( persister );
+		try {
+			for ( int i = 0; i < ids.size(); i += CHUNK_SIZE ) {
+				loader.submit( ids.subList( i, Math.min( i + CHUNK_SIZE, ids.size() ) ) );
+			}
+			return loader.await();
+		}
+		finally {
+			loader.shutdown();
+		}
+	}
+
+	private Map<String, List<Object>> readHotKeys() {
+		if ( !Files.isRegularFile( hotKeysFile ) ) {
+			LOG.debugf( "No second-level cache hot keys file found at %s", hotKeysFile );
+			return Collections.emptyMap();
+		}
+
+		try ( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( hotKeysFile ) ) ) ) {
+			if ( input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION ) {
+				LOG.debugf( "Ignoring second-level cache hot keys file %s with unknown format", hotKeysFile );
+				return Collections.emptyMap();
+			}
+			final Map<String, List<Object>> hotKeys = new HashMap<>();
+			final int entityCount = input.readInt();
+			for ( int i = 0; i < entityCount; i++ ) {
+				final String entityName = input.readUTF();
+				final int count = input.readInt();
+				if ( count < 0 || count > MAX_HOT_KEYS ) {
+					throw new IOException( "invalid number of identifiers " + count );
+				}
+				final List<Object> ids = new ArrayList<>( count );
+				for ( int j = 0; j < count; j++ ) {
+					ids.add( readId( input ) );
+				}
+				hotKeys.put( entityName, ids );
+			}
+			return hotKeys;
+		}
+		catch (IOException | RuntimeException e) {
+			LOG.warnf( "Unable to read second-level cache hot keys file %s: %s", hotKeysFile, e.getMessage() );
+			return Collections.emptyMap();
+		}
+	}
+
+	private void writeHotKeys() {
+		try {
+			final Path directory = hotKeysFile.toAbsolutePath().getParent();
+			if ( directory != null ) {
+				Files.createDirectories( directory );
+			}
+			// write to a temporary file first, so that a concurrent reader never sees a partial file
+			final Path temporaryFile = Files.createTempFile( directory, hotKeysFile.getFileName().toString(), ".tmp" );
+			final Map<String, List<Object>> hotKeys = new HashMap<>();
+			for ( Map.Entry<String, HotKeys> entry : hotKeysByEntityName.entrySet() ) {
+				final List<Object> ids = entry.getValue().getHottest();
+				if ( ids.stream().allMatch( CachePreloader::isWritableId ) ) {
+					hotKeys.put( entry.getKey(), ids );
+				}
+				else {
+					// all the instances of the entity will be preloaded next time
+					LOG.debugf( "Not saving second-level cache hot keys of entity %s with non-basic identifier", entry.getKey() );
+				}
+			}
+			try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temporaryFile ) ) ) ) {
+				output.writeInt( MAGIC );
+				output.writeInt( FORMAT_VERSION );
+				output.writeInt( hotKeys.size() );
+				for ( Map.Entry<String, List<Object>> entry : hotKeys.entrySet() ) {
+					final List<Object> ids = entry.getValue();
+					output.writeUTF( entry.getKey() );
+					output.writeInt( ids.size() );
+					for ( Object id : ids ) {
+						writeId( output, id );
+					}
+				}
+			}
+			Files.move( temporaryFile, hotKeysFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+			LOG.debugf( "Saved second-level cache hot keys to %s", hotKeysFile );
+		}
+		catch (IOException | RuntimeException e) {
+			LOG.warnf( "Unable to write second-level cache hot keys file %s: %s", hotKeysFile, e.getMessage() );
+		}
+	}
+
+	private static boolean isWritableId(Object id) {
+		return id instanceof Long
+				|| id instanceof Integer
+				|| id instanceof Short
+				|| id instanceof Byte
+				|| id instanceof Character
+				|| id instanceof String
+				|| id instanceof UUID
+				|| id instanceof BigInteger
+				|| id instanceof BigDecimal;
+	}
+
+	private static void writeId(DataOutputStream output, Object id) throws IOException {
+		if ( id instanceof Long ) {
+			output.writeByte( LONG );
+			output.writeLong( (Long) id );
+		}
+		else if ( id instanceof Integer ) {
+			output.writeByte( INTEGER );
+			output.writeInt( (Integer) id );
+		}
+		else if ( id instanceof Short ) {
+			output.writeByte( SHORT );
+			output.writeShort( (Short) id );
+		}
+		else if ( id instanceof Byte ) {
+			output.writeByte( BYTE );
+			output.writeByte( (Byte) id );
+		}
+		else if ( id instanceof Character ) {
+			output.writeByte( CHARACTER );
+			output.writeChar( (Character) id );
+		}
+		else if ( id instanceof String ) {
+			output.writeByte( STRING );
+			output.writeUTF( (String) id );
+		}
+		else if ( id instanceof UUID ) {
+			final UUID uuid = (UUID) id;
+			output.writeByte( UUID_TAG );
+			output.writeLong( uuid.getMostSignificantBits() );
+			output.writeLong( uuid.getLeastSignificantBits() );
+		}
+		else if ( id instanceof BigInteger ) {
+			output.writeByte( BIG_INTEGER );
+			output.writeUTF( id.toString() );
+		}
+		else if ( id instanceof BigDecimal ) {
+			output.writeByte( BIG_DECIMAL );
+			output.writeUTF( id.toString() );
+		}
+		else {
+			throw new IllegalArgumentException( "Unsupported identifier type " + id.getClass().getName() );
+		}
+	}
+
+	private static Object readId(DataInputStream input) throws IOException {
+		final byte tag = input.readByte();
+		switch ( tag ) {
+			case LONG:
+				return input.readLong();
+			case INTEGER:
+				return input.readInt();
+			case SHORT:
+				return input.readShort();
+			case BYTE:
+				return input.readByte();
+			case CHARACTER:
+				return input.readChar();
+			case STRING:
+				return input.readUTF();
+			case UUID_TAG:
+				return new UUID( input.readLong(), input.readLong() );
+			case BIG_INTEGER:
+				return new BigInteger( input.readUTF() );
+			case BIG_DECIMAL:
+				return new BigDecimal( input.readUTF() );
+			default:
+				throw new IOException( "unknown identifier type tag " + tag );
+		}
+	}
+
+	/**
+	 * Loads chunks of instances of an entity in parallel, limiting the number
+	 * of chunks waiting to be loaded, so that the identifiers are not all held
+	 * in memory at once.
+	 */
+	private class ChunkLoader {
+		private final EntityPersister persister;
+		private final ExecutorService executor;
+		private final Semaphore pendingChunks;
+		private final List<Future<Integer>> futures = new ArrayList<>();
+
+		private ChunkLoader(EntityPersister persister) {
+			this.persister = persister;
+			final int parallelism = Math.max( 1, Math.min( 4, Runtime.getRuntime().availableProcessors() ) );
+			this.executor = Executors.newFixedThreadPool(
+					parallelism,
+					new PreloadThreadFactory( Thread.currentThread().getContextClassLoader() )
+			);
+			this.pendingChunks = new Semaphore( 2 * parallelism );
+		}
+
+		private void submit(List<Object> ids) {
+			try {
+				pendingChunks.acquire();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CacheException( "Interrupted while preloading entity '" + persister.getEntityName() + "'", e );
+			}
+			futures.add( executor.submit( () -> {
+				try {
+					return load( ids );
+				}
+				finally {
+					pendingChunks.release();
+				}
+			} ) );
+		}
+
+		private int load(List<Object> ids) {
+			try ( Session session = sessionFactory.openSession() ) {
+				session.setCacheMode( CacheMode.PUT );
+				session.setDefaultReadOnly( true );
+				final List<?> entities = session.byMultipleIds( persister.getEntityName() )
+						.with( CacheMode.PUT )
+						.withBatchSize( ids.size() )
+						.multiLoad( ids );
+				int count = 0;
+				for ( Object entity : entities ) {
+					if ( entity != null ) {
+						count++;
+					}
+				}
+				return count;
+			}
+		}
+
+		private long await() {
+			long count = 0;
+			try {
+				for ( Future<Integer> future : futures ) {
+					count += future.get();
+				}
+				return count;
+			}
+			catch (ExecutionException e) {
+				final Throwable cause = e.getCause();
+				if ( cause instanceof RuntimeException ) {
+					throw (RuntimeException) cause;
+				}
+				else if ( cause instanceof Error ) {
+					throw (Error) cause;
+				}
+				throw new CacheException( "Unable to preload entity '" + persister.getEntityName() + "'", cause );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CacheException( "Interrupted while preloading entity '" + persister.getEntityName() + "'", e );
+			}
+		}
+
+		private void shutdown() {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Counts the loads of the instances of an entity, keeping the counts of
+	 * approximately the {@value #MAX_HOT_KEYS} most frequently loaded instances.
+	 */
+	private static final class HotKeys {
+		private final ConcurrentHashMap<Object, LongAdder> counts = new ConcurrentHashMap<>();
+		private final ReentrantLock pruneLock = new ReentrantLock();
+
+		private void record(Object id) {
+			LongAdder count = counts.get( id );
+			if ( count == null ) {
+				count = counts.computeIfAbsent( id, k -> new LongAdder() );
+				if ( counts.size() > 2 * MAX_HOT_KEYS ) {
+					prune();
+				}
+			}
+			count.increment();
+		}
+
+		private void prune() {
+			// a single thread prunes the counts at a time, others just carry on
+			if ( pruneLock.tryLock() ) {
+				try {
+					final List<Object> ids = sortedIds();
+					for ( int i = MAX_HOT_KEYS; i < ids.size(); i++ ) {
+						counts.remove( ids.get( i ) );
+					}
+				}
+				finally {
+					pruneLock.unlock();
+				}
+			}
+		}
+
+		private List<Object> getHottest() {
+			final List<Object> ids = sortedIds();
+			return ids.size() > MAX_HOT_KEYS ? ids.subList( 0, MAX_HOT_KEYS ) : ids;
+		}
+
+		/**
+		 * The identifiers, from the most to the least frequently loaded
+		 */
+		private List<Object> sortedIds() {
+			// the counts keep changing, so a snapshot of them is sorted
+			final List<Map.Entry<Object, Long>> snapshot = new ArrayList<>( counts.size() );
+			counts.forEach( (id, count) -> snapshot.add( new AbstractMap.SimpleImmutableEntry<>( id, count.sum() ) ) );
+			snapshot.sort( Map.Entry.<Object, Long>comparingByValue().reversed() );
+			final List<Object> ids = new ArrayList<>( snapshot.size() );
+			for ( Map.Entry<Object, Long> entry : snapshot ) {
+				ids.add( entry.getKey() );
+			}
+			return ids;
+		}
+	}
+
+	private static class PreloadThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		private final ClassLoader contextClassLoader;
+
+		private PreloadThreadFactory(ClassLoader contextClassLoader) {
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "Hibernate cache preload-" + threadNumber.incrementAndGet() );
+			thread.setDaemon( true );
+			// entities may be loaded through the context ClassLoader
+			thread.setContextClassLoader( contextClassLoader );
+			return thread;
+		}
+	}
+}
@@ -143,6 +143,21 @@ public class DisabledCaching implements CacheImplementor {
 		// nothing to do
 	}
 
+	@Override
+	public long preloadEntityData(Class<?> entityClass) {
+		return 0;
+	}
+
+	@Override
+	public long preloadEntityData(String entityName) {
+		return 0;
+	}
+
+	@Override
+	public long preloadEntityData(String entityName, String identifierQuery) {
+		return 0;
+	}
+
 	@Override
 	public void evictRegion(String regionName) {
 		// nothing to do
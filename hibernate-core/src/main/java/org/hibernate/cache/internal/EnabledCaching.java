@@ -76,6 +76,8 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 	private final Set<String> legacySecondLevelCacheNames = new LinkedHashSet<>();
 	private final Map<String,Set<NaturalIdDataAccess>> legacyNaturalIdAccessesForRegion = new ConcurrentHashMap<>();
 
+	private final CachePreloader preloader;
+
 	public EnabledCaching(SessionFactoryImplementor sessionFactory) {
 		this.sessionFactory = sessionFactory;
 
@@ -106,6 +108,11 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 			timestampsCache = new TimestampsCacheDisabledImpl();
 			defaultQueryResultsCache = null;
 		}
+
+		preloader = new CachePreloader( sessionFactory );
+		if ( preloader.hasEntitiesToPreload() ) {
+			sessionFactory.addObserver( preloader );
+		}
 	}
 
 	@Override
@@ -559,6 +566,38 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 		return regionFactory.buildQueryResultsRegion( regionName, getSessionFactory() );
 	}
 
+	@Override
+	public long preloadEntityData(Class<?> entityClass) {
+		return preloadEntityData( entityClass.getName(), null );
+	}
+
+	@Override
+	public long preloadEntityData(String entityName) {
+		return preloadEntityData( entityName, null );
+	}
+
+	@Override
+	public long preloadEntityData(String entityName, String identifierQuery) {
+		final EntityPersister entityDescriptor = sessionFactory
+				.getRuntimeMetamodels()
+				.getMappingMetamodel()
+				.getEntityDescriptor( entityName );
+		if ( !entityDescriptor.canWriteToCache() ) {
+			return 0;
+		}
+
+		if ( LOG.isDebugEnabled() ) {
+			LOG.debugf( "Preloading entity cache: %s", entityDescriptor.getNavigableRole().getFullPath() );
+		}
+
+		return preloader.preload( entityDescriptor, identifierQuery );
+	}
+
+	@Override
+	public void recordEntityLoad(EntityPersister persister, Object id) {
+		preloader.recordLoad( persister, id );
+	}
+
 	@Override
 	public Set<String> getCacheRegionNames() {
 		return regionsByName.keySet();
@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Map;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationException;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_MAX_SIZE;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_OFF_HEAP;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_TIME_TO_LIVE;
+
+/**
+ * A {@link org.hibernate.cache.spi.RegionFactory} keeping the second-level
+ * cache in the heap of the JVM, without depending on any caching library.
+ * <p>
+ * Each region is stored by a {@link LocalStorageAccess}, whose maximum size
+ * and expiration are given by {@value org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_MAX_SIZE}
+ * and {@value org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_TIME_TO_LIVE}.
+ * The update timestamps region is never evicted, nor does it expire, since
+ * the query cache could otherwise return stale results.
+ * <p>
+ * The entity, collection, and natural id regions for which
+ * {@value org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_OFF_HEAP} is enabled
+ * are instead stored outside the Java heap by an {@link OffHeapStorageAccess}.
+ * When enabled for all regions rather than for a particular region, it only
+ * applies to the regions caching nothing but read-only and nonstrict read-write
+ * data.
+ * <p>
+ * This factory may be selected using the short name {@value #SHORT_NAME}.
+ *
+ * @since 6.3
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+	/**
+	 * The short name of this factory, for use with
+	 * {@value org.hibernate.cfg.AvailableSettings#CACHE_REGION_FACTORY}
+	 */
+	public static final String SHORT_NAME = "local";
+
+	/**
+	 * The default maximum estimated size of a region in bytes: 32 MB
+	 */
+	public static final long DEFAULT_MAX_SIZE = 32L * 1024 * 1024;
+
+	private Map<String, Object> configValues;
+
+	@Override
+	protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+		this.configValues = configValues;
+	}
+
+	@Override
+	protected void releaseFromUse() {
+		configValues = null;
+	}
+
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess(
+			DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		final String regionName = regionConfig.getRegionName();
+		if ( isOffHeap( regionConfig ) ) {
+			final long maxSize = getRegionSetting( CACHE_LOCAL_MAX_SIZE, regionName, DEFAULT_MAX_SIZE );
+			if ( maxSize <= 0 ) {
+				throw new ConfigurationException(
+						"Region '" + regionName + "' is stored off heap, and so its size must be bounded by '"
+								+ CACHE_LOCAL_MAX_SIZE + "'"
+				);
+			}
+			final long timeToLive = getRegionSetting( CACHE_LOCAL_TIME_TO_LIVE, regionName, 0 );
+			return new OffHeapStorageAccess( regionName, maxSize, timeToLive * 1000 );
+		}
+		return createStorageAccess( regionName );
+	}
+
+	/**
+	 * Whether the given region is stored off heap: either because it is enabled for the
+	 * region, or because it is enabled for all regions and the region is rarely written
+	 */
+	private boolean isOffHeap(DomainDataRegionConfig regionConfig) {
+		final String regionSetting = CACHE_LOCAL_OFF_HEAP + '.' + regionConfig.getRegionName();
+		if ( configValues.get( regionSetting ) != null ) {
+			return ConfigurationHelper.getBoolean( regionSetting, configValues );
+		}
+		return ConfigurationHelper.getBoolean( CACHE_LOCAL_OFF_HEAP, configValues, false )
+				&& isReadMostly( regionConfig );
+	}
+
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return createStorageAccess( regionName );
+	}
+
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return new LocalStorageAccess( regionName, 0, 0 );
+	}
+
+	protected LocalStorageAccess createStorageAccess(String regionName) {
+		final long maxSize = getRegionSetting( CACHE_LOCAL_MAX_SIZE, regionName, DEFAULT_MAX_SIZE );
+		final long timeToLive = getRegionSetting( CACHE_LOCAL_TIME_TO_LIVE, regionName, 0 );
+		return new LocalStorageAccess( regionName, maxSize, timeToLive * 1000 );
+	}
+
+	/**
+	 * The value of the given setting for the given region, that is, the value
+	 * of {@code setting.regionName} if specified, or of {@code setting} otherwise
+	 */
+	private long getRegionSetting(String setting, String regionName, long defaultValue) {
+		final Object regionValue = configValues.get( setting + '.' + regionName );
+		if ( regionValue != null ) {
+			return toLong( setting + '.' + regionName, regionValue );
+		}
+		final Object value = configValues.get( setting );
+		return value == null ? defaultValue : toLong( setting, value );
+	}
+
+	private static long toLong(String setting, Object value) {
+		if ( value instanceof Number ) {
+			return ( (Number) value ).longValue();
+		}
+		try {
+			return Long.parseLong( value.toString().trim() );
+		}
+		catch (NumberFormatException e) {
+			throw new ConfigurationException(
+					"Could not interpret value of setting '" + setting + "' as a number: " + value
+			);
+		}
+	}
+}
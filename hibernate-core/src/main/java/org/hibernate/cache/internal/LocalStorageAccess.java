@@ -0,0 +1,229 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.spi.ExtendedStatisticsSupport;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * In-memory {@link DomainDataStorageAccess} used by {@link LocalRegionFactory}.
+ * <p>
+ * Reads are served from a {@link ConcurrentHashMap} without locking.  The size
+ * of each entry is {@linkplain CacheEntryWeigher estimated} when it is written,
+ * and once the estimated size of the region exceeds its maximum, entries are
+ * evicted in approximately least-recently-used order, following the "clock"
+ * (second chance) algorithm: an entry read since it was last considered for
+ * eviction is kept once more.
+ * <p>
+ * Entries optionally expire a fixed time after they were written.
+ *
+ * @since 6.3
+ */
+public class LocalStorageAccess implements DomainDataStorageAccess, ExtendedStatisticsSupport {
+	private final String regionName;
+	private final long maxSize;
+	private final long timeToLiveNanos;
+
+	private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+	// the entries, in the order they are considered for eviction
+	private final ConcurrentLinkedQueue<Entry> evictionQueue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger removedEntriesInQueue = new AtomicInteger();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final AtomicLong size = new AtomicLong();
+
+	/**
+	 * @param regionName the name of the region, for logging
+	 * @param maxSize the maximum estimated size of the region in bytes, or a
+	 * non-positive value for a region of unbounded size
+	 * @param timeToLive the time in milliseconds after which entries expire, or
+	 * a non-positive value if entries never expire
+	 */
+	public LocalStorageAccess(String regionName, long maxSize, long timeToLive) {
+		this.regionName = regionName;
+		this.maxSize = maxSize > 0 ? maxSize : Long.MAX_VALUE;
+		this.timeToLiveNanos = timeToLive > 0 ? TimeUnit.MILLISECONDS.toNanos( timeToLive ) : 0;
+	}
+
+	public String getRegionName() {
+		return regionName;
+	}
+
+	/**
+	 * The maximum estimated size of the region in bytes
+	 */
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Entry entry = entries.get( key );
+		if ( entry == null ) {
+			return null;
+		}
+		if ( entry.isExpired( timeToLiveNanos ) ) {
+			remove( entry );
+			return null;
+		}
+		if ( !entry.accessed ) {
+			entry.accessed = true;
+		}
+		return entry.value;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		final long weight = CacheEntryWeigher.weigh( value ) + CacheEntryWeigher.ENTRY_OVERHEAD;
+		final long writeTime = timeToLiveNanos > 0 ? System.nanoTime() : 0;
+		entries.compute(
+				key,
+				(k, existing) -> {
+					if ( existing == null ) {
+						final Entry entry = new Entry( k, value, weight, writeTime );
+						evictionQueue.add( entry );
+						size.addAndGet( weight );
+						return entry;
+					}
+					else {
+						size.addAndGet( weight - existing.weight );
+						existing.value = value;
+						existing.weight = weight;
+						existing.writeTime = writeTime;
+						return existing;
+					}
+				}
+		);
+		if ( size.get() > maxSize ) {
+			evict();
+		}
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		final Entry entry = entries.get( key );
+		return entry != null && !entry.isExpired( timeToLiveNanos );
+	}
+
+	@Override
+	public void evictData() {
+		for ( Entry entry : entries.values() ) {
+			remove( entry );
+		}
+	}
+
+	@Override
+	public void evictData(Object key) {
+		final Entry entry = entries.get( key );
+		if ( entry != null ) {
+			remove( entry );
+		}
+	}
+
+	@Override
+	public void release() {
+		evictData();
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return entries.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return size.get();
+	}
+
+	private void remove(Entry entry) {
+		if ( entries.remove( entry.key, entry ) ) {
+			size.addAndGet( -entry.weight );
+			// the entry is left in the eviction queue, and skipped when reached,
+			// unless many removed entries pile up there
+			if ( removedEntriesInQueue.incrementAndGet() > Math.max( 64, entries.size() ) ) {
+				purgeEvictionQueue();
+			}
+		}
+	}
+
+	private void purgeEvictionQueue() {
+		evictionLock.lock();
+		try {
+			removedEntriesInQueue.set( 0 );
+			evictionQueue.removeIf( entry -> entries.get( entry.key ) != entry );
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void evict() {
+		// a single thread evicts entries at a time, others just carry on
+		if ( !evictionLock.tryLock() ) {
+			return;
+		}
+		try {
+			Entry entry;
+			while ( size.get() > maxSize && ( entry = evictionQueue.poll() ) != null ) {
+				if ( entries.get( entry.key ) != entry ) {
+					// already removed
+					removedEntriesInQueue.decrementAndGet();
+				}
+				else if ( entry.accessed && !entry.isExpired( timeToLiveNanos ) ) {
+					// give it a second chance
+					entry.accessed = false;
+					evictionQueue.add( entry );
+				}
+				else if ( entries.remove( entry.key, entry ) ) {
+					size.addAndGet( -entry.weight );
+				}
+			}
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LocalStorageAccess(" + regionName + ")";
+	}
+
+	private static final class Entry {
+		private final Object key;
+		private volatile Object value;
+		private volatile long writeTime;
+		// only updated while the map entry is locked
+		private long weight;
+		private volatile boolean accessed;
+
+		private Entry(Object key, Object value, long weight, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+		}
+
+		private boolean isExpired(long timeToLiveNanos) {
+			return timeToLiveNanos > 0 && System.nanoTime() - writeTime >= timeToLiveNanos;
+		}
+	}
+}
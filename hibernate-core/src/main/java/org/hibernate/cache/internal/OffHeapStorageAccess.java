@@ -0,0 +1,366 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.ExtendedStatisticsSupport;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+
+/**
+ * {@link DomainDataStorageAccess} used by {@link LocalRegionFactory} to keep the
+ * entries of a domain data region outside the Java heap, when
+ * {@value org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_OFF_HEAP} is enabled.
+ * <p>
+ * The values of the entries are written, one after the other, to fixed-size
+ * segments of direct memory: a {@code byte[]}, such as a
+ * {@linkplain org.hibernate.cache.spi.entry.BinaryCacheEntry binary cache entry},
+ * is written as is, while any other value is serialized.  Only the keys, and the
+ * location of the values, remain on the heap.  A value which is overwritten or
+ * removed is not reclaimed until its segment is reused, and so the size of the
+ * region must be bounded.
+ * <p>
+ * Reads do not lock: a value is copied out of its segment, and then discarded
+ * if the segment was reused in the meantime.  Writes are serialized by a lock.
+ * <p>
+ * Once all the segments of the region are full, the oldest segment is reused,
+ * evicting the entries it holds, that is, the entries which were least recently
+ * written.  Each segment keeps the keys written to it, so that its entries are
+ * evicted without scanning the whole region.  Entries optionally expire a fixed
+ * time after they were written.
+ * <p>
+ * Direct memory is released when the storage is garbage collected, and counts
+ * against the limit set by {@code -XX:MaxDirectMemorySize}.
+ *
+ * @since 6.3
+ */
+public class OffHeapStorageAccess implements DomainDataStorageAccess, ExtendedStatisticsSupport {
+	/**
+	 * The number of segments of a region
+	 */
+	private static final int SEGMENT_COUNT = 16;
+	private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+	private static final int MAX_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+	private static final byte BYTES = 0;
+	private static final byte SERIALIZED = 1;
+
+	private final String regionName;
+	private final long maxSize;
+	private final long timeToLiveNanos;
+	private final int segmentSize;
+	private final int maxSegments;
+
+	private final ConcurrentHashMap<Object, Slot> entries = new ConcurrentHashMap<>();
+	private final AtomicLong size = new AtomicLong();
+
+	// only accessed while holding the write lock
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private final List<Segment> segments = new ArrayList<>();
+	private int currentSegment = -1;
+
+	/**
+	 * @param regionName the name of the region, for logging
+	 * @param maxSize the maximum size of the region in bytes, which must be positive
+	 * @param timeToLive the time in milliseconds after which entries expire, or
+	 * a non-positive value if entries never expire
+	 */
+	public OffHeapStorageAccess(String regionName, long maxSize, long timeToLive) {
+		if ( maxSize <= 0 ) {
+			throw new IllegalArgumentException( "The size of off heap region '" + regionName + "' must be bounded" );
+		}
+		this.regionName = regionName;
+		this.timeToLiveNanos = timeToLive > 0 ? TimeUnit.MILLISECONDS.toNanos( timeToLive ) : 0;
+		this.segmentSize = (int) Math.max( MIN_SEGMENT_SIZE, Math.min( MAX_SEGMENT_SIZE, maxSize / SEGMENT_COUNT ) );
+		this.maxSegments = (int) Math.max( 1, maxSize / segmentSize );
+		this.maxSize = (long) segmentSize * maxSegments;
+	}
+
+	public String getRegionName() {
+		return regionName;
+	}
+
+	/**
+	 * The maximum size of the region in bytes, rounded to a whole number of segments
+	 */
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Slot slot = entries.get( key );
+		if ( slot == null ) {
+			return null;
+		}
+		if ( slot.isExpired( timeToLiveNanos ) ) {
+			remove( key, slot );
+			return null;
+		}
+		final byte[] bytes = slot.read();
+		if ( bytes == null ) {
+			return null;
+		}
+		return slot.tag == BYTES ? bytes : SerializationHelper.deserialize( bytes );
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		if ( value == null ) {
+			evictData( key );
+			return;
+		}
+		final byte[] bytes;
+		final byte tag;
+		if ( value instanceof byte[] ) {
+			bytes = (byte[]) value;
+			tag = BYTES;
+		}
+		else if ( value instanceof Serializable ) {
+			bytes = SerializationHelper.serialize( (Serializable) value );
+			tag = SERIALIZED;
+		}
+		else {
+			throw new CacheException(
+					"Could not store value of type '" + value.getClass().getName()
+							+ "' off heap in region '" + regionName + "' since it is not serializable"
+			);
+		}
+		final int length = bytes.length;
+		if ( length > segmentSize ) {
+			// too large to be cached
+			evictData( key );
+			return;
+		}
+
+		final long writeTime = timeToLiveNanos > 0 ? System.nanoTime() : 0;
+		writeLock.lock();
+		try {
+			final Segment segment = segmentWithSpace( length );
+			final int offset = segment.write( key, bytes );
+			final Slot slot = new Slot( segment, segment.generation, offset, length, tag, writeTime );
+			size.addAndGet( length );
+			final Slot previous = entries.put( key, slot );
+			if ( previous != null ) {
+				size.addAndGet( -previous.length );
+			}
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * A segment with enough free space for a value of the given length, reusing
+	 * the oldest segment, and evicting its entries, if no more segments may be
+	 * allocated.  Must be called while holding the write lock.
+	 */
+	private Segment segmentWithSpace(int length) {
+		if ( currentSegment >= 0 ) {
+			final Segment current = segments.get( currentSegment );
+			if ( current.hasSpace( length ) ) {
+				return current;
+			}
+		}
+		currentSegment++;
+		if ( currentSegment == segments.size() && segments.size() < maxSegments ) {
+			final Segment segment = new Segment( segmentSize );
+			segments.add( segment );
+			return segment;
+		}
+		else {
+			if ( currentSegment == segments.size() ) {
+				currentSegment = 0;
+			}
+			final Segment segment = segments.get( currentSegment );
+			evictSegment( segment );
+			segment.reset();
+			return segment;
+		}
+	}
+
+	private void evictSegment(Segment segment) {
+		for ( Object key : segment.keys ) {
+			final Slot slot = entries.get( key );
+			// unless the entry was since removed, or overwritten in another segment
+			if ( slot != null && slot.segment == segment ) {
+				remove( key, slot );
+			}
+		}
+	}
+
+	private void remove(Object key, Slot slot) {
+		if ( entries.remove( key, slot ) ) {
+			size.addAndGet( -slot.length );
+		}
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		final Slot slot = entries.get( key );
+		return slot != null && !slot.isExpired( timeToLiveNanos ) && slot.isValid();
+	}
+
+	@Override
+	public void evictData() {
+		writeLock.lock();
+		try {
+			entries.clear();
+			size.set( 0 );
+			for ( Segment segment : segments ) {
+				segment.reset();
+			}
+			currentSegment = segments.isEmpty() ? -1 : 0;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public void evictData(Object key) {
+		final Slot slot = entries.get( key );
+		if ( slot != null ) {
+			remove( key, slot );
+		}
+	}
+
+	@Override
+	public void release() {
+		writeLock.lock();
+		try {
+			entries.clear();
+			size.set( 0 );
+			for ( Segment segment : segments ) {
+				segment.reset();
+			}
+			segments.clear();
+			currentSegment = -1;
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return entries.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	/**
+	 * The size in bytes of the entries held off heap
+	 */
+	@Override
+	public long getSizeInMemory() {
+		return size.get();
+	}
+
+	@Override
+	public String toString() {
+		return "OffHeapStorageAccess(" + regionName + ")";
+	}
+
+	private static final class Segment {
+		private final ByteBuffer buffer;
+		// a view of the buffer only used while holding the write lock
+		private final ByteBuffer writeBuffer;
+		// the keys of the values written since the segment was last reset,
+		// only accessed while holding the write lock
+		private final List<Object> keys = new ArrayList<>();
+		// incremented each time the segment is reused, so that readers
+		// can detect that the value they read was overwritten
+		private volatile int generation;
+
+		private Segment(int size) {
+			this.buffer = ByteBuffer.allocateDirect( size );
+			this.writeBuffer = buffer.duplicate();
+		}
+
+		private boolean hasSpace(int length) {
+			return writeBuffer.remaining() >= Math.max( length, 1 );
+		}
+
+		private int write(Object key, byte[] bytes) {
+			final int offset = writeBuffer.position();
+			writeBuffer.put( bytes );
+			if ( bytes.length == 0 ) {
+				// every value takes up space, bounding the number of keys
+				writeBuffer.put( (byte) 0 );
+			}
+			keys.add( key );
+			return offset;
+		}
+
+		private void reset() {
+			generation++;
+			// the new generation must be visible before any value is overwritten
+			VarHandle.storeStoreFence();
+			writeBuffer.clear();
+			keys.clear();
+		}
+	}
+
+	private static final class Slot {
+		private final Segment segment;
+		private final int generation;
+		private final int offset;
+		private final int length;
+		// whether the value is a byte[] or was serialized
+		private final byte tag;
+		private final long writeTime;
+
+		private Slot(Segment segment, int generation, int offset, int length, byte tag, long writeTime) {
+			this.segment = segment;
+			this.generation = generation;
+			this.offset = offset;
+			this.length = length;
+			this.tag = tag;
+			this.writeTime = writeTime;
+		}
+
+		private boolean isExpired(long timeToLiveNanos) {
+			return timeToLiveNanos > 0 && System.nanoTime() - writeTime >= timeToLiveNanos;
+		}
+
+		private boolean isValid() {
+			return segment.generation == generation;
+		}
+
+		/**
+		 * Copy the value out of the segment, or return null if the segment was
+		 * reused in the meantime
+		 */
+		private byte[] read() {
+			if ( !isValid() ) {
+				return null;
+			}
+			final byte[] bytes = new byte[length];
+			final ByteBuffer view = segment.buffer.duplicate();
+			view.position( offset );
+			view.get( bytes );
+			// the value must be read before the generation is checked again
+			VarHandle.acquireFence();
+			return isValid() ? bytes : null;
+		}
+	}
+}
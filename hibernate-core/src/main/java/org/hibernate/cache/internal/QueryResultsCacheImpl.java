@@ -8,15 +8,26 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.hibernate.HibernateException;
+import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 
 import static org.hibernate.cache.spi.SecondLevelCacheLogger.DEBUG_ENABLED;
 import static org.hibernate.cache.spi.SecondLevelCacheLogger.L2CACHE_LOGGER;
@@ -31,9 +42,16 @@ import static org.hibernate.cache.spi.SecondLevelCacheLogger.L2CACHE_LOGGER;
  */
 public class QueryResultsCacheImpl implements QueryResultsCache {
 
+	// the maximum number of computations tracked before expired ones are removed
+	private static final int MAX_COMPUTATIONS = 1024;
+
 	private final QueryResultsRegion cacheRegion;
 	private final TimestampsCache timestampsCache;
 
+	// the computations of query results in progress following a cache miss,
+	// when these are coalesced
+	private final ConcurrentMap<QueryKey, Computation> computations = new ConcurrentHashMap<>();
+
 	QueryResultsCacheImpl(
 			QueryResultsRegion cacheRegion,
 			TimestampsCache timestampsCache) {
@@ -51,13 +69,25 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			final QueryKey key,
 			final List<?> results,
 			final SharedSessionContractImplementor session) throws HibernateException {
+		return put( key, results, null, null, session );
+	}
+
+	@Override
+	public boolean put(
+			final QueryKey key,
+			final List<?> results,
+			final String[] entityNames,
+			final Collection<?> ids,
+			final SharedSessionContractImplementor session) throws HibernateException {
 		if ( DEBUG_ENABLED ) {
 			L2CACHE_LOGGER.debugf( "Caching query results in region: %s; timestamp=%s", cacheRegion.getName(), session.getCacheTransactionSynchronization().getCachingTimestamp() );
 		}
 
 		final CacheItem cacheItem = new CacheItem(
 				session.getCacheTransactionSynchronization().getCachingTimestamp(),
-				deepCopy( results )
+				deepCopy( results ),
+				entityNames,
+				ids == null ? null : ids.toArray()
 		);
 
 		try {
@@ -66,6 +96,10 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		}
 		finally {
 			session.getEventListenerManager().cachePutEnd();
+			final Computation computation = computations.remove( key );
+			if ( computation != null ) {
+				computation.complete();
+			}
 		}
 
 		return true;
@@ -80,6 +114,41 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			final QueryKey key,
 			final Set<String> spaces,
 			final SharedSessionContractImplementor session) throws HibernateException {
+		return get( key, (Collection<String>) spaces, false, session );
+	}
+
+	@Override
+	public List<?> get(
+			final QueryKey key,
+			final String[] spaces,
+			final SharedSessionContractImplementor session) throws HibernateException {
+		return get( key, Arrays.asList( spaces ), false, session );
+	}
+
+	@Override
+	public List<?> get(
+			final QueryKey key,
+			final Set<String> spaces,
+			final boolean computeOnMiss,
+			final SharedSessionContractImplementor session) throws HibernateException {
+		return get( key, (Collection<String>) spaces, computeOnMiss, session );
+	}
+
+	@Override
+	public void endComputation(QueryKey key) {
+		final Computation computation = computations.get( key );
+		if ( computation != null
+				&& computation.owner == Thread.currentThread()
+				&& computations.remove( key, computation ) ) {
+			computation.complete();
+		}
+	}
+
+	private List<?> get(
+			final QueryKey key,
+			final Collection<String> spaces,
+			final boolean computeOnMiss,
+			final SharedSessionContractImplementor session) {
 		if ( DEBUG_ENABLED ) {
 			L2CACHE_LOGGER.debugf( "Checking cached query results in region: %s", cacheRegion.getName() );
 		}
@@ -89,14 +158,14 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			if ( DEBUG_ENABLED ) {
 				L2CACHE_LOGGER.debug( "Query results were not found in cache" );
 			}
-			return null;
+			return coalesce( key, spaces, null, computeOnMiss, session );
 		}
 
-		if ( !timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session ) ) {
+		if ( !isUpToDate( spaces, cacheItem, session ) ) {
 			if ( DEBUG_ENABLED ) {
 				L2CACHE_LOGGER.debug( "Cached query results were not up-to-date" );
 			}
-			return null;
+			return coalesce( key, spaces, cacheItem, computeOnMiss, session );
 		}
 
 		if ( DEBUG_ENABLED ) {
@@ -106,35 +175,138 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		return deepCopy( cacheItem.results );
 	}
 
-	@Override
-	public List<?> get(
-			final QueryKey key,
-			final String[] spaces,
-			final SharedSessionContractImplementor session) throws HibernateException {
-		if ( DEBUG_ENABLED ) {
-			L2CACHE_LOGGER.debugf( "Checking cached query results in region: %s", cacheRegion.getName() );
+	/**
+	 * Following a cache miss, let the caller compute the query results unless they
+	 * are already being computed by another caller, in which case either return the
+	 * results which are no longer up-to-date during the grace period, or wait for the
+	 * computation to complete.
+	 * <p>
+	 * Only a caller which puts the results it computes is registered as computing
+	 * them, since only its put, or the end of its computation, completes them.
+	 *
+	 * @param staleItem The cached results which are no longer up-to-date, if any
+	 * @param computeOnMiss Whether the caller may be registered as computing the results
+	 *
+	 * @return the results to use, or null if the caller needs to compute them
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_STALE_GRACE_PERIOD
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COALESCING_TIMEOUT
+	 */
+	private List<?> coalesce(
+			QueryKey key,
+			Collection<String> spaces,
+			CacheItem staleItem,
+			boolean computeOnMiss,
+			SharedSessionContractImplementor session) {
+		final SessionFactoryOptions options = session.getFactory().getSessionFactoryOptions();
+		final int gracePeriod = options.getQueryCacheStaleGracePeriod();
+		final int coalescingTimeout = options.getQueryCacheCoalescingTimeout();
+		if ( gracePeriod <= 0 && coalescingTimeout <= 0 || isInvalidatedBySession( spaces, session ) ) {
+			return null;
 		}
 
-		final CacheItem cacheItem = getCachedData( key, session );
-		if ( cacheItem == null ) {
-			if ( DEBUG_ENABLED ) {
-				L2CACHE_LOGGER.debug( "Query results were not found in cache" );
-			}
+		final int timeout = Math.max( gracePeriod, coalescingTimeout );
+		final Computation computation = computeOnMiss
+				? startComputation( key, timeout )
+				: findComputation( key, timeout );
+		if ( computation == null ) {
+			// this caller computes the results
 			return null;
 		}
 
-		if ( !timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session ) ) {
+		if ( staleItem != null && computation.getAge() < gracePeriod ) {
 			if ( DEBUG_ENABLED ) {
-				L2CACHE_LOGGER.debug( "Cached query results were not up-to-date" );
+				L2CACHE_LOGGER.debug( "Returning cached query results which are not up-to-date during their computation" );
 			}
-			return null;
+			return deepCopy( staleItem.results );
 		}
 
-		if ( DEBUG_ENABLED ) {
-			L2CACHE_LOGGER.debug( "Returning cached query results" );
+		if ( coalescingTimeout > 0 && computation.await( coalescingTimeout ) ) {
+			final CacheItem cacheItem = getCachedData( key, session );
+			if ( cacheItem != null && isUpToDate( spaces, cacheItem, session ) ) {
+				if ( DEBUG_ENABLED ) {
+					L2CACHE_LOGGER.debug( "Returning query results computed concurrently" );
+				}
+				return deepCopy( cacheItem.results );
+			}
 		}
+		return null;
+	}
 
-		return deepCopy( cacheItem.results );
+	/**
+	 * Did the session change any of the given spaces in its current transaction?
+	 */
+	private static boolean isInvalidatedBySession(Collection<String> spaces, SharedSessionContractImplementor session) {
+		return session.isEventSource() && session.asEventSource().getActionQueue().areTablesInvalidated( spaces );
+	}
+
+	/**
+	 * Register the computation of the results for the given key by the current
+	 * thread, unless another thread is already computing them.
+	 *
+	 * @param timeout The time after which the computation of another thread is
+	 * considered to have failed
+	 *
+	 * @return the computation of another thread, or null if the current thread
+	 * needs to compute the results
+	 */
+	private Computation startComputation(QueryKey key, int timeout) {
+		if ( computations.size() > MAX_COMPUTATIONS ) {
+			// the results of some computations may never have been put
+			computations.values().removeIf( computation -> computation.getAge() > timeout );
+		}
+		final Computation computation = new Computation();
+		final Computation current = computations.merge(
+				key,
+				computation,
+				(existing, created) -> existing.owner == created.owner || existing.getAge() > timeout
+						? created
+						: existing
+		);
+		return current == computation ? null : current;
+	}
+
+	/**
+	 * The computation of the results for the given key by another thread, if any.
+	 */
+	private Computation findComputation(QueryKey key, int timeout) {
+		final Computation computation = computations.get( key );
+		return computation == null
+				|| computation.owner == Thread.currentThread()
+				|| computation.getAge() > timeout
+				? null
+				: computation;
+	}
+
+	private boolean isUpToDate(
+			Collection<String> spaces,
+			CacheItem cacheItem,
+			SharedSessionContractImplementor session) {
+		return cacheItem.ids != null && isRowInvalidated( spaces, cacheItem.entityNames, session.getFactory() )
+				? timestampsCache.isUpToDate( spaces, Arrays.asList( cacheItem.ids ), cacheItem.timestamp, session )
+				: timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session );
+	}
+
+	/**
+	 * Is the result only affected by updates and deletions of the given entities,
+	 * or may updates to some other table also change it?
+	 */
+	private static boolean isRowInvalidated(
+			Collection<String> spaces,
+			String[] entityNames,
+			SessionFactoryImplementor factory) {
+		if ( !factory.getSessionFactoryOptions().isQueryCacheRowInvalidationEnabled() ) {
+			return false;
+		}
+		final Set<Serializable> entitySpaces = new HashSet<>();
+		for ( String entityName : entityNames ) {
+			final EntityPersister persister = factory.getMappingMetamodel().findEntityDescriptor( entityName );
+			if ( persister == null ) {
+				return false;
+			}
+			Collections.addAll( entitySpaces, persister.getQuerySpaces() );
+		}
+		return entitySpaces.containsAll( spaces );
 	}
 
 	private CacheItem getCachedData(QueryKey key, SharedSessionContractImplementor session) {
@@ -154,13 +326,49 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		return "QueryResultsCache(" + cacheRegion.getName() + ')';
 	}
 
+	private static final class Computation {
+		private final Thread owner = Thread.currentThread();
+		private final long start = System.currentTimeMillis();
+		private final CountDownLatch completion = new CountDownLatch( 1 );
+
+		long getAge() {
+			return System.currentTimeMillis() - start;
+		}
+
+		void complete() {
+			completion.countDown();
+		}
+
+		boolean await(int timeout) {
+			try {
+				return completion.await( timeout, TimeUnit.MILLISECONDS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
 	public static class CacheItem implements Serializable {
 		private final Long timestamp;
 		private final List<?> results;
+		private final String[] entityNames;
+		private final Object[] ids;
 
-		CacheItem(long timestamp, List<?> results) {
+		CacheItem(long timestamp, List<?> results, String[] entityNames, Object[] ids) {
 			this.timestamp = Long.valueOf( timestamp );
 			this.results = results;
+			this.entityNames = entityNames;
+			this.ids = ids;
+		}
+
+		List<?> getResults() {
+			return results;
+		}
+
+		Object[] getIds() {
+			return ids;
 		}
 	}
 }
@@ -76,7 +76,7 @@ public class RegionFactoryInitiator implements StandardServiceInitiator<RegionFa
 			}
 		}
 
-		final Object setting = configurationValues.get( AvailableSettings.CACHE_REGION_FACTORY );
+		final Object setting = resolveShortName( configurationValues.get( AvailableSettings.CACHE_REGION_FACTORY ) );
 
 		final StrategySelector selector = registry.getService( StrategySelector.class );
 		final Collection<Class<? extends RegionFactory>> implementors = selector.getRegisteredStrategyImplementors( RegionFactory.class );
@@ -127,4 +127,11 @@ public class RegionFactoryInitiator implements StandardServiceInitiator<RegionFa
 	protected RegionFactory getFallback(Map<?,?> configurationValues, ServiceRegistryImplementor registry) {
 		return null;
 	}
+
+	private static Object resolveShortName(Object setting) {
+		if ( setting instanceof String && LocalRegionFactory.SHORT_NAME.equalsIgnoreCase( ( (String) setting ).trim() ) ) {
+			return LocalRegionFactory.class;
+		}
+		return setting;
+	}
 }
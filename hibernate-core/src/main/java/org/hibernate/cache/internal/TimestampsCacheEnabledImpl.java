@@ -6,7 +6,12 @@
  */
 package org.hibernate.cache.internal;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsCache;
@@ -28,6 +33,15 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 
 	public static final boolean DEBUG_ENABLED = log.isDebugEnabled();
 
+	/**
+	 * The number of buckets the identifiers of the rows of a space are hashed to,
+	 * when {@linkplain #invalidateRows row invalidation} is used.  A timestamp is
+	 * kept per bucket rather than per row, bounding the number of entries of the
+	 * region, at the cost of invalidating a query result when a row which shares
+	 * a bucket with one of its rows changes.
+	 */
+	public static final int ROW_BUCKETS = 1024;
+
 	private final TimestampsRegion timestampsRegion;
 
 	public TimestampsCacheEnabledImpl(TimestampsRegion timestampsRegion) {
@@ -54,6 +68,8 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
 		final boolean debugEnabled = log.isDebugEnabled();
 
+		final boolean rowInvalidation = factory.getSessionFactoryOptions().isQueryCacheRowInvalidationEnabled();
+
 		for ( String space : spaces ) {
 			if ( debugEnabled ) {
 				log.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
@@ -65,6 +81,9 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 				//put() has nowait semantics, is this really appropriate?
 				//note that it needs to be async replication, never local or sync
 				timestampsRegion.putIntoCache( space, ts, session );
+				if ( rowInvalidation ) {
+					timestampsRegion.putIntoCache( new TableKey( space ), ts, session );
+				}
 			}
 			finally {
 				eventListenerManager.cachePutEnd();
@@ -76,6 +95,57 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		}
 	}
 
+	@Override
+	public void preInvalidateRows(
+			String space,
+			Collection<?> ids,
+			SharedSessionContractImplementor session) {
+		final RegionFactory regionFactory = session.getFactory().getCache().getRegionFactory();
+		final Long ts = regionFactory.nextTimestamp() + regionFactory.getTimeout();
+		if ( log.isDebugEnabled() ) {
+			log.debugf( "Pre-invalidating %s rows of space [%s], timestamp: %s", ids.size(), space, ts );
+		}
+		putRowTimestamps( space, ids, ts, session );
+	}
+
+	@Override
+	public void invalidateRows(
+			String space,
+			Collection<?> ids,
+			SharedSessionContractImplementor session) {
+		final Long ts = session.getFactory().getCache().getRegionFactory().nextTimestamp();
+		if ( log.isDebugEnabled() ) {
+			log.debugf( "Invalidating %s rows of space [%s], timestamp: %s", ids.size(), space, ts );
+		}
+		putRowTimestamps( space, ids, ts, session );
+	}
+
+	private void putRowTimestamps(
+			String space,
+			Collection<?> ids,
+			Long ts,
+			SharedSessionContractImplementor session) {
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		try {
+			eventListenerManager.cachePutStart();
+			// queries which do not track the rows they depend on
+			// are still invalidated by any change to the space
+			timestampsRegion.putIntoCache( space, ts, session );
+			final BitSet buckets = buckets( ids );
+			for ( int bucket = buckets.nextSetBit( 0 ); bucket >= 0; bucket = buckets.nextSetBit( bucket + 1 ) ) {
+				timestampsRegion.putIntoCache( new RowKey( space, bucket ), ts, session );
+			}
+		}
+		finally {
+			eventListenerManager.cachePutEnd();
+		}
+
+		if ( statistics.isStatisticsEnabled() ) {
+			statistics.updateTimestampsCachePut();
+		}
+	}
+
 	@Override
 	public void invalidate(
 			String[] spaces,
@@ -85,6 +155,9 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 
 		final Long ts = session.getFactory().getCache().getRegionFactory().nextTimestamp();
 		final boolean debugEnabled = log.isDebugEnabled();
+		final boolean rowInvalidation = session.getFactory()
+				.getSessionFactoryOptions()
+				.isQueryCacheRowInvalidationEnabled();
 
 		for ( String space : spaces ) {
 			if ( debugEnabled ) {
@@ -95,6 +168,9 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 			try {
 				eventListenerManager.cachePutStart();
 				timestampsRegion.putIntoCache( space, ts, session );
+				if ( rowInvalidation ) {
+					timestampsRegion.putIntoCache( new TableKey( space ), ts, session );
+				}
 			}
 			finally {
 				eventListenerManager.cachePutEnd();
@@ -122,12 +198,63 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return true;
 	}
 
+	@Override
+	public boolean isUpToDate(
+			Collection<String> spaces,
+			Collection<?> ids,
+			Long timestamp,
+			SharedSessionContractImplementor session) {
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+
+		final BitSet buckets = buckets( ids );
+		final List<Object> keys = new ArrayList<>( spaces.size() * ( buckets.cardinality() + 1 ) );
+		for ( String space : spaces ) {
+			keys.add( new TableKey( space ) );
+			for ( int bucket = buckets.nextSetBit( 0 ); bucket >= 0; bucket = buckets.nextSetBit( bucket + 1 ) ) {
+				keys.add( new RowKey( space, bucket ) );
+			}
+		}
+
+		// a single round trip to the cache
+		Map<Object, Object> lastUpdates = null;
+		try {
+			session.getEventListenerManager().cacheGetStart();
+			lastUpdates = timestampsRegion.getAllFromCache( keys, session );
+		}
+		finally {
+			session.getEventListenerManager().cacheGetEnd( lastUpdates != null && !lastUpdates.isEmpty() );
+		}
+
+		for ( Object key : keys ) {
+			if ( isOutOfDate( key, (Long) lastUpdates.get( key ), timestamp, statistics ) ) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static BitSet buckets(Collection<?> ids) {
+		final BitSet buckets = new BitSet( ROW_BUCKETS );
+		for ( Object id : ids ) {
+			buckets.set( Math.floorMod( id.hashCode(), ROW_BUCKETS ) );
+		}
+		return buckets;
+	}
+
 	private boolean isSpaceOutOfDate(
-			String space,
+			Object space,
 			Long timestamp,
 			SharedSessionContractImplementor session,
 			StatisticsImplementor statistics) {
-		final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
+		return isOutOfDate( space, getLastUpdateTimestampForSpace( space, session ), timestamp, statistics );
+	}
+
+	private static boolean isOutOfDate(
+			Object space,
+			Long lastUpdate,
+			Long timestamp,
+			StatisticsImplementor statistics) {
 		if ( lastUpdate == null ) {
 			// the last update timestamp for the given space was evicted from the
 			// cache or there have been no writes to it since startup
@@ -173,7 +300,7 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return true;
 	}
 
-	private Long getLastUpdateTimestampForSpace(String space, SharedSessionContractImplementor session) {
+	private Long getLastUpdateTimestampForSpace(Object space, SharedSessionContractImplementor session) {
 		Long ts = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
@@ -185,4 +312,64 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return ts;
 	}
 
+	/**
+	 * The key of the timestamp of the last change to a space which was not
+	 * tracked row by row, when {@linkplain #invalidateRows row invalidation}
+	 * is used
+	 */
+	private static final class TableKey implements Serializable {
+		private final String space;
+
+		private TableKey(String space) {
+			this.space = space;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof TableKey && space.equals( ( (TableKey) o ).space );
+		}
+
+		@Override
+		public int hashCode() {
+			return space.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return space + "#table";
+		}
+	}
+
+	/**
+	 * The key of the timestamp of the last update or deletion of a row
+	 * whose identifier belongs to a {@linkplain #ROW_BUCKETS bucket}
+	 */
+	private static final class RowKey implements Serializable {
+		private final String space;
+		private final int bucket;
+
+		private RowKey(String space, int bucket) {
+			this.space = space;
+			this.bucket = bucket;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof RowKey ) ) {
+				return false;
+			}
+			final RowKey that = (RowKey) o;
+			return bucket == that.bucket && space.equals( that.space );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * space.hashCode() + bucket;
+		}
+
+		@Override
+		public String toString() {
+			return space + "#" + bucket;
+		}
+	}
 }
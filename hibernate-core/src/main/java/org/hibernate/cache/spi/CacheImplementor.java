@@ -120,6 +120,18 @@ public interface CacheImplementor extends Service, Cache, Serializable {
 		}
 	}
 
+	/**
+	 * Record a load by id of the given entity instance which is not associated
+	 * with the session, so that the most frequently loaded instances may be
+	 * preloaded when the next {@code SessionFactory} is created.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_PRELOAD_HOT_KEYS_FILE
+	 *
+	 * @since 6.3
+	 */
+	default void recordEntityLoad(EntityPersister persister, Object id) {
+	}
+
 	/**
 	 * Close this "cache", releasing all underlying resources.
 	 */
@@ -6,7 +6,11 @@
  */
 package org.hibernate.cache.spi;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.CollectionHelper;
 
 /**
  * Specialized {@link Region} whose data is accessed directly,
@@ -23,6 +27,27 @@ public interface DirectAccessRegion extends Region {
 	 */
 	Object getFromCache(Object key, SharedSessionContractImplementor session);
 
+	/**
+	 * Get the values with the given keys, in a single round trip
+	 * to the cache if possible
+	 *
+	 * @return the values found in the cache, by key
+	 *
+	 * @implNote the method default is to call {@link #getFromCache} for each key
+	 *
+	 * @since 6.3
+	 */
+	default Map<Object, Object> getAllFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object, Object> values = CollectionHelper.mapOfSize( keys.size() );
+		for ( Object key : keys ) {
+			final Object value = getFromCache( key, session );
+			if ( value != null ) {
+				values.put( key, value );
+			}
+		}
+		return values;
+	}
+
 	/**
 	 * Put a value by key
 	 */
@@ -6,6 +6,7 @@
  */
 package org.hibernate.cache.spi;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -54,6 +55,36 @@ public interface QueryResultsCache {
 			List<?> result,
 			SharedSessionContractImplementor session) throws HibernateException;
 
+	/**
+	 * Store a result list of a query with the given {@link QueryKey}
+	 * in the query result cache, along with the identifiers of the
+	 * entities making up the result, so that the result need only be
+	 * invalidated when one of these entities is updated or deleted.
+	 *
+	 * @param key The cache key uniquely identifying the query and its
+	 *            bound parameter arguments
+	 * @param result The result list to cache
+	 * @param entityNames The names of the entities making up the result
+	 * @param ids The identifiers of the entities making up the result
+	 * @param session The originating session
+	 *
+	 * @return Whether the put actually happened.
+	 *
+	 * @throws HibernateException Indicates a problem delegating to the underlying cache.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION
+	 *
+	 * @since 6.3
+	 */
+	default boolean put(
+			QueryKey key,
+			List<?> result,
+			String[] entityNames,
+			Collection<?> ids,
+			SharedSessionContractImplementor session) throws HibernateException {
+		return put( key, result, session );
+	}
+
 	/**
 	 * Attempt to retrieve a cached query result list for the given
 	 * {@link QueryKey} from the {@linkplain QueryResultsRegion cache
@@ -101,6 +132,49 @@ public interface QueryResultsCache {
 			String[] spaces,
 			SharedSessionContractImplementor session) throws HibernateException;
 
+	/**
+	 * Attempt to retrieve a cached query result list for the given
+	 * {@link QueryKey}, as {@link #get(QueryKey, Set, SharedSessionContractImplementor)}.
+	 * If there is no up-to-date result list, and the caller is going to
+	 * {@linkplain #put put} the results it computes, the caller may be
+	 * registered as computing them, so that concurrent callers wait for
+	 * these results rather than compute them too. The caller must then
+	 * {@linkplain #endComputation end the computation} once the query
+	 * is executed, whether it succeeded or not.
+	 *
+	 * @param computeOnMiss Whether the caller computes, and puts, the
+	 *                      results if they are not cached
+	 *
+	 * @return The cached results; may be null.
+	 *
+	 * @throws HibernateException Indicates a problem delegating to the underlying cache.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COALESCING_TIMEOUT
+	 *
+	 * @since 6.3
+	 */
+	default List<?> get(
+			QueryKey key,
+			Set<String> spaces,
+			boolean computeOnMiss,
+			SharedSessionContractImplementor session) throws HibernateException {
+		return get( key, spaces, session );
+	}
+
+	/**
+	 * End the computation of the results for the given {@link QueryKey}
+	 * by the current thread, if it was registered by
+	 * {@link #get(QueryKey, Set, boolean, SharedSessionContractImplementor)},
+	 * releasing the callers waiting for it.
+	 *
+	 * @param key The cache key uniquely identifying the query and its
+	 *            bound parameter arguments
+	 *
+	 * @since 6.3
+	 */
+	default void endComputation(QueryKey key) {
+	}
+
 	/**
 	 * Clear all items from this query result cache.
 	 *
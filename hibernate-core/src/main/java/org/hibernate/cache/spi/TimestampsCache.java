@@ -67,6 +67,61 @@ public interface TimestampsCache {
 			Long timestamp,
 			SharedSessionContractImplementor session);
 
+	/**
+	 * Perform pre-invalidation of the rows with the given identifiers
+	 * of the given space (table name), which are being updated or deleted,
+	 * against the timestamp region data.
+	 * <p>
+	 * By default, the whole space is pre-invalidated.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION
+	 *
+	 * @since 6.3
+	 */
+	default void preInvalidateRows(
+			String space,
+			Collection<?> ids,
+			SharedSessionContractImplementor session) {
+		preInvalidate( new String[] { space }, session );
+	}
+
+	/**
+	 * Perform invalidation of the rows with the given identifiers of the
+	 * given space (table name), which were updated or deleted, against the
+	 * timestamp region data.
+	 * <p>
+	 * By default, the whole space is invalidated.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION
+	 *
+	 * @since 6.3
+	 */
+	default void invalidateRows(
+			String space,
+			Collection<?> ids,
+			SharedSessionContractImplementor session) {
+		invalidate( new String[] { space }, session );
+	}
+
+	/**
+	 * Perform an up-to-date check for the given set of query spaces as
+	 * part of verifying the validity of cached query results which only
+	 * depend on the rows of these spaces with the given identifiers.
+	 * <p>
+	 * By default, the whole spaces are checked.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION
+	 *
+	 * @since 6.3
+	 */
+	default boolean isUpToDate(
+			Collection<String> spaces,
+			Collection<?> ids,
+			Long timestamp,
+			SharedSessionContractImplementor session) {
+		return isUpToDate( spaces, timestamp, session );
+	}
+
 	default void clear() throws CacheException {
 		getRegion().clear();
 	}
@@ -0,0 +1,556 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Binary CacheEntry format for entities.  Used to store the entry into the second-level cache
+ * as a compact {@code byte[]}, which is much cheaper for a remote or clustered cache to store
+ * and transfer than the Java serialization of a {@link StandardCacheEntryImpl}.
+ * <p>
+ * Each value of the disassembled state is written as a one-byte tag, followed by a compact
+ * encoding of the value, using variable-length integers, and without any class descriptor.
+ * Enumerated values are written as the name of the constant, the enumeration being given by
+ * the type of the attribute. Values of any other type are written using Java serialization.
+ * <p>
+ * An entry also records the version of the format, and a 64-bit fingerprint of the attributes
+ * of the entity.  An entry written by a different version of the format, or for a different
+ * mapping of the entity, is ignored, that is, treated as a cache miss.  So is an entry which
+ * cannot be read, because it contains an unknown tag, or an enumerated value whose constant
+ * no longer exists.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#USE_BINARY_CACHE
+ *
+ * @since 6.3
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	/**
+	 * The version of the format of the entries
+	 */
+	public static final byte FORMAT_VERSION = 2;
+
+	private static final byte NULL = 0;
+	private static final byte UNFETCHED = 1;
+	private static final byte UNKNOWN = 2;
+	private static final byte TRUE = 3;
+	private static final byte FALSE = 4;
+	private static final byte INTEGER = 5;
+	private static final byte LONG = 6;
+	private static final byte SHORT = 7;
+	private static final byte BYTE = 8;
+	private static final byte CHARACTER = 9;
+	private static final byte FLOAT = 10;
+	private static final byte DOUBLE = 11;
+	private static final byte STRING = 12;
+	private static final byte BIG_DECIMAL = 13;
+	private static final byte BIG_INTEGER = 14;
+	private static final byte BYTES = 15;
+	private static final byte UUID_VALUE = 16;
+	private static final byte LOCAL_DATE = 17;
+	private static final byte LOCAL_TIME = 18;
+	private static final byte LOCAL_DATE_TIME = 19;
+	private static final byte INSTANT = 20;
+	private static final byte DATE = 21;
+	private static final byte SQL_DATE = 22;
+	private static final byte SQL_TIME = 23;
+	private static final byte SQL_TIMESTAMP = 24;
+	private static final byte ENUM = 25;
+	private static final byte ARRAY = 26;
+	private static final byte SERIALIZED = 27;
+
+	private final EntityPersister persister;
+	private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a BinaryCacheEntry strategy
+	 *
+	 * @param persister The persister whose data needs to be structured.
+	 */
+	public BinaryCacheEntry(EntityPersister persister) {
+		this.persister = persister;
+	}
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final Schema schema = getSchema( entry.getSubclass(), persister.getFactory() );
+		final Serializable[] state = entry.getDisassembledState();
+
+		final Output output = new Output( 16 + 8 * state.length );
+		output.writeByte( FORMAT_VERSION );
+		output.writeString( entry.getSubclass() );
+		output.writeLong( schema.fingerprint );
+		writeValue( output, entry.getVersion(), null );
+		output.writeVarLong( state.length );
+		for ( int i = 0; i < state.length; i++ ) {
+			writeValue( output, state[i], schema.types[i] );
+		}
+		return output.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		if ( !( structured instanceof byte[] ) ) {
+			return null;
+		}
+		final Input input = new Input( (byte[]) structured );
+		try {
+			if ( input.readByte() != FORMAT_VERSION ) {
+				return null;
+			}
+			final String subclass = input.readString();
+			final Schema schema = getSchema( subclass, factory );
+			if ( schema == null || input.readLong() != schema.fingerprint ) {
+				return null;
+			}
+			final Object version = readValue( input, null );
+			final int length = (int) input.readVarLong();
+			if ( length != schema.types.length ) {
+				return null;
+			}
+			final Serializable[] disassembledState = new Serializable[length];
+			for ( int i = 0; i < length; i++ ) {
+				disassembledState[i] = (Serializable) readValue( input, schema.types[i] );
+			}
+			return new StandardCacheEntryImpl( disassembledState, subclass, version );
+		}
+		catch (UnreadableEntryException | IndexOutOfBoundsException e) {
+			// a corrupt entry, or one written by an incompatible version of a class
+			return null;
+		}
+	}
+
+	private Schema getSchema(String entityName, SessionFactoryImplementor factory) {
+		final Schema schema = schemas.get( entityName );
+		if ( schema != null ) {
+			return schema;
+		}
+		final EntityPersister subclassPersister = factory.getRuntimeMetamodels()
+				.getMappingMetamodel()
+				.findEntityDescriptor( entityName );
+		return subclassPersister == null
+				? null
+				: schemas.computeIfAbsent( entityName, name -> new Schema( subclassPersister ) );
+	}
+
+	private static void writeValue(Output output, Object value, Type type) {
+		if ( value == null ) {
+			output.writeByte( NULL );
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			output.writeByte( UNFETCHED );
+		}
+		else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			output.writeByte( UNKNOWN );
+		}
+		else if ( value instanceof Boolean ) {
+			output.writeByte( (Boolean) value ? TRUE : FALSE );
+		}
+		else if ( value instanceof Integer ) {
+			output.writeByte( INTEGER );
+			output.writeVarLong( zigZag( (Integer) value ) );
+		}
+		else if ( value instanceof Long ) {
+			output.writeByte( LONG );
+			output.writeVarLong( zigZag( (Long) value ) );
+		}
+		else if ( value instanceof Short ) {
+			output.writeByte( SHORT );
+			output.writeVarLong( zigZag( (Short) value ) );
+		}
+		else if ( value instanceof Byte ) {
+			output.writeByte( BYTE );
+			output.writeByte( (Byte) value );
+		}
+		else if ( value instanceof Character ) {
+			output.writeByte( CHARACTER );
+			output.writeVarLong( (Character) value );
+		}
+		else if ( value instanceof Float ) {
+			output.writeByte( FLOAT );
+			output.writeInt( Float.floatToRawIntBits( (Float) value ) );
+		}
+		else if ( value instanceof Double ) {
+			output.writeByte( DOUBLE );
+			output.writeLong( Double.doubleToRawLongBits( (Double) value ) );
+		}
+		else if ( value instanceof String ) {
+			output.writeByte( STRING );
+			output.writeString( (String) value );
+		}
+		else if ( value.getClass() == BigDecimal.class ) {
+			final BigDecimal decimal = (BigDecimal) value;
+			output.writeByte( BIG_DECIMAL );
+			output.writeVarLong( zigZag( decimal.scale() ) );
+			output.writeBytes( decimal.unscaledValue().toByteArray() );
+		}
+		else if ( value.getClass() == BigInteger.class ) {
+			output.writeByte( BIG_INTEGER );
+			output.writeBytes( ( (BigInteger) value ).toByteArray() );
+		}
+		else if ( value instanceof byte[] ) {
+			output.writeByte( BYTES );
+			output.writeBytes( (byte[]) value );
+		}
+		else if ( value instanceof UUID ) {
+			final UUID uuid = (UUID) value;
+			output.writeByte( UUID_VALUE );
+			output.writeLong( uuid.getMostSignificantBits() );
+			output.writeLong( uuid.getLeastSignificantBits() );
+		}
+		else if ( value instanceof LocalDate ) {
+			output.writeByte( LOCAL_DATE );
+			output.writeVarLong( zigZag( ( (LocalDate) value ).toEpochDay() ) );
+		}
+		else if ( value instanceof LocalTime ) {
+			output.writeByte( LOCAL_TIME );
+			output.writeVarLong( ( (LocalTime) value ).toNanoOfDay() );
+		}
+		else if ( value instanceof LocalDateTime ) {
+			final LocalDateTime dateTime = (LocalDateTime) value;
+			output.writeByte( LOCAL_DATE_TIME );
+			output.writeVarLong( zigZag( dateTime.toLocalDate().toEpochDay() ) );
+			output.writeVarLong( dateTime.toLocalTime().toNanoOfDay() );
+		}
+		else if ( value instanceof Instant ) {
+			final Instant instant = (Instant) value;
+			output.writeByte( INSTANT );
+			output.writeVarLong( zigZag( instant.getEpochSecond() ) );
+			output.writeVarLong( instant.getNano() );
+		}
+		else if ( value.getClass() == Date.class ) {
+			output.writeByte( DATE );
+			output.writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+		}
+		else if ( value.getClass() == java.sql.Date.class ) {
+			output.writeByte( SQL_DATE );
+			output.writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+		}
+		else if ( value.getClass() == java.sql.Time.class ) {
+			output.writeByte( SQL_TIME );
+			output.writeVarLong( zigZag( ( (Date) value ).getTime() ) );
+		}
+		else if ( value.getClass() == java.sql.Timestamp.class ) {
+			final java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+			output.writeByte( SQL_TIMESTAMP );
+			output.writeVarLong( zigZag( timestamp.getTime() ) );
+			output.writeVarLong( timestamp.getNanos() );
+		}
+		else if ( value instanceof Enum && isEnumType( type, (Enum<?>) value ) ) {
+			output.writeByte( ENUM );
+			output.writeString( ( (Enum<?>) value ).name() );
+		}
+		else if ( value.getClass() == Object[].class || value.getClass() == Serializable[].class ) {
+			final Object[] array = (Object[]) value;
+			final Type[] subtypes = getSubtypes( type, array.length );
+			output.writeByte( ARRAY );
+			output.writeVarLong( array.length );
+			for ( int i = 0; i < array.length; i++ ) {
+				writeValue( output, array[i], subtypes == null ? null : subtypes[i] );
+			}
+		}
+		else {
+			output.writeByte( SERIALIZED );
+			output.writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+		}
+	}
+
+	private static Object readValue(Input input, Type type) {
+		final byte tag = input.readByte();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case UNFETCHED:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case INTEGER:
+				return (int) unZigZag( input.readVarLong() );
+			case LONG:
+				return unZigZag( input.readVarLong() );
+			case SHORT:
+				return (short) unZigZag( input.readVarLong() );
+			case BYTE:
+				return input.readByte();
+			case CHARACTER:
+				return (char) input.readVarLong();
+			case FLOAT:
+				return Float.intBitsToFloat( input.readInt() );
+			case DOUBLE:
+				return Double.longBitsToDouble( input.readLong() );
+			case STRING:
+				return input.readString();
+			case BIG_DECIMAL: {
+				final int scale = (int) unZigZag( input.readVarLong() );
+				return new BigDecimal( new BigInteger( input.readBytes() ), scale );
+			}
+			case BIG_INTEGER:
+				return new BigInteger( input.readBytes() );
+			case BYTES:
+				return input.readBytes();
+			case UUID_VALUE:
+				return new UUID( input.readLong(), input.readLong() );
+			case LOCAL_DATE:
+				return LocalDate.ofEpochDay( unZigZag( input.readVarLong() ) );
+			case LOCAL_TIME:
+				return LocalTime.ofNanoOfDay( input.readVarLong() );
+			case LOCAL_DATE_TIME: {
+				final LocalDate date = LocalDate.ofEpochDay( unZigZag( input.readVarLong() ) );
+				return LocalDateTime.of( date, LocalTime.ofNanoOfDay( input.readVarLong() ) );
+			}
+			case INSTANT: {
+				final long seconds = unZigZag( input.readVarLong() );
+				return Instant.ofEpochSecond( seconds, input.readVarLong() );
+			}
+			case DATE:
+				return new Date( unZigZag( input.readVarLong() ) );
+			case SQL_DATE:
+				return new java.sql.Date( unZigZag( input.readVarLong() ) );
+			case SQL_TIME:
+				return new java.sql.Time( unZigZag( input.readVarLong() ) );
+			case SQL_TIMESTAMP: {
+				final java.sql.Timestamp timestamp = new java.sql.Timestamp( unZigZag( input.readVarLong() ) );
+				timestamp.setNanos( (int) input.readVarLong() );
+				return timestamp;
+			}
+			case ENUM:
+				return readEnum( input.readString(), type );
+			case ARRAY: {
+				final int length = (int) input.readVarLong();
+				final Type[] subtypes = getSubtypes( type, length );
+				final Object[] array = new Object[length];
+				for ( int i = 0; i < length; i++ ) {
+					array[i] = readValue( input, subtypes == null ? null : subtypes[i] );
+				}
+				return array;
+			}
+			case SERIALIZED:
+				return SerializationHelper.deserialize( input.readBytes() );
+			default:
+				throw new UnreadableEntryException();
+		}
+	}
+
+	private static Object readEnum(String name, Type type) {
+		final Object[] constants = type == null ? null : type.getReturnedClass().getEnumConstants();
+		if ( constants != null ) {
+			for ( Object constant : constants ) {
+				if ( ( (Enum<?>) constant ).name().equals( name ) ) {
+					return constant;
+				}
+			}
+		}
+		throw new UnreadableEntryException();
+	}
+
+	private static boolean isEnumType(Type type, Enum<?> value) {
+		return type != null && type.getReturnedClass() == value.getDeclaringClass();
+	}
+
+	private static Type[] getSubtypes(Type type, int length) {
+		if ( type instanceof CompositeType ) {
+			final Type[] subtypes = ( (CompositeType) type ).getSubtypes();
+			return subtypes.length == length ? subtypes : null;
+		}
+		return null;
+	}
+
+	private static long zigZag(long value) {
+		return ( value << 1 ) ^ ( value >> 63 );
+	}
+
+	private static long unZigZag(long value) {
+		return ( value >>> 1 ) ^ -( value & 1 );
+	}
+
+	/**
+	 * The attribute types of an entity, and their fingerprint
+	 */
+	private static class Schema {
+		private final Type[] types;
+		private final long fingerprint;
+
+		private Schema(EntityPersister persister) {
+			this.types = persister.getPropertyTypes();
+			final MessageDigest digest;
+			try {
+				digest = MessageDigest.getInstance( "SHA-256" );
+			}
+			catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException( e );
+			}
+			update( digest, persister.getEntityName() );
+			final String[] names = persister.getPropertyNames();
+			for ( int i = 0; i < names.length; i++ ) {
+				update( digest, names[i] );
+				update( digest, types[i].getName() );
+				update( digest, types[i].getReturnedClass().getName() );
+			}
+			final byte[] hash = digest.digest();
+			long fingerprint = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				fingerprint = ( fingerprint << 8 ) | ( hash[i] & 0xFF );
+			}
+			this.fingerprint = fingerprint;
+		}
+
+		private static void update(MessageDigest digest, String value) {
+			digest.update( value.getBytes( UTF_8 ) );
+			// separates consecutive values
+			digest.update( (byte) 0 );
+		}
+	}
+
+	/**
+	 * Thrown when an entry cannot be read, so that it is treated as a cache miss
+	 */
+	private static class UnreadableEntryException extends RuntimeException {
+		private UnreadableEntryException() {
+			super( null, null, false, false );
+		}
+	}
+
+	private static class Output {
+		private byte[] buffer;
+		private int position;
+
+		private Output(int initialSize) {
+			this.buffer = new byte[initialSize];
+		}
+
+		private void ensureCapacity(int length) {
+			if ( position + length > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, position + length ) );
+			}
+		}
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		private void writeInt(int value) {
+			ensureCapacity( 4 );
+			for ( int shift = 24; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeLong(long value) {
+			ensureCapacity( 8 );
+			for ( int shift = 56; shift >= 0; shift -= 8 ) {
+				buffer[position++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeBytes(byte[] bytes) {
+			writeVarLong( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		private void writeString(String value) {
+			writeBytes( value.getBytes( UTF_8 ) );
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+	}
+
+	private static class Input {
+		private final byte[] buffer;
+		private int position;
+
+		private Input(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		private byte readByte() {
+			return buffer[position++];
+		}
+
+		private long readVarLong() {
+			long value = 0;
+			for ( int shift = 0; ; shift += 7 ) {
+				final byte b = buffer[position++];
+				value |= (long) ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return value;
+				}
+			}
+		}
+
+		private int readInt() {
+			int value = 0;
+			for ( int i = 0; i < 4; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private long readLong() {
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( buffer[position++] & 0xFF );
+			}
+			return value;
+		}
+
+		private byte[] readBytes() {
+			final int length = (int) readVarLong();
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + length );
+			position += length;
+			return bytes;
+		}
+
+		private String readString() {
+			final int length = (int) readVarLong();
+			final String value = new String( buffer, position, length, UTF_8 );
+			position += length;
+			return value;
+		}
+	}
+}
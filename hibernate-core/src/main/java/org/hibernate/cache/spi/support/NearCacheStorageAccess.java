@@ -0,0 +1,216 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.spi.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.collections.CollectionHelper;
+
+/**
+ * A {@link DomainDataStorageAccess} keeping a bounded copy of the data of another,
+ * typically remote or clustered, {@code DomainDataStorageAccess} in local memory,
+ * so that reads of hot entries do not need to reach the underlying cache.
+ * <p>
+ * Writes go to the underlying cache first, and then replace the local copy.
+ * Soft locks written by {@linkplain AbstractReadWriteAccess read-write access}
+ * are never kept locally, so that while an item is locked by a transaction of
+ * this process, it is read from the underlying cache.  A local copy read from
+ * the underlying cache concurrently with a write is discarded.
+ * <p>
+ * Writes performed by other processes are not observed by the local copy, which
+ * therefore expires after a (short) time to live, bounding how stale it may be.
+ * Hence {@link RegionFactoryTemplate} only keeps a near cache in front of regions
+ * caching nothing but {@link org.hibernate.cache.spi.access.AccessType#READ_ONLY
+ * READ_ONLY} data, which is never updated once cached: an item removed from the
+ * underlying cache by another process, because the entity was deleted or evicted,
+ * may still be read from the local copy until it expires.  Data cached with other
+ * access types may be updated by other processes, and would be read stale for up
+ * to the time to live, which even
+ * {@link org.hibernate.cache.spi.access.AccessType#NONSTRICT_READ_WRITE NONSTRICT_READ_WRITE}
+ * only tolerates for the short time between a commit and the eviction it triggers.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#CACHE_NEAR_CACHE_MAX_SIZE
+ *
+ * @since 6.3
+ */
+public class NearCacheStorageAccess implements DomainDataStorageAccess {
+	private final DomainDataStorageAccess delegate;
+	private final BoundedConcurrentHashMap<Object, NearEntry> nearCache;
+	private final long timeToLiveNanos;
+
+	// incremented by every write, so that reads can detect concurrent writes
+	private final AtomicLong writeCount = new AtomicLong();
+
+	/**
+	 * @param delegate the underlying storage
+	 * @param regionName the name of the region
+	 * @param maxEntries the maximum number of entries of the local copy
+	 * @param timeToLive the time in milliseconds after which local entries expire
+	 */
+	public NearCacheStorageAccess(
+			DomainDataStorageAccess delegate,
+			String regionName,
+			int maxEntries,
+			long timeToLive) {
+		this.delegate = delegate;
+		this.nearCache = new BoundedConcurrentHashMap<>( maxEntries, 16, BoundedConcurrentHashMap.Eviction.LRU );
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos( timeToLive );
+	}
+
+	public DomainDataStorageAccess getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Object nearValue = getFromNearCache( key );
+		if ( nearValue != null ) {
+			return nearValue;
+		}
+
+		final long writeCountBeforeRead = writeCount.get();
+		final Object value = delegate.getFromCache( key, session );
+		if ( value != null && !( value instanceof SoftLock ) ) {
+			putIntoNearCache( key, value );
+			if ( writeCount.get() != writeCountBeforeRead ) {
+				// the value may have been overwritten meanwhile
+				nearCache.remove( key );
+			}
+		}
+		return value;
+	}
+
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object, Object> items = CollectionHelper.mapOfSize( keys.size() );
+		final List<Object> missingKeys = new ArrayList<>();
+		for ( Object key : keys ) {
+			final Object nearValue = getFromNearCache( key );
+			if ( nearValue != null ) {
+				items.put( key, nearValue );
+			}
+			else {
+				missingKeys.add( key );
+			}
+		}
+		if ( missingKeys.isEmpty() ) {
+			return items;
+		}
+
+		final long writeCountBeforeRead = writeCount.get();
+		final Map<Object, Object> values = delegate.getAll( missingKeys, session );
+		for ( Map.Entry<Object, Object> entry : values.entrySet() ) {
+			final Object value = entry.getValue();
+			if ( value != null && !( value instanceof SoftLock ) ) {
+				putIntoNearCache( entry.getKey(), value );
+			}
+		}
+		if ( writeCount.get() != writeCountBeforeRead ) {
+			// values may have been overwritten meanwhile
+			for ( Object key : values.keySet() ) {
+				nearCache.remove( key );
+			}
+		}
+		items.putAll( values );
+		return items;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		delegate.putIntoCache( key, value, session );
+		updateNearCache( key, value );
+	}
+
+	@Override
+	public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+		delegate.putFromLoad( key, value, session );
+		updateNearCache( key, value );
+	}
+
+	private Object getFromNearCache(Object key) {
+		final NearEntry entry = nearCache.get( key );
+		if ( entry == null ) {
+			return null;
+		}
+		if ( System.nanoTime() - entry.writeTime >= timeToLiveNanos ) {
+			nearCache.remove( key, entry );
+			return null;
+		}
+		return entry.value;
+	}
+
+	private void putIntoNearCache(Object key, Object value) {
+		nearCache.put( key, new NearEntry( value, System.nanoTime() ) );
+	}
+
+	private void updateNearCache(Object key, Object value) {
+		writeCount.incrementAndGet();
+		if ( value instanceof SoftLock ) {
+			nearCache.remove( key );
+		}
+		else {
+			putIntoNearCache( key, value );
+		}
+	}
+
+	@Override
+	public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+		delegate.removeFromCache( key, session );
+		writeCount.incrementAndGet();
+		nearCache.remove( key );
+	}
+
+	@Override
+	public void clearCache(SharedSessionContractImplementor session) {
+		delegate.clearCache( session );
+		writeCount.incrementAndGet();
+		nearCache.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return getFromNearCache( key ) != null || delegate.contains( key );
+	}
+
+	@Override
+	public void evictData() {
+		delegate.evictData();
+		writeCount.incrementAndGet();
+		nearCache.clear();
+	}
+
+	@Override
+	public void evictData(Object key) {
+		delegate.evictData( key );
+		writeCount.incrementAndGet();
+		nearCache.remove( key );
+	}
+
+	@Override
+	public void release() {
+		nearCache.clear();
+		delegate.release();
+	}
+
+	private static final class NearEntry {
+		private final Object value;
+		private final long writeTime;
+
+		private NearEntry(Object value, long writeTime) {
+			this.value = value;
+			this.writeTime = writeTime;
+		}
+	}
+}
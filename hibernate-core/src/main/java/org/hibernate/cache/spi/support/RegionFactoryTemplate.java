@@ -6,6 +6,9 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.util.List;
+
+import org.hibernate.cache.cfg.spi.DomainDataCachingConfig;
 import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
 import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
 import org.hibernate.cache.internal.DefaultCacheKeysFactory;
@@ -14,12 +17,21 @@ import org.hibernate.cache.spi.CacheKeysFactory;
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 /**
  * @author Steve Ebersole
  */
 public abstract class RegionFactoryTemplate extends AbstractRegionFactory {
+	/**
+	 * The default time to live of entries of a near cache, in seconds
+	 */
+	public static final int DEFAULT_NEAR_CACHE_TIME_TO_LIVE = 10;
+
 	@Override
 	public DomainDataRegion buildDomainDataRegion(
 			DomainDataRegionConfig regionConfig,
@@ -28,7 +40,7 @@ public abstract class RegionFactoryTemplate extends AbstractRegionFactory {
 		return new DomainDataRegionTemplate(
 				regionConfig,
 				this,
-				createDomainDataStorageAccess( regionConfig, buildingContext ),
+				buildDomainDataStorageAccess( regionConfig, buildingContext ),
 				getImplicitCacheKeysFactory(),
 				buildingContext
 		);
@@ -38,6 +50,82 @@ public abstract class RegionFactoryTemplate extends AbstractRegionFactory {
 		return DefaultCacheKeysFactory.INSTANCE;
 	}
 
+	/**
+	 * The storage of the given region, as {@linkplain #createDomainDataStorageAccess created},
+	 * and kept in a {@linkplain NearCacheStorageAccess near cache} if
+	 * {@value AvailableSettings#CACHE_NEAR_CACHE_MAX_SIZE} is specified and the region only
+	 * caches {@linkplain AccessType#READ_ONLY read-only} data.
+	 */
+	protected DomainDataStorageAccess buildDomainDataStorageAccess(
+			DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		final DomainDataStorageAccess storageAccess = createDomainDataStorageAccess( regionConfig, buildingContext );
+		final ConfigurationService configurationService = buildingContext.getSessionFactory()
+				.getServiceRegistry()
+				.getService( ConfigurationService.class );
+		final int nearCacheMaxSize = configurationService.getSetting(
+				AvailableSettings.CACHE_NEAR_CACHE_MAX_SIZE,
+				StandardConverters.INTEGER,
+				0
+		);
+		if ( nearCacheMaxSize <= 0 || !isReadOnly( regionConfig ) ) {
+			return storageAccess;
+		}
+		final int nearCacheTimeToLive = configurationService.getSetting(
+				AvailableSettings.CACHE_NEAR_CACHE_TIME_TO_LIVE,
+				StandardConverters.INTEGER,
+				DEFAULT_NEAR_CACHE_TIME_TO_LIVE
+		);
+		return new NearCacheStorageAccess(
+				storageAccess,
+				regionConfig.getRegionName(),
+				nearCacheMaxSize,
+				nearCacheTimeToLive * 1000L
+		);
+	}
+
+	/**
+	 * Whether the given region only caches {@linkplain AccessType#READ_ONLY read-only} and
+	 * {@linkplain AccessType#NONSTRICT_READ_WRITE nonstrict read-write} data, that is, never
+	 * data of {@linkplain AccessType#READ_WRITE read-write} or {@linkplain AccessType#TRANSACTIONAL
+	 * transactional} access, which relies on soft locks and on every write reaching the cache.
+	 */
+	protected static boolean isReadMostly(DomainDataRegionConfig regionConfig) {
+		return isReadMostly( regionConfig.getEntityCaching() )
+				&& isReadMostly( regionConfig.getNaturalIdCaching() )
+				&& isReadMostly( regionConfig.getCollectionCaching() );
+	}
+
+	private static boolean isReadMostly(List<? extends DomainDataCachingConfig> cachingConfigs) {
+		for ( DomainDataCachingConfig cachingConfig : cachingConfigs ) {
+			final AccessType accessType = cachingConfig.getAccessType();
+			if ( accessType != AccessType.READ_ONLY && accessType != AccessType.NONSTRICT_READ_WRITE ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether the given region only caches {@linkplain AccessType#READ_ONLY read-only} data,
+	 * which is never updated once cached, so that a copy of it may only be stale by still
+	 * holding data removed from the region.
+	 */
+	protected static boolean isReadOnly(DomainDataRegionConfig regionConfig) {
+		return isReadOnly( regionConfig.getEntityCaching() )
+				&& isReadOnly( regionConfig.getNaturalIdCaching() )
+				&& isReadOnly( regionConfig.getCollectionCaching() );
+	}
+
+	private static boolean isReadOnly(List<? extends DomainDataCachingConfig> cachingConfigs) {
+		for ( DomainDataCachingConfig cachingConfig : cachingConfigs ) {
+			if ( cachingConfig.getAccessType() != AccessType.READ_ONLY ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	protected DomainDataStorageAccess createDomainDataStorageAccess(
 			DomainDataRegionConfig regionConfig,
 			DomainDataRegionBuildingContext buildingContext) {
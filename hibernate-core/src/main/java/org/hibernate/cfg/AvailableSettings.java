@@ -321,6 +321,24 @@ public interface AvailableSettings {
 	 */
 	String STATIC_METAMODEL_POPULATION = "hibernate.jpa.static_metamodel.population";
 
+	/**
+	 * The number of threads used to instantiate the
+	 * {@link org.hibernate.persister.entity.EntityPersister}s and
+	 * {@link org.hibernate.persister.collection.CollectionPersister}s
+	 * when the {@link org.hibernate.SessionFactory} is built.
+	 * <p>
+	 * Defaults to {@code 1}, that is, the persisters are instantiated one
+	 * after the other by the thread building the {@code SessionFactory}. For
+	 * a domain model with a large number of entities, a greater value may
+	 * speed up bootstrap considerably. The persisters of an entity hierarchy
+	 * are always instantiated by the same thread, so the parallelism is
+	 * bounded by the number of hierarchies. The resulting mapping model is
+	 * the same either way.
+	 *
+	 * @since 6.3
+	 */
+	String PERSISTER_CREATION_PARALLELISM = "hibernate.metamodel.persister_creation_parallelism";
+
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// StandardServiceRegistry level settings
@@ -1064,6 +1082,45 @@ public interface AvailableSettings {
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
 
+	/**
+	 * Specifies the maximum number of rows inserted by a single statement of form
+	 * {@code insert into table (a, b) values (?, ?), (?, ?), ...} when the inserts
+	 * of a JDBC batch are executed.  The effective number of rows is also limited
+	 * by {@link org.hibernate.dialect.Dialect#getMultiRowInsertLimit(int)}, which
+	 * disallows such statements on databases which do not support them.
+	 * <p>
+	 * Only has an effect when {@linkplain #STATEMENT_BATCH_SIZE JDBC batching} is
+	 * enabled, and a value less than {@code 2} disables multi-row inserts.  Inserts
+	 * of entities with {@code IDENTITY} identifiers, when
+	 * {@linkplain #BATCH_IDENTITY_INSERTS batched}, are still executed as
+	 * single-row inserts, since their generated identifiers are read back row by row.
+	 * <p>
+	 * Defaults to {@code 0}.
+	 *
+	 * @since 6.3
+	 */
+	String MULTI_ROW_INSERT_SIZE = "hibernate.jdbc.multi_row_insert_size";
+
+	/**
+	 * When enabled, the insertion of an entity whose identifier is generated by an
+	 * {@code IDENTITY} column is, when possible, delayed until the session is
+	 * flushed, so that the inserts of many instances of the entity are executed as
+	 * a single JDBC batch, and their identifiers are then read from
+	 * {@link java.sql.Statement#getGeneratedKeys()}.
+	 * <p>
+	 * The identifier of an instance made persistent by {@code persist()} is then
+	 * only assigned when the session is flushed.  Inserts are only batched when
+	 * {@linkplain #STATEMENT_BATCH_SIZE JDBC batching} is enabled, the entity is
+	 * mapped to a single table without {@linkplain org.hibernate.annotations.DynamicInsert
+	 * dynamic inserts}, and the JDBC driver {@linkplain org.hibernate.dialect.Dialect#supportsBatchedGeneratedKeys()
+	 * returns the keys generated by a batch}.
+	 * <p>
+	 * Defaults to {@code false}.
+	 *
+	 * @since 6.3
+	 */
+	String BATCH_IDENTITY_INSERTS = "hibernate.jdbc.batch_identity_inserts";
+
 	/**
 	 * Specifies a custom {@link BatchBuilder}.
 	 */
@@ -1404,7 +1461,9 @@ public interface AvailableSettings {
 	 * <ul>
 	 *     <li>an instance of {@link org.hibernate.cache.spi.RegionFactory},
 	 *     <li>a {@link Class} implementing {@link org.hibernate.cache.spi.RegionFactory}, or
-	 *     <li>he name of a class implementing {@link org.hibernate.cache.spi.RegionFactory}.
+	 *     <li>he name of a class implementing {@link org.hibernate.cache.spi.RegionFactory}, or
+	 *     <li>{@code "local"} as a short name for {@link org.hibernate.cache.internal.LocalRegionFactory},
+	 *         which keeps the cache in memory without requiring a caching library.
 	 * </ul>
 	 * <p>
 	 * Defaults to {@link NoCachingRegionFactory}, so that caching is disabled.
@@ -1450,6 +1509,142 @@ public interface AvailableSettings {
 	 */
 	String USE_QUERY_CACHE = "hibernate.cache.use_query_cache";
 
+	/**
+	 * When enabled, cached query results whose rows consist only of entities are
+	 * not invalidated when an entity belonging to the queried tables is updated or
+	 * deleted, unless the entity is among those returned by the query. Inserts, bulk
+	 * mutation queries, and changes to collections still invalidate every cached
+	 * query result involving the affected tables.
+	 * <p>
+	 * Note that the cached results of a query are not invalidated when an update
+	 * changes an entity which the query did not return so that it now satisfies the
+	 * restriction of the query. This setting should only be enabled when updates do
+	 * not affect the attributes which cached queries restrict on.
+	 * <p>
+	 * The identifiers of the rows of each table are hashed to a fixed number of
+	 * buckets, and the update timestamps region holds an entry for each bucket, so
+	 * a cached result is also invalidated by a change to a row sharing a bucket with
+	 * one of its rows. The update timestamps region must never evict entries.
+	 * Defaults to {@code false}.
+	 *
+	 * @see #USE_QUERY_CACHE
+	 *
+	 * @since 6.3
+	 */
+	String USE_QUERY_CACHE_ROW_INVALIDATION = "hibernate.cache.use_query_cache_row_invalidation";
+
+	/**
+	 * When enabled, the query cache stores only the identifiers of the entities
+	 * returned by a query, along with its scalar results, instead of the state of
+	 * each entity. On a cache hit, the entities are then retrieved in batches from
+	 * the second-level cache, and those missing from it from the database.
+	 * <p>
+	 * This greatly reduces the memory used by the query cache for queries returning
+	 * entities with many attributes, at the cost of a lookup in the second-level
+	 * cache on each cache hit. It only applies to queries which return cacheable
+	 * entities with a simple identifier, without fetch joins, and which do not
+	 * acquire pessimistic locks. Defaults to {@code false}.
+	 *
+	 * @see #USE_QUERY_CACHE
+	 *
+	 * @since 6.3
+	 */
+	String USE_SHALLOW_QUERY_CACHE = "hibernate.cache.use_shallow_query_cache";
+
+	/**
+	 * The time, in milliseconds, during which a cached query result which is no
+	 * longer up-to-date may still be returned while the result is being computed
+	 * again following a previous cache miss.  Only one caller then executes the
+	 * query, instead of every caller executing the same query concurrently.
+	 * <p>
+	 * A session never obtains a result invalidated by changes made in its own
+	 * transaction.  Defaults to {@code 0}, meaning that results which are no
+	 * longer up-to-date are never returned.
+	 *
+	 * @see #QUERY_CACHE_COALESCING_TIMEOUT
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_CACHE_STALE_GRACE_PERIOD = "hibernate.cache.query_cache_stale_grace_period";
+
+	/**
+	 * The maximum time, in milliseconds, a caller missing a query result in the
+	 * query cache waits for the same result being computed concurrently by another
+	 * caller, after which it executes the query itself.  Requests for the same
+	 * query result are coalesced within a single JVM.
+	 * <p>
+	 * Defaults to {@code 0}, meaning that every caller missing the result executes
+	 * the query.
+	 *
+	 * @see #QUERY_CACHE_STALE_GRACE_PERIOD
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_CACHE_COALESCING_TIMEOUT = "hibernate.cache.query_cache_coalescing_timeout";
+
+	/**
+	 * The maximum time, in milliseconds, a session loading an entity missing from
+	 * the second-level cache waits for the same entity being loaded concurrently by
+	 * another session, after which it loads the entity from the database itself.
+	 * Concurrent loads of the same entity then only require a single round trip to
+	 * the database and a single put into the second-level cache.
+	 * <p>
+	 * Loads acquiring a pessimistic lock are never coalesced, and loads are only
+	 * coalesced within a single JVM.  Defaults to {@code 0}, meaning that every
+	 * session missing the entity loads it from the database.
+	 *
+	 * @since 6.3
+	 */
+	String ENTITY_LOAD_COALESCING_TIMEOUT = "hibernate.cache.entity_load_coalescing_timeout";
+
+	/**
+	 * A comma-separated list of names of cacheable entities to preload into the
+	 * second-level cache when the {@link org.hibernate.SessionFactory} is created,
+	 * so that the database is not flooded with requests for data missing from a
+	 * cold cache after a restart.
+	 * <p>
+	 * The identifiers of the instances to preload are obtained by a query, which
+	 * by default selects every instance of the entity, and which may be specified,
+	 * as an HQL query returning identifiers, by appending the name of the entity to
+	 * {@value #CACHE_PRELOAD_QUERY}.  The instances are then loaded in chunks, in
+	 * parallel.
+	 *
+	 * @see org.hibernate.Cache#preloadEntityData(String, String)
+	 * @see #CACHE_PRELOAD_HOT_KEYS_FILE
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_PRELOAD_ENTITIES = "hibernate.cache.preload_entities";
+
+	/**
+	 * The prefix of the settings specifying, for each entity listed by
+	 * {@value #CACHE_PRELOAD_ENTITIES}, an HQL query returning the identifiers of
+	 * the instances to preload, for example,
+	 * {@code hibernate.cache.preload_query.Book=select b.id from Book b where b.bestseller}.
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_PRELOAD_QUERY = "hibernate.cache.preload_query";
+
+	/**
+	 * The path of a file to which the identifiers of the instances of the entities
+	 * listed by {@value #CACHE_PRELOAD_ENTITIES} most frequently loaded by id are
+	 * written when the {@link org.hibernate.SessionFactory} is closed.  When the
+	 * next {@code SessionFactory} using the same file is created, only those
+	 * instances are preloaded, unless a query is specified for the entity by
+	 * {@value #CACHE_PRELOAD_QUERY}.
+	 * <p>
+	 * Only identifiers of basic type, such as numbers, strings and UUIDs, are
+	 * written, so every instance of an entity with a composite identifier is
+	 * always preloaded.
+	 * <p>
+	 * By default, the loads of instances are not recorded, and every instance is
+	 * preloaded.
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_PRELOAD_HOT_KEYS_FILE = "hibernate.cache.preload_hot_keys_file";
+
 	/**
 	 * Specifies the {@link org.hibernate.cache.spi.TimestampsCacheFactory} to use.
 	 *
@@ -1486,6 +1681,20 @@ public interface AvailableSettings {
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
 
+	/**
+	 * Enables the use of binary second-level cache entries for entities. The state of
+	 * a cached entity is then encoded as a compact {@code byte[]}, which is cheaper to
+	 * store and transfer than a serialized cache entry, especially for a remote or
+	 * clustered cache.
+	 * <p>
+	 * Takes precedence over {@value #USE_STRUCTURED_CACHE}. Defaults to {@code false}.
+	 *
+	 * @see org.hibernate.cache.spi.entry.BinaryCacheEntry
+	 *
+	 * @since 6.3
+	 */
+	String USE_BINARY_CACHE = "hibernate.cache.use_binary_entries";
+
 	/**
 	 * Enables the automatic eviction of a bidirectional association's collection
 	 * cache when an element in the {@link jakarta.persistence.ManyToOne} collection
@@ -1507,6 +1716,93 @@ public interface AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * The maximum estimated size in bytes of each region of the second-level cache
+	 * when using {@link org.hibernate.cache.internal.LocalRegionFactory}. Once a
+	 * region grows larger, its least recently used entries are evicted. A value of
+	 * zero or less means that the size of regions is unbounded.
+	 * <p>
+	 * The size of a particular region may be specified by appending its name to
+	 * the name of this setting, for example,
+	 * {@code hibernate.cache.local.max_size.org.example.Book}.
+	 * <p>
+	 * Defaults to 32 MB.
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_LOCAL_MAX_SIZE = "hibernate.cache.local.max_size";
+
+	/**
+	 * The time in seconds after which the entries of each region of the second-level
+	 * cache expire when using {@link org.hibernate.cache.internal.LocalRegionFactory}.
+	 * The update timestamps region never expires.
+	 * <p>
+	 * The expiration of a particular region may be specified by appending its name
+	 * to the name of this setting, for example,
+	 * {@code hibernate.cache.local.time_to_live.org.example.Book}.
+	 * <p>
+	 * Defaults to 0, meaning entries never expire.
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_LOCAL_TIME_TO_LIVE = "hibernate.cache.local.time_to_live";
+
+	/**
+	 * When enabled, the entries of each entity, collection, and natural id region of
+	 * the second-level cache caching only read-only and nonstrict read-write data are
+	 * kept outside the Java heap when using
+	 * {@link org.hibernate.cache.internal.LocalRegionFactory}, so that regions holding
+	 * large amounts of reference data do not lengthen garbage collection pauses. The
+	 * size of each region is then bounded by {@link #CACHE_LOCAL_MAX_SIZE}, which must
+	 * be positive, and its least recently written entries are evicted.
+	 * <p>
+	 * Cached values must be serializable, and are best encoded as
+	 * {@linkplain #USE_BINARY_CACHE binary entries}.
+	 * <p>
+	 * The storage of a particular region, whatever data it caches, may be specified
+	 * by appending its name to the name of this setting, for example,
+	 * {@code hibernate.cache.local.off_heap.org.example.Country}.
+	 * <p>
+	 * Defaults to {@code false}.
+	 *
+	 * @see org.hibernate.cache.internal.OffHeapStorageAccess
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_LOCAL_OFF_HEAP = "hibernate.cache.local.off_heap";
+
+	/**
+	 * The maximum number of entries of a local copy of each entity, collection,
+	 * and natural id region of the second-level cache, kept in front of the cache
+	 * itself to avoid reaching a remote or clustered cache for frequently read data.
+	 * <p>
+	 * Changes made by other processes are not seen by the local copy until it expires,
+	 * as specified by {@link #CACHE_NEAR_CACHE_TIME_TO_LIVE}.  Therefore, only regions
+	 * caching nothing but {@code READ_ONLY} data are kept in a local copy.  An entity
+	 * deleted, or evicted from the cache, by another process may still be read from
+	 * the local copy during that time.
+	 * <p>
+	 * This setting is honored by caching providers built on
+	 * {@link org.hibernate.cache.spi.support.RegionFactoryTemplate}.
+	 * <p>
+	 * Defaults to 0, meaning there is no local copy.
+	 *
+	 * @see org.hibernate.cache.spi.support.NearCacheStorageAccess
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_NEAR_CACHE_MAX_SIZE = "hibernate.cache.near_cache.max_size";
+
+	/**
+	 * The time in seconds after which the entries of the local copy of a region
+	 * specified by {@link #CACHE_NEAR_CACHE_MAX_SIZE} expire.
+	 * <p>
+	 * Defaults to 10 seconds.
+	 *
+	 * @since 6.3
+	 */
+	String CACHE_NEAR_CACHE_TIME_TO_LIVE = "hibernate.cache.near_cache.time_to_live";
+
 
 
 
@@ -1582,6 +1878,41 @@ public interface AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_MAX_SIZE = "hibernate.query.plan_cache_max_size";
 
+	/**
+	 * Selects the eviction policy of the
+	 * {@linkplain org.hibernate.query.spi.QueryInterpretationCache query
+	 * interpretation cache}, either:
+	 * <ul>
+	 *     <li>{@code lirs}, the default, a segmented map with LIRS eviction, or
+	 *     <li>{@code tinylfu}, W-TinyLFU eviction with frequency based admission
+	 *     and lock-free reads, which scales better with many concurrent threads
+	 *     and keeps frequently used plans cached when a burst of one-off queries
+	 *     comes in.
+	 * </ul>
+	 *
+	 * @see org.hibernate.internal.util.cache.InternalCacheEviction
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_CACHE_EVICTION = "hibernate.query.plan_cache_eviction";
+
+	/**
+	 * Specifies a file in which the query strings held by the
+	 * {@linkplain org.hibernate.query.spi.QueryInterpretationCache query
+	 * interpretation cache} are saved when the {@code SessionFactory} is
+	 * closed.  When the next {@code SessionFactory} is created, the saved
+	 * queries are interpreted on a background thread, so that the cache is
+	 * already warm when the application first executes them.
+	 * <p>
+	 * The file is ignored if the mapping model changed since it was written.
+	 * By default, no snapshot is written.
+	 *
+	 * @see org.hibernate.query.internal.QueryInterpretationCacheSnapshot
+	 *
+	 * @since 6.3
+	 */
+	String QUERY_PLAN_CACHE_SNAPSHOT_FILE = "hibernate.query.plan_cache_snapshot_file";
+
 	/**
 	 * The maximum number of {@link org.hibernate.query.ParameterMetadata} instances
 	 * maintained by the {@link org.hibernate.query.spi.QueryInterpretationCache}.
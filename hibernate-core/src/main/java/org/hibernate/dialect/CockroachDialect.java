@@ -497,6 +497,11 @@ public class CockroachDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		return Math.max( 1, Short.MAX_VALUE / Math.max( 1, parametersPerRow ) );
+	}
+
 	@Override
 	public boolean supportsPartitionBy() {
 		return true;
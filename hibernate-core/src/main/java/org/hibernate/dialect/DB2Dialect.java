@@ -942,6 +942,11 @@ public class DB2Dialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		return Math.max( 1, Short.MAX_VALUE / Math.max( 1, parametersPerRow ) );
+	}
+
 	@Override
 	public boolean supportsPartitionBy() {
 		return true;
@@ -143,6 +143,12 @@ public class DB2zDialect extends DB2Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		// multi-row insert uses 'for n rows' on DB2 for z/OS
+		return 1;
+	}
+
 	@Override
 	public boolean supportsRecursiveCTE() {
 		return true;
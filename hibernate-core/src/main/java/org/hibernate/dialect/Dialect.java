@@ -4251,6 +4251,61 @@ public abstract class Dialect implements ConversionContext, TypeContributor, Fun
 		return true;
 	}
 
+	/**
+	 * The maximum number of rows of a single insert statement of form
+	 * {@code insert into table (a, b) values (?, ?), (?, ?)}, given the
+	 * number of JDBC parameters of each row, or {@code 1} if rows should
+	 * not be inserted by such statements.
+	 *
+	 * @param parametersPerRow The number of JDBC parameters of each row
+	 *
+	 * @return the maximum number of rows of a multi-row insert statement
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_INSERT_SIZE
+	 *
+	 * @since 6.3
+	 */
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		return 1;
+	}
+
+	/**
+	 * Does the JDBC driver return the keys generated by every insert of a
+	 * JDBC batch from {@link java.sql.Statement#getGeneratedKeys()}, in the
+	 * order in which the inserts were added to the batch?
+	 *
+	 * @return {@code true} if the keys generated by a batch may be read
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 *
+	 * @since 6.3
+	 */
+	public boolean supportsBatchedGeneratedKeys() {
+		return false;
+	}
+
+	/**
+	 * Does the JDBC driver return the values of arbitrary columns of the row
+	 * affected by an {@code insert} or {@code update} statement, when they are
+	 * named in the call to {@link Connection#prepareStatement(String, String[])},
+	 * from {@link java.sql.Statement#getGeneratedKeys()}, one row for each
+	 * execution, including when the statement is executed as a JDBC batch?
+	 * <p>
+	 * If so, the values of attributes {@linkplain org.hibernate.generator.OnExecutionGenerator
+	 * generated by the database} are read back from the {@code insert} or
+	 * {@code update} statement itself, instead of by a subsequent {@code select}.
+	 *
+	 * @return {@code true} if generated values may be read from the statement
+	 *         which generates them
+	 *
+	 * @see org.hibernate.metamodel.mapping.internal.GeneratedValuesProcessor
+	 *
+	 * @since 6.3
+	 */
+	public boolean supportsReturningGeneratedValues() {
+		return false;
+	}
+
 	/**
 	 * Does this dialect support {@code SKIP_LOCKED} timeout.
 	 *
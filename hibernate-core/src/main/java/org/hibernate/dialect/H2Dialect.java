@@ -782,6 +782,21 @@ public class H2Dialect extends Dialect {
 		return getVersion().isSameOrAfter( 1, 4, 200 );
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		return Integer.MAX_VALUE;
+	}
+
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		return getVersion().isSameOrAfter( 2 );
+	}
+
+	@Override
+	public boolean supportsReturningGeneratedValues() {
+		return getVersion().isSameOrAfter( 2 );
+	}
+
 	@Override
 	public boolean supportsRecursiveCTE() {
 		return getVersion().isSameOrAfter( 1, 4, 196 );
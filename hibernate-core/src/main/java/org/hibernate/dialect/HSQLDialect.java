@@ -568,6 +568,11 @@ public class HSQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		return Integer.MAX_VALUE;
+	}
+
 	@Override
 	public boolean supportsRecursiveCTE() {
 		return getVersion().isSameOrAfter( 2 );
@@ -1424,6 +1424,17 @@ public class MySQLDialect extends Dialect {
 		return getMySQLVersion().isSameOrAfter( 8, 0, 14 );
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		// the protocol limits the number of parameters of a statement
+		return Math.max( 1, 65535 / Math.max( 1, parametersPerRow ) );
+	}
+
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		return true;
+	}
+
 	@Override
 	public boolean supportsRecursiveCTE() {
 		return getMySQLVersion().isSameOrAfter( 8, 0, 14 );
@@ -711,6 +711,24 @@ public class PostgreSQLDialect extends Dialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		// the protocol limits the number of parameters of a statement
+		return Math.max( 1, Short.MAX_VALUE / Math.max( 1, parametersPerRow ) );
+	}
+
+	@Override
+	public boolean supportsBatchedGeneratedKeys() {
+		// the driver appends a returning clause to each insert of the batch
+		return true;
+	}
+
+	@Override
+	public boolean supportsReturningGeneratedValues() {
+		// the driver appends a returning clause naming the requested columns
+		return true;
+	}
+
 	@Override
 	public boolean supportsPartitionBy() {
 		return true;
@@ -478,6 +478,12 @@ public class SQLServerDialect extends AbstractTransactSQLDialect {
 		return true;
 	}
 
+	@Override
+	public int getMultiRowInsertLimit(int parametersPerRow) {
+		// at most 1000 rows, and 2100 parameters of a statement
+		return Math.max( 1, Math.min( 1000, 2099 / Math.max( 1, parametersPerRow ) ) );
+	}
+
 	@Override
 	public boolean supportsDistinctFromPredicate() {
 		return getVersion().isSameOrAfter( 16 );
@@ -0,0 +1,636 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * The map of managed entity instances by {@link EntityKey} of a
+ * {@link StatefulPersistenceContext}.
+ * <p>
+ * Entities with a basic {@code long}, {@code int} or {@link UUID} identifier
+ * are kept in an open-addressing table per entity hierarchy, keyed by the
+ * primitive value of the identifier, so that neither the {@code EntityKey}
+ * nor a map entry is retained for each managed entity.  Entities with any
+ * other kind of identifier are kept in a {@link HashMap}.
+ * <p>
+ * The {@link #values()} view iterates the entities directly, while the
+ * {@code EntityKey}s exposed by the other views are created on demand.
+ * The iterators of the views are fail-fast, and removal through the views
+ * is not supported.
+ */
+final class EntitiesByKeyMap extends AbstractMap<EntityKey, Object> {
+	private static final int INIT_COLL_SIZE = 8;
+
+	/**
+	 * Marks persisters whose entities are kept in {@link #otherEntities}
+	 */
+	private static final Object UNSUPPORTED = new Object();
+
+	// the IdTable, or UNSUPPORTED, by the persister of the EntityKey
+	private final IdentityHashMap<EntityPersister, Object> tablesByPersister = new IdentityHashMap<>();
+	private final List<IdTable> tables = new ArrayList<>();
+	private HashMap<EntityKey, Object> otherEntities;
+
+	// the number of structural modifications, for the fail-fast iterators
+	private int modCount;
+
+	private Set<Entry<EntityKey, Object>> entrySet;
+	private Collection<Object> values;
+
+	@Override
+	public Object get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final IdTable table = resolveTable( entityKey );
+		if ( table != null ) {
+			return table.get( entityKey.getIdentifier() );
+		}
+		return otherEntities == null ? null : otherEntities.get( entityKey );
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get( key ) != null;
+	}
+
+	@Override
+	public Object put(EntityKey key, Object entity) {
+		final IdTable table = resolveTable( key );
+		final Object previous;
+		if ( table != null ) {
+			previous = table.put( key.getIdentifier(), key.getPersister(), entity );
+		}
+		else {
+			if ( otherEntities == null ) {
+				otherEntities = CollectionHelper.mapOfSize( INIT_COLL_SIZE );
+			}
+			previous = otherEntities.put( key, entity );
+		}
+		if ( previous == null ) {
+			modCount++;
+		}
+		return previous;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final IdTable table = resolveTable( entityKey );
+		final Object previous;
+		if ( table != null ) {
+			previous = table.remove( entityKey.getIdentifier() );
+		}
+		else {
+			previous = otherEntities == null ? null : otherEntities.remove( entityKey );
+		}
+		if ( previous != null ) {
+			modCount++;
+		}
+		return previous;
+	}
+
+	@Override
+	public int size() {
+		int size = otherEntities == null ? 0 : otherEntities.size();
+		for ( int i = 0; i < tables.size(); i++ ) {
+			size += tables.get( i ).size;
+		}
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		// drop the tables, rather than clearing them, so that their memory is released
+		tablesByPersister.clear();
+		tables.clear();
+		otherEntities = null;
+		modCount++;
+	}
+
+	@Override
+	public Set<Entry<EntityKey, Object>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<EntityKey, Object>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return EntitiesByKeyMap.this.size();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	@Override
+	public Collection<Object> values() {
+		if ( values == null ) {
+			values = new AbstractCollection<>() {
+				@Override
+				public Iterator<Object> iterator() {
+					return new ValueIterator();
+				}
+
+				@Override
+				public int size() {
+					return EntitiesByKeyMap.this.size();
+				}
+			};
+		}
+		return values;
+	}
+
+	/**
+	 * The table for the given key, or {@code null} if the key belongs in
+	 * {@link #otherEntities}
+	 */
+	private IdTable resolveTable(EntityKey key) {
+		final EntityPersister persister = key.getPersister();
+		Object table = tablesByPersister.get( persister );
+		if ( table == null ) {
+			table = createTable( persister );
+		}
+		if ( table == UNSUPPORTED ) {
+			return null;
+		}
+		final IdTable idTable = (IdTable) table;
+		// an identifier of an unexpected type can never be equal to one of the expected type
+		return idTable.kind.accepts( key.getIdentifier() ) ? idTable : null;
+	}
+
+	private Object createTable(EntityPersister persister) {
+		final EntityPersister rootPersister = persister.getRootEntityDescriptor().getEntityPersister();
+		Object table = tablesByPersister.get( rootPersister );
+		if ( table == null ) {
+			final IdKind kind = IdKind.determine( rootPersister.getIdentifierMapping() );
+			if ( kind == null ) {
+				table = UNSUPPORTED;
+			}
+			else {
+				final IdTable idTable = new IdTable( kind, rootPersister );
+				tables.add( idTable );
+				table = idTable;
+			}
+			tablesByPersister.put( rootPersister, table );
+		}
+		tablesByPersister.put( persister, table );
+		return table;
+	}
+
+	private enum IdKind {
+		LONG_ID {
+			@Override
+			boolean accepts(Object id) {
+				return id instanceof Long;
+			}
+
+			@Override
+			long high(Object id) {
+				return (Long) id;
+			}
+
+			@Override
+			Object toIdentifier(long high, long low) {
+				return high;
+			}
+		},
+		INT_ID {
+			@Override
+			boolean accepts(Object id) {
+				return id instanceof Integer;
+			}
+
+			@Override
+			long high(Object id) {
+				return (Integer) id;
+			}
+
+			@Override
+			Object toIdentifier(long high, long low) {
+				return (int) high;
+			}
+		},
+		UUID_ID {
+			@Override
+			boolean accepts(Object id) {
+				return id instanceof UUID;
+			}
+
+			@Override
+			int width() {
+				return 2;
+			}
+
+			@Override
+			long high(Object id) {
+				return ( (UUID) id ).getMostSignificantBits();
+			}
+
+			@Override
+			long low(Object id) {
+				return ( (UUID) id ).getLeastSignificantBits();
+			}
+
+			@Override
+			Object toIdentifier(long high, long low) {
+				return new UUID( high, low );
+			}
+		};
+
+		abstract boolean accepts(Object id);
+
+		/**
+		 * The number of {@code long}s making up the identifier
+		 */
+		int width() {
+			return 1;
+		}
+
+		abstract long high(Object id);
+
+		long low(Object id) {
+			return 0L;
+		}
+
+		abstract Object toIdentifier(long high, long low);
+
+		static IdKind determine(EntityIdentifierMapping identifierMapping) {
+			if ( identifierMapping instanceof BasicEntityIdentifierMapping ) {
+				final Class<?> javaType = identifierMapping.getJavaType().getJavaTypeClass();
+				if ( javaType == Long.class || javaType == long.class ) {
+					return LONG_ID;
+				}
+				else if ( javaType == Integer.class || javaType == int.class ) {
+					return INT_ID;
+				}
+				else if ( javaType == UUID.class ) {
+					return UUID_ID;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Linear-probing table of the entities of one hierarchy, keyed by the
+	 * primitive identifier value.  A slot is free when its entity is null.
+	 */
+	private static final class IdTable {
+		private final IdKind kind;
+		private final int width;
+		private final EntityPersister rootPersister;
+
+		private long[] keys;
+		private Object[] entities;
+		// the persister of the EntityKey of each entity, allocated only once
+		// an entity is added under a persister other than the root persister
+		private EntityPersister[] persisters;
+		private int size;
+
+		private IdTable(IdKind kind, EntityPersister rootPersister) {
+			this.kind = kind;
+			this.width = kind.width();
+			this.rootPersister = rootPersister;
+		}
+
+		private Object get(Object id) {
+			if ( entities == null ) {
+				return null;
+			}
+			final int index = indexOf( kind.high( id ), kind.low( id ) );
+			return index < 0 ? null : entities[index];
+		}
+
+		private Object put(Object id, EntityPersister persister, Object entity) {
+			final long high = kind.high( id );
+			final long low = kind.low( id );
+			if ( entities == null ) {
+				allocate( INIT_COLL_SIZE * 2 );
+			}
+			else {
+				final int existing = indexOf( high, low );
+				if ( existing >= 0 ) {
+					// replacing an entity never moves the others, which iterators rely on
+					final Object previous = entities[existing];
+					entities[existing] = entity;
+					setPersister( existing, persister );
+					return previous;
+				}
+				if ( ( size + 1 ) * 4 > entities.length * 3 ) {
+					resize( entities.length * 2 );
+				}
+			}
+
+			final int mask = entities.length - 1;
+			int index = hash( high, low ) & mask;
+			while ( entities[index] != null ) {
+				index = ( index + 1 ) & mask;
+			}
+
+			keys[index * width] = high;
+			if ( width == 2 ) {
+				keys[index * 2 + 1] = low;
+			}
+			entities[index] = entity;
+			setPersister( index, persister );
+			size++;
+			return null;
+		}
+
+		private Object remove(Object id) {
+			if ( entities == null ) {
+				return null;
+			}
+			int gap = indexOf( kind.high( id ), kind.low( id ) );
+			if ( gap < 0 ) {
+				return null;
+			}
+			final Object previous = entities[gap];
+			size--;
+
+			// shift back the following entries of the cluster which may fill the gap
+			final int mask = entities.length - 1;
+			int index = ( gap + 1 ) & mask;
+			while ( entities[index] != null ) {
+				final int home = hash( keys[index * width], width == 2 ? keys[index * 2 + 1] : 0L ) & mask;
+				if ( ( ( index - home ) & mask ) >= ( ( index - gap ) & mask ) ) {
+					move( index, gap );
+					gap = index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			entities[gap] = null;
+			if ( persisters != null ) {
+				persisters[gap] = null;
+			}
+			if ( entities.length > INIT_COLL_SIZE * 2 && size * 8 < entities.length ) {
+				// shrink the table once most of its entities were evicted
+				resize( entities.length / 2 );
+			}
+			return previous;
+		}
+
+		private int indexOf(long high, long low) {
+			final int mask = entities.length - 1;
+			int index = hash( high, low ) & mask;
+			while ( entities[index] != null ) {
+				if ( matches( index, high, low ) ) {
+					return index;
+				}
+				index = ( index + 1 ) & mask;
+			}
+			return -1;
+		}
+
+		private boolean matches(int index, long high, long low) {
+			return width == 1
+					? keys[index] == high
+					: keys[index * 2] == high && keys[index * 2 + 1] == low;
+		}
+
+		private void move(int from, int to) {
+			System.arraycopy( keys, from * width, keys, to * width, width );
+			entities[to] = entities[from];
+			if ( persisters != null ) {
+				persisters[to] = persisters[from];
+			}
+		}
+
+		private void setPersister(int index, EntityPersister persister) {
+			if ( persisters != null ) {
+				persisters[index] = persister;
+			}
+			else if ( persister != rootPersister ) {
+				persisters = new EntityPersister[entities.length];
+				for ( int i = 0; i < entities.length; i++ ) {
+					if ( entities[i] != null ) {
+						persisters[i] = rootPersister;
+					}
+				}
+				persisters[index] = persister;
+			}
+		}
+
+		private void allocate(int capacity) {
+			keys = new long[capacity * width];
+			entities = new Object[capacity];
+			size = 0;
+		}
+
+		private void resize(int capacity) {
+			final long[] oldKeys = keys;
+			final Object[] oldEntities = entities;
+			final EntityPersister[] oldPersisters = persisters;
+			allocate( capacity );
+			persisters = oldPersisters == null ? null : new EntityPersister[capacity];
+
+			final int mask = capacity - 1;
+			for ( int i = 0; i < oldEntities.length; i++ ) {
+				if ( oldEntities[i] != null ) {
+					final long high = oldKeys[i * width];
+					final long low = width == 2 ? oldKeys[i * 2 + 1] : 0L;
+					int index = hash( high, low ) & mask;
+					while ( entities[index] != null ) {
+						index = ( index + 1 ) & mask;
+					}
+					keys[index * width] = high;
+					if ( width == 2 ) {
+						keys[index * 2 + 1] = low;
+					}
+					entities[index] = oldEntities[i];
+					if ( oldPersisters != null ) {
+						persisters[index] = oldPersisters[i];
+					}
+					size++;
+				}
+			}
+		}
+
+		private long high(int index) {
+			return keys[index * width];
+		}
+
+		private long low(int index) {
+			return width == 2 ? keys[index * 2 + 1] : 0L;
+		}
+
+		private EntityPersister persister(int index) {
+			return persisters == null ? rootPersister : persisters[index];
+		}
+
+		private static int hash(long high, long low) {
+			final long hash = ( high ^ ( low * 0xC2B2AE3D27D4EB4FL ) ) * 0x9E3779B97F4A7C15L;
+			return (int) ( hash ^ ( hash >>> 32 ) );
+		}
+	}
+
+	/**
+	 * Iterates the entities of {@link #otherEntities}, then of each table, in slot order.
+	 */
+	private abstract class AbstractIterator<T> implements Iterator<T> {
+		private final Iterator<Entry<EntityKey, Object>> otherIterator = otherEntities == null
+				? Collections.emptyIterator()
+				: otherEntities.entrySet().iterator();
+		private final int expectedModCount = modCount;
+		private int tableIndex;
+		private int slot = -1;
+
+		@Override
+		public boolean hasNext() {
+			checkForComodification();
+			if ( otherIterator.hasNext() ) {
+				return true;
+			}
+			while ( tableIndex < tables.size() ) {
+				final Object[] entities = tables.get( tableIndex ).entities;
+				if ( entities != null ) {
+					for ( int i = slot + 1; i < entities.length; i++ ) {
+						if ( entities[i] != null ) {
+							slot = i - 1;
+							return true;
+						}
+					}
+				}
+				tableIndex++;
+				slot = -1;
+			}
+			return false;
+		}
+
+		@Override
+		public T next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			if ( otherIterator.hasNext() ) {
+				return next( otherIterator.next() );
+			}
+			slot++;
+			return next( tables.get( tableIndex ), slot );
+		}
+
+		abstract T next(Entry<EntityKey, Object> otherEntry);
+
+		abstract T next(IdTable table, int slot);
+
+		private void checkForComodification() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	private class ValueIterator extends AbstractIterator<Object> {
+		@Override
+		Object next(Entry<EntityKey, Object> otherEntry) {
+			return otherEntry.getValue();
+		}
+
+		@Override
+		Object next(IdTable table, int slot) {
+			return table.entities[slot];
+		}
+	}
+
+	private class EntryIterator extends AbstractIterator<Entry<EntityKey, Object>> {
+		@Override
+		Entry<EntityKey, Object> next(Entry<EntityKey, Object> otherEntry) {
+			return otherEntry;
+		}
+
+		@Override
+		Entry<EntityKey, Object> next(IdTable table, int slot) {
+			return new TableEntry( table, slot );
+		}
+	}
+
+	/**
+	 * An entry of a table, which creates its {@code EntityKey} only when it is requested.
+	 */
+	private static final class TableEntry implements Entry<EntityKey, Object> {
+		private final IdKind kind;
+		private final long high;
+		private final long low;
+		private final EntityPersister persister;
+		private final Object entity;
+		private EntityKey key;
+
+		private TableEntry(IdTable table, int slot) {
+			this.kind = table.kind;
+			this.high = table.high( slot );
+			this.low = table.low( slot );
+			this.persister = table.persister( slot );
+			this.entity = table.entities[slot];
+		}
+
+		@Override
+		public EntityKey getKey() {
+			if ( key == null ) {
+				key = new EntityKey( kind.toIdentifier( high, low ), persister );
+			}
+			return key;
+		}
+
+		@Override
+		public Object getValue() {
+			return entity;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof Entry ) ) {
+				return false;
+			}
+			final Entry<?, ?> that = (Entry<?, ?>) o;
+			return getKey().equals( that.getKey() ) && entity.equals( that.getValue() );
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ entity.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + entity;
+		}
+	}
+}
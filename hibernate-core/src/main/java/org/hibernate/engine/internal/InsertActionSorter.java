@@ -0,0 +1,466 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.hibernate.action.internal.AbstractEntityInsertAction;
+import org.hibernate.engine.spi.ExecutableList;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.ForeignKeyDirection;
+import org.hibernate.type.Type;
+
+/**
+ * Orders the insert actions of a flush such that inserts against the same entity are grouped
+ * together, without violating constraints, when {@value org.hibernate.cfg.AvailableSettings#ORDER_INSERTS}
+ * is enabled. The original order is generated by cascade order, which in turn is based on the
+ * directionality of foreign-keys, so we need to make absolutely certain that we do not circumvent
+ * this FK ordering to the extent of causing constraint violations.
+ * <p>
+ * The actions are grouped by entity name, and the dependency graph between the entity names is
+ * built once per sort. The groups are then ordered by a topological sort of this graph, which
+ * keeps the groups in order of first appearance wherever the dependencies allow it. Entity names
+ * which depend on each other form a cycle in the graph: the inserts against those entities keep
+ * their original relative order, since the cascade order is the only safe order for them.
+ * <p>
+ * Sorting {@code n} actions against {@code k} entity names takes {@code O(n + k log k)} time,
+ * plus the size of the graph.
+ *
+ * @since 6.3
+ */
+public final class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( InsertActionSorter.class );
+
+	/**
+	 * Singleton access
+	 */
+	public static final InsertActionSorter INSTANCE = new InsertActionSorter();
+
+	private InsertActionSorter() {
+	}
+
+	/**
+	 * Sort the insert actions.
+	 */
+	@Override
+	public void sort(List<AbstractEntityInsertAction> insertions) {
+		if ( insertions.size() < 2 ) {
+			return;
+		}
+
+		final SharedSessionContractImplementor session = insertions.get( 0 ).getSession();
+		final MappingMetamodelImplementor mappingMetamodel = session.getFactory()
+				.getRuntimeMetamodels()
+				.getMappingMetamodel();
+
+		// group the actions by entity name, in order of first appearance
+		final Map<String, BatchNode> nodesByEntityName = new HashMap<>();
+		final List<BatchNode> nodes = new ArrayList<>();
+		for ( AbstractEntityInsertAction action : insertions ) {
+			BatchNode node = nodesByEntityName.get( action.getEntityName() );
+			if ( node == null ) {
+				node = new BatchNode( nodes.size(), action.getPersister(), mappingMetamodel, session );
+				nodesByEntityName.put( node.entityName, node );
+				nodes.add( node );
+			}
+			node.add( action, mappingMetamodel, session );
+		}
+
+		if ( nodes.size() == 1 ) {
+			return;
+		}
+
+		buildDependencyGraph( nodes, nodesByEntityName );
+
+		final List<Component> components = new StronglyConnectedComponents( nodes ).components;
+		boolean cyclic = false;
+		for ( Component component : components ) {
+			component.collectSuccessors();
+			cyclic = cyclic || component.isCycle();
+		}
+
+		if ( cyclic ) {
+			// a cycle keeps the original relative order of its inserts
+			for ( AbstractEntityInsertAction action : insertions ) {
+				final Component component = nodesByEntityName.get( action.getEntityName() ).component;
+				if ( component.isCycle() ) {
+					component.cycleActions.add( action );
+				}
+			}
+		}
+
+		// Kahn's algorithm, preferring the component which appeared first in the original order
+		final PriorityQueue<Component> ready = new PriorityQueue<>( Comparator.comparingInt( c -> c.firstIndex ) );
+		for ( Component component : components ) {
+			if ( component.inDegree == 0 ) {
+				ready.add( component );
+			}
+		}
+
+		insertions.clear();
+		while ( !ready.isEmpty() ) {
+			final Component component = ready.poll();
+			if ( component.isCycle() ) {
+				LOG.debugf(
+						"Entities %s depend on each other, their inserts will not be reordered",
+						component.getEntityNames()
+				);
+				insertions.addAll( component.cycleActions );
+			}
+			else {
+				insertions.addAll( component.nodes.get( 0 ).actions );
+			}
+			for ( Component successor : component.successors ) {
+				if ( --successor.inDegree == 0 ) {
+					ready.add( successor );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Add an edge from each batch to the batches which need to be inserted after it, that is,
+	 * the batches which name it as a parent, and the batches it names as children.
+	 */
+	private static void buildDependencyGraph(List<BatchNode> nodes, Map<String, BatchNode> nodesByEntityName) {
+		final Map<String, List<BatchNode>> nodesByRootEntityName = new HashMap<>();
+		for ( BatchNode node : nodes ) {
+			nodesByRootEntityName.computeIfAbsent( node.rootEntityName, name -> new ArrayList<>() ).add( node );
+		}
+
+		for ( BatchNode node : nodes ) {
+			for ( String parentEntityName : node.parentEntityNames ) {
+				final BatchNode parent = nodesByEntityName.get( parentEntityName );
+				if ( parent != null ) {
+					parent.addSuccessor( node );
+				}
+				// a reference to the root entity may be a reference to any of its subclasses,
+				// unless this is the root entity itself
+				if ( !node.entityName.equals( parentEntityName ) ) {
+					final List<BatchNode> hierarchy = nodesByRootEntityName.get( parentEntityName );
+					if ( hierarchy != null ) {
+						for ( BatchNode subclass : hierarchy ) {
+							subclass.addSuccessor( node );
+						}
+					}
+				}
+			}
+			for ( String childEntityName : node.childEntityNames ) {
+				final BatchNode child = nodesByEntityName.get( childEntityName );
+				if ( child != null ) {
+					node.addSuccessor( child );
+				}
+			}
+		}
+	}
+
+	/**
+	 * The insert actions against an entity name, along with the names of the entities which need
+	 * to be inserted before ("parents") and after ("children") them.
+	 */
+	private static class BatchNode {
+		private final int index;
+		private final String entityName;
+		private final String rootEntityName;
+
+		private final Type[] propertyTypes;
+		// the names contributed by each property, added once the property has a value
+		private final PropertyDependencies[] propertyDependencies;
+		private final boolean[] propertyDependenciesAdded;
+
+		private final Set<String> parentEntityNames = new HashSet<>();
+		private final Set<String> childEntityNames = new HashSet<>();
+		private final List<AbstractEntityInsertAction> actions = new ArrayList<>();
+
+		private final Set<BatchNode> successors = new LinkedHashSet<>();
+
+		// state of the strongly connected components search
+		private int visitIndex = -1;
+		private int lowLink;
+		private boolean onStack;
+		private Component component;
+
+		BatchNode(
+				int index,
+				EntityPersister persister,
+				MappingMetamodelImplementor mappingMetamodel,
+				SharedSessionContractImplementor session) {
+			this.index = index;
+			this.entityName = persister.getEntityName();
+			this.rootEntityName = persister.getRootEntityName();
+			this.propertyTypes = persister.getPropertyTypes();
+			this.propertyDependencies = new PropertyDependencies[propertyTypes.length];
+			this.propertyDependenciesAdded = new boolean[propertyTypes.length];
+
+			for ( int i = 0; i < propertyTypes.length; i++ ) {
+				final Type type = propertyTypes[i];
+				if ( type.isEntityType() || type.isCollectionType() ) {
+					final PropertyDependencies dependencies = new PropertyDependencies( type );
+					addEntityNames(
+							type,
+							null,
+							mappingMetamodel,
+							session,
+							dependencies.parentEntityNames,
+							dependencies.childEntityNames
+					);
+					propertyDependencies[i] = dependencies;
+				}
+			}
+
+			final Type identifierType = persister.getIdentifierType();
+			if ( identifierType.isComponentType() ) {
+				for ( Type type : ( (CompositeType) identifierType ).getSubtypes() ) {
+					addEntityNames( type, null, mappingMetamodel, session, parentEntityNames, childEntityNames );
+				}
+			}
+		}
+
+		/**
+		 * Add the action to this batch, along with the parent and child entity names
+		 * of its state, so that we know how to rearrange dependencies.
+		 */
+		void add(
+				AbstractEntityInsertAction action,
+				MappingMetamodelImplementor mappingMetamodel,
+				SharedSessionContractImplementor session) {
+			actions.add( action );
+
+			final Object[] propertyValues = action.getState();
+			for ( int i = 0; i < propertyValues.length; i++ ) {
+				final Object value = propertyValues[i];
+				if ( value != null ) {
+					final PropertyDependencies dependencies = propertyDependencies[i];
+					if ( dependencies != null ) {
+						if ( !propertyDependenciesAdded[i] ) {
+							parentEntityNames.addAll( dependencies.parentEntityNames );
+							childEntityNames.addAll( dependencies.childEntityNames );
+							propertyDependenciesAdded[i] = true;
+						}
+						if ( dependencies.associatedEntityName != null ) {
+							// the value may be an instance of a subclass
+							final String valueClass = value.getClass().getName();
+							if ( !valueClass.equals( dependencies.associatedEntityName ) ) {
+								parentEntityNames.add( valueClass );
+							}
+						}
+					}
+					else if ( propertyTypes[i].isComponentType() ) {
+						addEntityNames(
+								propertyTypes[i],
+								value,
+								mappingMetamodel,
+								session,
+								parentEntityNames,
+								childEntityNames
+						);
+					}
+				}
+			}
+		}
+
+		private void addEntityNames(
+				Type type,
+				Object value,
+				MappingMetamodelImplementor mappingMetamodel,
+				SharedSessionContractImplementor session,
+				Set<String> parentEntityNames,
+				Set<String> childEntityNames) {
+			if ( type.isEntityType() ) {
+				final EntityType entityType = (EntityType) type;
+				final String entityName = entityType.getName();
+				final String rootEntityName = mappingMetamodel.getEntityDescriptor( entityName ).getRootEntityName();
+
+				if ( entityType.isOneToOne() && entityType.getForeignKeyDirection() == ForeignKeyDirection.TO_PARENT ) {
+					if ( !entityType.isReferenceToPrimaryKey() ) {
+						childEntityNames.add( entityName );
+					}
+					if ( !rootEntityName.equals( entityName ) ) {
+						childEntityNames.add( rootEntityName );
+					}
+				}
+				else {
+					if ( !this.entityName.equals( entityName ) ) {
+						parentEntityNames.add( entityName );
+					}
+					if ( value != null ) {
+						final String valueClass = value.getClass().getName();
+						if ( !valueClass.equals( entityName ) ) {
+							parentEntityNames.add( valueClass );
+						}
+					}
+					if ( !rootEntityName.equals( entityName ) ) {
+						parentEntityNames.add( rootEntityName );
+					}
+				}
+			}
+			else if ( type.isCollectionType() ) {
+				final CollectionType collectionType = (CollectionType) type;
+				final SessionFactoryImplementor sessionFactory = session.getFactory();
+				if ( collectionType.getElementType( sessionFactory ).isEntityType()
+						&& !mappingMetamodel.getCollectionDescriptor( collectionType.getRole() ).isManyToMany() ) {
+					final String entityName = collectionType.getAssociatedEntityName( sessionFactory );
+					final String rootEntityName = mappingMetamodel.getEntityDescriptor( entityName ).getRootEntityName();
+					childEntityNames.add( entityName );
+					if ( !rootEntityName.equals( entityName ) ) {
+						childEntityNames.add( rootEntityName );
+					}
+				}
+			}
+			else if ( type.isComponentType() && value != null ) {
+				// Support recursive checks of composite type properties for associations and collections.
+				final CompositeType compositeType = (CompositeType) type;
+				final Type[] subtypes = compositeType.getSubtypes();
+				final Object[] componentValues = compositeType.getPropertyValues( value, session );
+				for ( int j = 0; j < componentValues.length; j++ ) {
+					addEntityNames(
+							subtypes[j],
+							componentValues[j],
+							mappingMetamodel,
+							session,
+							parentEntityNames,
+							childEntityNames
+					);
+				}
+			}
+		}
+
+		void addSuccessor(BatchNode node) {
+			if ( node != this ) {
+				successors.add( node );
+			}
+		}
+	}
+
+	/**
+	 * The entity names contributed by an entity-valued or collection-valued property,
+	 * which do not depend on the value of the property.
+	 */
+	private static class PropertyDependencies {
+		// the associated entity name of a property which references a parent entity
+		private final String associatedEntityName;
+		private final Set<String> parentEntityNames = new HashSet<>();
+		private final Set<String> childEntityNames = new HashSet<>();
+
+		PropertyDependencies(Type type) {
+			if ( type.isEntityType() ) {
+				final EntityType entityType = (EntityType) type;
+				associatedEntityName =
+						entityType.isOneToOne() && entityType.getForeignKeyDirection() == ForeignKeyDirection.TO_PARENT
+								? null
+								: entityType.getName();
+			}
+			else {
+				associatedEntityName = null;
+			}
+		}
+	}
+
+	/**
+	 * A strongly connected component of the dependency graph: either a single batch,
+	 * or a cycle of batches which depend on each other.
+	 */
+	private static class Component {
+		private final List<BatchNode> nodes = new ArrayList<>();
+		private final Set<Component> successors = new LinkedHashSet<>();
+		private final List<AbstractEntityInsertAction> cycleActions = new ArrayList<>();
+		private int firstIndex = Integer.MAX_VALUE;
+		private int inDegree;
+
+		void add(BatchNode node) {
+			nodes.add( node );
+			node.component = this;
+			firstIndex = Math.min( firstIndex, node.index );
+		}
+
+		boolean isCycle() {
+			return nodes.size() > 1;
+		}
+
+		void collectSuccessors() {
+			for ( BatchNode node : nodes ) {
+				for ( BatchNode successor : node.successors ) {
+					final Component component = successor.component;
+					if ( component != this && successors.add( component ) ) {
+						component.inDegree++;
+					}
+				}
+			}
+		}
+
+		List<String> getEntityNames() {
+			final List<String> entityNames = new ArrayList<>( nodes.size() );
+			for ( BatchNode node : nodes ) {
+				entityNames.add( node.entityName );
+			}
+			return entityNames;
+		}
+	}
+
+	/**
+	 * Tarjan's algorithm for the strongly connected components of the dependency graph.
+	 */
+	private static class StronglyConnectedComponents {
+		private final List<Component> components = new ArrayList<>();
+		private final List<BatchNode> stack = new ArrayList<>();
+		private int visitIndex;
+
+		StronglyConnectedComponents(List<BatchNode> nodes) {
+			for ( BatchNode node : nodes ) {
+				if ( node.visitIndex == -1 ) {
+					visit( node );
+				}
+			}
+		}
+
+		private void visit(BatchNode node) {
+			node.visitIndex = visitIndex;
+			node.lowLink = visitIndex;
+			visitIndex++;
+			stack.add( node );
+			node.onStack = true;
+
+			for ( BatchNode successor : node.successors ) {
+				if ( successor.visitIndex == -1 ) {
+					visit( successor );
+					node.lowLink = Math.min( node.lowLink, successor.lowLink );
+				}
+				else if ( successor.onStack ) {
+					node.lowLink = Math.min( node.lowLink, successor.visitIndex );
+				}
+			}
+
+			if ( node.lowLink == node.visitIndex ) {
+				final Component component = new Component();
+				BatchNode member;
+				do {
+					member = stack.remove( stack.size() - 1 );
+					member.onStack = false;
+					component.add( member );
+				}
+				while ( member != node );
+				components.add( component );
+			}
+		}
+	}
+}
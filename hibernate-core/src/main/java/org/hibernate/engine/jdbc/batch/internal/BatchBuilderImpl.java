@@ -31,6 +31,10 @@ import static org.hibernate.jdbc.Expectations.NONE;
  */
 public class BatchBuilderImpl implements BatchBuilder {
 	private final int globalBatchSize;
+	private final int multiRowInsertSize;
+
+	// the multi-row forms of the inserts, when enabled
+	private final MultiRowInsert.Resolver multiRowInsertResolver;
 
 	/**
 	 * Constructs a BatchBuilderImpl
@@ -39,6 +43,20 @@ public class BatchBuilderImpl implements BatchBuilder {
 	 * on {@link #buildBatch}
 	 */
 	public BatchBuilderImpl(int globalBatchSize) {
+		this( globalBatchSize, 0 );
+	}
+
+	/**
+	 * Constructs a BatchBuilderImpl
+	 *
+	 * @param globalBatchSize The batch size to use.  Can be overridden
+	 * on {@link #buildBatch}
+	 * @param multiRowInsertSize The maximum number of rows of a multi-row
+	 * insert, or {@code 0} if rows should be inserted one by one
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_INSERT_SIZE
+	 */
+	public BatchBuilderImpl(int globalBatchSize, int multiRowInsertSize) {
 		if ( BATCH_TRACE_ENABLED ) {
 			BATCH_LOGGER.tracef(
 					"Using standard BatchBuilder (%s)",
@@ -47,12 +65,18 @@ public class BatchBuilderImpl implements BatchBuilder {
 		}
 
 		this.globalBatchSize = globalBatchSize;
+		this.multiRowInsertSize = multiRowInsertSize;
+		this.multiRowInsertResolver = multiRowInsertSize > 1 ? new MultiRowInsert.Resolver( multiRowInsertSize ) : null;
 	}
 
 	public int getJdbcBatchSize() {
 		return globalBatchSize;
 	}
 
+	public int getMultiRowInsertSize() {
+		return multiRowInsertSize;
+	}
+
 	@Override
 	public Batch buildBatch(
 			BatchKey key,
@@ -64,7 +88,7 @@ public class BatchBuilderImpl implements BatchBuilder {
 				: explicitBatchSize;
 		assert batchSize > 1;
 
-		return new BatchImpl( key, statementGroupSupplier.get(), batchSize, jdbcCoordinator );
+		return new BatchImpl( key, statementGroupSupplier.get(), batchSize, jdbcCoordinator, multiRowInsertResolver );
 	}
 
 
@@ -7,15 +7,24 @@
 package org.hibernate.engine.jdbc.batch.internal;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
+import org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer;
 import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
 import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.spi.Binding;
+import org.hibernate.engine.jdbc.mutation.spi.BindingGroup;
 import org.hibernate.engine.jdbc.mutation.group.PreparedStatementDetails;
 import org.hibernate.engine.jdbc.mutation.group.PreparedStatementGroup;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
@@ -23,6 +32,8 @@ import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.jdbc.Expectations;
 import org.hibernate.resource.jdbc.spi.JdbcObserver;
 
 import static org.hibernate.engine.jdbc.JdbcLogging.JDBC_MESSAGE_LOGGER;
@@ -35,6 +46,18 @@ import static org.hibernate.sql.model.ModelMutationLogging.MODEL_MUTATION_LOGGER
 
 /**
  * Standard implementation of Batch
+ * <p>
+ * When built with a {@link MultiRowInsert.Resolver}, the rows of an insert
+ * are collected rather than added to the JDBC batch of the statement, and
+ * are inserted by multi-row inserts when the batch is executed.
+ * <p>
+ * When rows are added with a {@link GeneratedValuesConsumer}, as for batched
+ * {@code IDENTITY} inserts, they are added to the JDBC batch of the statement
+ * even when multi-row inserts are enabled, and the values generated for the
+ * rows of the identifier table are read back from the statement and passed,
+ * row by row, to the consumers.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_INSERT_SIZE
  *
  * @author Steve Ebersole
  */
@@ -43,6 +66,13 @@ public class BatchImpl implements Batch {
 	private final int batchSizeToUse;
 	private final PreparedStatementGroup statementGroup;
 
+	private final MultiRowInsert.Resolver multiRowInsertResolver;
+	private Map<PreparedStatementDetails, List<Binding[]>> bufferedRows;
+	// the number of rows in the JDBC batch of each statement, when rows may be buffered instead
+	private Map<PreparedStatementDetails, Integer> jdbcBatchSizes;
+
+	private List<GeneratedValuesConsumer> generatedValuesConsumers;
+
 	private final JdbcCoordinator jdbcCoordinator;
 	private final SqlStatementLogger sqlStatementLogger;
 	private final SqlExceptionHelper sqlExceptionHelper;
@@ -57,6 +87,15 @@ public class BatchImpl implements Batch {
 			PreparedStatementGroup statementGroup,
 			int batchSizeToUse,
 			JdbcCoordinator jdbcCoordinator) {
+		this( key, statementGroup, batchSizeToUse, jdbcCoordinator, null );
+	}
+
+	BatchImpl(
+			BatchKey key,
+			PreparedStatementGroup statementGroup,
+			int batchSizeToUse,
+			JdbcCoordinator jdbcCoordinator,
+			MultiRowInsert.Resolver multiRowInsertResolver) {
 		if ( key == null ) {
 			throw new IllegalArgumentException( "Batch key cannot be null" );
 		}
@@ -67,6 +106,7 @@ public class BatchImpl implements Batch {
 		this.key = key;
 		this.jdbcCoordinator = jdbcCoordinator;
 		this.statementGroup = statementGroup;
+		this.multiRowInsertResolver = multiRowInsertResolver;
 
 		final JdbcServices jdbcServices = jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getJdbcServices();
 		this.sqlStatementLogger = jdbcServices.getSqlStatementLogger();
@@ -100,6 +140,14 @@ public class BatchImpl implements Batch {
 
 	@Override
 	public void addToBatch(JdbcValueBindings jdbcValueBindings, TableInclusionChecker inclusionChecker) {
+		addToBatch( jdbcValueBindings, inclusionChecker, null );
+	}
+
+	@Override
+	public void addToBatch(
+			JdbcValueBindings jdbcValueBindings,
+			TableInclusionChecker inclusionChecker,
+			GeneratedValuesConsumer generatedValuesConsumer) {
 		if ( BATCH_TRACE_ENABLED ) {
 			BATCH_LOGGER.tracef(
 					"Adding to JDBC batch (%s) - `%s`",
@@ -108,8 +156,6 @@ public class BatchImpl implements Batch {
 			);
 		}
 
-		final SharedSessionContractImplementor session = (SharedSessionContractImplementor) jdbcCoordinator.getJdbcSessionOwner();
-
 		try {
 			getStatementGroup().forEachStatement( (tableName, statementDetails) -> {
 				if ( inclusionChecker != null && !inclusionChecker.include( statementDetails.getMutatingTableDetails() ) ) {
@@ -123,6 +169,12 @@ public class BatchImpl implements Batch {
 					return;
 				}
 
+				if ( generatedValuesConsumer == null && generatedValuesConsumers == null
+						&& bufferRow( statementDetails, jdbcValueBindings ) ) {
+					jdbcValueBindings.afterStatement( statementDetails.getMutatingTableDetails() );
+					return;
+				}
+
 				//noinspection resource
 				final PreparedStatement statement = statementDetails.resolveStatement();
 				sqlStatementLogger.logStatement( statementDetails.getSqlString() );
@@ -130,6 +182,12 @@ public class BatchImpl implements Batch {
 
 				try {
 					statement.addBatch();
+					if ( multiRowInsertResolver != null ) {
+						if ( jdbcBatchSizes == null ) {
+							jdbcBatchSizes = new IdentityHashMap<>();
+						}
+						jdbcBatchSizes.merge( statementDetails, 1, Integer::sum );
+					}
 				}
 				catch (SQLException e) {
 					BATCH_LOGGER.debug( "SQLException escaped proxy", e );
@@ -149,6 +207,16 @@ public class BatchImpl implements Batch {
 			throw e;
 		}
 
+		if ( generatedValuesConsumer != null && generatedValuesConsumers == null ) {
+			generatedValuesConsumers = new ArrayList<>( batchSizeToUse );
+			for ( int i = 0; i < batchPosition; i++ ) {
+				generatedValuesConsumers.add( null );
+			}
+		}
+		if ( generatedValuesConsumers != null ) {
+			generatedValuesConsumers.add( generatedValuesConsumer );
+		}
+
 		batchPosition++;
 		if ( batchPosition == batchSizeToUse ) {
 			notifyObserversImplicitExecution();
@@ -158,8 +226,128 @@ public class BatchImpl implements Batch {
 		}
 	}
 
+	/**
+	 * Collects the row of an insert which can be part of a multi-row insert
+	 *
+	 * @return {@code false} if the statement should be added to the JDBC batch
+	 */
+	private boolean bufferRow(PreparedStatementDetails statementDetails, JdbcValueBindings jdbcValueBindings) {
+		final MultiRowInsert multiRowInsert = resolveMultiRowInsert( statementDetails );
+		if ( multiRowInsert == null ) {
+			return false;
+		}
+
+		final BindingGroup bindingGroup = jdbcValueBindings.getBindingGroup(
+				statementDetails.getMutatingTableDetails().getTableName()
+		);
+		if ( bindingGroup == null || bindingGroup.getBindings().size() != multiRowInsert.getParameterCount() ) {
+			return false;
+		}
+
+		if ( bufferedRows == null ) {
+			bufferedRows = new IdentityHashMap<>();
+		}
+		bufferedRows.computeIfAbsent( statementDetails, (details) -> new ArrayList<>( batchSizeToUse ) )
+				.add( bindingGroup.getBindings().toArray( new Binding[0] ) );
+		return true;
+	}
+
+	private MultiRowInsert resolveMultiRowInsert(PreparedStatementDetails statementDetails) {
+		if ( multiRowInsertResolver == null ) {
+			return null;
+		}
+		final Expectation expectation = statementDetails.getExpectation();
+		if ( expectation != Expectations.NONE && expectation != Expectations.BASIC ) {
+			return null;
+		}
+		return multiRowInsertResolver.resolve(
+				statementDetails.getSqlString(),
+				jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getJdbcServices().getDialect()
+		);
+	}
+
+	/**
+	 * Prepares the multi-row inserts of the rows collected for the statement,
+	 * using as few statements as possible
+	 */
+	private List<MultiRowInsert.BoundStatement> bindBufferedRows(PreparedStatementDetails statementDetails) {
+		final List<Binding[]> rows = bufferedRows == null ? null : bufferedRows.remove( statementDetails );
+		if ( rows == null ) {
+			return Collections.emptyList();
+		}
+
+		final MultiRowInsert multiRowInsert = resolveMultiRowInsert( statementDetails );
+		final int numberOfRows = rows.size();
+		final int remainder = numberOfRows % multiRowInsert.getMaxRows();
+		final List<MultiRowInsert.BoundStatement> statements = new ArrayList<>( 2 );
+		try {
+			if ( numberOfRows > remainder ) {
+				statements.add( bindRows( multiRowInsert, multiRowInsert.getMaxRows(), rows.subList( 0, numberOfRows - remainder ) ) );
+			}
+			if ( remainder > 0 ) {
+				statements.add( bindRows( multiRowInsert, remainder, rows.subList( numberOfRows - remainder, numberOfRows ) ) );
+			}
+		}
+		catch (RuntimeException e) {
+			releaseMultiRowInserts( statements );
+			throw e;
+		}
+		return statements;
+	}
+
+	private MultiRowInsert.BoundStatement bindRows(MultiRowInsert multiRowInsert, int rowsPerStatement, List<Binding[]> rows) {
+		final String sql = multiRowInsert.getSqlString( rowsPerStatement );
+		sqlStatementLogger.logStatement( sql );
+		//noinspection resource
+		final PreparedStatement statement = jdbcCoordinator.getMutationStatementPreparer().prepareStatement( sql, false );
+		final SharedSessionContractImplementor session = (SharedSessionContractImplementor) jdbcCoordinator.getJdbcSessionOwner();
+		final int parameterCount = multiRowInsert.getParameterCount();
+		try {
+			for ( int i = 0; i < rows.size(); i++ ) {
+				final int offset = ( i % rowsPerStatement ) * parameterCount;
+				for ( Binding binding : rows.get( i ) ) {
+					binding.getValueBinder().bind( statement, binding.getValue(), offset + binding.getPosition(), session );
+				}
+				if ( ( i + 1 ) % rowsPerStatement == 0 ) {
+					statement.addBatch();
+				}
+			}
+		}
+		catch (SQLException e) {
+			jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( statement );
+			throw sqlExceptionHelper.convert( e, "Could not bind multi-row insert", sql );
+		}
+		return new MultiRowInsert.BoundStatement( statement, sql, rowsPerStatement );
+	}
+
+	private static void executeMultiRowInserts(
+			List<MultiRowInsert.BoundStatement> statements,
+			PreparedStatementDetails statementDetails) throws SQLException {
+		for ( MultiRowInsert.BoundStatement boundStatement : statements ) {
+			final int[] rowCounts = boundStatement.getStatement().executeBatch();
+			if ( statementDetails.getMutatingTableDetails().isIdentifierTable()
+					&& statementDetails.getExpectation() != Expectations.NONE ) {
+				final Expectation expectation = new MultiRowInsert.MultiRowExpectation( boundStatement.getRows() );
+				for ( int i = 0; i < rowCounts.length; i++ ) {
+					expectation.verifyOutcome( rowCounts[i], boundStatement.getStatement(), i, boundStatement.getSqlString() );
+				}
+			}
+		}
+	}
+
+	private void releaseMultiRowInserts(List<MultiRowInsert.BoundStatement> statements) {
+		for ( MultiRowInsert.BoundStatement boundStatement : statements ) {
+			jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( boundStatement.getStatement() );
+		}
+	}
+
 	protected void releaseStatements() {
-		statementGroup.forEachStatement( (tableName, statementDetails) -> {
+		generatedValuesConsumers = null;
+		jdbcBatchSizes = null;
+		getStatementGroup().forEachStatement( (tableName, statementDetails) -> {
+			if ( bufferedRows != null ) {
+				bufferedRows.remove( statementDetails );
+			}
 			if ( statementDetails.getStatement() == null ) {
 				BATCH_LOGGER.debugf(
 						"PreparedStatementDetails did not contain PreparedStatement on #releaseStatements : %s",
@@ -171,7 +359,7 @@ public class BatchImpl implements Batch {
 			clearBatch( statementDetails );
 		} );
 
-		statementGroup.release();
+		getStatementGroup().release();
 		jdbcCoordinator.afterStatementExecution();
 	}
 
@@ -263,14 +451,30 @@ public class BatchImpl implements Batch {
 		final JdbcObserver observer = jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getObserver();
 		try {
 			getStatementGroup().forEachStatement( (tableName, statementDetails) -> {
-				final String sql = statementDetails.getSqlString();
+				String sql = statementDetails.getSqlString();
 				final PreparedStatement statement = statementDetails.getStatement();
-
-				if ( statement == null ) {
-					return;
-				}
+				List<MultiRowInsert.BoundStatement> multiRowInserts = Collections.emptyList();
 
 				try {
+					multiRowInserts = bindBufferedRows( statementDetails );
+					if ( !multiRowInserts.isEmpty() ) {
+						sql = multiRowInserts.get( 0 ).getSqlString();
+						try {
+							observer.jdbcExecuteBatchStart();
+							executeMultiRowInserts( multiRowInserts, statementDetails );
+						}
+						finally {
+							observer.jdbcExecuteBatchEnd();
+						}
+						sql = statementDetails.getSqlString();
+					}
+
+					final int expectedNumberOfCounts = expectedNumberOfCounts( statementDetails );
+					if ( statement == null || multiRowInsertResolver != null && expectedNumberOfCounts == 0 ) {
+						// every row was part of a multi-row insert
+						return;
+					}
+
 					if ( statementDetails.getMutatingTableDetails().isIdentifierTable() ) {
 						final int[] rowCounts;
 						try {
@@ -280,7 +484,10 @@ public class BatchImpl implements Batch {
 						finally {
 							observer.jdbcExecuteBatchEnd();
 						}
-						checkRowCounts( rowCounts, statementDetails );
+						checkRowCounts( rowCounts, statementDetails, expectedNumberOfCounts );
+						if ( generatedValuesConsumers != null ) {
+							consumeGeneratedValues( statement );
+						}
 					}
 					else {
 						statement.executeBatch();
@@ -296,17 +503,56 @@ public class BatchImpl implements Batch {
 					BATCH_MESSAGE_LOGGER.unableToExecuteBatch( re, sql );
 					throw re;
 				}
+				finally {
+					releaseMultiRowInserts( multiRowInserts );
+				}
 			} );
 		}
 		finally {
 			batchPosition = 0;
+			generatedValuesConsumers = null;
+			jdbcBatchSizes = null;
+		}
+	}
+
+	/**
+	 * Passes the values generated for the rows of the batch to the consumers,
+	 * in the order the rows were added
+	 */
+	private void consumeGeneratedValues(PreparedStatement statement) throws SQLException {
+		final ResultSet resultSet = statement.getGeneratedKeys();
+		try {
+			for ( GeneratedValuesConsumer generatedValuesConsumer : generatedValuesConsumers ) {
+				if ( !resultSet.next() ) {
+					throw new HibernateException( "The database returned fewer rows of generated values than were batched" );
+				}
+				if ( generatedValuesConsumer != null ) {
+					generatedValuesConsumer.consume( resultSet );
+				}
+			}
+		}
+		finally {
+			jdbcCoordinator.getLogicalConnection().getResourceRegistry().release( resultSet, statement );
+		}
+	}
+
+	/**
+	 * The number of rows expected in the JDBC batch of the statement, or {@code -1} if not known.
+	 * When rows may be part of multi-row inserts, {@code 0} means that every row was.
+	 */
+	private int expectedNumberOfCounts(PreparedStatementDetails statementDetails) {
+		if ( multiRowInsertResolver != null ) {
+			return jdbcBatchSizes == null ? 0 : jdbcBatchSizes.getOrDefault( statementDetails, 0 );
 		}
+		return batchPosition == 0 ? -1 : batchPosition / getStatementGroup().getNumberOfStatements();
 	}
 
-	private void checkRowCounts(int[] rowCounts, PreparedStatementDetails statementDetails) throws SQLException, HibernateException {
+	private void checkRowCounts(
+			int[] rowCounts,
+			PreparedStatementDetails statementDetails,
+			int expectedNumberOfCounts) throws SQLException, HibernateException {
 		final int numberOfRowCounts = rowCounts.length;
-		if ( batchPosition != 0 ) {
-			final int expectedNumberOfCounts = batchPosition / getStatementGroup().getNumberOfStatements();
+		if ( expectedNumberOfCounts >= 0 ) {
 			if ( numberOfRowCounts != expectedNumberOfCounts ) {
 				JDBC_MESSAGE_LOGGER.unexpectedRowCounts(
 						statementDetails.getMutatingTableDetails().getTableName(),
@@ -0,0 +1,270 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.jdbc.Expectations;
+
+/**
+ * The multi-row form of a single-row insert statement, i.e.
+ * {@code insert into table (a, b) values (?, ?), (?, ?)} for
+ * {@code insert into table (a, b) values (?, ?)}
+ * <p>
+ * Only rows whose generated values need not be read back are inserted this
+ * way.  The rows of a batched {@code IDENTITY} insert stay in the JDBC batch
+ * of the single-row statement, since the generated keys of a multi-row insert
+ * are not reliably returned one row after the other by every driver.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#MULTI_ROW_INSERT_SIZE
+ */
+class MultiRowInsert {
+	private static final String VALUES = " values (";
+
+	private static final MultiRowInsert NOT_SUPPORTED = new MultiRowInsert( "", "", 0, 0 );
+
+	private final String prefix;
+	private final String row;
+	private final int parameterCount;
+	private final int maxRows;
+
+	private volatile RenderedSql renderedSql;
+
+	private MultiRowInsert(String prefix, String row, int parameterCount, int maxRows) {
+		this.prefix = prefix;
+		this.row = row;
+		this.parameterCount = parameterCount;
+		this.maxRows = maxRows;
+	}
+
+	/**
+	 * The number of JDBC parameters of each row
+	 */
+	public int getParameterCount() {
+		return parameterCount;
+	}
+
+	/**
+	 * The maximum number of rows of a statement
+	 */
+	public int getMaxRows() {
+		return maxRows;
+	}
+
+	/**
+	 * The SQL inserting the given number of rows
+	 */
+	public String getSqlString(int rows) {
+		final RenderedSql rendered = renderedSql;
+		if ( rendered != null && rendered.rows == rows ) {
+			return rendered.sql;
+		}
+
+		final StringBuilder sql = new StringBuilder( prefix.length() + rows * ( row.length() + 1 ) );
+		sql.append( prefix ).append( row );
+		for ( int i = 1; i < rows; i++ ) {
+			sql.append( ',' ).append( row );
+		}
+		final String result = sql.toString();
+		if ( rows == maxRows ) {
+			renderedSql = new RenderedSql( rows, result );
+		}
+		return result;
+	}
+
+	/**
+	 * Interprets the SQL of a single-row insert, returning {@code null} if it
+	 * is not of the form {@code insert into ... values (...)}
+	 */
+	static MultiRowInsert parse(String sql, int maxRowsSetting, Dialect dialect) {
+		int start = 0;
+		final int length = sql.length();
+		// skip the comment added by hibernate.use_sql_comments
+		while ( true ) {
+			while ( start < length && Character.isWhitespace( sql.charAt( start ) ) ) {
+				start++;
+			}
+			if ( !sql.startsWith( "/*", start ) ) {
+				break;
+			}
+			final int commentEnd = sql.indexOf( "*/", start + 2 );
+			if ( commentEnd < 0 ) {
+				return null;
+			}
+			start = commentEnd + 2;
+		}
+
+		if ( !sql.regionMatches( true, start, "insert into ", 0, 12 ) ) {
+			return null;
+		}
+
+		// find the values clause, outside any literal, quoted identifier or parentheses
+		int rowStart = -1;
+		int depth = 0;
+		for ( int i = start; i < length && rowStart < 0; i++ ) {
+			final char c = sql.charAt( i );
+			if ( isQuote( c ) ) {
+				i = skipQuoted( sql, i );
+				if ( i < 0 ) {
+					return null;
+				}
+			}
+			else if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				depth--;
+			}
+			else if ( depth == 0 && sql.regionMatches( true, i, VALUES, 0, VALUES.length() ) ) {
+				rowStart = i + VALUES.length() - 1;
+			}
+		}
+		if ( rowStart < 0 ) {
+			return null;
+		}
+
+		// the row must be a single parenthesized list which ends the statement
+		int rowEnd = -1;
+		int parameterCount = 0;
+		depth = 0;
+		for ( int i = rowStart; i < length && rowEnd < 0; i++ ) {
+			final char c = sql.charAt( i );
+			if ( isQuote( c ) ) {
+				i = skipQuoted( sql, i );
+				if ( i < 0 ) {
+					return null;
+				}
+			}
+			else if ( c == '(' ) {
+				depth++;
+			}
+			else if ( c == ')' ) {
+				if ( --depth == 0 ) {
+					rowEnd = i;
+				}
+			}
+			else if ( c == '?' ) {
+				parameterCount++;
+			}
+		}
+		if ( rowEnd < 0 || parameterCount == 0 ) {
+			return null;
+		}
+		for ( int i = rowEnd + 1; i < length; i++ ) {
+			if ( !Character.isWhitespace( sql.charAt( i ) ) ) {
+				return null;
+			}
+		}
+
+		final int maxRows = Math.min( maxRowsSetting, dialect.getMultiRowInsertLimit( parameterCount ) );
+		if ( maxRows < 2 ) {
+			return null;
+		}
+		return new MultiRowInsert(
+				sql.substring( 0, rowStart ),
+				sql.substring( rowStart, rowEnd + 1 ),
+				parameterCount,
+				maxRows
+		);
+	}
+
+	/**
+	 * Whether the character opens a string literal, or a quoted identifier
+	 */
+	private static boolean isQuote(char c) {
+		return c == '\'' || c == '"' || c == '`' || c == '[';
+	}
+
+	/**
+	 * The index of the character closing the literal or quoted identifier opened
+	 * at the given index, or {@code -1} if it is not closed.  A doubled quote is
+	 * read as the end of a literal followed by the start of another.
+	 */
+	private static int skipQuoted(String sql, int index) {
+		final char open = sql.charAt( index );
+		return sql.indexOf( open == '[' ? ']' : open, index + 1 );
+	}
+
+	private static class RenderedSql {
+		private final int rows;
+		private final String sql;
+
+		private RenderedSql(int rows, String sql) {
+			this.rows = rows;
+			this.sql = sql;
+		}
+	}
+
+	/**
+	 * Resolves, and caches, the multi-row form of insert statements
+	 */
+	static class Resolver {
+		private final int maxRows;
+		private final ConcurrentHashMap<String, MultiRowInsert> multiRowInserts = new ConcurrentHashMap<>();
+
+		Resolver(int maxRows) {
+			this.maxRows = maxRows;
+		}
+
+		/**
+		 * @return the multi-row form of the given insert, or {@code null}
+		 * if its rows should be inserted one by one
+		 */
+		MultiRowInsert resolve(String sql, Dialect dialect) {
+			final MultiRowInsert multiRowInsert = multiRowInserts.computeIfAbsent(
+					sql,
+					(s) -> {
+						final MultiRowInsert parsed = parse( s, maxRows, dialect );
+						return parsed == null ? NOT_SUPPORTED : parsed;
+					}
+			);
+			return multiRowInsert == NOT_SUPPORTED ? null : multiRowInsert;
+		}
+	}
+
+	/**
+	 * A statement bound with the parameters of a number of rows, as one or
+	 * more JDBC batch entries
+	 */
+	static class BoundStatement {
+		private final PreparedStatement statement;
+		private final String sql;
+		private final int rows;
+
+		BoundStatement(PreparedStatement statement, String sql, int rows) {
+			this.statement = statement;
+			this.sql = sql;
+			this.rows = rows;
+		}
+
+		PreparedStatement getStatement() {
+			return statement;
+		}
+
+		String getSqlString() {
+			return sql;
+		}
+
+		/**
+		 * The number of rows inserted by each batch entry
+		 */
+		int getRows() {
+			return rows;
+		}
+	}
+
+	/**
+	 * Expects the row count of a multi-row insert
+	 */
+	static class MultiRowExpectation extends Expectations.BasicExpectation {
+		MultiRowExpectation(int rows) {
+			super( rows );
+		}
+	}
+}
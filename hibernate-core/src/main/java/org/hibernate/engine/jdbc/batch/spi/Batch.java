@@ -10,6 +10,7 @@ import java.sql.PreparedStatement;
 import java.util.function.Supplier;
 
 import org.hibernate.Incubating;
+import org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer;
 import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
 import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
 import org.hibernate.engine.jdbc.mutation.group.PreparedStatementGroup;
@@ -51,6 +52,31 @@ public interface Batch {
 	 */
 	void addToBatch(JdbcValueBindings jdbcValueBindings, TableInclusionChecker inclusionChecker);
 
+	/**
+	 * Apply the value bindings to the batch JDBC statements and indicates completion
+	 * of the current part of the batch, passing the values generated by the database
+	 * for the row of the identifier table to the given consumer once the batch is
+	 * executed.
+	 * <p>
+	 * By default, the batch is executed right away, and the generated values
+	 * are then {@linkplain GeneratedValuesConsumer#select() selected}.
+	 *
+	 * @param generatedValuesConsumer Consumes the generated values; pass {@code null}
+	 * 		if the statement was not prepared to return generated values
+	 *
+	 * @since 6.3
+	 */
+	default void addToBatch(
+			JdbcValueBindings jdbcValueBindings,
+			TableInclusionChecker inclusionChecker,
+			GeneratedValuesConsumer generatedValuesConsumer) {
+		addToBatch( jdbcValueBindings, inclusionChecker );
+		if ( generatedValuesConsumer != null ) {
+			execute();
+			generatedValuesConsumer.select();
+		}
+	}
+
 	/**
 	 * Execute this batch.
 	 */
@@ -0,0 +1,38 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html.
+ */
+package org.hibernate.engine.jdbc.mutation;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.Incubating;
+
+/**
+ * Used to consume the values generated by the database for the row mutated
+ * by a statement, read back from {@link java.sql.Statement#getGeneratedKeys()},
+ * or, if the statement was executed without returning them, selected after the
+ * row was mutated.
+ *
+ * @see org.hibernate.dialect.Dialect#supportsReturningGeneratedValues()
+ *
+ * @since 6.3
+ */
+@Incubating
+public interface GeneratedValuesConsumer {
+	/**
+	 * Consume the generated values
+	 *
+	 * @param resultSet The generated keys, positioned on the row of the mutation
+	 */
+	void consume(ResultSet resultSet) throws SQLException;
+
+	/**
+	 * Select the generated values, for a statement which was executed without
+	 * returning them.  The row must already have been written to the database.
+	 */
+	void select();
+}
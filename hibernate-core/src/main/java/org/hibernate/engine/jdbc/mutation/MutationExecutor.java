@@ -49,5 +49,36 @@ public interface MutationExecutor {
 			OperationResultChecker resultChecker,
 			SharedSessionContractImplementor session);
 
+	/**
+	 * Perform the execution, passing the values generated by the database for
+	 * the row of the identifier table, read back from the statement, to the given
+	 * consumer.  If the statement is batched, the consumer is only called once
+	 * the batch is executed.
+	 * <p>
+	 * By default, the execution is performed as usual, any pending JDBC batch is
+	 * executed, and the generated values are then {@linkplain GeneratedValuesConsumer#select()
+	 * selected}.
+	 *
+	 * @param generatedValuesConsumer Consumes the generated values; pass {@code null}
+	 * 		if the statement was not prepared to return generated values
+	 *
+	 * @since 6.3
+	 */
+	default Object execute(
+			Object modelReference,
+			ValuesAnalysis valuesAnalysis,
+			TableInclusionChecker inclusionChecker,
+			OperationResultChecker resultChecker,
+			GeneratedValuesConsumer generatedValuesConsumer,
+			SharedSessionContractImplementor session) {
+		final Object result = execute( modelReference, valuesAnalysis, inclusionChecker, resultChecker, session );
+		if ( generatedValuesConsumer != null ) {
+			// the row may still be waiting in the batch
+			session.getJdbcCoordinator().executeBatch();
+			generatedValuesConsumer.select();
+		}
+		return result;
+	}
+
 	void release();
 }
@@ -6,8 +6,13 @@
  */
 package org.hibernate.engine.jdbc.mutation.internal;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer;
+
 import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
 import org.hibernate.engine.jdbc.mutation.MutationExecutor;
 import org.hibernate.engine.jdbc.mutation.OperationResultChecker;
@@ -26,6 +31,18 @@ import static org.hibernate.sql.model.ModelMutationLogging.MODEL_MUTATION_LOGGER
  * @author Steve Ebersole
  */
 public abstract class AbstractMutationExecutor implements MutationExecutor {
+	private GeneratedValuesConsumer generatedValuesConsumer;
+
+	@Override
+	public final Object execute(
+			Object modelReference,
+			ValuesAnalysis valuesAnalysis,
+			TableInclusionChecker inclusionChecker,
+			OperationResultChecker resultChecker,
+			SharedSessionContractImplementor session) {
+		return execute( modelReference, valuesAnalysis, inclusionChecker, resultChecker, null, session );
+	}
+
 	/**
 	 * Templated implementation of execution as <ol>
 	 *     <li>{@link #performNonBatchedOperations}</li>
@@ -39,11 +56,26 @@ public abstract class AbstractMutationExecutor implements MutationExecutor {
 			ValuesAnalysis valuesAnalysis,
 			TableInclusionChecker inclusionChecker,
 			OperationResultChecker resultChecker,
+			GeneratedValuesConsumer generatedValuesConsumer,
 			SharedSessionContractImplementor session) {
-		performNonBatchedOperations( valuesAnalysis, inclusionChecker, resultChecker, session );
-		performSelfExecutingOperations( valuesAnalysis, inclusionChecker, session );
-		performBatchedOperations( valuesAnalysis, inclusionChecker );
-		return null;
+		this.generatedValuesConsumer = generatedValuesConsumer;
+		try {
+			performNonBatchedOperations( valuesAnalysis, inclusionChecker, resultChecker, session );
+			performSelfExecutingOperations( valuesAnalysis, inclusionChecker, session );
+			performBatchedOperations( valuesAnalysis, inclusionChecker );
+			return null;
+		}
+		finally {
+			this.generatedValuesConsumer = null;
+		}
+	}
+
+	/**
+	 * The consumer of the values generated for the row of the identifier table
+	 * by the execution in progress, if any
+	 */
+	protected GeneratedValuesConsumer getGeneratedValuesConsumer() {
+		return generatedValuesConsumer;
 	}
 
 	protected void performNonBatchedOperations(
@@ -103,6 +135,10 @@ public abstract class AbstractMutationExecutor implements MutationExecutor {
 			}
 
 			ModelMutationHelper.checkResults( resultChecker, statementDetails, affectedRowCount, -1 );
+
+			if ( generatedValuesConsumer != null && tableDetails.isIdentifierTable() ) {
+				consumeGeneratedValues( statementDetails.getStatement(), generatedValuesConsumer, session );
+			}
 		}
 		catch (SQLException e) {
 			throw session.getJdbcServices().getSqlExceptionHelper().convert(
@@ -121,4 +157,20 @@ public abstract class AbstractMutationExecutor implements MutationExecutor {
 			valueBindings.afterStatement( tableDetails );
 		}
 	}
+
+	private static void consumeGeneratedValues(
+			PreparedStatement statement,
+			GeneratedValuesConsumer generatedValuesConsumer,
+			SharedSessionContractImplementor session) throws SQLException {
+		final ResultSet resultSet = statement.getGeneratedKeys();
+		try {
+			if ( !resultSet.next() ) {
+				throw new HibernateException( "The database returned no generated values" );
+			}
+			generatedValuesConsumer.consume( resultSet );
+		}
+		finally {
+			session.getJdbcCoordinator().getLogicalConnection().getResourceRegistry().release( resultSet, statement );
+		}
+	}
 }
@@ -142,8 +142,21 @@ public class ModelMutationHelper {
 			SharedSessionContractImplementor session) {
 		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
 		final MutationStatementPreparer statementPreparer = jdbcCoordinator.getMutationStatementPreparer();
-		final PreparedStatement statement = statementPreparer.prepareStatement( jdbcMutation.getSqlString(), jdbcMutation.isCallable() );
+		final String[] returnedColumnNames = resolveReturnedGeneratedColumnNames( jdbcMutation );
+		final PreparedStatement statement = returnedColumnNames == null
+				? statementPreparer.prepareStatement( jdbcMutation.getSqlString(), jdbcMutation.isCallable() )
+				: statementPreparer.prepareStatement( jdbcMutation.getSqlString(), returnedColumnNames );
 		session.getJdbcCoordinator().getLogicalConnection().getResourceRegistry().register( null, statement );
 		return statement;
 	}
+
+	private static String[] resolveReturnedGeneratedColumnNames(PreparableMutationOperation jdbcMutation) {
+		if ( jdbcMutation.isCallable()
+				|| !jdbcMutation.getTableDetails().isIdentifierTable()
+				|| !( jdbcMutation.getMutationTarget() instanceof EntityMutationTarget ) ) {
+			return null;
+		}
+		final EntityMutationTarget target = (EntityMutationTarget) jdbcMutation.getMutationTarget();
+		return target.getReturnedGeneratedColumnNames( jdbcMutation.getMutationType() );
+	}
 }
@@ -57,7 +57,7 @@ public class MutationExecutorSingleBatched extends AbstractSingleMutationExecuto
 
 	@Override
 	protected void performBatchedOperations(ValuesAnalysis valuesAnalysis, TableInclusionChecker inclusionChecker) {
-		resolveBatch().addToBatch( getJdbcValueBindings(), inclusionChecker );
+		resolveBatch().addToBatch( getJdbcValueBindings(), inclusionChecker, getGeneratedValuesConsumer() );
 	}
 
 	@Override
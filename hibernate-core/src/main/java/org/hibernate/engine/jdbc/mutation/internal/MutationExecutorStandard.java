@@ -231,7 +231,7 @@ public class MutationExecutorStandard extends AbstractMutationExecutor {
 		if ( batch == null ) {
 			return;
 		}
-		batch.addToBatch( valueBindings, inclusionChecker );
+		batch.addToBatch( valueBindings, inclusionChecker, getGeneratedValuesConsumer() );
 	}
 
 	@Override
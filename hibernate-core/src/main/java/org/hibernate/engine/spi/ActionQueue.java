@@ -11,13 +11,12 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -30,6 +29,8 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.DelayedPostInsertIdentifier;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityActionVetoException;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
@@ -42,19 +43,21 @@ import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.internal.InsertActionSorter;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
-import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.EntityIdentifierMapping;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
-import org.hibernate.type.CollectionType;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
-import org.hibernate.type.ForeignKeyDirection;
 import org.hibernate.type.Type;
 
 /**
@@ -146,7 +149,7 @@ public class ActionQueue {
 					ExecutableList<AbstractEntityInsertAction> init(ActionQueue instance) {
 						if ( instance.isOrderInsertsEnabled() ) {
 							return instance.insertions = new ExecutableList<>(
-									new InsertActionSorter()
+									InsertActionSorter.INSTANCE
 							);
 						}
 						else {
@@ -571,6 +574,18 @@ public class ActionQueue {
 		return areTablesToBeUpdated( unresolvedInsertions, tables );
 	}
 
+	/**
+	 * Check whether any of the given tables/query-spaces were changed by actions executed in the current
+	 * transaction, so that query results cached before these changes are no longer valid for this session.
+	 *
+	 * @param tables The table/query-spaces to check.
+	 *
+	 * @return {@code true} if any of the given tables were changed; {@code false} otherwise.
+	 */
+	public boolean areTablesInvalidated(Collection<String> tables) {
+		return afterTransactionProcesses != null && afterTransactionProcesses.isInvalidated( tables );
+	}
+
 	private static boolean areTablesToBeUpdated(ExecutableList<?> actions, Set<? extends Serializable> tableSpaces) {
 		if ( actions == null || actions.isEmpty() ) {
 			return false;
@@ -611,23 +626,32 @@ public class ActionQueue {
 		//		1) we explicitly iterate list here to perform Executable#execute()
 		//		2) ExecutableList#getQuerySpaces also iterates the Executables to collect query spaces.
 		try {
-			for ( E e : list ) {
-				try {
-					e.execute();
-				}
-				finally {
-					if ( e.getBeforeTransactionCompletionProcess() != null ) {
-						if ( beforeTransactionProcesses == null ) {
-							beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
-						}
-						beforeTransactionProcesses.register( e.getBeforeTransactionCompletionProcess() );
+			for ( int i = 0; i < list.size(); ) {
+				final int batchEnd = identityInsertBatchEnd( list, i );
+				if ( batchEnd > i + 1 ) {
+					final List<EntityIdentityInsertAction> batch = new ArrayList<>( batchEnd - i );
+					for ( int j = i; j < batchEnd; j++ ) {
+						batch.add( (EntityIdentityInsertAction) list.get( j ) );
 					}
-					if ( e.getAfterTransactionCompletionProcess() != null ) {
-						if ( afterTransactionProcesses == null ) {
-							afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+					try {
+						EntityIdentityInsertAction.executeBatch( batch );
+					}
+					finally {
+						for ( EntityIdentityInsertAction insert : batch ) {
+							registerTransactionCompletionProcesses( insert );
 						}
-						afterTransactionProcesses.register( e.getAfterTransactionCompletionProcess() );
 					}
+					i = batchEnd;
+				}
+				else {
+					final E e = list.get( i );
+					try {
+						e.execute();
+					}
+					finally {
+						registerTransactionCompletionProcesses( e );
+					}
+					i++;
 				}
 			}
 		}
@@ -636,8 +660,13 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set propertySpaces = list.getQuerySpaces();
-				invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+				if ( session.getFactory().getSessionFactoryOptions().isQueryCacheRowInvalidationEnabled() ) {
+					invalidateSpacesOrRows( list );
+				}
+				else {
+					Set propertySpaces = list.getQuerySpaces();
+					invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+				}
 			}
 		}
 
@@ -645,6 +674,94 @@ public class ActionQueue {
 		session.getJdbcCoordinator().executeBatch();
 	}
 
+	private void registerTransactionCompletionProcesses(Executable executable) {
+		if ( executable.getBeforeTransactionCompletionProcess() != null ) {
+			if ( beforeTransactionProcesses == null ) {
+				beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
+			}
+			beforeTransactionProcesses.register( executable.getBeforeTransactionCompletionProcess() );
+		}
+		if ( executable.getAfterTransactionCompletionProcess() != null ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			afterTransactionProcesses.register( executable.getAfterTransactionCompletionProcess() );
+		}
+	}
+
+	/**
+	 * The end (exclusive) of the run of delayed identity insertions, starting at the
+	 * given position, which may be executed as a single JDBC batch: consecutive
+	 * insertions of instances of the same entity, none of which refers to an instance
+	 * whose insertion is still delayed.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	private int identityInsertBatchEnd(ExecutableList<?> list, int start) {
+		final Executable first = list.get( start );
+		if ( !isBatchableIdentityInsert( first )
+				|| !session.getFactory().getSessionFactoryOptions().isJdbcBatchIdentityInserts() ) {
+			return start + 1;
+		}
+		final EntityPersister persister = ( (EntityIdentityInsertAction) first ).getPersister();
+		if ( !persister.supportsBatchedIdentityInserts() ) {
+			return start + 1;
+		}
+		final int batchSize = session.getConfiguredJdbcBatchSize();
+		int end = start + 1;
+		while ( end < list.size() && end - start < batchSize ) {
+			final Executable next = list.get( end );
+			if ( !isBatchableIdentityInsert( next ) ) {
+				break;
+			}
+			final EntityIdentityInsertAction insert = (EntityIdentityInsertAction) next;
+			if ( insert.getPersister() != persister
+					|| referencesDelayedInsert( persister.getPropertyTypes(), insert.getState() ) ) {
+				break;
+			}
+			end++;
+		}
+		return end;
+	}
+
+	private static boolean isBatchableIdentityInsert(Executable executable) {
+		return executable instanceof EntityIdentityInsertAction
+			&& !( (EntityIdentityInsertAction) executable ).isEarlyInsert();
+	}
+
+	private boolean referencesDelayedInsert(Type[] types, Object[] values) {
+		for ( int i = 0; i < types.length; i++ ) {
+			final Object value = values[i];
+			if ( value != null ) {
+				final Type type = types[i];
+				if ( type instanceof EntityType ) {
+					if ( isDelayedInsert( value ) ) {
+						return true;
+					}
+				}
+				else if ( type instanceof CompositeType ) {
+					final CompositeType compositeType = (CompositeType) type;
+					if ( referencesDelayedInsert( compositeType.getSubtypes(),
+							compositeType.getPropertyValues( value, session ) ) ) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isDelayedInsert(Object entity) {
+		final LazyInitializer lazyInitializer = HibernateProxy.extractLazyInitializer( entity );
+		if ( lazyInitializer != null ) {
+			return lazyInitializer.getInternalIdentifier() instanceof DelayedPostInsertIdentifier;
+		}
+		else {
+			final EntityEntry entry = session.getPersistenceContextInternal().getEntry( entity );
+			return entry != null && entry.getId() instanceof DelayedPostInsertIdentifier;
+		}
+	}
+
 	private static String[] convertTimestampSpaces(Set<String> spaces) {
 		return spaces.toArray(StringHelper.EMPTY_STRINGS);
 	}
@@ -679,6 +796,53 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Invalidate only the rows affected by updates and deletions of entities whose rows
+	 * are tracked by cached query results, and the whole spaces affected by other actions.
+	 *
+	 * @param executables The executed actions
+	 */
+	private void invalidateSpacesOrRows(Iterable<? extends Executable> executables) {
+		final Set<String> spaces = new HashSet<>();
+		final Map<String, Set<Object>> rows = new HashMap<>();
+		for ( Executable executable : executables ) {
+			if ( ( executable instanceof EntityUpdateAction || executable instanceof EntityDeleteAction )
+					&& hasTrackableRows( ( (EntityAction) executable ).getPersister() ) ) {
+				final Object id = ( (EntityAction) executable ).getId();
+				for ( Serializable space : executable.getPropertySpaces() ) {
+					rows.computeIfAbsent( (String) space, s -> new HashSet<>() ).add( id );
+				}
+			}
+			else {
+				for ( Serializable space : executable.getPropertySpaces() ) {
+					spaces.add( (String) space );
+				}
+			}
+		}
+
+		invalidateSpaces( convertTimestampSpaces( spaces ) );
+		if ( !rows.isEmpty() ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			final TimestampsCache timestampsCache = session.getFactory().getCache().getTimestampsCache();
+			for ( Map.Entry<String, Set<Object>> entry : rows.entrySet() ) {
+				afterTransactionProcesses.addRowsToInvalidate( entry.getKey(), entry.getValue() );
+				timestampsCache.preInvalidateRows( entry.getKey(), entry.getValue(), session );
+			}
+		}
+	}
+
+	/**
+	 * Are the identifiers of the given entity read as is from a single column,
+	 * so that cached query results may track the rows they depend on?
+	 */
+	private static boolean hasTrackableRows(EntityPersister persister) {
+		final EntityIdentifierMapping identifierMapping = persister.getIdentifierMapping();
+		return identifierMapping instanceof BasicEntityIdentifierMapping
+				&& ( (BasicEntityIdentifierMapping) identifierMapping ).getJdbcMapping().getValueConverter() == null;
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 *
@@ -986,6 +1150,7 @@ public class ActionQueue {
 	private static class AfterTransactionCompletionProcessQueue
 			extends AbstractTransactionCompletionProcessQueue<AfterTransactionCompletionProcess> {
 		private final Set<String> querySpacesToInvalidate = new HashSet<>();
+		private final Map<String, Set<Object>> rowsToInvalidate = new HashMap<>();
 
 		private AfterTransactionCompletionProcessQueue(SessionImplementor session) {
 			super( session );
@@ -995,6 +1160,19 @@ public class ActionQueue {
 			querySpacesToInvalidate.add( space );
 		}
 
+		public void addRowsToInvalidate(String space, Set<Object> ids) {
+			rowsToInvalidate.computeIfAbsent( space, s -> new HashSet<>() ).addAll( ids );
+		}
+
+		public boolean isInvalidated(Collection<String> spaces) {
+			for ( String space : spaces ) {
+				if ( querySpacesToInvalidate.contains( space ) || rowsToInvalidate.containsKey( space ) ) {
+					return true;
+				}
+			}
+			return false;
+		}
+
 		public void afterTransactionCompletion(boolean success) {
 			while ( !processes.isEmpty() ) {
 				try {
@@ -1014,8 +1192,16 @@ public class ActionQueue {
 						querySpacesToInvalidate.toArray(StringHelper.EMPTY_STRINGS),
 						session
 				);
+				for ( Map.Entry<String, Set<Object>> entry : rowsToInvalidate.entrySet() ) {
+					session.getFactory().getCache().getTimestampsCache().invalidateRows(
+							entry.getKey(),
+							entry.getValue(),
+							session
+					);
+				}
 			}
 			querySpacesToInvalidate.clear();
+			rowsToInvalidate.clear();
 		}
 	}
 
@@ -1034,349 +1220,6 @@ public class ActionQueue {
 		}
 	}
 
-	/**
-	 * Order the {@link #insertions} queue such that we group inserts against the same entity together (without
-	 * violating constraints). The original order is generated by cascade order, which in turn is based on the
-	 * directionality of foreign-keys. So even though we will be changing the ordering here, we need to make absolutely
-	 * certain that we do not circumvent this FK ordering to the extent of causing constraint violations.
-	 * <p>
-	 * Sorts the insert actions using more hashes.
-	 *
-	 * @implNote This class is not thread-safe.
-	 *
-	 * @author Jay Erb
-	 */
-	private static class InsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
-		/**
-		 * Singleton access
-		 */
-		public static final InsertActionSorter INSTANCE = new InsertActionSorter();
-
-		private static class BatchIdentifier {
-
-			private final String entityName;
-			private final String rootEntityName;
-
-			private final Set<String> parentEntityNames = new HashSet<>( );
-
-			private final Set<String> childEntityNames = new HashSet<>( );
-
-			private BatchIdentifier parent;
-
-			BatchIdentifier(String entityName, String rootEntityName) {
-				this.entityName = entityName;
-				this.rootEntityName = rootEntityName;
-			}
-
-			public BatchIdentifier getParent() {
-				return parent;
-			}
-
-			public void setParent(BatchIdentifier parent) {
-				this.parent = parent;
-			}
-
-			@Override
-			public boolean equals(Object o) {
-				if ( this == o ) {
-					return true;
-				}
-				if ( !( o instanceof BatchIdentifier ) ) {
-					return false;
-				}
-				BatchIdentifier that = (BatchIdentifier) o;
-				return Objects.equals( entityName, that.entityName );
-			}
-
-			@Override
-			public int hashCode() {
-				return Objects.hash( entityName );
-			}
-
-			String getEntityName() {
-				return entityName;
-			}
-
-			String getRootEntityName() {
-				return rootEntityName;
-			}
-
-			Set<String> getParentEntityNames() {
-				return parentEntityNames;
-			}
-
-			Set<String> getChildEntityNames() {
-				return childEntityNames;
-			}
-
-			boolean hasAnyParentEntityNames(BatchIdentifier batchIdentifier) {
-				return parentEntityNames.contains( batchIdentifier.getEntityName() ) ||
-						parentEntityNames.contains( batchIdentifier.getRootEntityName() );
-			}
-
-			boolean hasAnyChildEntityNames(BatchIdentifier batchIdentifier) {
-				return childEntityNames.contains( batchIdentifier.getEntityName() );
-			}
-
-			/**
-			 * Check if this {@link BatchIdentifier} has a parent or grand parent
-			 * matching the given {@link BatchIdentifier} reference.
-			 *
-			 * @param batchIdentifier {@link BatchIdentifier} reference
-			 *
-			 * @return This {@link BatchIdentifier} has a parent matching the given {@link BatchIdentifier} reference
-			 */
-			boolean hasParent(BatchIdentifier batchIdentifier) {
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-					|| ( parentEntityNames.contains( batchIdentifier.getRootEntityName() )
-							&& !this.getEntityName().equals( batchIdentifier.getRootEntityName() ) )
-					|| parent != null && parent.hasParent( batchIdentifier, new ArrayList<>() )
-				);
-			}
-
-			private boolean hasParent(BatchIdentifier batchIdentifier, List<BatchIdentifier> stack) {
-				if ( !stack.contains( this ) && parent != null ) {
-					stack.add( this );
-					return parent.hasParent( batchIdentifier, stack );
-				}
-				return (
-					parent == batchIdentifier
-					|| parentEntityNames.contains( batchIdentifier.getEntityName() )
-				);
-			}
-		}
-
-		// the map of batch numbers to EntityInsertAction lists
-		private Map<BatchIdentifier, List<AbstractEntityInsertAction>> actionBatches;
-
-		public InsertActionSorter() {
-		}
-
-		/**
-		 * Sort the insert actions.
-		 */
-		public void sort(List<AbstractEntityInsertAction> insertions) {
-			// optimize the hash size to eliminate a rehash.
-			this.actionBatches = new HashMap<>();
-
-			// the mapping of entity names to their latest batch numbers.
-			final List<BatchIdentifier> latestBatches = new ArrayList<>();
-
-			for ( AbstractEntityInsertAction action : insertions ) {
-				BatchIdentifier batchIdentifier = new BatchIdentifier(
-						action.getEntityName(),
-						action.getSession()
-								.getFactory()
-								.getRuntimeMetamodels()
-								.getMappingMetamodel()
-								.getEntityDescriptor( action.getEntityName() )
-								.getRootEntityName()
-				);
-
-				int index = latestBatches.indexOf( batchIdentifier );
-
-				if ( index != -1 )  {
-					batchIdentifier = latestBatches.get( index );
-				}
-				else {
-					latestBatches.add( batchIdentifier );
-				}
-				addParentChildEntityNames( action, batchIdentifier );
-				addToBatch( batchIdentifier, action );
-			}
-
-			// Examine each entry in the batch list, and build the dependency graph.
-			for ( int i = 0; i < latestBatches.size(); i++ ) {
-				BatchIdentifier batchIdentifier = latestBatches.get( i );
-
-				for ( int j = i - 1; j >= 0; j-- ) {
-					BatchIdentifier prevBatchIdentifier = latestBatches.get( j );
-					if ( prevBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
-						prevBatchIdentifier.parent = batchIdentifier;
-					}
-					else if ( batchIdentifier.hasAnyChildEntityNames( prevBatchIdentifier ) ) {
-						prevBatchIdentifier.parent = batchIdentifier;
-					}
-				}
-
-				for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-					BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
-
-					if ( nextBatchIdentifier.hasAnyParentEntityNames( batchIdentifier ) ) {
-						nextBatchIdentifier.parent = batchIdentifier;
-						nextBatchIdentifier.getParentEntityNames().add( batchIdentifier.getEntityName() );
-					}
-					else if ( batchIdentifier.hasAnyChildEntityNames( nextBatchIdentifier ) ) {
-						nextBatchIdentifier.parent = batchIdentifier;
-						nextBatchIdentifier.getParentEntityNames().add( batchIdentifier.getEntityName() );
-					}
-				}
-			}
-
-			boolean sorted = false;
-
-			long maxIterations = latestBatches.size() * latestBatches.size();
-			long iterations = 0;
-
-			sort:
-			do {
-				// Examine each entry in the batch list, sorting them based on parent/child association
-				// as depicted by the dependency graph.
-				iterations++;
-
-				for ( int i = 0; i < latestBatches.size(); i++ ) {
-					BatchIdentifier batchIdentifier = latestBatches.get( i );
-
-					// Iterate next batches and make sure that children types are after parents.
-					// Since the outer loop looks at each batch entry individually and the prior loop will reorder
-					// entries as well, we need to look and verify if the current batch is a child of the next
-					// batch or if the current batch is seen as a parent or child of the next batch.
-					for ( int j = i + 1; j < latestBatches.size(); j++ ) {
-						BatchIdentifier nextBatchIdentifier = latestBatches.get( j );
-
-						if ( batchIdentifier.hasParent( nextBatchIdentifier ) ) {
-							if ( nextBatchIdentifier.hasParent( batchIdentifier ) ) {
-								//cycle detected, no need to continue
-								break sort;
-							}
-
-							latestBatches.remove( batchIdentifier );
-							latestBatches.add( j, batchIdentifier );
-
-							continue sort;
-						}
-					}
-				}
-				sorted = true;
-			}
-			while ( !sorted && iterations <= maxIterations );
-
-			if ( iterations > maxIterations ) {
-				LOG.warn( "The batch containing "
-						+ latestBatches.size()
-						+ " statements could not be sorted after "
-						+ maxIterations
-						+ " iterations. "
-						+ "This might indicate a circular entity relationship." );
-			}
-
-			// Now, rebuild the insertions list. There is a batch for each entry in the name list.
-			if ( sorted ) {
-				insertions.clear();
-
-				for ( BatchIdentifier rootIdentifier : latestBatches ) {
-					List<AbstractEntityInsertAction> batch = actionBatches.get( rootIdentifier );
-					insertions.addAll( batch );
-				}
-			}
-		}
-
-		/**
-		 * Add parent and child entity names so that we know how to rearrange dependencies
-		 *
-		 * @param action The action being sorted
-		 * @param batchIdentifier The batch identifier of the entity affected by the action
-		 */
-		private void addParentChildEntityNames(AbstractEntityInsertAction action, BatchIdentifier batchIdentifier) {
-			final Object[] propertyValues = action.getState();
-			final Type[] propertyTypes = action.getPersister().getPropertyTypes();
-			final Type identifierType = action.getPersister().getIdentifierType();
-
-			for ( int i = 0; i < propertyValues.length; i++ ) {
-				Object value = propertyValues[i];
-				if ( value != null ) {
-					Type type = propertyTypes[i];
-					addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, type, value );
-				}
-			}
-
-			if ( identifierType.isComponentType() ) {
-				CompositeType compositeType = (CompositeType) identifierType;
-				Type[] compositeIdentifierTypes = compositeType.getSubtypes();
-
-				for ( Type type : compositeIdentifierTypes ) {
-					addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, type, null );
-				}
-			}
-		}
-
-		private void addParentChildEntityNameByPropertyAndValue(
-				AbstractEntityInsertAction action,
-				BatchIdentifier batchIdentifier,
-				Type type,
-				Object value) {
-			final MappingMetamodelImplementor mappingMetamodel = action.getSession()
-					.getFactory()
-					.getRuntimeMetamodels()
-					.getMappingMetamodel();
-			if ( type.isEntityType() ) {
-				final EntityType entityType = (EntityType) type;
-				final String entityName = entityType.getName();
-				final String rootEntityName = mappingMetamodel.getEntityDescriptor( entityName ).getRootEntityName();
-
-				if ( entityType.isOneToOne() && entityType.getForeignKeyDirection() == ForeignKeyDirection.TO_PARENT ) {
-					if ( !entityType.isReferenceToPrimaryKey() ) {
-						batchIdentifier.getChildEntityNames().add( entityName );
-					}
-					if ( !rootEntityName.equals( entityName ) ) {
-						batchIdentifier.getChildEntityNames().add( rootEntityName );
-					}
-				}
-				else {
-					if ( !batchIdentifier.getEntityName().equals( entityName ) ) {
-						batchIdentifier.getParentEntityNames().add( entityName );
-					}
-					if ( value != null ) {
-						String valueClass = value.getClass().getName();
-						if ( !valueClass.equals( entityName ) ) {
-							batchIdentifier.getParentEntityNames().add( valueClass );
-						}
-					}
-					if ( !rootEntityName.equals( entityName ) ) {
-						batchIdentifier.getParentEntityNames().add( rootEntityName );
-					}
-				}
-			}
-			else if ( type.isCollectionType() ) {
-				CollectionType collectionType = (CollectionType) type;
-				final SessionFactoryImplementor sessionFactory = action.getSession().getSessionFactory();
-				if ( collectionType.getElementType( sessionFactory ).isEntityType()
-						&& !mappingMetamodel.getCollectionDescriptor( collectionType.getRole() ).isManyToMany() ) {
-					final String entityName = collectionType.getAssociatedEntityName( sessionFactory );
-					final String rootEntityName = mappingMetamodel.getEntityDescriptor( entityName ).getRootEntityName();
-					batchIdentifier.getChildEntityNames().add( entityName );
-					if ( !rootEntityName.equals( entityName ) ) {
-						batchIdentifier.getChildEntityNames().add( rootEntityName );
-					}
-				}
-			}
-			else if ( type.isComponentType() && value != null ) {
-				// Support recursive checks of composite type properties for associations and collections.
-				CompositeType compositeType = (CompositeType) type;
-				final SharedSessionContractImplementor session = action.getSession();
-				Object[] componentValues = compositeType.getPropertyValues( value, session );
-				for ( int j = 0; j < componentValues.length; ++j ) {
-					Type componentValueType = compositeType.getSubtypes()[j];
-					Object componentValue = componentValues[j];
-					addParentChildEntityNameByPropertyAndValue( action, batchIdentifier, componentValueType, componentValue );
-				}
-			}
-		}
-
-		private void addToBatch(BatchIdentifier batchIdentifier, AbstractEntityInsertAction action) {
-			List<AbstractEntityInsertAction> actions = actionBatches.get( batchIdentifier );
-
-			if ( actions == null ) {
-				actions = new LinkedList<>();
-				actionBatches.put( batchIdentifier, actions );
-			}
-			actions.add( action );
-		}
-
-	}
-
 	private abstract static class ListProvider<T extends Executable & Comparable<? super T> & Serializable> {
 		abstract ExecutableList<T> get(ActionQueue instance);
 		abstract ExecutableList<T> init(ActionQueue instance);
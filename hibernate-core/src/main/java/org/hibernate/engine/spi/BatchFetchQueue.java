@@ -6,11 +6,18 @@
  */
 package org.hibernate.engine.spi;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -209,7 +216,11 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( entityDescriptor.getEntityName() );
 		if ( set != null ) {
+			final SecondLevelCacheLookahead<EntityKey> cacheLookahead =
+					entityCacheLookahead( set, entityDescriptor.getEntityPersister(), maxBatchSize );
+			int position = -1;
 			for ( EntityKey key : set ) {
+				position++;
 				if ( checkForEnd && i == end ) {
 					// the first id found after the given id
 					return ids;
@@ -220,7 +231,7 @@ public class BatchFetchQueue {
 					end = i;
 				}
 				else {
-					if ( !isCached( key, entityDescriptor.getEntityPersister() ) ) {
+					if ( cacheLookahead == null || !cacheLookahead.isCached( position ) ) {
 						ids[i++] = key.getIdentifier();
 					}
 				}
@@ -238,19 +249,27 @@ public class BatchFetchQueue {
 		return ids;
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	private SecondLevelCacheLookahead<EntityKey> entityCacheLookahead(
+			Collection<EntityKey> entityKeys,
+			EntityPersister persister,
+			int batchSize) {
 		final SharedSessionContractImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
+		if ( session.getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
 			final EntityDataAccess cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			return new SecondLevelCacheLookahead<>(
+					entityKeys.iterator(),
+					entityKey -> cache.generateCacheKey(
+							entityKey.getIdentifier(),
+							persister,
+							session.getFactory(),
+							session.getTenantIdentifier()
+					),
+					cache,
+					session,
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
 		}
-		return false;
+		return null;
 	}
 
 
@@ -319,7 +338,11 @@ public class BatchFetchQueue {
 		final LinkedHashMap<CollectionEntry, PersistentCollection<?>> map =
 				batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
+			final SecondLevelCacheLookahead<CollectionEntry> cacheLookahead =
+					collectionCacheLookahead( map.keySet(), collectionPersister, batchSize );
+			int position = -1;
 			for ( Entry<CollectionEntry, PersistentCollection<?>> me : map.entrySet() ) {
+				position++;
 				final CollectionEntry ce = me.getKey();
 				final PersistentCollection<?> collection = me.getValue();
 
@@ -352,7 +375,7 @@ public class BatchFetchQueue {
 					end = i;
 					//checkForEnd = false;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
+				else if ( cacheLookahead == null || !cacheLookahead.isCached( position ) ) {
 					keys[i++] = ce.getLoadedKey();
 					//count++;
 				}
@@ -368,19 +391,88 @@ public class BatchFetchQueue {
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Object collectionKey, CollectionPersister persister) {
-		SharedSessionContractImplementor session = context.getSession();
+	private SecondLevelCacheLookahead<CollectionEntry> collectionCacheLookahead(
+			Collection<CollectionEntry> collectionEntries,
+			CollectionPersister persister,
+			int batchSize) {
+		final SharedSessionContractImplementor session = context.getSession();
 		if ( session.getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CollectionDataAccess cache = persister.getCacheAccessStrategy();
-			Object cacheKey = cache.generateCacheKey(
-					collectionKey,
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			final CollectionDataAccess cache = persister.getCacheAccessStrategy();
+			return new SecondLevelCacheLookahead<>(
+					collectionEntries.iterator(),
+					collectionEntry -> collectionEntry.getLoadedKey() == null
+							? null
+							: cache.generateCacheKey(
+									collectionEntry.getLoadedKey(),
+									persister,
+									session.getFactory(),
+									session.getTenantIdentifier()
+							),
+					cache,
+					session,
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, cacheKey, cache ) != null;
 		}
-		return false;
+		return null;
+	}
+
+	/**
+	 * Determines which of a sequence of entities or collections are in the
+	 * second-level cache, retrieving a batch of them at a time from the cache
+	 * as the sequence is walked through
+	 */
+	private static final class SecondLevelCacheLookahead<K> {
+		private final Iterator<K> keys;
+		private final Function<K, Object> cacheKeyGenerator;
+		private final CachedDomainDataAccess cache;
+		private final SharedSessionContractImplementor session;
+		private final int batchSize;
+
+		private final List<Object> cacheKeys;
+		private Map<Object, Object> cachedEntries = Collections.emptyMap();
+		// the position of the first of the cacheKeys in the sequence
+		private int offset;
+
+		private SecondLevelCacheLookahead(
+				Iterator<K> keys,
+				Function<K, Object> cacheKeyGenerator,
+				CachedDomainDataAccess cache,
+				SharedSessionContractImplementor session,
+				int batchSize) {
+			this.keys = keys;
+			this.cacheKeyGenerator = cacheKeyGenerator;
+			this.cache = cache;
+			this.session = session;
+			this.batchSize = Math.max( batchSize, 1 );
+			this.cacheKeys = new ArrayList<>( this.batchSize );
+		}
+
+		/**
+		 * Whether the entity or collection at the given position of the sequence
+		 * is in the cache, where positions are visited in increasing order
+		 */
+		boolean isCached(int position) {
+			while ( position >= offset + cacheKeys.size() ) {
+				if ( !keys.hasNext() ) {
+					return false;
+				}
+				offset += cacheKeys.size();
+				cacheKeys.clear();
+				final List<Object> keysToGet = new ArrayList<>( batchSize );
+				for ( int i = 0; i < batchSize && keys.hasNext(); i++ ) {
+					final Object cacheKey = cacheKeyGenerator.apply( keys.next() );
+					cacheKeys.add( cacheKey );
+					if ( cacheKey != null ) {
+						keysToGet.add( cacheKey );
+					}
+				}
+				cachedEntries = keysToGet.isEmpty()
+						? Collections.emptyMap()
+						: CacheHelper.fromSharedCache( session, keysToGet, cache );
+			}
+			final Object cacheKey = cacheKeys.get( position - offset );
+			return cacheKey != null && cachedEntries.get( cacheKey ) != null;
+		}
 	}
 
 }
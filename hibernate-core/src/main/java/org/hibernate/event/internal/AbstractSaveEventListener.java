@@ -250,7 +250,8 @@ public abstract class AbstractSaveEventListener<C>
 
 		final Object id = key == null ? null : key.getIdentifier();
 
-		boolean shouldDelayIdentityInserts = !source.isTransactionInProgress() && !requiresImmediateIdAccess;
+		final boolean shouldDelayIdentityInserts = !requiresImmediateIdAccess
+				&& ( !source.isTransactionInProgress() || useIdentityColumn && shouldBatchIdentityInserts( persister, source ) );
 		final PersistenceContext persistenceContext = source.getPersistenceContextInternal();
 
 		// Put a placeholder in entries, so we don't recurse back and try to save() the
@@ -298,6 +299,18 @@ public abstract class AbstractSaveEventListener<C>
 		return finalId;
 	}
 
+	/**
+	 * Should the insert be delayed until flush, so that it may be batched
+	 * with the inserts of other instances of the entity?
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#BATCH_IDENTITY_INSERTS
+	 */
+	private static boolean shouldBatchIdentityInserts(EntityPersister persister, EventSource source) {
+		return source.getFactory().getSessionFactoryOptions().isJdbcBatchIdentityInserts()
+			&& source.getConfiguredJdbcBatchSize() > 1
+			&& persister.supportsBatchedIdentityInserts();
+	}
+
 	private static Object handleGeneratedId(boolean useIdentityColumn, Object id, AbstractEntityInsertAction insert) {
 		if ( useIdentityColumn && insert.isEarlyInsert() ) {
 			if ( insert instanceof EntityIdentityInsertAction ) {
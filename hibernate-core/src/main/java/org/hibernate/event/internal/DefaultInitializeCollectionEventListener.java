@@ -6,23 +6,36 @@
  */
 package org.hibernate.event.internal;
 
+import java.io.Serializable;
+
 import org.hibernate.HibernateException;
+import org.hibernate.LockMode;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.collection.spi.PersistentArrayHolder;
+import org.hibernate.collection.spi.PersistentBag;
 import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.collection.spi.PersistentList;
+import org.hibernate.collection.spi.PersistentSet;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.spi.CollectionEntry;
 import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.InitializeCollectionEvent;
 import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.loader.ast.internal.CacheEntityLoaderHelper;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.sql.results.internal.ResultsHelper;
 import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
 
 /**
  * @author Gavin King
@@ -163,9 +176,86 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
 				persister.getCacheEntryStructure().destructure( ce, factory );
 
 		final PersistenceContext persistenceContext = source.getPersistenceContextInternal();
+		loadElementsFromCache( cacheEntry, persister, collection, source.asEventSource() );
 		cacheEntry.assemble( collection, persister, persistenceContext.getCollectionOwner( id, persister ) );
 		persistenceContext.getCollectionEntry( collection ).postInitialize( collection );
 		// addInitializedCollection(collection, persister, id);
 		return true;
 	}
+
+	/**
+	 * Load the eagerly fetched entities belonging to a collection of entities
+	 * which are in the second-level cache using a single cache operation, so
+	 * that assembling the collection does not hit the cache once per element.
+	 */
+	private static void loadElementsFromCache(
+			CollectionCacheEntry cacheEntry,
+			CollectionPersister persister,
+			PersistentCollection<?> collection,
+			EventSource source) {
+		if ( !persister.getElementType().isEntityType() || !isSequenceOfElements( collection ) ) {
+			return;
+		}
+		final EntityType elementType = (EntityType) persister.getElementType();
+		if ( !elementType.isReferenceToPrimaryKey() || !elementType.isEager( null ) ) {
+			return;
+		}
+		final EntityPersister elementPersister = elementType.getAssociatedEntityPersister( source.getFactory() );
+		if ( !elementPersister.canReadFromCache() ) {
+			return;
+		}
+
+		final Serializable[] state = cacheEntry.getState();
+		if ( state.length < 2 ) {
+			return;
+		}
+		final PersistenceContext persistenceContext = source.getPersistenceContextInternal();
+		final Type identifierType = elementPersister.getIdentifierType();
+		final Object[] ids = new Object[state.length];
+		for ( int i = 0; i < state.length; i++ ) {
+			if ( state[i] != null ) {
+				final Object id = identifierType.assemble( state[i], source, null );
+				if ( persistenceContext.getEntity( source.generateEntityKey( id, elementPersister ) ) == null ) {
+					ids[i] = id;
+				}
+			}
+		}
+
+		final Object[] entries = CacheEntityLoaderHelper.INSTANCE.getFromSecondLevelCache(
+				source,
+				LockMode.NONE,
+				elementPersister,
+				ids
+		);
+		if ( entries != null ) {
+			for ( int i = 0; i < ids.length; i++ ) {
+				if ( entries[i] != null ) {
+					final LoadEvent loadEvent = new LoadEvent(
+							ids[i],
+							elementPersister.getEntityName(),
+							true,
+							source,
+							source.getLoadQueryInfluencers().getReadOnly()
+					);
+					CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
+							loadEvent,
+							elementPersister,
+							source.generateEntityKey( ids[i], elementPersister ),
+							entries[i]
+					);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Is the cached state of the collection just the disassembled elements,
+	 * rather than, for example, alternating keys and elements?
+	 */
+	private static boolean isSequenceOfElements(PersistentCollection<?> collection) {
+		return collection instanceof PersistentSet
+			|| collection instanceof PersistentBag
+			|| collection instanceof PersistentList
+			|| collection instanceof PersistentArrayHolder;
+	}
 }
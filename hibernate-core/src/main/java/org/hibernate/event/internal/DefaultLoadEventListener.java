@@ -6,6 +6,7 @@
  */
 package org.hibernate.event.internal;
 
+import org.hibernate.CacheMode;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.NonUniqueObjectException;
@@ -48,6 +49,8 @@ public class DefaultLoadEventListener implements LoadEventListener {
 
 	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( DefaultLoadEventListener.class );
 
+	private final EntityLoadCoalescer loadCoalescer = new EntityLoadCoalescer();
+
 	/**
 	 * Handle the given load event.
 	 *
@@ -554,6 +557,7 @@ public class DefaultLoadEventListener implements LoadEventListener {
 
 	private Object loadFromCacheOrDatasource(LoadEvent event, EntityPersister persister, EntityKey keyToLoad) {
 		final EventSource session = event.getSession();
+		session.getFactory().getCache().recordEntityLoad( persister, event.getEntityId() );
 		final Object entity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache( event, persister, keyToLoad );
 		if ( entity != null ) {
 			if ( LOG.isTraceEnabled() ) {
@@ -571,10 +575,36 @@ public class DefaultLoadEventListener implements LoadEventListener {
 						MessageHelper.infoString( persister, event.getEntityId(), session.getFactory() )
 				);
 			}
-			return loadFromDatasource( event, persister );
+			final int coalescingTimeout = session.getFactory().getSessionFactoryOptions().getEntityLoadCoalescingTimeout();
+			if ( coalescingTimeout > 0 && isLoadCoalescable( event, persister ) ) {
+				return loadCoalescer.load(
+						persister.getRootEntityName(),
+						event.getEntityId(),
+						session.getTenantIdentifier(),
+						coalescingTimeout,
+						() -> CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache( event, persister, keyToLoad ),
+						() -> loadFromDatasource( event, persister )
+				);
+			}
+			else {
+				return loadFromDatasource( event, persister );
+			}
 		}
 	}
 
+	/**
+	 * Can a load from the datasource be shared with other sessions, through the
+	 * second-level cache?  Loads acquiring a pessimistic lock never are.
+	 */
+	private static boolean isLoadCoalescable(LoadEvent event, EntityPersister persister) {
+		final CacheMode cacheMode = event.getSession().getCacheMode();
+		return persister.canReadFromCache()
+			&& persister.canWriteToCache()
+			&& cacheMode.isGetEnabled()
+			&& cacheMode.isPutEnabled()
+			&& event.getLockMode().lessThan( LockMode.READ );
+	}
+
 	/**
 	 * Performs the process of loading an entity from the configured
 	 * underlying datasource.
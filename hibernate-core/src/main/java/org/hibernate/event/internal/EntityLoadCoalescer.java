@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.event.internal;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads, by different sessions of the same session factory,
+ * of an entity missing from the second-level cache.  A single session loads the
+ * entity from the database, putting it into the second-level cache, while the other
+ * sessions wait for this load to complete, and then read the entity from the cache.
+ * A session which does not find the entity in the cache after waiting loads it from
+ * the database itself.
+ * <p>
+ * A thread which is itself loading an entity never waits for another thread, so
+ * that concurrent loads of entities associated with each other cannot deadlock.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#ENTITY_LOAD_COALESCING_TIMEOUT
+ */
+final class EntityLoadCoalescer {
+	private final ConcurrentMap<Key, Flight> flights = new ConcurrentHashMap<>();
+	// the outermost load performed by the current thread on behalf of other threads
+	private final ThreadLocal<Flight> currentFlight = new ThreadLocal<>();
+
+	/**
+	 * Load the entity with the given identifier, unless another thread is already
+	 * loading it.
+	 *
+	 * @param entityName The name of the root entity
+	 * @param id The identifier of the entity
+	 * @param tenantId The tenant identifier, if any
+	 * @param timeout The maximum time, in milliseconds, to wait for another thread
+	 * @param fromCache Reads the entity from the second-level cache
+	 * @param fromDatasource Loads the entity from the database
+	 */
+	Object load(
+			String entityName,
+			Object id,
+			Object tenantId,
+			int timeout,
+			Supplier<Object> fromCache,
+			Supplier<Object> fromDatasource) {
+		final Key key = new Key( entityName, id, tenantId );
+		final Flight flight = new Flight();
+		final Flight leadingFlight = flights.putIfAbsent( key, flight );
+		if ( leadingFlight == null ) {
+			final boolean outermost = currentFlight.get() == null;
+			if ( outermost ) {
+				currentFlight.set( flight );
+			}
+			try {
+				return fromDatasource.get();
+			}
+			finally {
+				flights.remove( key, flight );
+				flight.complete();
+				if ( outermost ) {
+					currentFlight.remove();
+				}
+			}
+		}
+		else {
+			if ( currentFlight.get() == null && leadingFlight.await( timeout ) ) {
+				final Object entity = fromCache.get();
+				if ( entity != null ) {
+					return entity;
+				}
+			}
+			return fromDatasource.get();
+		}
+	}
+
+	private static final class Flight {
+		private final CountDownLatch completion = new CountDownLatch( 1 );
+
+		void complete() {
+			completion.countDown();
+		}
+
+		boolean await(int timeout) {
+			try {
+				return completion.await( timeout, TimeUnit.MILLISECONDS );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	private static final class Key {
+		private final String entityName;
+		private final Object id;
+		private final Object tenantId;
+		private final int hashCode;
+
+		private Key(String entityName, Object id, Object tenantId) {
+			this.entityName = entityName;
+			this.id = id;
+			this.tenantId = tenantId;
+			this.hashCode = 31 * ( 31 * entityName.hashCode() + id.hashCode() ) + Objects.hashCode( tenantId );
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if ( this == object ) {
+				return true;
+			}
+			else if ( !( object instanceof Key ) ) {
+				return false;
+			}
+			final Key that = (Key) object;
+			return entityName.equals( that.entityName )
+				&& id.equals( that.id )
+				&& Objects.equals( tenantId, that.tenantId );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
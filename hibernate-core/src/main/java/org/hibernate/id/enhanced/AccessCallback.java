@@ -28,4 +28,18 @@ public interface AccessCallback {
 	 * @return The tenant identifier
 	 */
 	String getTenantIdentifier();
+
+	/**
+	 * Obtain a callback to the same source which, unlike this callback, is not
+	 * bound to the current session, and may therefore be used from any thread,
+	 * for example, to fetch values ahead of time in the background.
+	 *
+	 * @return The detached callback, or {@code null} if this callback cannot
+	 * be detached from its session
+	 *
+	 * @since 6.3
+	 */
+	default AccessCallback detachedCallback() {
+		return null;
+	}
 }
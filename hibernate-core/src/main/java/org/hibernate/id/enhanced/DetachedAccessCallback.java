@@ -0,0 +1,53 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IntegralDataTypeHolder;
+
+/**
+ * {@link AccessCallback} which is not bound to a session, and which obtains each
+ * value from a {@link DatabaseStructure} using a new stateless session.
+ *
+ * @see AccessCallback#detachedCallback()
+ *
+ * @since 6.3
+ */
+class DetachedAccessCallback implements AccessCallback {
+	private final DatabaseStructure databaseStructure;
+	private final SessionFactoryImplementor sessionFactory;
+	private final String tenantIdentifier;
+
+	DetachedAccessCallback(
+			DatabaseStructure databaseStructure,
+			SharedSessionContractImplementor session) {
+		this.databaseStructure = databaseStructure;
+		this.sessionFactory = session.getFactory();
+		this.tenantIdentifier = session.getTenantIdentifier();
+	}
+
+	@Override
+	public IntegralDataTypeHolder getNextValue() {
+		try ( StatelessSession session = sessionFactory.withStatelessOptions()
+				.tenantIdentifier( tenantIdentifier )
+				.openStatelessSession() ) {
+			return databaseStructure.buildCallback( (SharedSessionContractImplementor) session ).getNextValue();
+		}
+	}
+
+	@Override
+	public String getTenantIdentifier() {
+		return tenantIdentifier;
+	}
+
+	@Override
+	public AccessCallback detachedCallback() {
+		return this;
+	}
+}
@@ -0,0 +1,303 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link PooledOptimizer} which hands out the values of the current
+ * pool without locking, and which fetches the next pool ahead of time.
+ * <p>
+ * As with the {@link PooledOptimizer}, the database value is interpreted as the
+ * hi value of the pool.  Concurrent threads claim values from the current pool
+ * by atomically incrementing a counter, so that no thread ever blocks while the
+ * pool has values left.
+ * <p>
+ * Once {@value #PREFETCH_PERCENTAGE}% of the pool has been consumed, the next
+ * database value is fetched: in the background, using a separate stateless
+ * session, if the {@linkplain AccessCallback#detachedCallback() callback allows
+ * it}, or otherwise by the thread which claimed that value, while the other
+ * threads go on consuming the rest of the pool.  When the pool is exhausted,
+ * threads only wait for a fetch which is still in progress.
+ * <p>
+ * Background fetches are run by a small pool of daemon threads, shared by every
+ * optimizer, which have no context class loader, and which terminate once idle,
+ * so that no thread outlives its use or pins the class loader of an application.
+ * When too many fetches are pending, the next value is fetched by the thread which
+ * claimed the value instead.
+ * <p>
+ * Since values are claimed before the pool they belong to is known to be
+ * current, a value may occasionally be skipped, leaving a gap in the sequence
+ * of generated identifiers.
+ *
+ * @since 6.3
+ *
+ * @see PooledOptimizer
+ */
+public class PooledConcurrentOptimizer extends AbstractOptimizer implements InitialValueAwareOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledConcurrentOptimizer.class.getName()
+	);
+
+	/**
+	 * The percentage of the pool which is consumed before the next pool is fetched
+	 */
+	private static final int PREFETCH_PERCENTAGE = 75;
+
+	/**
+	 * The maximum number of background fetches which may be pending at once
+	 */
+	private static final int MAX_PENDING_PREFETCHES = 256;
+	/**
+	 * The number of seconds after which an idle prefetch thread terminates
+	 */
+	private static final long PREFETCH_KEEP_ALIVE = 30;
+
+	private static final ThreadPoolExecutor PREFETCH_EXECUTOR = createPrefetchExecutor();
+
+	private final GenerationState noTenantState = new GenerationState();
+	private final ConcurrentHashMap<String, GenerationState> tenantSpecificState = new ConcurrentHashMap<>();
+
+	private volatile long initialValue = -1;
+
+	/**
+	 * Constructs a {@code PooledConcurrentOptimizer}
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public PooledConcurrentOptimizer(Class<?> returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating pooled concurrent optimizer with [incrementSize={0}; returnClass={1}]",
+					incrementSize,
+					returnClass.getName()
+			);
+		}
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+		while ( true ) {
+			final Pool pool = generationState.pool.get();
+			if ( pool != null ) {
+				final long value = pool.next.getAndIncrement();
+				if ( value <= pool.hi ) {
+					if ( value == pool.prefetchValue ) {
+						prefetch( generationState, callback );
+					}
+					return makeValue( value );
+				}
+			}
+			replacePool( generationState, pool, callback );
+		}
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		return tenantIdentifier == null
+				? noTenantState
+				: tenantSpecificState.computeIfAbsent( tenantIdentifier, tenant -> new GenerationState() );
+	}
+
+	private Serializable makeValue(long value) {
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( value ).makeValue();
+	}
+
+	/**
+	 * Start fetching the next hi value, unless it is already being fetched.
+	 */
+	private void prefetch(GenerationState generationState, AccessCallback callback) {
+		final CompletableFuture<IntegralDataTypeHolder> fetch = new CompletableFuture<>();
+		if ( generationState.nextHiValue.compareAndSet( null, fetch ) ) {
+			final AccessCallback detachedCallback = callback.detachedCallback();
+			if ( detachedCallback == null ) {
+				// the callback may only be used by this thread
+				fetchNextHiValue( generationState, fetch, callback );
+			}
+			else {
+				try {
+					PREFETCH_EXECUTOR.execute( () -> fetchNextHiValue( generationState, fetch, detachedCallback ) );
+				}
+				catch (RejectedExecutionException e) {
+					fetchNextHiValue( generationState, fetch, callback );
+				}
+			}
+		}
+	}
+
+	private static void fetchNextHiValue(
+			GenerationState generationState,
+			CompletableFuture<IntegralDataTypeHolder> fetch,
+			AccessCallback callback) {
+		try {
+			fetch.complete( callback.getNextValue() );
+		}
+		catch (RuntimeException e) {
+			// the next value will be fetched again once the pool is exhausted
+			log.debugf( e, "Could not prefetch next value for tenant [%s]", callback.getTenantIdentifier() );
+			generationState.nextHiValue.compareAndSet( fetch, null );
+			fetch.complete( null );
+		}
+	}
+
+	/**
+	 * Replace the given exhausted pool, or initialize the first pool if the given pool is null,
+	 * waiting for the next hi value if another thread is already fetching it.
+	 */
+	private void replacePool(GenerationState generationState, Pool exhausted, AccessCallback callback) {
+		CompletableFuture<IntegralDataTypeHolder> fetch = generationState.nextHiValue.get();
+		if ( generationState.pool.get() != exhausted ) {
+			// another thread already replaced the pool
+			return;
+		}
+		if ( fetch == null ) {
+			final CompletableFuture<IntegralDataTypeHolder> newFetch = new CompletableFuture<>();
+			if ( generationState.nextHiValue.compareAndSet( null, newFetch ) ) {
+				try {
+					newFetch.complete( callback.getNextValue() );
+				}
+				catch (RuntimeException e) {
+					generationState.nextHiValue.compareAndSet( newFetch, null );
+					newFetch.completeExceptionally( e );
+					throw e;
+				}
+			}
+			fetch = generationState.nextHiValue.get();
+			if ( fetch == null ) {
+				return;
+			}
+		}
+
+		final IntegralDataTypeHolder hiValue;
+		try {
+			hiValue = fetch.join();
+		}
+		catch (CompletionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		if ( hiValue == null ) {
+			// the prefetch failed
+			return;
+		}
+
+		final Pool pool = exhausted == null ? firstPool( hiValue ) : new Pool( hiValue, incrementSize );
+		if ( generationState.pool.compareAndSet( exhausted, pool ) ) {
+			generationState.nextHiValue.compareAndSet( fetch, null );
+		}
+	}
+
+	private Pool firstPool(IntegralDataTypeHolder hiValue) {
+		// unfortunately not really safe to normalize this
+		// to 1 as an initial value like we do for the others
+		// because we would not be able to control this if
+		// we are using a sequence...
+		if ( hiValue.lt( 1 ) ) {
+			log.pooledOptimizerReportedInitialValue( hiValue );
+		}
+		// the call to obtain next-value just gave us the initialValue
+		if ( ( initialValue == -1 && hiValue.lt( incrementSize ) ) || hiValue.eq( initialValue ) ) {
+			return new Pool( hiValue, 1 );
+		}
+		else {
+			return new Pool( hiValue, incrementSize );
+		}
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		final Pool pool = noTenantState.pool.get();
+		if ( pool == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state for no-tenant" );
+		}
+		return pool.hiValue;
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	@Override
+	public void injectInitialValue(long initialValue) {
+		this.initialValue = initialValue;
+	}
+
+	private static class GenerationState {
+		private final AtomicReference<Pool> pool = new AtomicReference<>();
+		// the next hi value, if it is being, or has been, fetched
+		private final AtomicReference<CompletableFuture<IntegralDataTypeHolder>> nextHiValue = new AtomicReference<>();
+	}
+
+	private static class Pool {
+		private final IntegralDataTypeHolder hiValue;
+		private final long hi;
+		private final long prefetchValue;
+		private final AtomicLong next;
+
+		private Pool(IntegralDataTypeHolder hiValue, int size) {
+			this.hiValue = hiValue;
+			this.hi = hiValue.makeValue().longValue();
+			final long lo = hi - size + 1;
+			this.prefetchValue = lo + (long) size * PREFETCH_PERCENTAGE / 100;
+			this.next = new AtomicLong( lo );
+		}
+	}
+
+	private static ThreadPoolExecutor createPrefetchExecutor() {
+		final int threads = Math.max( 1, Math.min( 4, Runtime.getRuntime().availableProcessors() ) );
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+				threads,
+				threads,
+				PREFETCH_KEEP_ALIVE,
+				TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>( MAX_PENDING_PREFETCHES ),
+				new PrefetchThreadFactory()
+		);
+		executor.allowCoreThreadTimeOut( true );
+		return executor;
+	}
+
+	private static class PrefetchThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "Hibernate sequence prefetch-" + threadNumber.incrementAndGet() );
+			thread.setDaemon( true );
+			// do not pin the class loader of whichever application first used the optimizer
+			thread.setContextClassLoader( null );
+			return thread;
+		}
+	}
+}
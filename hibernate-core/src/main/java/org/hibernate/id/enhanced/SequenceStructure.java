@@ -137,6 +137,11 @@ public class SequenceStructure implements DatabaseStructure {
 			public String getTenantIdentifier() {
 				return session.getTenantIdentifier();
 			}
+
+			@Override
+			public AccessCallback detachedCallback() {
+				return new DetachedAccessCallback( SequenceStructure.this, session );
+			}
 		};
 	}
 
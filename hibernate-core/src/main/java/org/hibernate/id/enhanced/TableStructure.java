@@ -191,6 +191,11 @@ public class TableStructure implements DatabaseStructure {
 			public String getTenantIdentifier() {
 				return session.getTenantIdentifier();
 			}
+
+			@Override
+			public AccessCallback detachedCallback() {
+				return new DetachedAccessCallback( TableStructure.this, session );
+			}
 		};
 	}
 
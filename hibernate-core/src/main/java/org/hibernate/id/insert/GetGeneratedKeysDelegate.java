@@ -10,6 +10,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Locale;
+import java.util.function.IntConsumer;
 
 import org.hibernate.MappingException;
 import org.hibernate.boot.model.relational.SqlStringGenerationContext;
@@ -23,6 +24,7 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.PostInsertIdentityPersister;
 import org.hibernate.jdbc.Expectation;
+import org.hibernate.resource.jdbc.spi.JdbcObserver;
 import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
 import org.hibernate.sql.model.ast.builder.TableInsertBuilder;
 import org.hibernate.sql.model.ast.builder.TableInsertBuilderStandard;
@@ -144,6 +146,85 @@ public class GetGeneratedKeysDelegate extends AbstractReturningDelegate {
 		}
 	}
 
+	/**
+	 * Execute the insert once for each of the given number of rows, as a single
+	 * JDBC batch, and extract the keys generated for the rows, in order.  Only
+	 * called when the {@linkplain Dialect#supportsBatchedGeneratedKeys() driver
+	 * returns the keys generated by a batch}.
+	 *
+	 * @param rowBinder binds the values of the row with the given index to the
+	 * {@code jdbcValueBindings}
+	 *
+	 * @return the generated keys, one per row
+	 *
+	 * @since 6.3
+	 */
+	public Object[] performBatchInsert(
+			PreparedStatementDetails insertStatementDetails,
+			JdbcValueBindings jdbcValueBindings,
+			int rowCount,
+			IntConsumer rowBinder,
+			SharedSessionContractImplementor session) {
+		final JdbcServices jdbcServices = session.getJdbcServices();
+		final JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+		//noinspection deprecation
+		final JdbcObserver observer = jdbcCoordinator.getJdbcSessionOwner().getJdbcSessionContext().getObserver();
+
+		final String insertSql = insertStatementDetails.getSqlString();
+
+		jdbcServices.getSqlStatementLogger().logStatement( insertSql );
+
+		try {
+			final PreparedStatement insertStatement = insertStatementDetails.resolveStatement();
+			for ( int i = 0; i < rowCount; i++ ) {
+				rowBinder.accept( i );
+				jdbcValueBindings.beforeStatement( insertStatementDetails );
+				insertStatement.addBatch();
+				jdbcValueBindings.afterStatement( insertStatementDetails.getMutatingTableDetails() );
+			}
+
+			final int[] rowCounts;
+			try {
+				observer.jdbcExecuteBatchStart();
+				rowCounts = insertStatement.executeBatch();
+			}
+			finally {
+				observer.jdbcExecuteBatchEnd();
+			}
+			for ( int i = 0; i < rowCounts.length; i++ ) {
+				insertStatementDetails.getExpectation().verifyOutcome( rowCounts[i], insertStatement, i, insertSql );
+			}
+
+			final ResultSet resultSet = insertStatement.getGeneratedKeys();
+			try {
+				final Object[] ids = new Object[rowCount];
+				for ( int i = 0; i < rowCount; i++ ) {
+					ids[i] = getGeneratedIdentity( persister.getNavigableRole().getFullPath(), resultSet, persister, session );
+				}
+				return ids;
+			}
+			finally {
+				if ( resultSet != null ) {
+					jdbcCoordinator
+							.getLogicalConnection()
+							.getResourceRegistry()
+							.release( resultSet, insertStatement );
+				}
+			}
+		}
+		catch (SQLException e) {
+			throw jdbcServices.getSqlExceptionHelper().convert(
+					e,
+					() -> String.format(
+							Locale.ROOT,
+							"Unable to execute batch insert or extract generated keys for `%s`",
+							persister.getNavigableRole().getFullPath()
+					),
+					insertSql
+			);
+		}
+	}
+
 	@Override
 	public Object executeAndExtract(
 			String insertSql,
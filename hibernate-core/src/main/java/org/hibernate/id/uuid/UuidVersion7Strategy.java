@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.uuid;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.UUIDGenerationStrategy;
+
+/**
+ * Implements a version 7 (time-ordered) UUID generation strategy, as defined by
+ * RFC 9562: the 48 most significant bits hold the number of milliseconds since
+ * the Unix epoch, the next 12 bits (after the version) hold a counter, and the
+ * remaining 62 bits (after the variant) are random.
+ * <p>
+ * Since values generated close together in time share a common prefix, they are
+ * inserted next to each other in a B-tree index, unlike {@linkplain UUID#randomUUID()
+ * random} values, which are scattered across the whole index.
+ * <p>
+ * Values generated by the same instance are strictly increasing, even when they
+ * are generated concurrently or within the same millisecond: the timestamp and
+ * counter are advanced atomically, without locking, and, if the counter overflows,
+ * or the system clock goes backwards, the timestamp is advanced past the clock.
+ * <p>
+ * The random bits are obtained from {@link ThreadLocalRandom}, so that threads never
+ * contend for a shared source of randomness.  Values are therefore unique, but not
+ * unpredictable, and should not be used as secrets.
+ *
+ * @since 6.3
+ */
+public class UuidVersion7Strategy implements UUIDGenerationStrategy, UuidGenerator.ValueGenerator {
+	public static final UuidVersion7Strategy INSTANCE = new UuidVersion7Strategy();
+
+	private static final int COUNTER_BITS = 12;
+	private static final long VERSION = 7L << 12;
+	private static final long VARIANT = 2L << 62;
+
+	/**
+	 * The timestamp in milliseconds, followed by the counter, of the last generated value
+	 */
+	private final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+	/**
+	 * A version 7 (time-ordered) strategy
+	 */
+	@Override
+	public int getGeneratedVersion() {
+		return 7;
+	}
+
+	@Override
+	public UUID generateUUID(SharedSessionContractImplementor session) {
+		return generateUuid( session );
+	}
+
+	@Override
+	public UUID generateUuid(SharedSessionContractImplementor session) {
+		final long timestampAndCounter = nextTimestampAndCounter( System.currentTimeMillis() );
+		final long mostSignificantBits = ( timestampAndCounter >>> COUNTER_BITS ) << 16
+				| VERSION
+				| ( timestampAndCounter & 0xfffL );
+		final long leastSignificantBits = ( ThreadLocalRandom.current().nextLong() >>> 2 ) | VARIANT;
+		return new UUID( mostSignificantBits, leastSignificantBits );
+	}
+
+	private long nextTimestampAndCounter(long currentTimeMillis) {
+		final long timestampWithZeroCounter = currentTimeMillis << COUNTER_BITS;
+		while ( true ) {
+			final long last = lastTimestampAndCounter.get();
+			// restart the counter at each new millisecond, otherwise increment
+			// it, and, if it overflows, carry into the timestamp
+			final long next = timestampWithZeroCounter > last ? timestampWithZeroCounter : last + 1;
+			if ( lastTimestampAndCounter.compareAndSet( last, next ) ) {
+				return next;
+			}
+		}
+	}
+}
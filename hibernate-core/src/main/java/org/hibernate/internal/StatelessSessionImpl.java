@@ -6,6 +6,7 @@
  */
 package org.hibernate.internal;
 
+import java.util.Collection;
 import java.util.Set;
 
 import org.hibernate.CacheMode;
@@ -61,6 +62,9 @@ import static org.hibernate.proxy.HibernateProxy.extractLazyInitializer;
 public class StatelessSessionImpl extends AbstractSharedSessionContract implements StatelessSession {
 	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( StatelessSessionImpl.class );
 
+	// the JDBC batch size of insertAll() when JDBC batching is not enabled
+	private static final int DEFAULT_BULK_INSERT_BATCH_SIZE = 50;
+
 	private static final LoadQueryInfluencers NO_INFLUENCERS = new LoadQueryInfluencers( null ) {
 		@Override
 		public String getInternalFetchProfile() {
@@ -117,6 +121,32 @@ public class StatelessSessionImpl extends AbstractSharedSessionContract implemen
 		return id;
 	}
 
+	@Override
+	public void insertAll(Collection<?> entities) {
+		checkOpen();
+		final Integer jdbcBatchSize = getJdbcBatchSize();
+		final Integer configuredJdbcBatchSize = getConfiguredJdbcBatchSize();
+		// set at session level, since this is what the mutation executors look at
+		setJdbcBatchSize(
+				configuredJdbcBatchSize != null && configuredJdbcBatchSize > 1
+						? configuredJdbcBatchSize
+						: Math.max( 2, Math.min( entities.size(), DEFAULT_BULK_INSERT_BATCH_SIZE ) )
+		);
+		try {
+			for ( Object entity : entities ) {
+				insert( null, entity );
+			}
+			getJdbcCoordinator().executeBatch();
+		}
+		catch (RuntimeException e) {
+			getJdbcCoordinator().abortBatch();
+			throw e;
+		}
+		finally {
+			setJdbcBatchSize( jdbcBatchSize );
+		}
+	}
+
 
 	// deletes ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
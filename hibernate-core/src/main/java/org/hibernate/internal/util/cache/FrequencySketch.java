@@ -0,0 +1,118 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+/**
+ * A probabilistic estimate of how often each key was accessed recently: a
+ * count-min sketch of 4-bit counters, which are all halved periodically so
+ * that the history ages ("TinyLFU").
+ * <p>
+ * Each {@code long} of the table holds 16 counters; a key maps to 4 counters,
+ * one per hash function, all selected from the same group of 4 within a
+ * {@code long} so that the counters of a key stay close together.
+ * <p>
+ * Not thread-safe: callers must provide their own synchronization.
+ *
+ * @see TinyLfuInternalCache
+ */
+final class FrequencySketch {
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L,
+			0xb492b66fbe98f273L,
+			0x9ae16a3b2f90404fL,
+			0xcbf29ce484222325L
+	};
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final long ONE_MASK = 0x1111111111111111L;
+	private static final int MAXIMUM_TABLE_SIZE = 1 << 30;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+
+	FrequencySketch(int maximumSize) {
+		final int tableSize = ceilingPowerOfTwo( Math.max( maximumSize, 16 ) );
+		this.table = new long[tableSize];
+		this.tableMask = tableSize - 1;
+		// age the counters after roughly 10 accesses per cached entry
+		this.sampleSize = (int) Math.min( 10L * Math.max( maximumSize, 1 ), Integer.MAX_VALUE );
+	}
+
+	/**
+	 * The estimated number of recent accesses of the key, at most 15.
+	 */
+	int frequency(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for ( int i = 0; i < 4; i++ ) {
+			final int index = indexOf( hash, i );
+			final int count = (int) ( ( table[index] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+			frequency = Math.min( frequency, count );
+		}
+		return frequency;
+	}
+
+	/**
+	 * Record an access of the key, aging all counters once enough accesses
+	 * were recorded.
+	 */
+	void increment(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		boolean added = false;
+		for ( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf( hash, i ), start + i );
+		}
+		if ( added && ++size == sampleSize ) {
+			reset();
+		}
+	}
+
+	private boolean incrementAt(int index, int counter) {
+		final int offset = counter << 2;
+		final long mask = 0xfL << offset;
+		if ( ( table[index] & mask ) != mask ) {
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Halve every counter, compensating the sample size for the odd counters
+	 * which lose their low bit.
+	 */
+	private void reset() {
+		int oddCounters = 0;
+		for ( int i = 0; i < table.length; i++ ) {
+			oddCounters += Long.bitCount( table[i] & ONE_MASK );
+			table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+		}
+		size = ( size >>> 1 ) - ( oddCounters >>> 2 );
+	}
+
+	private int indexOf(int hash, int i) {
+		long h = ( hash + SEEDS[i] ) * SEEDS[i];
+		h += h >>> 32;
+		return ( (int) h ) & tableMask;
+	}
+
+	private static int spread(int x) {
+		x = ( ( x >>> 16 ) ^ x ) * 0x45d9f3b;
+		x = ( ( x >>> 16 ) ^ x ) * 0x45d9f3b;
+		return ( x >>> 16 ) ^ x;
+	}
+
+	static int ceilingPowerOfTwo(int x) {
+		if ( x >= MAXIMUM_TABLE_SIZE ) {
+			return MAXIMUM_TABLE_SIZE;
+		}
+		return 1 << -Integer.numberOfLeadingZeros( x - 1 );
+	}
+}
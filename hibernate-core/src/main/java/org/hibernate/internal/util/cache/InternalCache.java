@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A bounded, concurrent cache used internally, for example by the
+ * {@link org.hibernate.query.spi.QueryInterpretationCache}.
+ * <p>
+ * Implementations are free to evict entries at any time, so a {@code null}
+ * result from {@link #get} never means that a value was not previously
+ * {@linkplain #put put}.  Null keys and values are not supported.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @see InternalCacheEviction
+ */
+public interface InternalCache<K, V> {
+
+	/**
+	 * The number of entries currently held, which might be an estimate.
+	 */
+	int heldElementsEstimate();
+
+	/**
+	 * The value cached under the given key, or {@code null}.
+	 */
+	V get(K key);
+
+	/**
+	 * Cache the given value, possibly triggering the eviction of other entries.
+	 */
+	void put(K key, V value);
+
+	/**
+	 * The value cached under the given key, computing and caching it if needed.
+	 * <p>
+	 * The mapping function might be called concurrently for the same key, in
+	 * which case only one of the computed values is retained.
+	 */
+	V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+	/**
+	 * Visit the keys of the entries currently held.  Entries added or evicted
+	 * concurrently might or might not be visited.
+	 */
+	void forEachKey(Consumer<? super K> action);
+
+	/**
+	 * Remove all entries.
+	 */
+	void clear();
+}
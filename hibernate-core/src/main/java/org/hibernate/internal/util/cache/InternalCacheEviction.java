@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.Locale;
+
+import org.hibernate.HibernateException;
+
+/**
+ * The available {@link InternalCache} implementations, identified by their
+ * eviction policy.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_EVICTION
+ */
+public enum InternalCacheEviction {
+	/**
+	 * A {@link org.hibernate.internal.util.collections.BoundedConcurrentHashMap}
+	 * with LIRS eviction.  Reads and writes lock the segment of the key.
+	 *
+	 * @see LegacyInternalCache
+	 */
+	LIRS {
+		@Override
+		public <K, V> InternalCache<K, V> createCache(int maximumSize) {
+			return new LegacyInternalCache<>( maximumSize );
+		}
+	},
+	/**
+	 * W-TinyLFU: frequency based admission in front of a segmented LRU, with
+	 * lock-free reads.  Resists being flushed by bursts of one-off entries.
+	 *
+	 * @see TinyLfuInternalCache
+	 */
+	TINY_LFU {
+		@Override
+		public <K, V> InternalCache<K, V> createCache(int maximumSize) {
+			return new TinyLfuInternalCache<>( maximumSize );
+		}
+	};
+
+	public abstract <K, V> InternalCache<K, V> createCache(int maximumSize);
+
+	/**
+	 * Interpret a configuration value, which may be an instance of this enum
+	 * or its (case-insensitive) name.  {@code null} or empty means {@link #LIRS}.
+	 */
+	public static InternalCacheEviction interpret(Object setting) {
+		if ( setting == null ) {
+			return LIRS;
+		}
+		if ( setting instanceof InternalCacheEviction ) {
+			return (InternalCacheEviction) setting;
+		}
+
+		final String name = setting.toString().trim().toUpperCase( Locale.ROOT ).replace( '-', '_' );
+		if ( name.isEmpty() ) {
+			return LIRS;
+		}
+		if ( "TINYLFU".equals( name ) || "W_TINYLFU".equals( name ) || "W_TINY_LFU".equals( name ) ) {
+			return TINY_LFU;
+		}
+		for ( InternalCacheEviction value : values() ) {
+			if ( value.name().equals( name ) ) {
+				return value;
+			}
+		}
+		throw new HibernateException( "Unrecognized cache eviction policy: " + setting );
+	}
+}
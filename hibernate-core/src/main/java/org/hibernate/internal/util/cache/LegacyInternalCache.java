@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * {@link InternalCache} backed by a {@link BoundedConcurrentHashMap} using
+ * {@linkplain BoundedConcurrentHashMap.Eviction#LIRS LIRS} eviction.
+ * <p>
+ * This is the historical implementation, and remains the default.
+ *
+ * @see InternalCacheEviction#LIRS
+ */
+public final class LegacyInternalCache<K, V> implements InternalCache<K, V> {
+	private static final int CONCURRENCY_LEVEL = 20;
+
+	private final BoundedConcurrentHashMap<K, V> map;
+
+	public LegacyInternalCache(int maximumSize) {
+		this.map = new BoundedConcurrentHashMap<>(
+				maximumSize,
+				CONCURRENCY_LEVEL,
+				BoundedConcurrentHashMap.Eviction.LIRS
+		);
+	}
+
+	@Override
+	public int heldElementsEstimate() {
+		return map.size();
+	}
+
+	@Override
+	public V get(K key) {
+		return map.get( key );
+	}
+
+	@Override
+	public void put(K key, V value) {
+		map.put( key, value );
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		return map.computeIfAbsent( key, mappingFunction );
+	}
+
+	@Override
+	public void forEachKey(Consumer<? super K> action) {
+		map.keySet().forEach( action );
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+}
@@ -0,0 +1,421 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.internal.util.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link InternalCache} implementing the W-TinyLFU policy, as popularized by
+ * Caffeine.
+ * <p>
+ * New entries enter a small LRU "window".  Entries leaving the window are
+ * candidates for the main space, a segmented LRU made of a "probation" and
+ * a "protected" segment: a candidate is only admitted if its estimated
+ * access frequency, as recorded by a {@link FrequencySketch}, is higher
+ * than that of the entry it would replace.  This keeps a burst of one-off
+ * entries from flushing out the frequently used ones.
+ * <p>
+ * Reads never block: the value is read from a {@link ConcurrentHashMap}, and
+ * the access is recorded in a striped, lossy buffer which is replayed
+ * against the policy by whichever thread next manages to acquire the
+ * eviction lock without waiting.  Only writes of new keys acquire the lock
+ * unconditionally.
+ *
+ * @see InternalCacheEviction#TINY_LFU
+ */
+public final class TinyLfuInternalCache<K, V> implements InternalCache<K, V> {
+	private static final float WINDOW_PERCENTAGE = 0.01f;
+	private static final float PROTECTED_PERCENTAGE = 0.80f;
+
+	private static final int READ_BUFFER_SIZE = 16;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+	private static final int READ_BUFFER_STRIPES = Math.min(
+			64,
+			FrequencySketch.ceilingPowerOfTwo( 4 * Runtime.getRuntime().availableProcessors() )
+	);
+
+	private static final byte NEW = 0;
+	private static final byte WINDOW = 1;
+	private static final byte PROBATION = 2;
+	private static final byte PROTECTED = 3;
+	private static final byte DEAD = 4;
+
+	private final ConcurrentHashMap<K, Node<K, V>> data;
+	private final ReadBuffer[] readBuffers;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// all of the following are guarded by the evictionLock
+	private final FrequencySketch sketch;
+	private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+	private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+	private final AccessOrderDeque<K, V> protectedSegment = new AccessOrderDeque<>();
+	private final int maximumSize;
+	private final int maximumWindowSize;
+	private final int maximumProtectedSize;
+	private int size;
+	private int windowSize;
+	private int protectedSize;
+
+	public TinyLfuInternalCache(int maximumSize) {
+		if ( maximumSize <= 0 ) {
+			throw new IllegalArgumentException( "Maximum size must be positive: " + maximumSize );
+		}
+		this.maximumSize = maximumSize;
+		this.maximumWindowSize = Math.max( 1, (int) ( maximumSize * WINDOW_PERCENTAGE ) );
+		this.maximumProtectedSize = (int) ( ( maximumSize - maximumWindowSize ) * PROTECTED_PERCENTAGE );
+		this.sketch = new FrequencySketch( maximumSize );
+		this.data = new ConcurrentHashMap<>( Math.min( maximumSize, 1024 ) );
+		this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+		for ( int i = 0; i < readBuffers.length; i++ ) {
+			readBuffers[i] = new ReadBuffer();
+		}
+	}
+
+	@Override
+	public int heldElementsEstimate() {
+		return data.size();
+	}
+
+	@Override
+	public V get(K key) {
+		final Node<K, V> node = data.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		afterRead( node );
+		return node.value;
+	}
+
+	@Override
+	public void put(K key, V value) {
+		if ( value == null ) {
+			throw new NullPointerException( "Null values are not supported" );
+		}
+		final Node<K, V> node = new Node<>( key, value );
+		final Node<K, V> existing = data.putIfAbsent( key, node );
+		if ( existing == null ) {
+			afterAdd( node );
+		}
+		else {
+			existing.value = value;
+			afterRead( existing );
+		}
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		final V cached = get( key );
+		if ( cached != null ) {
+			return cached;
+		}
+
+		final V value = mappingFunction.apply( key );
+		if ( value == null ) {
+			return null;
+		}
+		final Node<K, V> node = new Node<>( key, value );
+		final Node<K, V> existing = data.putIfAbsent( key, node );
+		if ( existing == null ) {
+			afterAdd( node );
+			return value;
+		}
+		else {
+			// another thread won the race, use its value
+			afterRead( existing );
+			return existing.value;
+		}
+	}
+
+	@Override
+	public void forEachKey(Consumer<? super K> action) {
+		data.keySet().forEach( action );
+	}
+
+	@Override
+	public void clear() {
+		evictionLock.lock();
+		try {
+			for ( Node<K, V> node : data.values() ) {
+				node.queue = DEAD;
+			}
+			data.clear();
+			window.clear();
+			probation.clear();
+			protectedSegment.clear();
+			size = 0;
+			windowSize = 0;
+			protectedSize = 0;
+			// discard the pending reads, they all refer to dead nodes now
+			drainReadBuffers();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// policy maintenance
+
+	private void afterRead(Node<K, V> node) {
+		final ReadBuffer buffer = readBuffers[stripe()];
+		final long pending = buffer.offer( node );
+		if ( pending >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock() ) {
+			try {
+				drainReadBuffers();
+			}
+			finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterAdd(Node<K, V> node) {
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			// the node could have been removed by a concurrent clear() in the meantime
+			if ( node.queue == NEW && data.get( node.key ) == node ) {
+				sketch.increment( node.key );
+				node.queue = WINDOW;
+				window.addLast( node );
+				windowSize++;
+				size++;
+				evict();
+			}
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void drainReadBuffers() {
+		for ( ReadBuffer buffer : readBuffers ) {
+			buffer.drainTo( this );
+		}
+	}
+
+	private void onAccess(Node<K, V> node) {
+		switch ( node.queue ) {
+			case WINDOW:
+				sketch.increment( node.key );
+				window.moveToEnd( node );
+				break;
+			case PROBATION:
+				sketch.increment( node.key );
+				probation.remove( node );
+				node.queue = PROTECTED;
+				protectedSegment.addLast( node );
+				protectedSize++;
+				demoteFromProtected();
+				break;
+			case PROTECTED:
+				sketch.increment( node.key );
+				protectedSegment.moveToEnd( node );
+				break;
+			default:
+				// not yet added, or already evicted
+		}
+	}
+
+	private void demoteFromProtected() {
+		while ( protectedSize > maximumProtectedSize ) {
+			final Node<K, V> demoted = protectedSegment.pollFirst();
+			protectedSize--;
+			demoted.queue = PROBATION;
+			probation.addLast( demoted );
+		}
+	}
+
+	private void evict() {
+		// entries overflowing the window become candidates for the main space
+		while ( windowSize > maximumWindowSize ) {
+			final Node<K, V> candidate = window.pollFirst();
+			windowSize--;
+			candidate.queue = PROBATION;
+			probation.addLast( candidate );
+		}
+
+		while ( size > maximumSize ) {
+			final Node<K, V> victim = probation.peekFirst();
+			final Node<K, V> candidate = probation.peekLast();
+			if ( victim == null ) {
+				// nothing on probation, fall back to plain LRU over the other segments
+				final Node<K, V> lru = protectedSegment.peekFirst();
+				evictNode( lru != null ? lru : window.peekFirst() );
+			}
+			else if ( victim == candidate ) {
+				evictNode( victim );
+			}
+			else if ( sketch.frequency( candidate.key ) > sketch.frequency( victim.key ) ) {
+				evictNode( victim );
+			}
+			else {
+				// ties favor the incumbent, which keeps one-off entries out
+				evictNode( candidate );
+			}
+		}
+	}
+
+	private void evictNode(Node<K, V> node) {
+		switch ( node.queue ) {
+			case WINDOW:
+				window.remove( node );
+				windowSize--;
+				break;
+			case PROBATION:
+				probation.remove( node );
+				break;
+			case PROTECTED:
+				protectedSegment.remove( node );
+				protectedSize--;
+				break;
+			default:
+				throw new IllegalStateException( "Evicting a node which is not cached" );
+		}
+		node.queue = DEAD;
+		size--;
+		data.remove( node.key, node );
+	}
+
+	private static int stripe() {
+		final long id = Thread.currentThread().getId();
+		final int hash = (int) ( id ^ ( id >>> 32 ) ) * 0x9E3779B9;
+		return ( hash ^ ( hash >>> 16 ) ) & ( READ_BUFFER_STRIPES - 1 );
+	}
+
+	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// support types
+
+	private static final class Node<K, V> {
+		private final K key;
+		private volatile V value;
+
+		// guarded by the evictionLock
+		private byte queue = NEW;
+		private Node<K, V> previous;
+		private Node<K, V> next;
+
+		private Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * A doubly linked list of nodes, least recently used first.
+	 */
+	private static final class AccessOrderDeque<K, V> {
+		private Node<K, V> first;
+		private Node<K, V> last;
+
+		Node<K, V> peekFirst() {
+			return first;
+		}
+
+		Node<K, V> peekLast() {
+			return last;
+		}
+
+		void addLast(Node<K, V> node) {
+			node.previous = last;
+			node.next = null;
+			if ( last == null ) {
+				first = node;
+			}
+			else {
+				last.next = node;
+			}
+			last = node;
+		}
+
+		Node<K, V> pollFirst() {
+			final Node<K, V> node = first;
+			if ( node != null ) {
+				remove( node );
+			}
+			return node;
+		}
+
+		void remove(Node<K, V> node) {
+			if ( node.previous == null ) {
+				first = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				last = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+			node.previous = null;
+			node.next = null;
+		}
+
+		void moveToEnd(Node<K, V> node) {
+			if ( node != last ) {
+				remove( node );
+				addLast( node );
+			}
+		}
+
+		void clear() {
+			first = null;
+			last = null;
+		}
+	}
+
+	/**
+	 * A bounded buffer of recorded reads: many producers, one consumer (the
+	 * thread holding the eviction lock).  Reads offered while the buffer is
+	 * full are simply dropped, the policy only needs a representative sample.
+	 */
+	private static final class ReadBuffer {
+		private final AtomicLong writeCounter = new AtomicLong();
+		private final AtomicReferenceArray<Node<?, ?>> buffer = new AtomicReferenceArray<>( READ_BUFFER_SIZE );
+		private volatile long readCounter;
+
+		/**
+		 * @return the number of reads pending in this buffer
+		 */
+		long offer(Node<?, ?> node) {
+			final long head = readCounter;
+			final long tail = writeCounter.get();
+			final long pending = tail - head;
+			if ( pending < READ_BUFFER_SIZE && writeCounter.compareAndSet( tail, tail + 1 ) ) {
+				buffer.lazySet( (int) ( tail & READ_BUFFER_MASK ), node );
+				return pending + 1;
+			}
+			return pending;
+		}
+
+		@SuppressWarnings("unchecked")
+		<K, V> void drainTo(TinyLfuInternalCache<K, V> cache) {
+			long head = readCounter;
+			final long tail = writeCounter.get();
+			for ( ; head < tail; head++ ) {
+				final int index = (int) ( head & READ_BUFFER_MASK );
+				final Node<?, ?> node = buffer.get( index );
+				if ( node == null ) {
+					// the write of this slot is not yet visible, pick it up next time
+					break;
+				}
+				buffer.lazySet( index, null );
+				cache.onAccess( (Node<K, V>) node );
+			}
+			readCounter = head;
+		}
+	}
+}
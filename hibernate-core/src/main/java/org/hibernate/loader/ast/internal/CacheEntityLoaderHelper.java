@@ -6,6 +6,10 @@
  */
 package org.hibernate.loader.ast.internal;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.hibernate.HibernateException;
 import org.hibernate.Incubating;
 import org.hibernate.LockMode;
@@ -180,7 +184,41 @@ public class CacheEntityLoaderHelper {
 				persister,
 				entityKey
 		);
+		firePostLoadEvent( event, persister, entity );
+		return entity;
+	}
+
+	/**
+	 * Loads the entity from the given entry previously retrieved from the
+	 * second-level cache by {@link #getFromSecondLevelCache}.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 * @param entityKey The entity key
+	 * @param cacheEntry The cache entry of the entity, or null
+	 *
+	 * @return The entity from the second-level cache, or null.
+	 */
+	public Object loadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey,
+			final Object cacheEntry) {
+		if ( cacheEntry == null ) {
+			return null;
+		}
+		final Object entity = processCachedEntry(
+				event.getInstanceToLoad(),
+				persister,
+				cacheEntry,
+				event.getSession(),
+				entityKey
+		);
+		firePostLoadEvent( event, persister, entity );
+		return entity;
+	}
 
+	private static void firePostLoadEvent(LoadEvent event, EntityPersister persister, Object entity) {
 		if ( entity != null ) {
 			//PostLoad is needed for EJB3
 			final PostLoadEvent postLoadEvent = event.getPostLoadEvent()
@@ -192,7 +230,70 @@ public class CacheEntityLoaderHelper {
 					.getFastSessionServices()
 					.firePostLoadEvent( postLoadEvent );
 		}
-		return entity;
+	}
+
+	/**
+	 * Retrieves the second-level cache entries of the entities with the given ids,
+	 * in a single operation if the cache supports it.
+	 *
+	 * @param source The source
+	 * @param lockMode The lock mode
+	 * @param persister The persister for the entities being requested for load
+	 * @param ids The ids of the entities, or null for entities which should not be
+	 * looked up in the second-level cache
+	 *
+	 * @return The cache entries, at the position of the corresponding id, or null
+	 * if the second-level cache may not be used.
+	 */
+	public Object[] getFromSecondLevelCache(
+			final EventSource source,
+			final LockMode lockMode,
+			final EntityPersister persister,
+			final Object[] ids) {
+		final boolean useCache = persister.canReadFromCache()
+				&& source.getCacheMode().isGetEnabled()
+				&& lockMode.lessThan( LockMode.READ );
+		if ( !useCache ) {
+			return null;
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final SessionFactoryImplementor factory = source.getFactory();
+		final Object[] cacheKeys = new Object[ids.length];
+		final List<Object> keysToGet = new ArrayList<>( ids.length );
+		for ( int i = 0; i < ids.length; i++ ) {
+			if ( ids[i] != null ) {
+				cacheKeys[i] = cache.generateCacheKey( ids[i], persister, factory, source.getTenantIdentifier() );
+				keysToGet.add( cacheKeys[i] );
+			}
+		}
+		final Object[] entries = new Object[ids.length];
+		if ( keysToGet.isEmpty() ) {
+			return entries;
+		}
+
+		final Map<Object, Object> cachedEntries = CacheHelper.fromSharedCache( source, keysToGet, cache );
+		final StatisticsImplementor statistics = factory.getStatistics();
+		for ( int i = 0; i < ids.length; i++ ) {
+			if ( cacheKeys[i] != null ) {
+				entries[i] = cachedEntries.get( cacheKeys[i] );
+				if ( statistics.isStatisticsEnabled() ) {
+					if ( entries[i] == null ) {
+						statistics.entityCacheMiss(
+								StatsHelper.INSTANCE.getRootEntityRole( persister ),
+								cache.getRegion().getName()
+						);
+					}
+					else {
+						statistics.entityCacheHit(
+								StatsHelper.INSTANCE.getRootEntityRole( persister ),
+								cache.getRegion().getName()
+						);
+					}
+				}
+			}
+		}
+		return entries;
 	}
 
 	/**
@@ -273,7 +374,11 @@ public class CacheEntityLoaderHelper {
 			final EntityKey entityKey) {
 
 		CacheEntry entry = (CacheEntry) persister.getCacheEntryStructure().destructure( ce, source.getFactory() );
-		if ( entry.isReferenceEntry() ) {
+		if ( entry == null ) {
+			// the cached state was written for a different mapping of the entity
+			return null;
+		}
+		else if ( entry.isReferenceEntry() ) {
 			if ( instanceToLoad != null ) {
 				throw new HibernateException(
 						"Attempt to load entity from cache using provided object instance, but cache " +
@@ -121,6 +121,7 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		final List<Integer> elementPositionsLoadedByBatch = new ArrayList<>();
 
 		final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+		final Object[] cacheEntries = getFromSecondLevelCache( ids, coerce, lockOptions, session, loadOptions );
 		for ( int i = 0; i < ids.length; i++ ) {
 			final Object id;
 			if ( coerce ) {
@@ -161,12 +162,13 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 					}
 				}
 
-				if ( managedEntity == null && loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+				if ( managedEntity == null && cacheEntries != null ) {
 					// look for it in the SessionFactory
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							entityDescriptor,
-							entityKey
+							entityKey,
+							cacheEntries[i]
 					);
 				}
 
@@ -221,6 +223,41 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 		return (List<T>) result;
 	}
 
+	/**
+	 * Retrieves the second-level cache entries of the entities which are not
+	 * associated with the session, in a single cache operation
+	 *
+	 * @return the cache entries at the position of the corresponding id, or
+	 * null if the second-level cache is not used
+	 */
+	private Object[] getFromSecondLevelCache(
+			Object[] ids,
+			boolean coerce,
+			LockOptions lockOptions,
+			EventSource session,
+			MultiIdLoadOptions loadOptions) {
+		if ( !loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+			return null;
+		}
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		final Object[] idsToGet = new Object[ids.length];
+		for ( int i = 0; i < ids.length; i++ ) {
+			final Object id = coerce
+					? entityDescriptor.getIdentifierMapping().getJavaType().coerce( ids[i], session )
+					: ids[i];
+			if ( !loadOptions.isSessionCheckingEnabled()
+					|| persistenceContext.getEntity( new EntityKey( id, entityDescriptor ) ) == null ) {
+				idsToGet[i] = id;
+			}
+		}
+		return CacheEntityLoaderHelper.INSTANCE.getFromSecondLevelCache(
+				session,
+				lockOptions.getLockMode(),
+				entityDescriptor,
+				idsToGet
+		);
+	}
+
 	private List<T> loadEntitiesById(
 			List<Object> idsInBatch,
 			LockOptions lockOptions,
@@ -331,6 +368,7 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 			final List<Object> nonManagedIds = new ArrayList<>();
 
 			final boolean coerce = !sessionFactory.getJpaMetamodel().getJpaCompliance().isLoadByIdComplianceEnabled();
+			final Object[] cacheEntries = getFromSecondLevelCache( ids, coerce, lockOptions, session, loadOptions );
 			for ( int i = 0; i < ids.length; i++ ) {
 				final Object id;
 				if ( coerce ) {
@@ -370,11 +408,12 @@ public class MultiIdLoaderStandard<T> implements MultiIdEntityLoader<T> {
 					}
 				}
 
-				if ( managedEntity == null && loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+				if ( managedEntity == null && cacheEntries != null ) {
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							entityDescriptor,
-							entityKey
+							entityKey,
+							cacheEntries[i]
 					);
 				}
 
@@ -6,21 +6,33 @@
  */
 package org.hibernate.metamodel.mapping.internal;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.Incubating;
 import org.hibernate.LockOptions;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.engine.jdbc.env.spi.IdentifierHelper;
+import org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.internal.PostInsertEventListenerStandardImpl;
+import org.hibernate.event.internal.PostUpdateEventListenerStandardImpl;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
 import org.hibernate.generator.EventType;
 import org.hibernate.generator.Generator;
 import org.hibernate.generator.OnExecutionGenerator;
 import org.hibernate.loader.ast.internal.LoaderSelectBuilder;
 import org.hibernate.loader.ast.internal.NoCallbackExecutionContext;
 import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
 import org.hibernate.metamodel.mapping.EntityMappingType;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.sql.ast.Clause;
 import org.hibernate.sql.ast.tree.expression.JdbcParameter;
@@ -29,6 +41,7 @@ import org.hibernate.sql.exec.internal.JdbcParameterBindingsImpl;
 import org.hibernate.sql.exec.spi.JdbcOperationQuerySelect;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 
+import static org.hibernate.engine.internal.ManagedTypeHelper.isSelfDirtinessTrackerType;
 import static org.hibernate.sql.results.spi.ListResultsConsumer.UniqueSemantic.FILTER;
 
 /**
@@ -38,6 +51,11 @@ import static org.hibernate.sql.results.spi.ListResultsConsumer.UniqueSemantic.F
  * Note that this class has responsibility for regular attributes of the entity. The
  * primary key / id attribute is handled separately, being the responsibility of an
  * instance of {@link org.hibernate.id.insert.InsertGeneratedIdentifierDelegate}.
+ * <p>
+ * When the generated values may be {@linkplain #getReturnedColumnNames() returned}
+ * by the {@code insert} or {@code update} statement itself, no {@code select} is
+ * executed, and the values are instead {@linkplain #processReturnedValues read}
+ * from the generated keys of the statement.
  *
  * @see OnExecutionGenerator
  *
@@ -48,6 +66,9 @@ public class GeneratedValuesProcessor {
 	private final SelectStatement selectStatement;
 	private final List<AttributeMapping> generatedValuesToSelect;
 	private final List<JdbcParameter> jdbcParameters = new ArrayList<>();
+	private final String[] returnedColumnNames;
+
+	private final EventType timing;
 
 	private final EntityMappingType entityDescriptor;
 	private final SessionFactoryImplementor sessionFactory;
@@ -56,10 +77,28 @@ public class GeneratedValuesProcessor {
 			EntityMappingType entityDescriptor,
 			EventType timing,
 			SessionFactoryImplementor sessionFactory) {
+		this( entityDescriptor, timing, false, sessionFactory );
+	}
+
+	/**
+	 * @param returnGeneratedValues Whether the generated values may be returned
+	 * by the statement which performs the {@code insert} or {@code update}
+	 *
+	 * @since 6.3
+	 */
+	public GeneratedValuesProcessor(
+			EntityMappingType entityDescriptor,
+			EventType timing,
+			boolean returnGeneratedValues,
+			SessionFactoryImplementor sessionFactory) {
 		this.entityDescriptor = entityDescriptor;
+		this.timing = timing;
 		this.sessionFactory = sessionFactory;
 
 		generatedValuesToSelect = getGeneratedAttributes( entityDescriptor, timing );
+		returnedColumnNames = returnGeneratedValues && !generatedValuesToSelect.isEmpty()
+				? getReturnedColumnNames( generatedValuesToSelect, sessionFactory )
+				: null;
 		if ( generatedValuesToSelect.isEmpty() ) {
 			selectStatement = null;
 		}
@@ -99,10 +138,104 @@ public class GeneratedValuesProcessor {
 		return generatedValuesToSelect;
 	}
 
+	/**
+	 * The names of the columns to be returned by the statement, or {@code null} if
+	 * the generated values are not returned by the statement, but must be selected.
+	 * <p>
+	 * The values may only be returned when every generated attribute is mapped to
+	 * a single column.
+	 */
+	private static String[] getReturnedColumnNames(
+			List<AttributeMapping> generatedAttributes,
+			SessionFactoryImplementor sessionFactory) {
+		final IdentifierHelper identifierHelper = sessionFactory.getJdbcServices()
+				.getJdbcEnvironment()
+				.getIdentifierHelper();
+		final String[] columnNames = new String[generatedAttributes.size()];
+		for ( int i = 0; i < columnNames.length; i++ ) {
+			final AttributeMapping attribute = generatedAttributes.get( i );
+			if ( !( attribute instanceof BasicValuedModelPart ) ) {
+				return null;
+			}
+			final BasicValuedModelPart basicPart = (BasicValuedModelPart) attribute;
+			if ( basicPart.isFormula() ) {
+				return null;
+			}
+			// the driver expects the name as reported by the database metadata
+			columnNames[i] = identifierHelper.toMetaDataObjectName(
+					Identifier.toIdentifier( basicPart.getSelectionExpression() )
+			);
+		}
+		return columnNames;
+	}
+
+	/**
+	 * The names of the columns whose generated values are returned by the statement,
+	 * or {@code null} if the generated values are selected after the statement is
+	 * executed.
+	 *
+	 * @since 6.3
+	 */
+	public String[] getReturnedColumnNames() {
+		return returnedColumnNames;
+	}
+
+	/**
+	 * Whether the generated values, being returned by the statement, may be
+	 * processed once the JDBC batch containing the statement is executed,
+	 * rather than when the statement is added to it.
+	 * <p>
+	 * This is not the case when anything reads the generated values as soon as
+	 * the mutation is performed: the second-level cache, natural id resolutions,
+	 * a generated version, bytecode-enhanced dirty tracking, or any
+	 * {@linkplain org.hibernate.event.spi.PostInsertEventListener listener} other
+	 * than the standard one invoking JPA callbacks, when there are no callbacks.
+	 *
+	 * @since 6.3
+	 */
+	public boolean isBatchable(SharedSessionContractImplementor session) {
+		final EntityPersister persister = entityDescriptor.getEntityPersister();
+		return returnedColumnNames != null
+				&& !session.isStatelessSession()
+				&& !persister.canWriteToCache()
+				&& !persister.isVersionPropertyGenerated()
+				&& !persister.hasNaturalIdentifier()
+				&& !isSelfDirtinessTrackerType( persister.getMappedClass() )
+				&& !hasPostEventListeners( persister, session );
+	}
+
+	private boolean hasPostEventListeners(EntityPersister persister, SharedSessionContractImplementor session) {
+		if ( timing == EventType.INSERT ) {
+			for ( PostInsertEventListener listener : session.getFactory().getFastSessionServices()
+					.eventListenerGroup_POST_INSERT.listeners() ) {
+				if ( !( listener instanceof PostInsertEventListenerStandardImpl )
+						|| listener.requiresPostCommitHandling( persister ) ) {
+					return true;
+				}
+			}
+		}
+		else {
+			for ( PostUpdateEventListener listener : session.getFactory().getFastSessionServices()
+					.eventListenerGroup_POST_UPDATE.listeners() ) {
+				if ( !( listener instanceof PostUpdateEventListenerStandardImpl )
+						|| listener.requiresPostCommitHandling( persister ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Obtain the generated values, and populate the snapshot and the fields of the entity instance.
 	 */
 	public void processGeneratedValues(Object entity, Object id, Object[] state, SharedSessionContractImplementor session) {
+		if ( returnedColumnNames == null ) {
+			selectGeneratedValues( entity, id, state, session );
+		}
+	}
+
+	private void selectGeneratedValues(Object entity, Object id, Object[] state, SharedSessionContractImplementor session) {
 		if ( selectStatement != null ) {
 			final List<Object[]> results = executeSelect( id, session );
 			assert results.size() == 1;
@@ -110,6 +243,56 @@ public class GeneratedValuesProcessor {
 		}
 	}
 
+	/**
+	 * The consumer of the generated values of the given entity instance, which
+	 * reads them from the generated keys of the statement, or, if the statement
+	 * did not return them, selects them.
+	 *
+	 * @since 6.3
+	 */
+	public GeneratedValuesConsumer generatedValuesConsumer(
+			Object entity,
+			Object id,
+			Object[] state,
+			SharedSessionContractImplementor session) {
+		return new GeneratedValuesConsumer() {
+			@Override
+			public void consume(ResultSet resultSet) throws SQLException {
+				processReturnedValues( entity, state, resultSet, session );
+			}
+
+			@Override
+			public void select() {
+				selectGeneratedValues( entity, id, state, session );
+			}
+		};
+	}
+
+	/**
+	 * Read the generated values returned by the statement, and populate the snapshot
+	 * and the fields of the entity instance.
+	 *
+	 * @param resultSet The generated keys of the statement, positioned on the row
+	 * of the entity instance, whose columns are the {@linkplain #getReturnedColumnNames()
+	 * returned columns}, in order
+	 *
+	 * @since 6.3
+	 */
+	public void processReturnedValues(
+			Object entity,
+			Object[] state,
+			ResultSet resultSet,
+			SharedSessionContractImplementor session) throws SQLException {
+		final Object[] values = new Object[generatedValuesToSelect.size()];
+		for ( int i = 0; i < values.length; i++ ) {
+			final JdbcMapping jdbcMapping = ( (BasicValuedModelPart) generatedValuesToSelect.get( i ) ).getJdbcMapping();
+			values[i] = jdbcMapping.convertToDomainValue(
+					jdbcMapping.getJdbcValueExtractor().extract( resultSet, i + 1, session )
+			);
+		}
+		setEntityAttributes( entity, state, values );
+	}
+
 	private List<Object[]> executeSelect(Object id, SharedSessionContractImplementor session) {
 		final JdbcParameterBindings jdbcParamBindings = getJdbcParameterBindings( id, session );
 		final JdbcOperationQuerySelect jdbcSelect =
@@ -10,11 +10,17 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -30,6 +36,7 @@ import org.hibernate.cache.spi.CacheImplementor;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.graph.RootGraph;
 import org.hibernate.graph.spi.RootGraphImplementor;
 import org.hibernate.internal.EntityManagerMessageLogger;
@@ -39,8 +46,12 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jpa.spi.JpaCompliance;
 import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Component;
+import org.hibernate.mapping.IdentifierCollection;
+import org.hibernate.mapping.IndexedCollection;
 import org.hibernate.mapping.MappedSuperclass;
 import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.mapping.Value;
 import org.hibernate.metamodel.MappingMetamodel;
 import org.hibernate.metamodel.mapping.EmbeddableValuedModelPart;
 import org.hibernate.metamodel.mapping.EntityMappingType;
@@ -81,6 +92,7 @@ import jakarta.persistence.metamodel.EntityType;
 import jakarta.persistence.metamodel.ManagedType;
 
 import static org.hibernate.internal.util.collections.ArrayHelper.EMPTY_STRING_ARRAY;
+import static org.hibernate.internal.util.config.ConfigurationHelper.getInt;
 import static org.hibernate.metamodel.internal.JpaMetaModelPopulationSetting.determineJpaMetaModelPopulationSetting;
 import static org.hibernate.metamodel.internal.JpaStaticMetaModelPopulationSetting.determineJpaStaticMetaModelPopulationSetting;
 
@@ -238,18 +250,30 @@ public class MappingMetamodelImpl extends QueryParameterBindingTypeResolverImpl
 			CacheImplementor cacheImplementor,
 			PersisterFactory persisterFactory,
 			RuntimeModelCreationContext modelCreationContext) {
-		for ( final PersistentClass model : entityBindings ) {
-			final NavigableRole rootEntityRole = new NavigableRole( model.getRootClass().getEntityName() );
-			final EntityDataAccess accessStrategy = cacheImplementor.getEntityRegionAccess( rootEntityRole );
-			final NaturalIdDataAccess naturalIdAccessStrategy = cacheImplementor
-					.getNaturalIdCacheRegionAccessStrategy( rootEntityRole );
-
-			final EntityPersister cp = persisterFactory.createEntityPersister(
-					model,
-					accessStrategy,
-					naturalIdAccessStrategy,
-					modelCreationContext
-			);
+		final List<PersistentClass> models = new ArrayList<>( entityBindings );
+		final List<EntityPersister> persisters = createPersisters(
+				models,
+				PersistentClass::getRootClass,
+				MappingMetamodelImpl::prepareEntityBinding,
+				model -> {
+					final NavigableRole rootEntityRole = new NavigableRole( model.getRootClass().getEntityName() );
+					final EntityDataAccess accessStrategy = cacheImplementor.getEntityRegionAccess( rootEntityRole );
+					final NaturalIdDataAccess naturalIdAccessStrategy = cacheImplementor
+							.getNaturalIdCacheRegionAccessStrategy( rootEntityRole );
+
+					return persisterFactory.createEntityPersister(
+							model,
+							accessStrategy,
+							naturalIdAccessStrategy,
+							modelCreationContext
+					);
+				},
+				modelCreationContext
+		);
+
+		for ( int i = 0; i < models.size(); i++ ) {
+			final PersistentClass model = models.get( i );
+			final EntityPersister cp = persisters.get( i );
 			entityPersisterMap.put( model.getEntityName(), cp );
 			// Also register the persister under the class name if available,
 			// otherwise the getEntityDescriptor(Class) won't work for entities with custom entity names
@@ -301,17 +325,29 @@ public class MappingMetamodelImpl extends QueryParameterBindingTypeResolverImpl
 			CacheImplementor cacheImplementor,
 			PersisterFactory persisterFactory,
 			RuntimeModelCreationContext modelCreationContext) {
-		for ( final Collection model : collectionBindings ) {
-			final NavigableRole navigableRole = new NavigableRole( model.getRole() );
-
-			final CollectionDataAccess accessStrategy = cacheImplementor.getCollectionRegionAccess(
-					navigableRole );
+		final List<Collection> models = new ArrayList<>( collectionBindings );
+		final List<CollectionPersister> persisters = createPersisters(
+				models,
+				model -> model.getOwner().getRootClass(),
+				MappingMetamodelImpl::prepareCollectionBinding,
+				model -> {
+					final NavigableRole navigableRole = new NavigableRole( model.getRole() );
+
+					final CollectionDataAccess accessStrategy = cacheImplementor.getCollectionRegionAccess(
+							navigableRole );
+
+					return persisterFactory.createCollectionPersister(
+							model,
+							accessStrategy,
+							modelCreationContext
+					);
+				},
+				modelCreationContext
+		);
 
-			final CollectionPersister persister = persisterFactory.createCollectionPersister(
-					model,
-					accessStrategy,
-					modelCreationContext
-			);
+		for ( int i = 0; i < models.size(); i++ ) {
+			final Collection model = models.get( i );
+			final CollectionPersister persister = persisters.get( i );
 			collectionPersisterMap.put( model.getRole(), persister );
 			Type indexType = persister.getIndexType();
 			if ( indexType != null && indexType.isEntityType() && !indexType.isAnyType() ) {
@@ -338,6 +374,147 @@ public class MappingMetamodelImpl extends QueryParameterBindingTypeResolverImpl
 		}
 	}
 
+	/**
+	 * Instantiates a persister for each of the given boot model descriptors,
+	 * returning them in the same order.
+	 * <p>
+	 * If {@value AvailableSettings#PERSISTER_CREATION_PARALLELISM} is greater
+	 * than one, the persisters are instantiated on a {@link ForkJoinPool}.
+	 * A persister constructor does not only read the boot model though: it
+	 * lazily resolves the types of the values it maps, and an entity persister
+	 * substitutes the brackets in the formulas of its property closure, which
+	 * it shares with the other persisters of its hierarchy. Hence the types are
+	 * first resolved by the given preparer on the calling thread, for all the
+	 * descriptors, and the persisters of the descriptors which share the same
+	 * group, that is, belong to the same entity hierarchy, are instantiated one
+	 * after the other by the same thread. For a collection persister, the entity
+	 * persisters it refers to are all instantiated before.
+	 * Registration of the persisters happens afterwards on the calling thread
+	 * and in the same order as in the serial case, so that the outcome is
+	 * independent of the parallelism. Should several groups fail, the failure
+	 * of the first one in boot model order is reported.
+	 *
+	 * @param grouping The group of a descriptor, whose persisters may not be
+	 * instantiated concurrently
+	 * @param preparer Resolves the state of a descriptor which may be shared
+	 * with the descriptors of other groups
+	 */
+	private static <M, P> List<P> createPersisters(
+			List<M> models,
+			Function<M, ?> grouping,
+			Consumer<M> preparer,
+			Function<M, P> creator,
+			RuntimeModelCreationContext modelCreationContext) {
+		final Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+		final int configuredParallelism =
+				getInt( AvailableSettings.PERSISTER_CREATION_PARALLELISM, modelCreationContext.getSettings(), 1 );
+		if ( configuredParallelism > 1 ) {
+			for ( int i = 0; i < models.size(); i++ ) {
+				groups.computeIfAbsent( grouping.apply( models.get( i ) ), group -> new ArrayList<>() ).add( i );
+			}
+		}
+		final int parallelism = Math.min( groups.size(), configuredParallelism );
+		if ( parallelism <= 1 ) {
+			final List<P> persisters = new ArrayList<>( models.size() );
+			for ( M model : models ) {
+				persisters.add( creator.apply( model ) );
+			}
+			return persisters;
+		}
+
+		models.forEach( preparer );
+		final Object[] persisters = new Object[models.size()];
+		final ForkJoinPool pool = new ForkJoinPool(
+				parallelism,
+				new PersisterCreationThreadFactory( Thread.currentThread().getContextClassLoader() ),
+				null,
+				false
+		);
+		try {
+			final List<Callable<Void>> tasks = new ArrayList<>( groups.size() );
+			for ( List<Integer> group : groups.values() ) {
+				tasks.add(
+						() -> {
+							for ( int i : group ) {
+								persisters[i] = creator.apply( models.get( i ) );
+							}
+							return null;
+						}
+				);
+			}
+			// report the failure of the first group in boot model order
+			for ( Future<Void> future : pool.invokeAll( tasks ) ) {
+				future.get();
+			}
+			//noinspection unchecked
+			return (List<P>) Arrays.asList( persisters );
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			else if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new HibernateException( "Could not instantiate persister", cause );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while instantiating persisters", e );
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void prepareEntityBinding(PersistentClass model) {
+		prepareValue( model.getIdentifier() );
+		prepareValue( model.getDiscriminator() );
+		for ( Property property : model.getPropertyClosure() ) {
+			prepareValue( property.getValue() );
+		}
+	}
+
+	private static void prepareCollectionBinding(Collection model) {
+		prepareValue( model );
+		prepareValue( model.getKey() );
+		prepareValue( model.getElement() );
+		if ( model instanceof IndexedCollection ) {
+			prepareValue( ( (IndexedCollection) model ).getIndex() );
+		}
+		if ( model instanceof IdentifierCollection ) {
+			prepareValue( ( (IdentifierCollection) model ).getIdentifier() );
+		}
+	}
+
+	/**
+	 * Resolves the type of the given value, and of the values it is made of,
+	 * which the values cache once resolved.
+	 */
+	private static void prepareValue(Value value) {
+		if ( value != null ) {
+			value.getType();
+		}
+	}
+
+	private static class PersisterCreationThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+		private final ClassLoader contextClassLoader;
+
+		private PersisterCreationThreadFactory(ClassLoader contextClassLoader) {
+			this.contextClassLoader = contextClassLoader;
+		}
+
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread( pool );
+			thread.setName( "Hibernate persister creation-" + thread.getPoolIndex() );
+			// persisters may load (proxy) classes through the context ClassLoader
+			thread.setContextClassLoader( contextClassLoader );
+			return thread;
+		}
+	}
+
 	private static void registerEntityNameResolvers(
 			EntityPersister persister,
 			Set<EntityNameResolver> entityNameResolvers) {
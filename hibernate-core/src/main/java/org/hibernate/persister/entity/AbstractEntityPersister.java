@@ -61,6 +61,7 @@ import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
 import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
 import org.hibernate.cache.spi.entry.StructuredCacheEntry;
 import org.hibernate.cache.spi.entry.UnstructuredCacheEntry;
 import org.hibernate.classic.Lifecycle;
@@ -250,6 +251,7 @@ import org.hibernate.sql.ast.tree.select.SelectClause;
 import org.hibernate.sql.ast.tree.select.SelectStatement;
 import org.hibernate.sql.exec.spi.JdbcOperation;
 import org.hibernate.sql.model.MutationOperationGroup;
+import org.hibernate.sql.model.MutationType;
 import org.hibernate.sql.model.ast.builder.MutationGroupBuilder;
 import org.hibernate.sql.results.graph.DomainResult;
 import org.hibernate.sql.results.graph.DomainResultCreationState;
@@ -1108,9 +1110,12 @@ public abstract class AbstractEntityPersister
 			// todo : do we also need to unset proxy factory?
 			return new ReferenceCacheEntryHelper( this );
 		}
+		else if ( options.isBinaryCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this, new BinaryCacheEntry( this ) );
+		}
 		else {
 			return options.isStructuredCacheEntriesEnabled()
-					? new StructuredCacheEntryHelper( this )
+					? new StructuredCacheEntryHelper( this, new StructuredCacheEntry( this ) )
 					: new StandardCacheEntryHelper( this );
 		}
 	}
@@ -1426,8 +1431,10 @@ public abstract class AbstractEntityPersister
 			final EntityDataAccess cacheAccess = getCacheAccessStrategy();
 			final Object cacheKey = cacheAccess.generateCacheKey(id, this, session.getFactory(), session.getTenantIdentifier() );
 			final Object ce = CacheHelper.fromSharedCache( session, cacheKey, cacheAccess );
-			if ( ce != null ) {
-				final CacheEntry cacheEntry = (CacheEntry) getCacheEntryStructure().destructure( ce, factory );
+			final CacheEntry cacheEntry = ce == null
+					? null
+					: (CacheEntry) getCacheEntryStructure().destructure( ce, factory );
+			if ( cacheEntry != null ) {
 				final Object initializedValue = initializeLazyPropertiesFromCache( fieldName, entity, session, entry, cacheEntry );
 				if (initializedValue != LazyPropertyInitializer.UNFETCHED_PROPERTY) {
 					// The following should be redundant, since the setter should have set this already.
@@ -1921,7 +1928,59 @@ public abstract class AbstractEntityPersister
 	}
 
 	private GeneratedValuesProcessor createGeneratedValuesProcessor(EventType timing) {
-		return new GeneratedValuesProcessor( this, timing, getFactory() );
+		return new GeneratedValuesProcessor( this, timing, canReturnGeneratedValues( timing ), getFactory() );
+	}
+
+	/**
+	 * Whether the values generated by the database on insert or update may be
+	 * returned by the statement itself, rather than selected after it
+	 */
+	private boolean canReturnGeneratedValues(EventType timing) {
+		if ( !factory.getJdbcServices().getDialect().supportsReturningGeneratedValues()
+				|| !factory.getSessionFactoryOptions().isGetGeneratedKeysEnabled()
+				|| hasMultipleTables() ) {
+			return false;
+		}
+		else if ( timing == INSERT ) {
+			// the generated keys of an identity insert are the identifier
+			return customSQLInsert[0] == null && !isIdentifierAssignedByInsert();
+		}
+		else {
+			return customSQLUpdate[0] == null;
+		}
+	}
+
+	/**
+	 * The processor of the values generated by the database on insert, if any
+	 *
+	 * @since 6.3
+	 */
+	public GeneratedValuesProcessor getInsertGeneratedValuesProcessor() {
+		return insertGeneratedValuesProcessor;
+	}
+
+	/**
+	 * The processor of the values generated by the database on update, if any
+	 *
+	 * @since 6.3
+	 */
+	public GeneratedValuesProcessor getUpdateGeneratedValuesProcessor() {
+		return updateGeneratedValuesProcessor;
+	}
+
+	@Override
+	public String[] getReturnedGeneratedColumnNames(MutationType mutationType) {
+		final GeneratedValuesProcessor processor;
+		if ( mutationType == MutationType.INSERT ) {
+			processor = insertGeneratedValuesProcessor;
+		}
+		else if ( mutationType == MutationType.UPDATE ) {
+			processor = updateGeneratedValuesProcessor;
+		}
+		else {
+			processor = null;
+		}
+		return processor == null ? null : processor.getReturnedColumnNames();
 	}
 
 	@Override
@@ -2795,6 +2854,16 @@ public abstract class AbstractEntityPersister
 		return insertCoordinator.coordinateInsert( null, fields, object, session );
 	}
 
+	@Override
+	public boolean supportsBatchedIdentityInserts() {
+		return insertCoordinator.supportsBatchedIdentityInserts();
+	}
+
+	@Override
+	public Object[] insertBatch(Object[][] fields, Object[] objects, SharedSessionContractImplementor session) {
+		return insertCoordinator.coordinateIdentityInserts( fields, objects, session );
+	}
+
 	@Override
 	public void insert(Object id, Object[] fields, Object object, SharedSessionContractImplementor session) {
 		insertCoordinator.coordinateInsert( id, fields, object, session );
@@ -4614,11 +4683,11 @@ public abstract class AbstractEntityPersister
 
 	private static class StructuredCacheEntryHelper implements CacheEntryHelper {
 		private final EntityPersister persister;
-		private final StructuredCacheEntry structure;
+		private final CacheEntryStructure structure;
 
-		private StructuredCacheEntryHelper(EntityPersister persister) {
+		private StructuredCacheEntryHelper(EntityPersister persister, CacheEntryStructure structure) {
 			this.persister = persister;
-			this.structure = new StructuredCacheEntry( persister );
+			this.structure = structure;
 		}
 
 		@Override
@@ -594,6 +594,30 @@ public interface EntityPersister extends EntityMappingType, RootTableGroupProduc
 	 */
 	Object insert(Object[] fields, Object object, SharedSessionContractImplementor session);
 
+	/**
+	 * Does this persister support {@link #insertBatch} for persisting many
+	 * instances using a natively generated identifier?
+	 *
+	 * @since 6.3
+	 */
+	default boolean supportsBatchedIdentityInserts() {
+		return false;
+	}
+
+	/**
+	 * Persist the given instances as a single JDBC batch, using a natively
+	 * generated identifier (optional operation)
+	 *
+	 * @return the generated identifiers, in the order of the given instances
+	 *
+	 * @see #supportsBatchedIdentityInserts()
+	 *
+	 * @since 6.3
+	 */
+	default Object[] insertBatch(Object[][] fields, Object[] objects, SharedSessionContractImplementor session) {
+		throw new UnsupportedOperationException( "Batched identity inserts not supported by " + getEntityName() );
+	}
+
 	/**
 	 * Delete a persistent instance
 	 */
@@ -13,6 +13,7 @@ import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
 import org.hibernate.metamodel.mapping.EntityMappingType;
 import org.hibernate.metamodel.mapping.ModelPart;
 import org.hibernate.sql.model.MutationTarget;
+import org.hibernate.sql.model.MutationType;
 
 /**
  * Anything that can be the target of {@linkplain MutationExecutor mutations}
@@ -49,4 +50,17 @@ public interface EntityMutationTarget extends MutationTarget<EntityTableMapping>
 	 * targets defined using post-insert id generation
 	 */
 	InsertGeneratedIdentifierDelegate getIdentityInsertDelegate();
+
+	/**
+	 * The names of the columns of the identifier table whose values, generated
+	 * by the database, should be returned by mutations of the given type, or
+	 * {@code null} if the values are not returned by the mutation.
+	 *
+	 * @see org.hibernate.dialect.Dialect#supportsReturningGeneratedValues()
+	 *
+	 * @since 6.3
+	 */
+	default String[] getReturnedGeneratedColumnNames(MutationType mutationType) {
+		return null;
+	}
 }
@@ -12,17 +12,21 @@ import java.util.List;
 import org.hibernate.Internal;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer;
 import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
 import org.hibernate.engine.jdbc.mutation.MutationExecutor;
 import org.hibernate.engine.jdbc.mutation.ParameterUsage;
 import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementDetails;
 import org.hibernate.engine.jdbc.mutation.spi.MutationExecutorService;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.insert.GetGeneratedKeysDelegate;
 import org.hibernate.id.insert.InsertGeneratedIdentifierDelegate;
 import org.hibernate.metamodel.mapping.AttributeMapping;
 import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
 import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.hibernate.metamodel.mapping.internal.GeneratedValuesProcessor;
 import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.AttributeMappingsList;
 import org.hibernate.sql.model.MutationOperationGroup;
@@ -50,6 +54,7 @@ import static org.hibernate.generator.EventType.INSERT;
 public class InsertCoordinator extends AbstractMutationCoordinator {
 	private final MutationOperationGroup staticInsertGroup;
 	private final BasicBatchKey insertBatchKey;
+	private final boolean batchableIdentityInserts;
 
 	public InsertCoordinator(AbstractEntityPersister entityPersister, SessionFactoryImplementor factory) {
 		super( entityPersister, factory );
@@ -67,6 +72,11 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 		else {
 			staticInsertGroup = generateStaticOperationGroup();
 		}
+
+		batchableIdentityInserts = staticInsertGroup != null
+				&& staticInsertGroup.getNumberOfOperations() == 1
+				&& entityPersister.getIdentityInsertDelegate() instanceof GetGeneratedKeysDelegate
+				&& factory.getJdbcServices().getDialect().supportsBatchedGeneratedKeys();
 	}
 
 	public MutationOperationGroup getStaticInsertGroup() {
@@ -105,6 +115,70 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 		}
 	}
 
+	/**
+	 * Whether {@link #coordinateIdentityInserts} may be used to insert
+	 * instances of the entity as a single JDBC batch.  This is the case
+	 * when the entity has an {@code IDENTITY} identifier, is mapped to a
+	 * single table with a static insert, and the keys generated by a batch
+	 * may be read back.
+	 */
+	public boolean supportsBatchedIdentityInserts() {
+		return batchableIdentityInserts;
+	}
+
+	/**
+	 * Perform the inserts of the given instances, whose identifiers are
+	 * generated by an {@code IDENTITY} column, as a single JDBC batch.
+	 *
+	 * @param values The extracted attribute values of each instance
+	 * @param entities The entity instances being persisted
+	 * @param session The originating context
+	 *
+	 * @return The generated ids, in the order of the given instances
+	 *
+	 * @see #supportsBatchedIdentityInserts()
+	 */
+	public Object[] coordinateIdentityInserts(
+			Object[][] values,
+			Object[] entities,
+			SharedSessionContractImplementor session) {
+		assert batchableIdentityInserts;
+
+		// the rows these instances refer to may still be waiting in the JDBC batch
+		// of another entity, and the inserts below do not go through that batch
+		session.getJdbcCoordinator().executeBatch();
+
+		final MutationExecutor mutationExecutor = executor( session, staticInsertGroup );
+		try {
+			final PreparedStatementDetails statementDetails =
+					mutationExecutor.getPreparedStatementDetails( entityPersister().getIdentifierTableName() );
+			final GetGeneratedKeysDelegate identityDelegate =
+					(GetGeneratedKeysDelegate) entityPersister().getIdentityInsertDelegate();
+			return identityDelegate.performBatchInsert(
+					statementDetails,
+					mutationExecutor.getJdbcValueBindings(),
+					entities.length,
+					(row) -> {
+						// apply any pre-insert in-memory value generation
+						preInsertInMemoryValueGeneration( values[row], entities[row], session );
+						decomposeForInsert(
+								mutationExecutor,
+								null,
+								values[row],
+								staticInsertGroup,
+								entityPersister().getPropertyInsertability(),
+								getTableInclusionChecker( new InsertValuesAnalysis( entityPersister(), values[row] ) ),
+								session
+						);
+					},
+					session
+			);
+		}
+		finally {
+			mutationExecutor.release();
+		}
+	}
+
 	protected void preInsertInMemoryValueGeneration(Object[] values, Object entity, SharedSessionContractImplementor session) {
 		final EntityMetamodel entityMetamodel = entityPersister().getEntityMetamodel();
 		if ( entityMetamodel.hasPreInsertGeneratedValues() ) {
@@ -172,6 +246,7 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 						);
 						return true;
 					},
+					generatedValuesConsumer( id, values, object, session ),
 					session
 			);
 		}
@@ -284,6 +359,7 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 						);
 						return true;
 					},
+					generatedValuesConsumer( id, values, object, session ),
 					session
 			);
 		}
@@ -296,7 +372,32 @@ public class InsertCoordinator extends AbstractMutationCoordinator {
 		return session.getFactory()
 				.getServiceRegistry()
 				.getService( MutationExecutorService.class )
-				.createExecutor( () -> insertBatchKey, insertGroup, session );
+				.createExecutor( () -> insertBatchKey( session ), insertGroup, session );
+	}
+
+	private BasicBatchKey insertBatchKey(SharedSessionContractImplementor session) {
+		final GeneratedValuesProcessor processor = entityPersister().getInsertGeneratedValuesProcessor();
+		if ( processor != null && processor.getReturnedColumnNames() != null && !processor.isBatchable( session ) ) {
+			// the returned values must be processed as soon as the insert is executed
+			return null;
+		}
+		return insertBatchKey;
+	}
+
+	/**
+	 * The consumer of the values generated by the insert, when they are returned
+	 * by the insert statement
+	 */
+	private GeneratedValuesConsumer generatedValuesConsumer(
+			Object id,
+			Object[] values,
+			Object object,
+			SharedSessionContractImplementor session) {
+		final GeneratedValuesProcessor processor = entityPersister().getInsertGeneratedValuesProcessor();
+		if ( processor == null || processor.getReturnedColumnNames() == null ) {
+			return null;
+		}
+		return processor.generatedValuesConsumer( object, id, values, session );
 	}
 
 	protected static TableInclusionChecker getTableInclusionChecker(InsertValuesAnalysis insertValuesAnalysis) {
@@ -19,6 +19,7 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer;
 import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
 import org.hibernate.engine.jdbc.mutation.MutationExecutor;
 import org.hibernate.engine.jdbc.mutation.ParameterUsage;
@@ -38,6 +39,7 @@ import org.hibernate.metamodel.mapping.EntityRowIdMapping;
 import org.hibernate.metamodel.mapping.EntityVersionMapping;
 import org.hibernate.metamodel.mapping.SelectableMapping;
 import org.hibernate.metamodel.mapping.SingularAttributeMapping;
+import org.hibernate.metamodel.mapping.internal.GeneratedValuesProcessor;
 import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.AttributeMappingsList;
 import org.hibernate.persister.entity.EntityPersister;
@@ -723,6 +725,7 @@ public class UpdateCoordinatorStandard extends AbstractMutationCoordinator imple
 							id,
 							factory()
 					),
+					generatedValuesConsumer( id, values, entity, session ),
 					session
 			);
 		}
@@ -946,6 +949,7 @@ public class UpdateCoordinatorStandard extends AbstractMutationCoordinator imple
 							id,
 							factory()
 					),
+					generatedValuesConsumer( id, values, entity, session ),
 					session
 			);
 		}
@@ -958,7 +962,32 @@ public class UpdateCoordinatorStandard extends AbstractMutationCoordinator imple
 		return session.getSessionFactory()
 				.getServiceRegistry()
 				.getService( MutationExecutorService.class )
-				.createExecutor( () -> batchKey, group, session );
+				.createExecutor( () -> batchKey( session ), group, session );
+	}
+
+	private BatchKey batchKey(SharedSessionContractImplementor session) {
+		final GeneratedValuesProcessor processor = entityPersister().getUpdateGeneratedValuesProcessor();
+		if ( processor != null && processor.getReturnedColumnNames() != null && !processor.isBatchable( session ) ) {
+			// the returned values must be processed as soon as the update is executed
+			return null;
+		}
+		return batchKey;
+	}
+
+	/**
+	 * The consumer of the values generated by the update, when they are returned
+	 * by the update statement
+	 */
+	private GeneratedValuesConsumer generatedValuesConsumer(
+			Object id,
+			Object[] values,
+			Object entity,
+			SharedSessionContractImplementor session) {
+		final GeneratedValuesProcessor processor = entityPersister().getUpdateGeneratedValuesProcessor();
+		if ( processor == null || processor.getReturnedColumnNames() == null ) {
+			return null;
+		}
+		return processor.generatedValuesConsumer( entity, id, values, session );
 	}
 
 	protected MutationOperationGroup generateDynamicUpdateGroup(
@@ -0,0 +1,278 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.query.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.Version;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.QueryLogging;
+import org.hibernate.query.hql.HqlTranslator;
+import org.hibernate.query.sql.internal.NativeQueryImpl;
+import org.hibernate.type.Type;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Saves the query strings held by a {@link QueryInterpretationCacheStandardImpl}
+ * to a file when the {@link SessionFactory} is closed, and re-interprets them on
+ * a background thread when the next {@code SessionFactory} using the same file
+ * is created, so that the cache is warm before the application needs it.
+ * <p>
+ * Only the query strings are saved, not the interpretations themselves: the SQM
+ * tree and the parameter metadata reference the runtime metamodel, and the SQL
+ * rendered from them depends on per-execution state such as enabled filters,
+ * limits and lock options.  The file records a hash of the mapping model, and
+ * is ignored if the hash of the current mapping model differs.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_SNAPSHOT_FILE
+ */
+public class QueryInterpretationCacheSnapshot implements SessionFactoryObserver {
+	private static final Logger log = QueryLogging.subLogger( "plan.cache" );
+
+	private static final int MAGIC = 0x48514353;
+	private static final int FORMAT_VERSION = 1;
+
+	private static final byte HQL = 1;
+	private static final byte HQL_MULTI_VALUED = 2;
+	private static final byte NATIVE = 3;
+
+	private final Path file;
+	private final QueryInterpretationCacheStandardImpl interpretationCache;
+
+	private boolean created;
+	private volatile boolean closing;
+	private Thread warmUpThread;
+
+	public QueryInterpretationCacheSnapshot(Path file, QueryInterpretationCacheStandardImpl interpretationCache) {
+		this.file = file;
+		this.interpretationCache = interpretationCache;
+	}
+
+	@Override
+	public void sessionFactoryCreated(SessionFactory factory) {
+		final SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) factory;
+		created = true;
+		final List<Entry> entries = read( mappingModelHash( sessionFactory ) );
+		if ( entries.isEmpty() ) {
+			return;
+		}
+
+		warmUpThread = new Thread(
+				() -> warmUp( entries, sessionFactory ),
+				"Hibernate query plan cache warm-up (" + sessionFactory.getName() + ")"
+		);
+		warmUpThread.setDaemon( true );
+		warmUpThread.start();
+	}
+
+	@Override
+	public void sessionFactoryClosing(SessionFactory factory) {
+		if ( !created ) {
+			// the SessionFactory failed to start, keep the previous snapshot
+			return;
+		}
+		closing = true;
+		if ( warmUpThread != null ) {
+			try {
+				warmUpThread.join();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		write( (SessionFactoryImplementor) factory );
+	}
+
+	private void warmUp(List<Entry> entries, SessionFactoryImplementor sessionFactory) {
+		final long start = System.nanoTime();
+		final HqlTranslator hqlTranslator = sessionFactory.getQueryEngine().getHqlTranslator();
+		int interpreted = 0;
+		for ( Entry entry : entries ) {
+			if ( closing ) {
+				break;
+			}
+			try {
+				if ( entry.kind == NATIVE ) {
+					interpretationCache.resolveNativeQueryParameters(
+							entry.query,
+							sql -> NativeQueryImpl.interpretParameters( sql, sessionFactory )
+					);
+				}
+				else {
+					final Class<?> resultType = entry.kind == HQL_MULTI_VALUED ? Object[].class : null;
+					interpretationCache.resolveHqlInterpretation(
+							entry.query,
+							resultType,
+							hql -> hqlTranslator.translate( hql, resultType )
+					);
+				}
+				interpreted++;
+			}
+			catch (RuntimeException e) {
+				// the query is simply interpreted again when the application uses it
+				log.debugf( e, "Unable to warm up query plan cache with query: %s", entry.query );
+			}
+		}
+		log.debugf(
+				"Warmed up query plan cache with %s of %s queries from %s in %s ms",
+				interpreted,
+				entries.size(),
+				file,
+				( System.nanoTime() - start ) / 1_000_000
+		);
+	}
+
+	private List<Entry> read(String mappingModelHash) {
+		if ( !Files.isRegularFile( file ) ) {
+			log.debugf( "No query plan cache snapshot found at %s", file );
+			return List.of();
+		}
+
+		try ( DataInputStream input = new DataInputStream( new BufferedInputStream( Files.newInputStream( file ) ) ) ) {
+			if ( input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION ) {
+				log.debugf( "Ignoring query plan cache snapshot %s with unknown format", file );
+				return List.of();
+			}
+			if ( !mappingModelHash.equals( input.readUTF() ) ) {
+				log.debugf( "Ignoring query plan cache snapshot %s created for a different mapping model", file );
+				return List.of();
+			}
+
+			final int count = input.readInt();
+			final List<Entry> entries = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ ) {
+				final byte kind = input.readByte();
+				final byte[] query = new byte[input.readInt()];
+				input.readFully( query );
+				entries.add( new Entry( kind, new String( query, StandardCharsets.UTF_8 ) ) );
+			}
+			return entries;
+		}
+		catch (IOException | RuntimeException e) {
+			log.warnf( "Unable to read query plan cache snapshot %s: %s", file, e.getMessage() );
+			return List.of();
+		}
+	}
+
+	private void write(SessionFactoryImplementor sessionFactory) {
+		final List<Entry> entries = new ArrayList<>();
+		interpretationCache.visitCachedHqlQueries(
+				(hql, multiValued) -> entries.add( new Entry( multiValued ? HQL_MULTI_VALUED : HQL, hql ) )
+		);
+		interpretationCache.visitCachedNativeQueries( sql -> entries.add( new Entry( NATIVE, sql ) ) );
+
+		try {
+			final String mappingModelHash = mappingModelHash( sessionFactory );
+			final Path directory = file.toAbsolutePath().getParent();
+			if ( directory != null ) {
+				Files.createDirectories( directory );
+			}
+			// write to a temporary file first, so that a concurrent reader never sees a partial snapshot
+			final Path temporaryFile = Files.createTempFile( directory, file.getFileName().toString(), ".tmp" );
+			try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( Files.newOutputStream( temporaryFile ) ) ) ) {
+				output.writeInt( MAGIC );
+				output.writeInt( FORMAT_VERSION );
+				output.writeUTF( mappingModelHash );
+				output.writeInt( entries.size() );
+				for ( Entry entry : entries ) {
+					final byte[] query = entry.query.getBytes( StandardCharsets.UTF_8 );
+					output.writeByte( entry.kind );
+					output.writeInt( query.length );
+					output.write( query );
+				}
+			}
+			Files.move( temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+			log.debugf( "Saved %s queries to query plan cache snapshot %s", entries.size(), file );
+		}
+		catch (IOException | RuntimeException e) {
+			log.warnf( "Unable to write query plan cache snapshot %s: %s", file, e.getMessage() );
+		}
+	}
+
+	/**
+	 * A hash of everything a query interpretation depends on: the Hibernate
+	 * version, the Dialect, and the entities and collections with their
+	 * attributes, types and tables.
+	 */
+	static String mappingModelHash(SessionFactoryImplementor sessionFactory) {
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance( "SHA-256" );
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException( e );
+		}
+
+		update( digest, Version.getVersionString() );
+		update( digest, sessionFactory.getJdbcServices().getDialect().getClass().getName() );
+
+		final MappingMetamodel mappingMetamodel = sessionFactory.getMappingMetamodel();
+		final List<EntityPersister> entityPersisters = new ArrayList<>();
+		mappingMetamodel.forEachEntityDescriptor( entityPersisters::add );
+		entityPersisters.sort( Comparator.comparing( EntityPersister::getEntityName ) );
+		for ( EntityPersister persister : entityPersisters ) {
+			update( digest, persister.getEntityName() );
+			update( digest, persister.getIdentifierPropertyName() );
+			update( digest, Arrays.toString( persister.getPropertySpaces() ) );
+			final String[] propertyNames = persister.getPropertyNames();
+			final Type[] propertyTypes = persister.getPropertyTypes();
+			for ( int i = 0; i < propertyNames.length; i++ ) {
+				update( digest, propertyNames[i] );
+				update( digest, propertyTypes[i].getName() );
+			}
+		}
+
+		final List<CollectionPersister> collectionPersisters = new ArrayList<>();
+		mappingMetamodel.forEachCollectionDescriptor( collectionPersisters::add );
+		collectionPersisters.sort( Comparator.comparing( CollectionPersister::getRole ) );
+		for ( CollectionPersister persister : collectionPersisters ) {
+			update( digest, persister.getRole() );
+			update( digest, Arrays.toString( persister.getCollectionSpaces() ) );
+		}
+
+		final StringBuilder hash = new StringBuilder();
+		for ( byte b : digest.digest() ) {
+			hash.append( Character.forDigit( ( b >> 4 ) & 0xf, 16 ) ).append( Character.forDigit( b & 0xf, 16 ) );
+		}
+		return hash.toString();
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update( String.valueOf( value ).getBytes( StandardCharsets.UTF_8 ) );
+		digest.update( (byte) 0 );
+	}
+
+	private static final class Entry {
+		private final byte kind;
+		private final String query;
+
+		private Entry(byte kind, String query) {
+			this.kind = kind;
+			this.query = query;
+		}
+	}
+}
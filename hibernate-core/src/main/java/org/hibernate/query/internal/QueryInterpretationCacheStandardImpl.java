@@ -7,11 +7,14 @@
 package org.hibernate.query.internal;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import jakarta.persistence.Tuple;
 
-import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.internal.util.cache.InternalCache;
+import org.hibernate.internal.util.cache.InternalCacheEviction;
 import org.hibernate.query.QueryLogging;
 import org.hibernate.query.spi.HqlInterpretation;
 import org.hibernate.query.spi.NonSelectQueryPlan;
@@ -35,32 +38,44 @@ import org.jboss.logging.Logger;
 public class QueryInterpretationCacheStandardImpl implements QueryInterpretationCache {
 	private static final Logger log = QueryLogging.subLogger( "plan.cache" );
 
+	/**
+	 * Prefix of the keys of HQL interpretations for queries returning arrays or tuples
+	 */
+	private static final String MULTI_VALUED_PREFIX = "multi_";
+
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap<Key, QueryPlan> queryPlanCache;
+	private final InternalCache<Key, QueryPlan> queryPlanCache;
 
-	private final BoundedConcurrentHashMap<String, HqlInterpretation> hqlInterpretationCache;
-	private final BoundedConcurrentHashMap<String, ParameterInterpretation> nativeQueryParamCache;
+	private final InternalCache<String, HqlInterpretation> hqlInterpretationCache;
+	private final InternalCache<String, ParameterInterpretation> nativeQueryParamCache;
 	private final Supplier<StatisticsImplementor> statisticsSupplier;
 
 	public QueryInterpretationCacheStandardImpl(int maxQueryPlanCount, Supplier<StatisticsImplementor> statisticsSupplier) {
-		log.debugf( "Starting QueryPlanCache(%s)", maxQueryPlanCount );
+		this( maxQueryPlanCount, InternalCacheEviction.LIRS, statisticsSupplier );
+	}
 
-		this.queryPlanCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		this.hqlInterpretationCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		this.nativeQueryParamCache = new BoundedConcurrentHashMap<>( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+	public QueryInterpretationCacheStandardImpl(
+			int maxQueryPlanCount,
+			InternalCacheEviction eviction,
+			Supplier<StatisticsImplementor> statisticsSupplier) {
+		log.debugf( "Starting QueryPlanCache(%s, %s)", maxQueryPlanCount, eviction );
+
+		this.queryPlanCache = eviction.createCache( maxQueryPlanCount );
+		this.hqlInterpretationCache = eviction.createCache( maxQueryPlanCount );
+		this.nativeQueryParamCache = eviction.createCache( maxQueryPlanCount );
 		this.statisticsSupplier = statisticsSupplier;
 	}
 
 	@Override
 	public int getNumberOfCachedHqlInterpretations() {
-		return hqlInterpretationCache.size();
+		return hqlInterpretationCache.heldElementsEstimate();
 	}
 
 	@Override
 	public int getNumberOfCachedQueryPlans() {
-		return queryPlanCache.size();
+		return queryPlanCache.heldElementsEstimate();
 	}
 
 	@Override
@@ -109,7 +124,7 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 		final String cacheKey;
 		if ( expectedResultType != null
 				&& ( expectedResultType.isArray() || Tuple.class.isAssignableFrom( expectedResultType ) ) ) {
-			cacheKey = "multi_" + queryString;
+			cacheKey = MULTI_VALUED_PREFIX + queryString;
 		}
 		else {
 			cacheKey = queryString;
@@ -175,6 +190,34 @@ public class QueryInterpretationCacheStandardImpl implements QueryInterpretation
 		);
 	}
 
+	/**
+	 * Visit the HQL queries with a cached interpretation, along with whether
+	 * the interpretation was created for a query returning arrays or tuples.
+	 *
+	 * @see QueryInterpretationCacheSnapshot
+	 */
+	public void visitCachedHqlQueries(BiConsumer<String, Boolean> consumer) {
+		hqlInterpretationCache.forEachKey(
+				cacheKey -> {
+					if ( cacheKey.startsWith( MULTI_VALUED_PREFIX ) ) {
+						consumer.accept( cacheKey.substring( MULTI_VALUED_PREFIX.length() ), true );
+					}
+					else {
+						consumer.accept( cacheKey, false );
+					}
+				}
+		);
+	}
+
+	/**
+	 * Visit the native queries with cached parameter metadata.
+	 *
+	 * @see QueryInterpretationCacheSnapshot
+	 */
+	public void visitCachedNativeQueries(Consumer<String> consumer) {
+		nativeQueryParamCache.forEachKey( consumer );
+	}
+
 	@Override
 	public boolean isEnabled() {
 		return true;
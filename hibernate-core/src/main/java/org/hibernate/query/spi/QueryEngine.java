@@ -6,6 +6,7 @@
  */
 package org.hibernate.query.spi;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -23,11 +24,14 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.engine.query.spi.NativeQueryInterpreter;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.util.cache.InternalCacheEviction;
+import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.query.hql.HqlTranslator;
 import org.hibernate.query.hql.internal.StandardHqlTranslator;
 import org.hibernate.query.hql.spi.SqmCreationOptions;
 import org.hibernate.query.internal.QueryInterpretationCacheDisabledImpl;
+import org.hibernate.query.internal.QueryInterpretationCacheSnapshot;
 import org.hibernate.query.internal.QueryInterpretationCacheStandardImpl;
 import org.hibernate.query.named.NamedObjectRepository;
 import org.hibernate.query.sqm.function.SqmFunctionRegistry;
@@ -63,6 +67,9 @@ public class QueryEngine {
 	public static QueryEngine from(SessionFactoryImplementor sessionFactory, MetadataImplementor metadata) {
 		final QueryEngineOptions options = sessionFactory.getSessionFactoryOptions();
 		final Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+		final QueryInterpretationCache interpretationCache =
+				buildInterpretationCache( sessionFactory::getStatistics, sessionFactory.getProperties() );
+		registerInterpretationCacheSnapshot( sessionFactory, interpretationCache );
 		return new QueryEngine(
 				sessionFactory,
 				metadata.getTypeConfiguration(),
@@ -70,10 +77,28 @@ public class QueryEngine {
 				resolveSqmTranslatorFactory( options, dialect ),
 				createFunctionRegistry( sessionFactory, metadata, options, dialect ),
 				metadata.buildNamedQueryRepository( sessionFactory ),
-				buildInterpretationCache( sessionFactory::getStatistics, sessionFactory.getProperties() )
+				interpretationCache
 		);
 	}
 
+	private static void registerInterpretationCacheSnapshot(
+			SessionFactoryImplementor sessionFactory,
+			QueryInterpretationCache interpretationCache) {
+		final String snapshotFile = ConfigurationHelper.getString(
+				AvailableSettings.QUERY_PLAN_CACHE_SNAPSHOT_FILE,
+				sessionFactory.getProperties()
+		);
+		if ( StringHelper.isNotEmpty( snapshotFile )
+				&& interpretationCache instanceof QueryInterpretationCacheStandardImpl ) {
+			sessionFactory.addObserver(
+					new QueryInterpretationCacheSnapshot(
+							Paths.get( snapshotFile ),
+							(QueryInterpretationCacheStandardImpl) interpretationCache
+					)
+			);
+		}
+	}
+
 	private static SqmFunctionRegistry createFunctionRegistry(
 			SessionFactoryImplementor sessionFactory,
 			MetadataImplementor metadata,
@@ -204,7 +229,11 @@ public class QueryEngine {
 					? explicitMaxPlanSize
 					: DEFAULT_QUERY_PLAN_MAX_COUNT;
 
-			return new QueryInterpretationCacheStandardImpl( size, statisticsSupplier );
+			final InternalCacheEviction eviction = InternalCacheEviction.interpret(
+					properties.get( AvailableSettings.QUERY_PLAN_CACHE_EVICTION )
+			);
+
+			return new QueryInterpretationCacheStandardImpl( size, eviction, statisticsSupplier );
 		}
 		else {
 			// disabled
@@ -337,16 +337,23 @@ public class NativeQueryImpl<R>
 
 		return interpretationCache.resolveNativeQueryParameters(
 					sqlString,
-					s -> {
-						final ParameterRecognizerImpl parameterRecognizer = new ParameterRecognizerImpl();
+					s -> interpretParameters( sqlString, sessionFactory )
+			);
+	}
+
+	/**
+	 * Recognize the parameters of the given native query.
+	 */
+	public static ParameterInterpretation interpretParameters(
+			String sqlString,
+			SessionFactoryImplementor sessionFactory) {
+		final ParameterRecognizerImpl parameterRecognizer = new ParameterRecognizerImpl();
 
-						session.getFactory().getServiceRegistry()
-								.getService( NativeQueryInterpreter.class )
-								.recognizeParameters( sqlString, parameterRecognizer );
+		sessionFactory.getServiceRegistry()
+				.getService( NativeQueryInterpreter.class )
+				.recognizeParameters( sqlString, parameterRecognizer );
 
-						return new ParameterInterpretationImpl( parameterRecognizer );
-					}
-			);
+		return new ParameterInterpretationImpl( parameterRecognizer );
 	}
 
 	protected void applyOptions(NamedNativeQueryMemento memento) {
@@ -41,6 +41,7 @@ import org.hibernate.sql.exec.spi.ExecutionContext;
 import org.hibernate.sql.exec.spi.JdbcOperationQuerySelect;
 import org.hibernate.sql.exec.spi.JdbcParameterBindings;
 import org.hibernate.sql.exec.spi.JdbcSelectExecutor;
+import org.hibernate.sql.results.caching.internal.ShallowQueryCacheLayout;
 import org.hibernate.sql.results.graph.DomainResult;
 import org.hibernate.sql.results.internal.ResultsHelper;
 import org.hibernate.sql.results.internal.RowProcessingStateStandardImpl;
@@ -257,6 +258,34 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 			Class<R> domainResultType,
 			Function<String, PreparedStatement> statementCreator,
 			ResultsConsumer<T, R> resultsConsumer) {
+		final QueryCacheComputation queryCacheComputation = new QueryCacheComputation();
+		try {
+			return doExecuteQuery(
+					jdbcSelect,
+					jdbcParameterBindings,
+					executionContext,
+					rowTransformer,
+					domainResultType,
+					statementCreator,
+					resultsConsumer,
+					queryCacheComputation
+			);
+		}
+		finally {
+			// whether the results were put or not, callers waiting for them need not wait any longer
+			queryCacheComputation.end();
+		}
+	}
+
+	private <T, R> T doExecuteQuery(
+			JdbcOperationQuerySelect jdbcSelect,
+			JdbcParameterBindings jdbcParameterBindings,
+			ExecutionContext executionContext,
+			RowTransformer<R> rowTransformer,
+			Class<R> domainResultType,
+			Function<String, PreparedStatement> statementCreator,
+			ResultsConsumer<T, R> resultsConsumer,
+			QueryCacheComputation queryCacheComputation) {
 
 		final DeferredResultSetAccess deferredResultSetAccess = new DeferredResultSetAccess(
 				jdbcSelect,
@@ -269,7 +298,8 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 				jdbcSelect,
 				resultsConsumer.canResultsBeCached(),
 				executionContext,
-				deferredResultSetAccess
+				deferredResultSetAccess,
+				queryCacheComputation
 		);
 
 		if ( rowTransformer == null ) {
@@ -392,6 +422,28 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 			boolean canBeCached,
 			ExecutionContext executionContext,
 			ResultSetAccess resultSetAccess) {
+		return resolveJdbcValuesSource(
+				queryIdentifier,
+				jdbcSelect,
+				canBeCached,
+				executionContext,
+				resultSetAccess,
+				null
+		);
+	}
+
+	/**
+	 * @param queryCacheComputation The computation of the results following a
+	 * query cache miss, which the caller ends once the query is executed, or null
+	 * if the caller does not, in which case the computation is never registered
+	 */
+	private JdbcValues resolveJdbcValuesSource(
+			String queryIdentifier,
+			JdbcOperationQuerySelect jdbcSelect,
+			boolean canBeCached,
+			ExecutionContext executionContext,
+			ResultSetAccess resultSetAccess,
+			QueryCacheComputation queryCacheComputation) {
 		final SharedSessionContractImplementor session = executionContext.getSession();
 		final SessionFactoryImplementor factory = session.getFactory();
 		final boolean queryCacheEnabled = factory.getSessionFactoryOptions().isQueryCacheEnabled();
@@ -424,13 +476,22 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 					session
 			);
 
-			cachedResults = queryCache.get(
-					// todo (6.0) : QueryCache#get takes the `queryResultsCacheKey` see tat discussion above
-					queryResultsCacheKey,
-					// todo (6.0) : `querySpaces` and `session` make perfect sense as args, but its odd passing those into this method just to pass along
-					//		atm we do not even collect querySpaces, but we need to
-					querySpaces,
-					session
+			// only a caller which puts the results it computes may be waited for
+			final boolean computeOnMiss = queryCacheComputation != null && cacheMode.isPutEnabled();
+			if ( computeOnMiss ) {
+				queryCacheComputation.start( queryCache, queryResultsCacheKey );
+			}
+			cachedResults = loadCachedEntities(
+					queryCache.get(
+							// todo (6.0) : QueryCache#get takes the `queryResultsCacheKey` see tat discussion above
+							queryResultsCacheKey,
+							// todo (6.0) : `querySpaces` and `session` make perfect sense as args, but its odd passing those into this method just to pass along
+							//		atm we do not even collect querySpaces, but we need to
+							querySpaces,
+							computeOnMiss,
+							session
+					),
+					executionContext
 			);
 
 			// todo (6.0) : `querySpaces` and `session` are used in QueryCache#get to verify "up-to-dateness" via UpdateTimestampsCache
@@ -505,6 +566,52 @@ public class JdbcSelectExecutorStandardImpl implements JdbcSelectExecutor {
 		}
 	}
 
+	/**
+	 * Load the entities of cached results stored as shallow entries, returning
+	 * null if the cached results cannot be used, because a pessimistic lock was
+	 * requested, because the session is stateless, or because an entity no longer
+	 * exists.
+	 *
+	 * @see ShallowQueryCacheLayout
+	 */
+	private static List<?> loadCachedEntities(List<?> cachedResults, ExecutionContext executionContext) {
+		if ( cachedResults != null ) {
+			final ShallowQueryCacheLayout layout = ShallowQueryCacheLayout.getLayout( cachedResults );
+			if ( layout != null ) {
+				if ( !executionContext.getQueryOptions().getLockOptions().isEmpty()
+						|| !layout.loadEntities( cachedResults, executionContext.getSession() ) ) {
+					return null;
+				}
+			}
+		}
+		return cachedResults;
+	}
+
+	/**
+	 * The computation of query results which may have been registered with the
+	 * query cache following a miss, which needs to end once the query is executed,
+	 * whether it succeeded or not, or the callers waiting for the results would
+	 * wait until the coalescing timeout.
+	 *
+	 * @see QueryResultsCache#endComputation(QueryKey)
+	 */
+	private static class QueryCacheComputation {
+		private QueryResultsCache queryCache;
+		private QueryKey key;
+
+		void start(QueryResultsCache queryCache, QueryKey key) {
+			this.queryCache = queryCache;
+			this.key = key;
+		}
+
+		void end() {
+			if ( key != null ) {
+				queryCache.endComputation( key );
+				key = null;
+			}
+		}
+	}
+
 	public static class CapturingJdbcValuesMetadata implements JdbcValuesMetadata {
 		private final ResultSetAccess resultSetAccess;
 		private String[] columnNames;
@@ -8,7 +8,9 @@ package org.hibernate.sql.results.caching.internal;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsCache;
@@ -30,19 +32,54 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 	private final String queryIdentifier;
 	private final List<Object> dataToCache = new ArrayList<>();
 
+	private final String[] entityNames;
+	private final int[] idPositions;
+	private final Set<Object> ids;
+	private final ShallowQueryCacheLayout layout;
+
 	public QueryCachePutManagerEnabledImpl(
 			QueryResultsCache queryCache,
 			StatisticsImplementor statistics,
 			QueryKey queryKey,
 			String queryIdentifier,
 			JdbcValuesMetadata metadataForCache) {
+		this( queryCache, statistics, queryKey, queryIdentifier, metadataForCache, null, null, null );
+	}
+
+	/**
+	 * @param entityNames The names of the entities making up each row of the
+	 * result, or null if the rows are not made up of entities only
+	 * @param idPositions The position of the identifier of each entity in
+	 * the JDBC values
+	 * @param layout The layout of the rows if they are to be stored as shallow
+	 * entries, or null if all the JDBC values are to be stored
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION
+	 * @see org.hibernate.cfg.AvailableSettings#USE_SHALLOW_QUERY_CACHE
+	 */
+	public QueryCachePutManagerEnabledImpl(
+			QueryResultsCache queryCache,
+			StatisticsImplementor statistics,
+			QueryKey queryKey,
+			String queryIdentifier,
+			JdbcValuesMetadata metadataForCache,
+			String[] entityNames,
+			int[] idPositions,
+			ShallowQueryCacheLayout layout) {
 		this.queryCache = queryCache;
 		this.statistics = statistics;
 		this.queryKey = queryKey;
 		this.queryIdentifier = queryIdentifier;
+		this.entityNames = entityNames;
+		this.idPositions = idPositions;
+		this.ids = entityNames == null ? null : new HashSet<>();
+		this.layout = layout;
 		if ( metadataForCache != null ) {
 			dataToCache.add( metadataForCache );
 		}
+		if ( layout != null ) {
+			dataToCache.add( layout );
+		}
 	}
 
 	@Override
@@ -52,17 +89,23 @@ public class QueryCachePutManagerEnabledImpl implements QueryCachePutManager {
 		//		`RowProcessingStateStandardImpl` (see `#finishRowProcessing`) already creates new array
 		//		instances for each row
 //		dataToCache.add( values );
-		dataToCache.add( Arrays.copyOf( values, values.length ) );
+		dataToCache.add( layout == null ? Arrays.copyOf( values, values.length ) : layout.extract( values ) );
+		if ( ids != null ) {
+			for ( int idPosition : idPositions ) {
+				final Object id = values[idPosition];
+				if ( id != null ) {
+					ids.add( id );
+				}
+			}
+		}
 	}
 
 	@Override
 	public void finishUp(SharedSessionContractImplementor session) {
 		if ( queryKey != null ) {
-			final boolean put = queryCache.put(
-					queryKey,
-					dataToCache,
-					session
-			);
+			final boolean put = ids == null
+					? queryCache.put( queryKey, dataToCache, session )
+					: queryCache.put( queryKey, dataToCache, entityNames, ids, session );
 			if ( put && statistics.isStatisticsEnabled() ) {
 				statistics.queryCachePut( queryIdentifier, queryCache.getRegion().getName() );
 			}
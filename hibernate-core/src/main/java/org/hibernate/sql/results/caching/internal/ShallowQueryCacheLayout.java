@@ -0,0 +1,269 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.sql.results.caching.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.hibernate.LockOptions;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.loader.ast.spi.MultiIdLoadOptions;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.sql.results.graph.DomainResult;
+import org.hibernate.sql.results.graph.Fetch;
+import org.hibernate.sql.results.graph.FetchParent;
+import org.hibernate.sql.results.graph.basic.BasicFetch;
+import org.hibernate.sql.results.graph.basic.BasicResult;
+import org.hibernate.sql.results.graph.collection.internal.EagerCollectionFetch;
+import org.hibernate.sql.results.graph.embeddable.EmbeddableResultGraphNode;
+import org.hibernate.sql.results.graph.entity.AbstractEntityResultGraphNode;
+import org.hibernate.sql.results.graph.entity.internal.EntityFetchJoinedImpl;
+import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
+
+/**
+ * Describes the rows of a query result stored in the query cache as
+ * {@linkplain org.hibernate.cfg.AvailableSettings#USE_SHALLOW_QUERY_CACHE shallow entries}.
+ * Rather than all the JDBC values of a row, only the identifiers and discriminators
+ * of the entities, along with the scalar values, are stored.  On a cache hit, the
+ * entities are {@linkplain #loadEntities loaded} by identifier, in batches, from the
+ * second-level cache or the database, before the rows are {@linkplain #expand expanded}
+ * back to their original size and processed as usual: the entity initializers then
+ * find the entities in the persistence context and do not read any other value.
+ * <p>
+ * An instance is stored in the cached results before the rows, following the
+ * {@link JdbcValuesMetadata}, if any.
+ *
+ * @since 6.3
+ */
+public final class ShallowQueryCacheLayout implements Serializable {
+	private static final MultiIdLoadOptions LOAD_OPTIONS = new MultiIdLoadOptions() {
+		@Override
+		public boolean isSessionCheckingEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isSecondLevelCacheCheckingEnabled() {
+			return true;
+		}
+
+		@Override
+		public boolean isReturnOfDeletedEntitiesEnabled() {
+			return false;
+		}
+
+		@Override
+		public boolean isOrderReturnEnabled() {
+			return true;
+		}
+
+		@Override
+		public LockOptions getLockOptions() {
+			return null;
+		}
+
+		@Override
+		public Integer getBatchSize() {
+			return null;
+		}
+	};
+
+	private final int rowSize;
+	// the positions, within a row, of the values which are stored
+	private final int[] positions;
+	// the name of the entity of each domain result, or null for a scalar
+	private final String[] entityNames;
+	// the index, within the stored values, of the identifier of each entity
+	private final int[] idIndexes;
+
+	private ShallowQueryCacheLayout(int rowSize, int[] positions, String[] entityNames, int[] idIndexes) {
+		this.rowSize = rowSize;
+		this.positions = positions;
+		this.entityNames = entityNames;
+		this.idIndexes = idIndexes;
+	}
+
+	/**
+	 * Determine the layout of the rows of the given domain results, or
+	 * null if the rows cannot be stored as shallow entries.
+	 */
+	public static ShallowQueryCacheLayout from(List<DomainResult<?>> domainResults, int rowSize) {
+		final boolean[] stored = new boolean[rowSize];
+		final String[] entityNames = new String[domainResults.size()];
+		final int[] idPositions = new int[domainResults.size()];
+		boolean hasEntities = false;
+		for ( int i = 0; i < domainResults.size(); i++ ) {
+			final DomainResult<?> domainResult = domainResults.get( i );
+			if ( domainResult instanceof BasicResult ) {
+				final int position = ( (BasicResult<?>) domainResult ).getValuesArrayPosition();
+				if ( position < 0 ) {
+					return null;
+				}
+				stored[position] = true;
+				idPositions[i] = -1;
+			}
+			else if ( domainResult instanceof AbstractEntityResultGraphNode ) {
+				final AbstractEntityResultGraphNode entityResult = (AbstractEntityResultGraphNode) domainResult;
+				final EntityPersister persister = entityResult.getEntityValuedModelPart()
+						.getEntityMappingType()
+						.getEntityPersister();
+				final int idPosition = identifierPosition( entityResult );
+				if ( !persister.canReadFromCache() || idPosition < 0 || hasJoinFetches( entityResult ) ) {
+					return null;
+				}
+				stored[idPosition] = true;
+				final BasicFetch<?> discriminatorFetch = entityResult.getDiscriminatorFetch();
+				if ( discriminatorFetch != null && discriminatorFetch.getValuesArrayPosition() >= 0 ) {
+					stored[discriminatorFetch.getValuesArrayPosition()] = true;
+				}
+				entityNames[i] = persister.getEntityName();
+				idPositions[i] = idPosition;
+				hasEntities = true;
+			}
+			else {
+				return null;
+			}
+		}
+		if ( !hasEntities ) {
+			return null;
+		}
+
+		int count = 0;
+		final int[] positions = new int[rowSize];
+		for ( int position = 0; position < rowSize; position++ ) {
+			if ( stored[position] ) {
+				positions[count++] = position;
+			}
+		}
+		final int[] storedPositions = Arrays.copyOf( positions, count );
+		final int[] idIndexes = new int[idPositions.length];
+		for ( int i = 0; i < idPositions.length; i++ ) {
+			idIndexes[i] = idPositions[i] < 0 ? -1 : Arrays.binarySearch( storedPositions, idPositions[i] );
+		}
+		return new ShallowQueryCacheLayout( rowSize, storedPositions, entityNames, idIndexes );
+	}
+
+	/**
+	 * The position of the identifier of the entity, if it is read as is from a
+	 * single column, or -1 otherwise
+	 */
+	private static int identifierPosition(AbstractEntityResultGraphNode entityResult) {
+		final Fetch identifierFetch = entityResult.getIdentifierFetch();
+		if ( identifierFetch instanceof BasicFetch ) {
+			final BasicFetch<?> basicFetch = (BasicFetch<?>) identifierFetch;
+			if ( ( (BasicValuedModelPart) basicFetch.getFetchedMapping() ).getJdbcMapping().getValueConverter() == null ) {
+				return basicFetch.getValuesArrayPosition();
+			}
+		}
+		return -1;
+	}
+
+	private static boolean hasJoinFetches(FetchParent fetchParent) {
+		for ( Fetch fetch : fetchParent.getFetches() ) {
+			if ( fetch instanceof EntityFetchJoinedImpl || fetch instanceof EagerCollectionFetch ) {
+				return true;
+			}
+			else if ( fetch instanceof EmbeddableResultGraphNode && hasJoinFetches( (FetchParent) fetch ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The layout of the given cached results, or null if they were not stored as
+	 * shallow entries.
+	 */
+	public static ShallowQueryCacheLayout getLayout(List<?> cachedResults) {
+		final int index = layoutIndex( cachedResults );
+		return index < 0 ? null : (ShallowQueryCacheLayout) cachedResults.get( index );
+	}
+
+	private static int layoutIndex(List<?> cachedResults) {
+		final int index = !cachedResults.isEmpty() && cachedResults.get( 0 ) instanceof JdbcValuesMetadata ? 1 : 0;
+		return index < cachedResults.size() && cachedResults.get( index ) instanceof ShallowQueryCacheLayout
+				? index
+				: -1;
+	}
+
+	/**
+	 * Extract the values to store from the given row.
+	 */
+	public Object[] extract(Object[] row) {
+		final Object[] values = new Object[positions.length];
+		for ( int i = 0; i < positions.length; i++ ) {
+			values[i] = row[positions[i]];
+		}
+		return values;
+	}
+
+	/**
+	 * Expand the given stored values back to a row.
+	 */
+	public Object[] expand(Object[] values) {
+		final Object[] row = new Object[rowSize];
+		for ( int i = 0; i < positions.length; i++ ) {
+			row[positions[i]] = values[i];
+		}
+		return row;
+	}
+
+	/**
+	 * Load the entities referenced by the given cached results into the
+	 * persistence context, by identifier, in batches.
+	 *
+	 * @return false if some entity no longer exists, or if the session is not
+	 * an {@linkplain SharedSessionContractImplementor#isEventSource() event source},
+	 * in which case the cached results may not be used
+	 */
+	public boolean loadEntities(List<?> cachedResults, SharedSessionContractImplementor session) {
+		if ( !session.isEventSource() ) {
+			// a stateless session cannot load entities by multiple identifiers
+			return false;
+		}
+
+		final Map<String, Set<Object>> idsByEntityName = new HashMap<>();
+		for ( int i = layoutIndex( cachedResults ) + 1; i < cachedResults.size(); i++ ) {
+			final Object[] values = (Object[]) cachedResults.get( i );
+			for ( int j = 0; j < entityNames.length; j++ ) {
+				if ( entityNames[j] != null ) {
+					final Object id = values[idIndexes[j]];
+					if ( id != null ) {
+						idsByEntityName.computeIfAbsent( entityNames[j], name -> new LinkedHashSet<>() ).add( id );
+					}
+				}
+			}
+		}
+
+		for ( Map.Entry<String, Set<Object>> entry : idsByEntityName.entrySet() ) {
+			final EntityPersister persister = session.getFactory()
+					.getMappingMetamodel()
+					.getEntityDescriptor( entry.getKey() );
+			final List<?> entities = persister.multiLoad(
+					entry.getValue().toArray(),
+					session.asEventSource(),
+					LOAD_OPTIONS
+			);
+			for ( Object entity : entities ) {
+				if ( entity == null ) {
+					return false;
+				}
+				else if ( !Hibernate.isInitialized( entity ) ) {
+					Hibernate.initialize( entity );
+				}
+			}
+		}
+		return true;
+	}
+}
@@ -31,6 +31,7 @@ public class BasicFetch<T> implements Fetch, BasicResultGraphNode<T> {
 	private final FetchParent fetchParent;
 	private final BasicValuedModelPart valuedMapping;
 
+	private final int valuesArrayPosition;
 	private final DomainResultAssembler<T> assembler;
 
 	private final FetchTiming fetchTiming;
@@ -134,6 +135,7 @@ public class BasicFetch<T> implements Fetch, BasicResultGraphNode<T> {
 		this.fetchParent = fetchParent;
 		this.valuedMapping = valuedMapping;
 		this.fetchTiming = fetchTiming;
+		this.valuesArrayPosition = valuesArrayPosition;
 		@SuppressWarnings("unchecked") final JavaType<T> javaType = (JavaType<T>) valuedMapping.getJavaType();
 		// lazy basic attribute
 		if ( fetchTiming == FetchTiming.DELAYED && valuesArrayPosition == -1 ) {
@@ -154,6 +156,14 @@ public class BasicFetch<T> implements Fetch, BasicResultGraphNode<T> {
 		}
 	}
 
+	/**
+	 * The position of the fetched value in the JDBC values array, or -1
+	 * if the value is not fetched
+	 */
+	public int getValuesArrayPosition() {
+		return valuesArrayPosition;
+	}
+
 	@Override
 	public FetchTiming getTiming() {
 		return fetchTiming;
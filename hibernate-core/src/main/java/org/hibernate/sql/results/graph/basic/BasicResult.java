@@ -27,6 +27,7 @@ public class BasicResult<T> implements DomainResult<T>, BasicResultGraphNode<T>
 
 	private final NavigablePath navigablePath;
 
+	private final int valuesArrayPosition;
 	private final DomainResultAssembler<T> assembler;
 
 	public BasicResult(
@@ -114,6 +115,7 @@ public class BasicResult<T> implements DomainResult<T>, BasicResultGraphNode<T>
 		this.resultVariable = resultVariable;
 		this.javaType = javaType;
 		this.navigablePath = navigablePath;
+		this.valuesArrayPosition = valuesArrayPosition;
 
 		if ( coerceResultType ) {
 			this.assembler = new CoercingResultAssembler<>( valuesArrayPosition, javaType, valueConverter );
@@ -138,6 +140,13 @@ public class BasicResult<T> implements DomainResult<T>, BasicResultGraphNode<T>
 		return navigablePath;
 	}
 
+	/**
+	 * The position of the value in the JDBC values array
+	 */
+	public int getValuesArrayPosition() {
+		return valuesArrayPosition;
+	}
+
 	/**
 	 * For testing purposes only
 	 */
@@ -22,7 +22,11 @@ import org.hibernate.type.descriptor.java.JavaType;
 public class DynamicInstantiationAssemblerConstructorImpl<R> implements DomainResultAssembler<R> {
 	private final Constructor<R> targetConstructor;
 	private final JavaType<R> resultType;
-	private final List<ArgumentReader<?>> argumentReaders;
+	private final ArgumentReader<?>[] argumentReaders;
+
+	// the constructor arguments, reused for every row since
+	// the constructor does not keep hold of the array
+	private final Object[] args;
 
 	public DynamicInstantiationAssemblerConstructorImpl(
 			Constructor<R> targetConstructor,
@@ -30,7 +34,8 @@ public class DynamicInstantiationAssemblerConstructorImpl<R> implements DomainRe
 			List<ArgumentReader<?>> argumentReaders) {
 		this.targetConstructor = targetConstructor;
 		this.resultType = resultType;
-		this.argumentReaders = argumentReaders;
+		this.argumentReaders = argumentReaders.toArray( new ArgumentReader<?>[0] );
+		this.args = new Object[ this.argumentReaders.length ];
 	}
 
 	@Override
@@ -42,10 +47,9 @@ public class DynamicInstantiationAssemblerConstructorImpl<R> implements DomainRe
 	public R assemble(
 			RowProcessingState rowProcessingState,
 			JdbcValuesSourceProcessingOptions options) {
-		final int numberOfArgs = argumentReaders.size();
-		Object[] args = new Object[ numberOfArgs ];
-		for ( int i = 0; i < numberOfArgs; i++ ) {
-			args[i] = argumentReaders.get( i ).assemble( rowProcessingState, options );
+		final Object[] args = this.args;
+		for ( int i = 0; i < args.length; i++ ) {
+			args[i] = argumentReaders[i].assemble( rowProcessingState, options );
 		}
 
 		try {
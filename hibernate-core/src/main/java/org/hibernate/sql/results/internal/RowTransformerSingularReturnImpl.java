@@ -29,6 +29,12 @@ public class RowTransformerSingularReturnImpl<R> implements RowTransformer<R> {
 		return (R) row[0];
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public R transformSingleValue(Object value) {
+		return (R) value;
+	}
+
 	@Override
 	public int determineNumberOfResultElements(int rawElementCount) {
 		return 1;
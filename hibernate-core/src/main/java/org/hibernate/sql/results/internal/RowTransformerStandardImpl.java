@@ -38,4 +38,10 @@ public class RowTransformerStandardImpl<T> implements RowTransformer<T> {
 	public T transformRow(Object[] row) {
 		return row.length == 1 ? (T) row[0] : (T) row;
 	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T transformSingleValue(Object value) {
+		return (T) value;
+	}
 }
@@ -28,6 +28,7 @@ import org.hibernate.type.descriptor.java.JavaType;
 @SuppressWarnings("rawtypes")
 public class StandardRowReader<T> implements RowReader<T> {
 	private final List<DomainResultAssembler<?>> resultAssemblers;
+	private final DomainResultAssembler<?>[] resultAssemblerArray;
 	private final InitializersList initializers;
 	private final RowTransformer<T> rowTransformer;
 	private final Class<T> domainResultJavaType;
@@ -40,6 +41,7 @@ public class StandardRowReader<T> implements RowReader<T> {
 			RowTransformer<T> rowTransformer,
 			Class<T> domainResultJavaType) {
 		this.resultAssemblers = resultAssemblers;
+		this.resultAssemblerArray = resultAssemblers.toArray( new DomainResultAssembler<?>[0] );
 		this.initializers = initializers;
 		this.rowTransformer = rowTransformer;
 		this.assemblerCount = resultAssemblers.size();
@@ -82,15 +84,33 @@ public class StandardRowReader<T> implements RowReader<T> {
 
 	@Override
 	public T readRow(RowProcessingState rowProcessingState, JdbcValuesSourceProcessingOptions options) {
-		LoadingLogger.LOGGER.trace( "StandardRowReader#readRow" );
+		if ( LoadingLogger.TRACE_ENABLED ) {
+			LoadingLogger.LOGGER.trace( "StandardRowReader#readRow" );
+		}
 
 		coordinateInitializers( rowProcessingState );
 
+		if ( assemblerCount == 1 ) {
+			// e.g. a single scalar, entity or dynamic-instantiation result,
+			// which does not need a row array
+			final DomainResultAssembler<?> assembler = resultAssemblerArray[0];
+			if ( LoadingLogger.DEBUG_ENABLED ) {
+				LoadingLogger.LOGGER.debugf( "Calling top-level assembler (0 / 1) : %s", assembler );
+			}
+			final Object result = assembler.assemble( rowProcessingState, options );
+
+			afterRow( rowProcessingState );
+
+			return rowTransformer.transformSingleValue( result );
+		}
+
 		final Object[] resultRow = new Object[ assemblerCount ];
 
 		for ( int i = 0; i < assemblerCount; i++ ) {
-			final DomainResultAssembler assembler = resultAssemblers.get( i );
-			LoadingLogger.LOGGER.debugf( "Calling top-level assembler (%s / %s) : %s", i, assemblerCount, assembler );
+			final DomainResultAssembler<?> assembler = resultAssemblerArray[i];
+			if ( LoadingLogger.DEBUG_ENABLED ) {
+				LoadingLogger.LOGGER.debugf( "Calling top-level assembler (%s / %s) : %s", i, assemblerCount, assembler );
+			}
 			resultRow[i] = assembler.assemble( rowProcessingState, options );
 		}
 
@@ -100,7 +120,9 @@ public class StandardRowReader<T> implements RowReader<T> {
 	}
 
 	private void afterRow(RowProcessingState rowProcessingState) {
-		LoadingLogger.LOGGER.trace( "StandardRowReader#afterRow" );
+		if ( LoadingLogger.TRACE_ENABLED ) {
+			LoadingLogger.LOGGER.trace( "StandardRowReader#afterRow" );
+		}
 		initializers.finishUpRow( rowProcessingState );
 	}
 
@@ -71,5 +71,10 @@ public abstract class AbstractJdbcValues implements JdbcValues {
 		release();
 	}
 
+	@Override
+	public final void abort(SharedSessionContractImplementor session) {
+		release();
+	}
+
 	protected abstract void release();
 }
@@ -11,6 +11,7 @@ import java.util.List;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.sql.results.ResultsLogger;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
+import org.hibernate.sql.results.caching.internal.ShallowQueryCacheLayout;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
 import org.hibernate.sql.results.jdbc.spi.RowProcessingState;
@@ -49,21 +50,22 @@ public class JdbcValuesCacheHit extends AbstractJdbcValues {
 			return NO_DATA;
 		}
 
-		final Object[][] data;
-		if ( cachedResults.get( 0 ) instanceof JdbcValuesMetadata ) {
-			final int end = cachedResults.size() - 1;
-			data = new Object[end][];
-			for ( int i = 0; i < end; i++ ) {
-				final Object[] row = (Object[]) cachedResults.get( i + 1 );
-				data[i] = row;
-			}
+		int start = 0;
+		if ( cachedResults.get( start ) instanceof JdbcValuesMetadata ) {
+			start++;
+		}
+		final ShallowQueryCacheLayout layout;
+		if ( start < cachedResults.size() && cachedResults.get( start ) instanceof ShallowQueryCacheLayout ) {
+			layout = (ShallowQueryCacheLayout) cachedResults.get( start++ );
 		}
 		else {
-			data = new Object[cachedResults.size()][];
-			for ( int i = 0; i < cachedResults.size(); i++ ) {
-				final Object[] row = (Object[]) cachedResults.get( i );
-				data[i] = row;
-			}
+			layout = null;
+		}
+
+		final Object[][] data = new Object[cachedResults.size() - start][];
+		for ( int i = 0; i < data.length; i++ ) {
+			final Object[] row = (Object[]) cachedResults.get( i + start );
+			data[i] = layout == null ? row : layout.expand( row );
 		}
 
 		return data;
@@ -9,11 +9,14 @@ package org.hibernate.sql.results.jdbc.internal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 
+import org.hibernate.boot.spi.SessionFactoryOptions;
 import org.hibernate.cache.spi.QueryKey;
 import org.hibernate.cache.spi.QueryResultsCache;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
 import org.hibernate.query.spi.QueryOptions;
 import org.hibernate.sql.ast.spi.SqlSelection;
 import org.hibernate.sql.exec.ExecutionException;
@@ -21,6 +24,11 @@ import org.hibernate.sql.exec.spi.ExecutionContext;
 import org.hibernate.sql.results.caching.QueryCachePutManager;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerDisabledImpl;
 import org.hibernate.sql.results.caching.internal.QueryCachePutManagerEnabledImpl;
+import org.hibernate.sql.results.caching.internal.ShallowQueryCacheLayout;
+import org.hibernate.sql.results.graph.DomainResult;
+import org.hibernate.sql.results.graph.Fetch;
+import org.hibernate.sql.results.graph.basic.BasicFetch;
+import org.hibernate.sql.results.graph.entity.AbstractEntityResultGraphNode;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMapping;
 import org.hibernate.sql.results.jdbc.spi.JdbcValuesMetadata;
 import org.hibernate.sql.results.jdbc.spi.RowProcessingState;
@@ -47,7 +55,7 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 			JdbcValuesMapping valuesMapping,
 			JdbcValuesMetadata metadataForCache,
 			ExecutionContext executionContext) {
-		super( resolveQueryCachePutManager( executionContext, queryOptions, queryCacheKey, queryIdentifier, metadataForCache ) );
+		super( resolveQueryCachePutManager( executionContext, queryOptions, queryCacheKey, queryIdentifier, valuesMapping, metadataForCache ) );
 		this.resultSetAccess = resultSetAccess;
 		this.valuesMapping = valuesMapping;
 		this.executionContext = executionContext;
@@ -61,17 +69,42 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 			QueryOptions queryOptions,
 			QueryKey queryCacheKey,
 			String queryIdentifier,
+			JdbcValuesMapping valuesMapping,
 			JdbcValuesMetadata metadataForCache) {
 		if ( queryCacheKey != null ) {
 			final SessionFactoryImplementor factory = executionContext.getSession().getFactory();
+			final SessionFactoryOptions options = factory.getSessionFactoryOptions();
 			final QueryResultsCache queryCache = factory.getCache()
 					.getQueryResultsCache( queryOptions.getResultCacheRegionName() );
+			final List<DomainResult<?>> domainResults = valuesMapping.getDomainResults();
+			final ShallowQueryCacheLayout layout = options.isShallowQueryCacheEnabled()
+					&& queryOptions.getLockOptions().isEmpty()
+					? ShallowQueryCacheLayout.from( domainResults, valuesMapping.getRowSize() )
+					: null;
+			final String[] entityNames;
+			final int[] idPositions;
+			if ( options.isQueryCacheRowInvalidationEnabled() && isEntityOnly( domainResults ) ) {
+				entityNames = new String[domainResults.size()];
+				idPositions = new int[domainResults.size()];
+				for ( int i = 0; i < entityNames.length; i++ ) {
+					final AbstractEntityResultGraphNode entityResult = (AbstractEntityResultGraphNode) domainResults.get( i );
+					entityNames[i] = entityResult.getEntityValuedModelPart().getEntityMappingType().getEntityName();
+					idPositions[i] = ( (BasicFetch<?>) entityResult.getIdentifierFetch() ).getValuesArrayPosition();
+				}
+			}
+			else {
+				entityNames = null;
+				idPositions = null;
+			}
 			return new QueryCachePutManagerEnabledImpl(
 					queryCache,
 					factory.getStatistics(),
 					queryCacheKey,
 					queryIdentifier,
-					metadataForCache
+					metadataForCache,
+					entityNames,
+					idPositions,
+					layout
 			);
 		}
 		else {
@@ -79,6 +112,31 @@ public class JdbcValuesResultSetImpl extends AbstractJdbcValues {
 		}
 	}
 
+	/**
+	 * Is each row made up of entities whose identifiers are read as is from a
+	 * single column, so that the rows the result depends on are known?
+	 */
+	private static boolean isEntityOnly(List<DomainResult<?>> domainResults) {
+		if ( domainResults.isEmpty() ) {
+			return false;
+		}
+		for ( DomainResult<?> domainResult : domainResults ) {
+			if ( !( domainResult instanceof AbstractEntityResultGraphNode ) ) {
+				return false;
+			}
+			final Fetch identifierFetch = ( (AbstractEntityResultGraphNode) domainResult ).getIdentifierFetch();
+			if ( !( identifierFetch instanceof BasicFetch ) ) {
+				return false;
+			}
+			final BasicFetch<?> basicFetch = (BasicFetch<?>) identifierFetch;
+			if ( basicFetch.getValuesArrayPosition() < 0
+					|| ( (BasicValuedModelPart) basicFetch.getFetchedMapping() ).getJdbcMapping().getValueConverter() != null ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	protected final boolean processNext(RowProcessingState rowProcessingState) {
 		return advance( advanceNext() );
@@ -79,5 +79,16 @@ public interface JdbcValues {
 	 */
 	void finishUp(SharedSessionContractImplementor session);
 
+	/**
+	 * Give implementations a chance to release their resources after the
+	 * processing failed, in which case the results are incomplete and must
+	 * not be put into the query cache
+	 *
+	 * @since 6.3
+	 */
+	default void abort(SharedSessionContractImplementor session) {
+		finishUp( session );
+	}
+
 	void setFetchSize(int fetchSize);
 }
@@ -221,8 +221,13 @@ public class ListResultsConsumer<R> implements ResultsConsumer<List<R>, R> {
 		}
 		finally {
 			try {
-
-				jdbcValues.finishUp( session );
+				if ( ex == null ) {
+					jdbcValues.finishUp( session );
+				}
+				else {
+					// do not cache the rows read before the failure
+					jdbcValues.abort( session );
+				}
 				persistenceContext.initializeNonLazyCollections();
 			}
 			catch (RuntimeException e) {
@@ -24,6 +24,17 @@ public interface RowTransformer<T> {
 	 */
 	T transformRow(Object[] row);
 
+	/**
+	 * Transform the value of a "raw" row of a single value, saving the
+	 * {@linkplain #transformRow(Object[]) row array} when the result is
+	 * the value itself
+	 *
+	 * @since 6.3
+	 */
+	default T transformSingleValue(Object value) {
+		return transformRow( new Object[] { value } );
+	}
+
 	/**
 	 * How many result elements will this transformation produce?
 	 */
@@ -11,6 +11,8 @@ import java.util.concurrent.atomic.LongAdder;
 
 import org.hibernate.cache.spi.ExtendedStatisticsSupport;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.support.DirectAccessRegionTemplate;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
 import org.hibernate.stat.CacheRegionStatistics;
 
 /**
@@ -20,6 +22,7 @@ import org.hibernate.stat.CacheRegionStatistics;
  */
 public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Serializable {
 	private final transient Region region;
+	private final transient ExtendedStatisticsSupport extendedStatistics;
 
 	private final LongAdder hitCount = new LongAdder();
 	private final LongAdder missCount = new LongAdder();
@@ -27,6 +30,30 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Seriali
 
 	CacheRegionStatisticsImpl(Region region) {
 		this.region = region;
+		this.extendedStatistics = resolveExtendedStatistics( region );
+	}
+
+	/**
+	 * The region itself, if it supports extended statistics, or else the
+	 * storage of a region built from a template, if it supports them
+	 */
+	private static ExtendedStatisticsSupport resolveExtendedStatistics(Region region) {
+		if ( region instanceof ExtendedStatisticsSupport ) {
+			return (ExtendedStatisticsSupport) region;
+		}
+		final Object storageAccess;
+		if ( region instanceof DomainDataRegionTemplate ) {
+			storageAccess = ( (DomainDataRegionTemplate) region ).getCacheStorageAccess();
+		}
+		else if ( region instanceof DirectAccessRegionTemplate ) {
+			storageAccess = ( (DirectAccessRegionTemplate) region ).getStorageAccess();
+		}
+		else {
+			storageAccess = null;
+		}
+		return storageAccess instanceof ExtendedStatisticsSupport
+				? (ExtendedStatisticsSupport) storageAccess
+				: null;
 	}
 
 	@Override
@@ -51,24 +78,24 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, Seriali
 
 	@Override
 	public long getElementCountInMemory() {
-		if ( region instanceof ExtendedStatisticsSupport ) {
-			return ( (ExtendedStatisticsSupport) region ).getElementCountInMemory();
+		if ( extendedStatistics != null ) {
+			return extendedStatistics.getElementCountInMemory();
 		}
 		return NO_EXTENDED_STAT_SUPPORT_RETURN;
 	}
 
 	@Override
 	public long getElementCountOnDisk() {
-		if ( region instanceof ExtendedStatisticsSupport ) {
-			return ( (ExtendedStatisticsSupport) region ).getElementCountOnDisk();
+		if ( extendedStatistics != null ) {
+			return extendedStatistics.getElementCountOnDisk();
 		}
 		return NO_EXTENDED_STAT_SUPPORT_RETURN;
 	}
 
 	@Override
 	public long getSizeInMemory() {
-		if ( region instanceof ExtendedStatisticsSupport ) {
-			return ( (ExtendedStatisticsSupport) region ).getSizeInMemory();
+		if ( extendedStatistics != null ) {
+			return extendedStatistics.getSizeInMemory();
 		}
 		return NO_EXTENDED_STAT_SUPPORT_RETURN;
 	}
@@ -0,0 +1,252 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AvailableSettings#BATCH_IDENTITY_INSERTS}
+ */
+@DomainModel(
+		annotatedClasses = {
+				BatchIdentityInsertTest.Author.class,
+				BatchIdentityInsertTest.Book.class,
+				BatchIdentityInsertTest.Series.class,
+				BatchIdentityInsertTest.Volume.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "10"),
+				@Setting(name = AvailableSettings.BATCH_IDENTITY_INSERTS, value = "true")
+		}
+)
+@SessionFactory(statementInspectorClass = SQLStatementInspector.class)
+@RequiresDialect(value = H2Dialect.class, majorVersion = 2)
+public class BatchIdentityInsertTest {
+
+	private static final int AUTHORS = 25;
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Book" ).executeUpdate();
+					session.createMutationQuery( "delete from Author" ).executeUpdate();
+					session.createMutationQuery( "delete from Volume" ).executeUpdate();
+					session.createMutationQuery( "delete from Series" ).executeUpdate();
+				}
+		);
+	}
+
+	@Test
+	public void testBatchIdentityInsert(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+
+		final List<Author> authors = new ArrayList<>();
+		final List<Book> books = new ArrayList<>();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < AUTHORS; i++ ) {
+						final Author author = new Author( "author " + i );
+						session.persist( author );
+						authors.add( author );
+					}
+					for ( int i = 0; i < AUTHORS; i++ ) {
+						final Book book = new Book( "book " + i, authors.get( i ) );
+						session.persist( book );
+						books.add( book );
+					}
+					// the inserts are delayed until flush
+					assertThat( authors.get( 0 ).id ).isNull();
+					session.flush();
+
+					final Set<Long> ids = new HashSet<>();
+					for ( Author author : authors ) {
+						assertThat( author.id ).isNotNull();
+						assertThat( session.getIdentifier( author ) ).isEqualTo( author.id );
+						ids.add( author.id );
+					}
+					assertThat( ids ).hasSize( AUTHORS );
+				}
+		);
+
+		// both the authors and the books are inserted by 2 batches of 10 rows and a batch of 5 rows
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "insert into Author " ) )
+				.hasSize( 3 );
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "insert into Book " ) )
+				.hasSize( 3 );
+
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < AUTHORS; i++ ) {
+						final Book book = session.find( Book.class, books.get( i ).id );
+						assertThat( book.title ).isEqualTo( "book " + i );
+						assertThat( book.author.id ).isEqualTo( authors.get( i ).id );
+						assertThat( book.author.name ).isEqualTo( "author " + i );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testBatchIdentityInsertWithDelayedReference(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+
+		final List<Book> books = new ArrayList<>();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 3; i++ ) {
+						final Author author = new Author( "author " + i );
+						session.persist( author );
+						for ( int j = 0; j < 4; j++ ) {
+							final Book book = new Book( "book " + i + "." + j, author );
+							session.persist( book );
+							books.add( book );
+						}
+					}
+				}
+		);
+
+		// each author is inserted before the batch of their books
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "insert into " ) )
+				.hasSize( 6 );
+
+		scope.inTransaction(
+				session -> {
+					for ( Book book : books ) {
+						final Book loaded = session.find( Book.class, book.id );
+						assertThat( loaded.author.name ).isEqualTo( book.author.name );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testBatchIdentityInsertReferencingBatchedInsert(SessionFactoryScope scope) {
+		final List<Volume> volumes = new ArrayList<>();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 3; i++ ) {
+						final Series series = new Series( "series " + i );
+						session.persist( series );
+						for ( int j = 0; j < 3; j++ ) {
+							final Volume volume = new Volume( "volume " + i + "." + j, series );
+							session.persist( volume );
+							volumes.add( volume );
+						}
+					}
+					// the series, whose ids come from a sequence, are still in the JDBC batch
+					// when the volumes referring to them are inserted
+					session.flush();
+				}
+		);
+
+		scope.inTransaction(
+				session -> {
+					for ( Volume volume : volumes ) {
+						final Volume loaded = session.find( Volume.class, volume.id );
+						assertThat( loaded.series.name ).isEqualTo( volume.series.name );
+					}
+				}
+		);
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String title;
+		@ManyToOne
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(String title, Author author) {
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	@Entity(name = "Series")
+	public static class Series {
+		@Id
+		@GeneratedValue(strategy = GenerationType.SEQUENCE)
+		private Long id;
+		private String name;
+
+		public Series() {
+		}
+
+		public Series(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Volume")
+	public static class Volume {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String title;
+		@ManyToOne
+		private Series series;
+
+		public Volume() {
+		}
+
+		public Volume(String title, Series series) {
+			this.title = title;
+			this.series = series;
+		}
+	}
+}
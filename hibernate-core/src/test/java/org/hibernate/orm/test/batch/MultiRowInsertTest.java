@@ -0,0 +1,256 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+import jakarta.persistence.Table;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.JdbcLogging;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.Logger;
+import org.hibernate.testing.orm.junit.MessageKeyInspection;
+import org.hibernate.testing.orm.junit.MessageKeyWatcher;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AvailableSettings#MULTI_ROW_INSERT_SIZE}
+ */
+@DomainModel(
+		annotatedClasses = {
+				MultiRowInsertTest.Animal.class,
+				MultiRowInsertTest.Dog.class,
+				MultiRowInsertTest.Quoted.class,
+				MultiRowInsertTest.Ticket.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "10"),
+				@Setting(name = AvailableSettings.MULTI_ROW_INSERT_SIZE, value = "4"),
+				@Setting(name = AvailableSettings.BATCH_IDENTITY_INSERTS, value = "true")
+		}
+)
+@SessionFactory(statementInspectorClass = SQLStatementInspector.class)
+@RequiresDialect(H2Dialect.class)
+// the row counts of the statements whose rows were all part of multi-row inserts are not checked
+@MessageKeyInspection(messageKey = "HHH100001", logger = @Logger(loggerName = JdbcLogging.NAME))
+public class MultiRowInsertTest {
+
+	private static final int DOGS = 23;
+	private static final int ANIMALS = 3;
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> session.createSelectionQuery( "from Animal", Animal.class )
+						.getResultList()
+						.forEach( session::remove )
+		);
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Quoted" ).executeUpdate() );
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Ticket" ).executeUpdate() );
+	}
+
+	@Test
+	public void testMultiRowInsert(SessionFactoryScope scope, MessageKeyWatcher watcher) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < DOGS; i++ ) {
+						session.persist( new Dog( i, "dog " + i, "breed " + i ) );
+					}
+					for ( int i = DOGS; i < DOGS + ANIMALS; i++ ) {
+						session.persist( new Animal( i, "animal " + i ) );
+					}
+				}
+		);
+
+		final List<String> inserts = new ArrayList<>();
+		for ( String sql : statementInspector.getSqlQueries() ) {
+			if ( sql.startsWith( "insert into Animal " ) ) {
+				inserts.add( sql );
+			}
+		}
+		// the dogs are inserted by 2 batches of 10 rows, each executed as a JDBC batch
+		// of 2 statements of 4 rows and a statement of 2 rows, and by a batch of 3 rows,
+		// then the animals by a batch of 3 rows
+		assertThat( inserts ).hasSize( 6 );
+		assertThat( inserts.get( 0 ) ).endsWith( " values (?,?),(?,?),(?,?),(?,?)" );
+		assertThat( inserts.get( 1 ) ).endsWith( " values (?,?),(?,?)" );
+		assertThat( inserts.get( 4 ) ).endsWith( " values (?,?),(?,?),(?,?)" );
+		assertThat( inserts.get( 5 ) ).endsWith( " values (?,?),(?,?),(?,?)" );
+
+		scope.inTransaction(
+				session -> {
+					final List<Animal> animals = session.createSelectionQuery( "from Animal order by id", Animal.class )
+							.getResultList();
+					assertThat( animals ).hasSize( DOGS + ANIMALS );
+					for ( int i = 0; i < DOGS + ANIMALS; i++ ) {
+						final Animal animal = animals.get( i );
+						assertThat( animal.id ).isEqualTo( i );
+						assertThat( animal.tags ).containsExactlyInAnyOrder( "tag " + i, "tag " + ( i + 1 ) );
+						if ( i >= DOGS ) {
+							assertThat( animal ).isExactlyInstanceOf( Animal.class );
+							assertThat( animal.name ).isEqualTo( "animal " + i );
+						}
+						else {
+							assertThat( animal ).isInstanceOf( Dog.class );
+							assertThat( animal.name ).isEqualTo( "dog " + i );
+							assertThat( ( (Dog) animal ).breed ).isEqualTo( "breed " + i );
+						}
+					}
+				}
+		);
+		assertThat( watcher.wasTriggered() ).isFalse();
+	}
+
+	@Test
+	public void testQuotedIdentifiers(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 4; i++ ) {
+						session.persist( new Quoted( i, "value " + i ) );
+					}
+				}
+		);
+
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "insert into " ) )
+				.containsExactly( "insert into \"quoted values (x)\" (\"it's (a) value?\",id) values (?,?),(?,?),(?,?),(?,?)" );
+
+		scope.inTransaction(
+				session -> {
+					final List<Quoted> quoted = session.createSelectionQuery( "from Quoted order by id", Quoted.class )
+							.getResultList();
+					assertThat( quoted ).hasSize( 4 );
+					for ( int i = 0; i < 4; i++ ) {
+						assertThat( quoted.get( i ).value ).isEqualTo( "value " + i );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testBatchedIdentityInserts(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+		final List<Ticket> tickets = new ArrayList<>();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 6; i++ ) {
+						final Ticket ticket = new Ticket( "ticket " + i );
+						session.persist( ticket );
+						tickets.add( ticket );
+					}
+				}
+		);
+
+		// the identifiers generated for a batch are read back row by row,
+		// so the rows stay in the single-row JDBC batch
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "insert into Ticket " ) )
+				.containsExactly( "insert into Ticket (name,id) values (?,default)" );
+
+		scope.inTransaction(
+				session -> {
+					for ( Ticket ticket : tickets ) {
+						assertThat( ticket.id ).isNotNull();
+						assertThat( session.find( Ticket.class, ticket.id ).name ).isEqualTo( ticket.name );
+					}
+				}
+		);
+	}
+
+	@Entity(name = "Animal")
+	@Inheritance(strategy = InheritanceType.JOINED)
+	public static class Animal {
+		@Id
+		private Integer id;
+		private String name;
+		@ElementCollection
+		private List<String> tags = new ArrayList<>();
+
+		public Animal() {
+		}
+
+		public Animal(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+			tags.add( "tag " + id );
+			tags.add( "tag " + ( id + 1 ) );
+		}
+	}
+
+	// the quoted identifiers contain the characters which delimit the row of the insert
+	@Entity(name = "Quoted")
+	@Table(name = "\"quoted values (x)\"")
+	public static class Quoted {
+		@Id
+		private Integer id;
+		@Column(name = "\"it's (a) value?\"")
+		private String value;
+
+		public Quoted() {
+		}
+
+		public Quoted(Integer id, String value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+	@Entity(name = "Ticket")
+	public static class Ticket {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Integer id;
+		private String name;
+
+		public Ticket() {
+		}
+
+		public Ticket(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Dog")
+	public static class Dog extends Animal {
+		private String breed;
+
+		public Dog() {
+		}
+
+		public Dog(Integer id, String name, String breed) {
+			super( id, name );
+			this.breed = breed;
+		}
+	}
+}
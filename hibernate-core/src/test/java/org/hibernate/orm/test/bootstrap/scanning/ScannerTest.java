@@ -7,8 +7,16 @@
 package org.hibernate.orm.test.bootstrap.scanning;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
@@ -17,7 +25,9 @@ import org.hibernate.boot.archive.scan.internal.StandardScanParameters;
 import org.hibernate.boot.archive.scan.internal.StandardScanner;
 import org.hibernate.boot.archive.scan.spi.ClassDescriptor;
 import org.hibernate.boot.archive.scan.spi.MappingFileDescriptor;
+import org.hibernate.boot.archive.scan.spi.PackageDescriptor;
 import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.archive.scan.spi.ScanIndex;
 import org.hibernate.boot.archive.scan.spi.ScanOptions;
 import org.hibernate.boot.archive.scan.spi.ScanResult;
 import org.hibernate.boot.archive.scan.spi.Scanner;
@@ -70,6 +80,64 @@ public class ScannerTest extends PackagingTestCase {
 		}
 	}
 
+	@Test
+	public void testScanIndex() throws Exception {
+		File defaultPar = buildDefaultPar();
+		addPackageToClasspath( defaultPar );
+
+		// a copy of the archive without class files, but with an index of the original archive
+		File indexedPar = new File( defaultPar.getParentFile(), "indexedpar.par" );
+		try ( ZipFile original = new ZipFile( defaultPar );
+				ZipOutputStream copy = new ZipOutputStream( new FileOutputStream( indexedPar ) ) ) {
+			final Enumeration<? extends ZipEntry> entries = original.entries();
+			while ( entries.hasMoreElements() ) {
+				final ZipEntry entry = entries.nextElement();
+				if ( !entry.getName().endsWith( ".class" ) ) {
+					copy.putNextEntry( new ZipEntry( entry.getName() ) );
+					try ( InputStream stream = original.getInputStream( entry ) ) {
+						stream.transferTo( copy );
+					}
+					copy.closeEntry();
+				}
+			}
+			copy.putNextEntry( new ZipEntry( ScanIndex.RESOURCE_NAME ) );
+			ScanIndex.write( Collections.singletonList( defaultPar.toURL() ), copy );
+			copy.closeEntry();
+		}
+
+		ScanResult scanResult = scan( defaultPar );
+		ScanResult indexedScanResult = scan( indexedPar );
+
+		assertEquals( 3, indexedScanResult.getLocatedClasses().size() );
+		assertEquals( describe( scanResult ), describe( indexedScanResult ) );
+		for ( MappingFileDescriptor mappingFileDescriptor : indexedScanResult.getLocatedMappingFiles() ) {
+			InputStream stream = mappingFileDescriptor.getStreamAccess().accessInputStream();
+			assertNotNull( stream );
+			stream.close();
+		}
+	}
+
+	private static ScanResult scan(File par) throws Exception {
+		PersistenceUnitDescriptor descriptor = new ParsedPersistenceXmlDescriptor( par.toURL() );
+		ScanEnvironment env = new StandardJpaScanEnvironmentImpl( descriptor );
+		ScanOptions options = new StandardScanOptions( "hbm,class", descriptor.isExcludeUnlistedClasses() );
+		return new StandardScanner().scan( env, options, StandardScanParameters.INSTANCE );
+	}
+
+	private static Set<String> describe(ScanResult scanResult) {
+		Set<String> description = new TreeSet<>();
+		for ( ClassDescriptor classDescriptor : scanResult.getLocatedClasses() ) {
+			description.add( "class " + classDescriptor.getName() + " " + classDescriptor.getCategorization() );
+		}
+		for ( PackageDescriptor packageDescriptor : scanResult.getLocatedPackages() ) {
+			description.add( "package " + packageDescriptor.getName() );
+		}
+		for ( MappingFileDescriptor mappingFileDescriptor : scanResult.getLocatedMappingFiles() ) {
+			description.add( "mapping file " + mappingFileDescriptor.getName() );
+		}
+		return description;
+	}
+
 	private void assertClassesContained(ScanResult scanResult, Class classToCheckFor) {
 		for ( ClassDescriptor classDescriptor : scanResult.getLocatedClasses() ) {
 			if ( classDescriptor.getName().equals( classToCheckFor.getName() ) ) {
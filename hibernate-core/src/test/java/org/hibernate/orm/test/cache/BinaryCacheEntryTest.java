@@ -0,0 +1,278 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.UUID;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CacheEntryStructure;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BinaryCacheEntry}
+ */
+@DomainModel(
+		annotatedClasses = {
+				BinaryCacheEntryTest.Book.class,
+				BinaryCacheEntryTest.Publisher.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_BINARY_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true")
+		}
+)
+@SessionFactory
+public class BinaryCacheEntryTest {
+
+	private static final UUID ISBN = UUID.randomUUID();
+	private static final LocalDateTime CREATED = LocalDateTime.of( 2023, 3, 14, 15, 9, 26, 535_000_000 );
+	private static final Instant UPDATED = Instant.now().truncatedTo( ChronoUnit.MICROS );
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Book" ).executeUpdate();
+					session.createMutationQuery( "delete from Publisher" ).executeUpdate();
+				}
+		);
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testRoundTrip(SessionFactoryScope scope) {
+		final EntityPersister persister = scope.getSessionFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( Book.class );
+		assertThat( persister.getCacheEntryStructure() ).isInstanceOf( BinaryCacheEntry.class );
+
+		scope.inTransaction(
+				session -> {
+					final Publisher publisher = new Publisher( 1L, "Manning" );
+					session.persist( publisher );
+					session.persist( createBook( publisher ) );
+				}
+		);
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction(
+				session -> {
+					final Book book = session.find( Book.class, 1 );
+					assertThat( book.title ).isEqualTo( "Hibernate in Action" );
+					assertThat( book.subtitle ).isNull();
+					assertThat( book.pages ).isEqualTo( 408 );
+					assertThat( book.price ).isEqualTo( new BigDecimal( "-49.99" ) );
+					assertThat( book.rating ).isEqualTo( 4.5 );
+					assertThat( book.available ).isTrue();
+					assertThat( book.isbn ).isEqualTo( ISBN );
+					assertThat( book.published ).isEqualTo( LocalDate.of( 2004, 8, 1 ) );
+					assertThat( book.created ).isEqualTo( CREATED );
+					assertThat( book.updated ).isEqualTo( UPDATED );
+					assertThat( book.format ).isEqualTo( Format.PAPERBACK );
+					assertThat( book.cover ).containsExactly( 1, 2, 3 );
+					assertThat( book.dimensions.width ).isEqualTo( 18.5f );
+					assertThat( book.dimensions.height ).isEqualTo( 23.5f );
+					assertThat( book.publisher.id ).isEqualTo( 1L );
+					assertThat( book.version ).isEqualTo( 0 );
+				}
+		);
+		assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 2 );
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testEncoding(SessionFactoryScope scope) {
+		final EntityPersister persister = scope.getSessionFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( Book.class );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+
+		scope.inTransaction(
+				session -> {
+					final Publisher publisher = new Publisher( 1L, "Manning" );
+					session.persist( publisher );
+					final Book book = createBook( publisher );
+					session.persist( book );
+					session.flush();
+
+					final CacheEntry entry = persister.buildCacheEntry(
+							book,
+							persister.getValues( book ),
+							book.version,
+							session
+					);
+					final byte[] bytes = (byte[]) structure.structure( entry );
+					assertThat( bytes.length )
+							.isLessThan( SerializationHelper.serialize( (Serializable) entry ).length / 4 );
+
+					final CacheEntry destructured = (CacheEntry) structure.destructure( bytes, scope.getSessionFactory() );
+					assertThat( destructured.getSubclass() ).isEqualTo( entry.getSubclass() );
+					assertThat( destructured.getVersion() ).isEqualTo( entry.getVersion() );
+					assertThat( Arrays.deepEquals( destructured.getDisassembledState(), entry.getDisassembledState() ) ).isTrue();
+
+					// an entry written for a different version of the format is ignored
+					bytes[0]++;
+					assertThat( structure.destructure( bytes, scope.getSessionFactory() ) ).isNull();
+				}
+		);
+	}
+
+	@Test
+	public void testUnreadableEntriesAreIgnored(SessionFactoryScope scope) {
+		final EntityPersister persister = scope.getSessionFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( Book.class );
+		final CacheEntryStructure structure = persister.getCacheEntryStructure();
+
+		scope.inTransaction(
+				session -> {
+					final Publisher publisher = new Publisher( 1L, "Manning" );
+					session.persist( publisher );
+					final Book book = createBook( publisher );
+					session.persist( book );
+					session.flush();
+
+					final CacheEntry entry = persister.buildCacheEntry(
+							book,
+							persister.getValues( book ),
+							book.version,
+							session
+					);
+
+					// an unknown tag, in place of the tag of the version, which follows the format
+					// version, the entity name, and the 8 bytes of the fingerprint
+					final byte[] unknownTag = (byte[]) structure.structure( entry );
+					unknownTag[2 + unknownTag[1] + 8] = 127;
+					assertThat( structure.destructure( unknownTag, scope.getSessionFactory() ) ).isNull();
+
+					// a truncated entry
+					final byte[] truncated = (byte[]) structure.structure( entry );
+					assertThat( structure.destructure( Arrays.copyOf( truncated, truncated.length - 4 ), scope.getSessionFactory() ) )
+							.isNull();
+				}
+		);
+	}
+
+	private static Book createBook(Publisher publisher) {
+		final Book book = new Book();
+		book.id = 1;
+		book.title = "Hibernate in Action";
+		book.pages = 408;
+		book.price = new BigDecimal( "-49.99" );
+		book.rating = 4.5;
+		book.available = true;
+		book.isbn = ISBN;
+		book.published = LocalDate.of( 2004, 8, 1 );
+		book.created = CREATED;
+		book.updated = UPDATED;
+		book.format = Format.PAPERBACK;
+		book.cover = new byte[] { 1, 2, 3 };
+		book.dimensions = new Dimensions( 18.5f, 23.5f );
+		book.publisher = publisher;
+		return book;
+	}
+
+	public enum Format {
+		HARDCOVER,
+		PAPERBACK
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private float width;
+		private float height;
+
+		public Dimensions() {
+		}
+
+		public Dimensions(float width, float height) {
+			this.width = width;
+			this.height = height;
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+		private String subtitle;
+		private int pages;
+		private BigDecimal price;
+		private Double rating;
+		private boolean available;
+		private UUID isbn;
+		private LocalDate published;
+		private LocalDateTime created;
+		private Instant updated;
+		@Enumerated(EnumType.STRING)
+		private Format format;
+		private byte[] cover;
+		@Embedded
+		private Dimensions dimensions;
+		@ManyToOne
+		private Publisher publisher;
+		@Version
+		private int version;
+	}
+
+	@Entity(name = "Publisher")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Publisher {
+		@Id
+		private Long id;
+		private String name;
+
+		public Publisher() {
+		}
+
+		public Publisher(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link org.hibernate.Cache#preloadEntityData(String, String)}
+ * and {@value AvailableSettings#CACHE_PRELOAD_ENTITIES}
+ */
+@DomainModel(annotatedClasses = CachePreloadTest.Book.class)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true")
+		}
+)
+@SessionFactory
+public class CachePreloadTest {
+
+	private static final int COUNT = 600;
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < COUNT; i++ ) {
+						session.persist( new Book( i, "edition " + i ) );
+					}
+				}
+		);
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Book" ).executeUpdate() );
+	}
+
+	@Test
+	public void testPreloadEntityData(SessionFactoryScope scope) {
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		final Statistics statistics = sessionFactory.getStatistics();
+		statistics.clear();
+
+		assertThat( sessionFactory.getCache().preloadEntityData( Book.class ) ).isEqualTo( COUNT );
+		assertThat( statistics.getSecondLevelCachePutCount() ).isEqualTo( COUNT );
+
+		statistics.clear();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < COUNT; i++ ) {
+						assertThat( session.find( Book.class, i ).title ).isEqualTo( "edition " + i );
+					}
+				}
+		);
+		assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( COUNT );
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testPreloadEntityDataWithQuery(SessionFactoryScope scope) {
+		final SessionFactoryImplementor sessionFactory = scope.getSessionFactory();
+		final long count = sessionFactory.getCache()
+				.preloadEntityData( Book.class.getName(), "select b.id from Book b where b.id < 10" );
+		assertThat( count ).isEqualTo( 10 );
+		assertThat( sessionFactory.getCache().containsEntity( Book.class, 9 ) ).isTrue();
+		assertThat( sessionFactory.getCache().containsEntity( Book.class, 10 ) ).isFalse();
+	}
+
+	@Test
+	public void testPreloadAtStartup(@TempDir Path directory) {
+		final Path hotKeysFile = directory.resolve( "hot-keys" );
+
+		// every instance is preloaded, since no loads were recorded
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( hotKeysFile ) ) {
+			assertThat( sessionFactory.getStatistics().getSecondLevelCachePutCount() ).isEqualTo( COUNT );
+			for ( int i = 0; i < 5; i++ ) {
+				sessionFactory.inTransaction( session -> session.find( Book.class, 1 ) );
+				sessionFactory.inTransaction( session -> session.find( Book.class, 2 ) );
+			}
+			assertThat( sessionFactory.getStatistics().getSecondLevelCacheHitCount() ).isEqualTo( 10 );
+		}
+		assertThat( Files.exists( hotKeysFile ) ).isTrue();
+
+		// only the instances loaded by the previous SessionFactory are preloaded
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( hotKeysFile ) ) {
+			assertThat( sessionFactory.getStatistics().getSecondLevelCachePutCount() ).isEqualTo( 2 );
+			assertThat( sessionFactory.getCache().containsEntity( Book.class, 1 ) ).isTrue();
+			assertThat( sessionFactory.getCache().containsEntity( Book.class, 2 ) ).isTrue();
+			assertThat( sessionFactory.getCache().containsEntity( Book.class, 3 ) ).isFalse();
+		}
+	}
+
+	@Test
+	public void testUnreadableHotKeysFile(@TempDir Path directory) throws IOException {
+		final Path hotKeysFile = directory.resolve( "hot-keys" );
+		try ( DataOutputStream output = new DataOutputStream( Files.newOutputStream( hotKeysFile ) ) ) {
+			output.writeInt( 0x48435048 );
+			output.writeInt( 2 );
+			output.writeInt( 1 );
+			output.writeUTF( Book.class.getName() );
+			output.writeInt( 1 );
+			// not the tag of any supported identifier type
+			output.writeByte( 0x73 );
+		}
+
+		// the file is ignored, and every instance is preloaded
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( hotKeysFile ) ) {
+			assertThat( sessionFactory.getStatistics().getSecondLevelCachePutCount() ).isEqualTo( COUNT );
+		}
+	}
+
+	private static SessionFactoryImplementor buildSessionFactory(Path hotKeysFile) {
+		final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.USE_SECOND_LEVEL_CACHE, true )
+				.applySetting( AvailableSettings.GENERATE_STATISTICS, true )
+				.applySetting( AvailableSettings.CACHE_PRELOAD_ENTITIES, Book.class.getName() )
+				.applySetting( AvailableSettings.CACHE_PRELOAD_HOT_KEYS_FILE, hotKeysFile.toString() )
+				.build();
+		try {
+			return (SessionFactoryImplementor) new MetadataSources( registry )
+					.addAnnotatedClass( Book.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.LockModeType;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@value AvailableSettings#ENTITY_LOAD_COALESCING_TIMEOUT}
+ */
+@DomainModel(annotatedClasses = EntityLoadCoalescingTest.Book.class)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.ENTITY_LOAD_COALESCING_TIMEOUT, value = "10000"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true"),
+				@Setting(name = AvailableSettings.STATEMENT_INSPECTOR, value = "org.hibernate.orm.test.cache.EntityLoadCoalescingTest$BlockingStatementInspector")
+		}
+)
+@SessionFactory
+public class EntityLoadCoalescingTest {
+
+	private static final AtomicInteger bookQueries = new AtomicInteger();
+	private static volatile Thread blockedThread;
+	private static volatile CountDownLatch blocked;
+	private static volatile CountDownLatch released;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		executor = Executors.newFixedThreadPool( 2 );
+		scope.inTransaction( session -> session.persist( new Book( 1, "Hibernate in Action" ) ) );
+		scope.getSessionFactory().getCache().evictAllRegions();
+		bookQueries.set( 0 );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		if ( released != null ) {
+			released.countDown();
+		}
+		executor.shutdownNow();
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Book" ).executeUpdate() );
+	}
+
+	@Test
+	public void testCoalescedLoad(SessionFactoryScope scope) throws Exception {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+
+		final Future<String> load = findBookBlocked( scope );
+		final Future<String> coalesced = executor.submit( () -> findBook( scope ) );
+		// the second session waits for the entity being loaded
+		assertThatThrownBy( () -> coalesced.get( 500, TimeUnit.MILLISECONDS ) ).isInstanceOf( TimeoutException.class );
+
+		released.countDown();
+		assertThat( load.get( 10, TimeUnit.SECONDS ) ).isEqualTo( "Hibernate in Action" );
+		assertThat( coalesced.get( 10, TimeUnit.SECONDS ) ).isEqualTo( "Hibernate in Action" );
+		assertThat( bookQueries.get() ).isEqualTo( 1 );
+		assertThat( statistics.getSecondLevelCachePutCount() ).isEqualTo( 1 );
+		assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testPessimisticLoadNotCoalesced(SessionFactoryScope scope) throws Exception {
+		final Future<String> load = findBookBlocked( scope );
+		final String title = scope.fromTransaction(
+				session -> session.find( Book.class, 1, LockModeType.PESSIMISTIC_WRITE ).title
+		);
+		assertThat( title ).isEqualTo( "Hibernate in Action" );
+
+		released.countDown();
+		assertThat( load.get( 10, TimeUnit.SECONDS ) ).isEqualTo( "Hibernate in Action" );
+		assertThat( bookQueries.get() ).isEqualTo( 2 );
+	}
+
+	/**
+	 * Find the book in a thread which blocks just before querying the database,
+	 * until {@link #released}.
+	 */
+	private Future<String> findBookBlocked(SessionFactoryScope scope) throws InterruptedException {
+		blocked = new CountDownLatch( 1 );
+		released = new CountDownLatch( 1 );
+		final Future<String> future = executor.submit(
+				() -> {
+					blockedThread = Thread.currentThread();
+					try {
+						return findBook( scope );
+					}
+					finally {
+						blockedThread = null;
+					}
+				}
+		);
+		assertThat( blocked.await( 10, TimeUnit.SECONDS ) ).isTrue();
+		return future;
+	}
+
+	private static String findBook(SessionFactoryScope scope) {
+		return scope.fromTransaction( session -> session.find( Book.class, 1 ).title );
+	}
+
+	public static class BlockingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			if ( sql.startsWith( "select" ) && sql.contains( " from Book " ) ) {
+				bookQueries.incrementAndGet();
+				if ( Thread.currentThread() == blockedThread ) {
+					blocked.countDown();
+					try {
+						released.await( 10, TimeUnit.SECONDS );
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+			return sql;
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+}
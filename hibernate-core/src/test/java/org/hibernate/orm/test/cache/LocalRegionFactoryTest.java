@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.LocalRegionFactory;
+import org.hibernate.cache.internal.LocalStorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LocalRegionFactory}
+ */
+@DomainModel(
+		annotatedClasses = {
+				LocalRegionFactoryTest.Book.class,
+				LocalRegionFactoryTest.Author.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.CACHE_REGION_FACTORY, value = LocalRegionFactory.SHORT_NAME),
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true"),
+				@Setting(name = AvailableSettings.CACHE_LOCAL_MAX_SIZE + ".authors", value = "4000")
+		}
+)
+@SessionFactory
+public class LocalRegionFactoryTest {
+
+	private static final int COUNT = 100;
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Book" ).executeUpdate();
+					session.createMutationQuery( "delete from Author" ).executeUpdate();
+				}
+		);
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testCaching(SessionFactoryScope scope) {
+		assertThat( scope.getSessionFactory().getCache().getRegionFactory() ).isInstanceOf( LocalRegionFactory.class );
+
+		scope.inTransaction( session -> session.persist( new Book( 1, "Hibernate in Action" ) ) );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inTransaction(
+				session -> assertThat( session.find( Book.class, 1 ).title ).isEqualTo( "Hibernate in Action" )
+		);
+		final CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics( "books" );
+		assertThat( regionStatistics.getHitCount() ).isEqualTo( 1 );
+		assertThat( regionStatistics.getElementCountInMemory() ).isEqualTo( 1 );
+		assertThat( regionStatistics.getSizeInMemory() ).isPositive();
+
+		scope.inTransaction( session -> session.find( Book.class, 1 ).title = "Java Persistence with Hibernate" );
+		scope.inTransaction(
+				session -> assertThat( session.find( Book.class, 1 ).title ).isEqualTo( "Java Persistence with Hibernate" )
+		);
+		assertThat( regionStatistics.getHitCount() ).isEqualTo( 3 );
+
+		scope.getSessionFactory().getCache().evictEntityData( Book.class );
+		assertThat( regionStatistics.getElementCountInMemory() ).isEqualTo( 0 );
+		assertThat( regionStatistics.getSizeInMemory() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testEviction(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		final CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics( "authors" );
+
+		// the region is too small for all the authors, but the first one,
+		// which is read in between inserts, keeps being cached
+		for ( int i = 0; i < COUNT; i += 10 ) {
+			final int first = i;
+			scope.inTransaction(
+					session -> {
+						for ( int j = first; j < first + 10; j++ ) {
+							session.persist( new Author( j, "author " + j ) );
+						}
+					}
+			);
+			scope.inTransaction( session -> session.find( Author.class, 0 ) );
+			assertThat( regionStatistics.getHitCount() ).isEqualTo( i / 10 + 1 );
+		}
+
+		assertThat( regionStatistics.getElementCountInMemory() ).isPositive().isLessThan( COUNT );
+		assertThat( regionStatistics.getSizeInMemory() ).isLessThanOrEqualTo( 4000 );
+		assertThat( scope.getSessionFactory().getCache().containsEntity( Author.class, 0 ) ).isTrue();
+		assertThat( scope.getSessionFactory().getCache().containsEntity( Author.class, 1 ) ).isFalse();
+	}
+
+	@Test
+	public void testExpiration() throws InterruptedException {
+		final LocalStorageAccess storageAccess = new LocalStorageAccess( "test", 0, 1000 );
+		storageAccess.putIntoCache( "key", "value", null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "value" );
+		assertThat( storageAccess.contains( "key" ) ).isTrue();
+
+		Thread.sleep( 1100 );
+		assertThat( storageAccess.contains( "key" ) ).isFalse();
+		assertThat( storageAccess.getFromCache( "key", null ) ).isNull();
+		assertThat( storageAccess.getElementCountInMemory() ).isEqualTo( 0 );
+		assertThat( storageAccess.getSizeInMemory() ).isEqualTo( 0 );
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Author")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
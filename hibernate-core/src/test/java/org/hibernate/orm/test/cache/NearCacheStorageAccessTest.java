@@ -0,0 +1,174 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.LocalRegionFactory;
+import org.hibernate.cache.internal.LocalStorageAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cache.spi.support.NearCacheStorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NearCacheStorageAccess}
+ */
+@DomainModel(
+		annotatedClasses = {
+				NearCacheStorageAccessTest.Book.class,
+				NearCacheStorageAccessTest.Author.class,
+				NearCacheStorageAccessTest.Publisher.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.CACHE_REGION_FACTORY, value = LocalRegionFactory.SHORT_NAME),
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.CACHE_NEAR_CACHE_MAX_SIZE, value = "1000")
+		}
+)
+@SessionFactory
+public class NearCacheStorageAccessTest {
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Book" ).executeUpdate() );
+	}
+
+	@Test
+	public void testReadsAreServedLocally() {
+		final CountingStorageAccess remote = new CountingStorageAccess();
+		final NearCacheStorageAccess storageAccess = new NearCacheStorageAccess( remote, "test", 10_000, 10_000 );
+
+		remote.putIntoCache( "key", "value", null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "value" );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "value" );
+		assertThat( remote.reads ).isEqualTo( 1 );
+
+		storageAccess.putIntoCache( "key", "other value", null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "other value" );
+		assertThat( remote.reads ).isEqualTo( 1 );
+
+		storageAccess.evictData( "key" );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isNull();
+		assertThat( remote.reads ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testSoftLocksAreNotKeptLocally() {
+		final CountingStorageAccess remote = new CountingStorageAccess();
+		final NearCacheStorageAccess storageAccess = new NearCacheStorageAccess( remote, "test", 10_000, 10_000 );
+
+		storageAccess.putIntoCache( "key", "value", null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "value" );
+
+		final SoftLock lock = new SoftLock() {
+		};
+		storageAccess.putIntoCache( "key", lock, null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isSameAs( lock );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isSameAs( lock );
+		assertThat( remote.reads ).isEqualTo( 2 );
+
+		storageAccess.putIntoCache( "key", "new value", null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "new value" );
+		assertThat( remote.reads ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testReadOnlyRegionsAreKeptLocally(SessionFactoryScope scope) {
+		final DomainDataRegionTemplate region = (DomainDataRegionTemplate) scope.getSessionFactory()
+				.getCache()
+				.getRegion( "books" );
+		assertThat( region.getCacheStorageAccess() ).isInstanceOf( NearCacheStorageAccess.class );
+
+		scope.inTransaction( session -> session.persist( new Book( 1, "Hibernate in Action" ) ) );
+		scope.inTransaction(
+				session -> assertThat( session.find( Book.class, 1 ).title ).isEqualTo( "Hibernate in Action" )
+		);
+		assertThat( scope.getSessionFactory().getCache().containsEntity( Book.class, 1 ) ).isTrue();
+
+		scope.inTransaction( session -> session.remove( session.find( Book.class, 1 ) ) );
+		assertThat( scope.getSessionFactory().getCache().containsEntity( Book.class, 1 ) ).isFalse();
+		scope.inTransaction( session -> assertThat( session.find( Book.class, 1 ) ).isNull() );
+	}
+
+	@Test
+	public void testUpdatableRegionsAreNotKeptLocally(SessionFactoryScope scope) {
+		// other processes may update the data of these regions, which the local copy would not see
+		for ( String regionName : new String[] { "authors", "publishers" } ) {
+			final DomainDataRegionTemplate region = (DomainDataRegionTemplate) scope.getSessionFactory()
+					.getCache()
+					.getRegion( regionName );
+			assertThat( region.getCacheStorageAccess() ).isNotInstanceOf( NearCacheStorageAccess.class );
+		}
+	}
+
+	private static class CountingStorageAccess extends LocalStorageAccess {
+		private int reads;
+
+		private CountingStorageAccess() {
+			super( "remote", 0, 0 );
+		}
+
+		@Override
+		public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+			reads++;
+			return super.getFromCache( key, session );
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "books")
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Author")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+	}
+
+	@Entity(name = "Publisher")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "publishers")
+	public static class Publisher {
+		@Id
+		private Integer id;
+		private String name;
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.List;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.LocalRegionFactory;
+import org.hibernate.cache.internal.OffHeapStorageAccess;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link OffHeapStorageAccess}
+ */
+@DomainModel(
+		annotatedClasses = {
+				OffHeapStorageAccessTest.Country.class,
+				OffHeapStorageAccessTest.Book.class,
+				OffHeapStorageAccessTest.Author.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.CACHE_REGION_FACTORY, value = LocalRegionFactory.SHORT_NAME),
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_BINARY_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true"),
+				@Setting(name = AvailableSettings.CACHE_LOCAL_OFF_HEAP, value = "true")
+		}
+)
+@SessionFactory
+public class OffHeapStorageAccessTest {
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Country" ).executeUpdate();
+					session.createMutationQuery( "delete from Book" ).executeUpdate();
+					session.createMutationQuery( "delete from Author" ).executeUpdate();
+				}
+		);
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testOnlyRarelyWrittenRegionsAreStoredOffHeap(SessionFactoryScope scope) {
+		assertThat( storageAccess( scope, "countries" ) ).isInstanceOf( OffHeapStorageAccess.class );
+		assertThat( storageAccess( scope, "books" ) ).isInstanceOf( OffHeapStorageAccess.class );
+		// unless enabled for the region itself
+		assertThat( storageAccess( scope, "authors" ) ).isNotInstanceOf( OffHeapStorageAccess.class );
+	}
+
+	private static Object storageAccess(SessionFactoryScope scope, String regionName) {
+		return ( (DomainDataRegionTemplate) scope.getSessionFactory().getCache().getRegion( regionName ) )
+				.getCacheStorageAccess();
+	}
+
+	@Test
+	public void testReadOnlyRegion(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 100; i++ ) {
+						session.persist( new Country( i, "country " + i ) );
+					}
+				}
+		);
+		scope.getSessionFactory().getCache().evictEntityData( Country.class );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		final CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics( "countries" );
+		scope.inTransaction( session -> session.createSelectionQuery( "from Country", Country.class ).getResultList() );
+		assertThat( regionStatistics.getPutCount() ).isEqualTo( 100 );
+		assertThat( regionStatistics.getElementCountInMemory() ).isEqualTo( 100 );
+		assertThat( regionStatistics.getSizeInMemory() ).isPositive();
+
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 100; i++ ) {
+						assertThat( session.find( Country.class, i ).name ).isEqualTo( "country " + i );
+					}
+				}
+		);
+		assertThat( regionStatistics.getHitCount() ).isEqualTo( 100 );
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testNonStrictReadWriteRegion(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.persist( new Book( 1, "Hibernate in Action" ) ) );
+		scope.inTransaction( session -> session.find( Book.class, 1 ) );
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		final CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics( "books" );
+		scope.inTransaction( session -> session.find( Book.class, 1 ).title = "Java Persistence with Hibernate" );
+		scope.inTransaction( session -> session.find( Book.class, 1 ) );
+		scope.inTransaction(
+				session -> assertThat( session.find( Book.class, 1 ).title ).isEqualTo( "Java Persistence with Hibernate" )
+		);
+		assertThat( regionStatistics.getHitCount() ).isEqualTo( 2 );
+
+		scope.getSessionFactory().getCache().evictEntityData( Book.class );
+		assertThat( regionStatistics.getElementCountInMemory() ).isEqualTo( 0 );
+		assertThat( regionStatistics.getSizeInMemory() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testEviction() {
+		final OffHeapStorageAccess storageAccess = new OffHeapStorageAccess( "test", 1024 * 1024, 0 );
+		final byte[] value = new byte[1000];
+		final int count = 3000;
+		for ( int i = 0; i < count; i++ ) {
+			value[0] = (byte) i;
+			storageAccess.putIntoCache( i, value, null );
+		}
+
+		// the oldest entries were evicted
+		assertThat( storageAccess.getElementCountInMemory() ).isPositive().isLessThan( count );
+		assertThat( storageAccess.getSizeInMemory() ).isLessThanOrEqualTo( storageAccess.getMaxSize() );
+		assertThat( storageAccess.contains( 0 ) ).isFalse();
+		assertThat( storageAccess.getFromCache( 0, null ) ).isNull();
+		assertThat( storageAccess.contains( count - 1 ) ).isTrue();
+		final byte[] last = (byte[]) storageAccess.getFromCache( count - 1, null );
+		assertThat( last ).hasSize( 1000 );
+		assertThat( last[0] ).isEqualTo( (byte) ( count - 1 ) );
+	}
+
+	@Test
+	public void testOverwrittenEntries() {
+		final OffHeapStorageAccess storageAccess = new OffHeapStorageAccess( "test", 1024 * 1024, 0 );
+		final byte[] value = new byte[1000];
+		for ( int i = 0; i < 3000; i++ ) {
+			value[0] = (byte) i;
+			storageAccess.putIntoCache( i % 2, value, null );
+		}
+
+		// reusing the segments holding previous values does not evict the current ones
+		assertThat( storageAccess.getElementCountInMemory() ).isEqualTo( 2 );
+		assertThat( ( (byte[]) storageAccess.getFromCache( 0, null ) )[0] ).isEqualTo( (byte) 2998 );
+		assertThat( ( (byte[]) storageAccess.getFromCache( 1, null ) )[0] ).isEqualTo( (byte) 2999 );
+	}
+
+	@Test
+	public void testUnboundedRegion() {
+		assertThatThrownBy( () -> new OffHeapStorageAccess( "test", 0, 0 ) )
+				.isInstanceOf( IllegalArgumentException.class );
+	}
+
+	@Test
+	public void testSerializedValues() throws InterruptedException {
+		final OffHeapStorageAccess storageAccess = new OffHeapStorageAccess( "test", 1024 * 1024, 1000 );
+		storageAccess.putIntoCache( "key", List.of( "a", "b" ), null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( List.of( "a", "b" ) );
+
+		storageAccess.putIntoCache( "key", "value", null );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isEqualTo( "value" );
+		assertThat( storageAccess.getElementCountInMemory() ).isEqualTo( 1 );
+
+		Thread.sleep( 1100 );
+		assertThat( storageAccess.getFromCache( "key", null ) ).isNull();
+		assertThat( storageAccess.getElementCountInMemory() ).isEqualTo( 0 );
+		assertThat( storageAccess.getSizeInMemory() ).isEqualTo( 0 );
+	}
+
+	@Entity(name = "Country")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "countries")
+	public static class Country {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Country() {
+		}
+
+		public Country(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "books")
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	@Entity(name = "Author")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+
+import org.hibernate.CacheMode;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.internal.LocalRegionFactory;
+import org.hibernate.cache.internal.LocalStorageAccess;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that entities are retrieved from the second-level cache in bulk
+ */
+@DomainModel(
+		annotatedClasses = {
+				SecondLevelCacheGetAllTest.Author.class,
+				SecondLevelCacheGetAllTest.Book.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.CACHE_REGION_FACTORY, value = "org.hibernate.orm.test.cache.SecondLevelCacheGetAllTest$CountingRegionFactory"),
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true")
+		}
+)
+@SessionFactory
+public class SecondLevelCacheGetAllTest {
+
+	private static final AtomicInteger bookReads = new AtomicInteger();
+	private static final AtomicInteger bookBulkReads = new AtomicInteger();
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					final Author author = new Author( 1, "Christian Bauer" );
+					session.persist( author );
+					for ( int i = 1; i <= 5; i++ ) {
+						final Book book = new Book( i, "edition " + i, author );
+						author.books.add( book );
+						session.persist( book );
+					}
+				}
+		);
+		// cache the collection
+		scope.inTransaction( session -> assertThat( session.find( Author.class, 1 ).books ).hasSize( 5 ) );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Book" ).executeUpdate();
+					session.createMutationQuery( "delete from Author" ).executeUpdate();
+				}
+		);
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testMultiLoad(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		bookReads.set( 0 );
+		bookBulkReads.set( 0 );
+
+		scope.inTransaction(
+				session -> {
+					final List<Book> books = session.byMultipleIds( Book.class )
+							.with( CacheMode.NORMAL )
+							.enableSessionCheck( true )
+							.multiLoad( 1, 2, 3, 4, 5, 6 );
+					assertThat( books ).hasSize( 6 );
+					assertThat( books.get( 4 ).title ).isEqualTo( "edition 5" );
+					assertThat( books.get( 5 ) ).isNull();
+				}
+		);
+
+		assertThat( bookBulkReads.get() ).isEqualTo( 1 );
+		assertThat( bookReads.get() ).isEqualTo( 0 );
+		assertThat( statistics.getDomainDataRegionStatistics( "books" ).getHitCount() ).isEqualTo( 5 );
+		assertThat( statistics.getDomainDataRegionStatistics( "books" ).getMissCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testCachedCollection(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		bookReads.set( 0 );
+		bookBulkReads.set( 0 );
+
+		scope.inTransaction(
+				session -> {
+					final Author author = session.find( Author.class, 1 );
+					assertThat( author.books ).hasSize( 5 );
+				}
+		);
+
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0 );
+		assertThat( bookBulkReads.get() ).isEqualTo( 1 );
+		assertThat( bookReads.get() ).isEqualTo( 0 );
+		assertThat( statistics.getDomainDataRegionStatistics( "books" ).getHitCount() ).isEqualTo( 5 );
+	}
+
+	public static class CountingRegionFactory extends LocalRegionFactory {
+		@Override
+		protected LocalStorageAccess createStorageAccess(String regionName) {
+			if ( !"books".equals( regionName ) ) {
+				return super.createStorageAccess( regionName );
+			}
+			return new LocalStorageAccess( regionName, 0, 0 ) {
+				@Override
+				public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+					bookReads.incrementAndGet();
+					return super.getFromCache( key, session );
+				}
+
+				@Override
+				public Map<Object, Object> getAll(Collection<?> keys, SharedSessionContractImplementor session) {
+					bookBulkReads.incrementAndGet();
+					final Map<Object, Object> items = new HashMap<>();
+					for ( Object key : keys ) {
+						final Object item = super.getFromCache( key, session );
+						if ( item != null ) {
+							items.put( key, item );
+						}
+					}
+					return items;
+				}
+			};
+		}
+	}
+
+	@Entity(name = "Author")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+	public static class Author {
+		@Id
+		private Integer id;
+		private String name;
+
+		@OneToMany(mappedBy = "author", fetch = FetchType.EAGER)
+		@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author_books")
+		private List<Book> books = new ArrayList<>();
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, Author author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+}
@@ -0,0 +1,277 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.engine;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.InheritanceType;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the managed entities of a persistence context are found by
+ * {@link EntityKey} whatever the type of the identifier
+ */
+@DomainModel(
+		annotatedClasses = {
+				PersistenceContextEntitiesByKeyTest.LongEntity.class,
+				PersistenceContextEntitiesByKeyTest.LongSubEntity.class,
+				PersistenceContextEntitiesByKeyTest.IntEntity.class,
+				PersistenceContextEntitiesByKeyTest.UuidEntity.class,
+				PersistenceContextEntitiesByKeyTest.StringEntity.class
+		}
+)
+@SessionFactory
+public class PersistenceContextEntitiesByKeyTest {
+
+	private static final int COUNT = 200;
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from LongEntity" ).executeUpdate();
+					session.createMutationQuery( "delete from IntEntity" ).executeUpdate();
+					session.createMutationQuery( "delete from UuidEntity" ).executeUpdate();
+					session.createMutationQuery( "delete from StringEntity" ).executeUpdate();
+				}
+		);
+	}
+
+	@Test
+	public void testEntitiesByKey(SessionFactoryScope scope) {
+		final UUID[] uuids = new UUID[COUNT];
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < COUNT; i++ ) {
+						uuids[i] = UUID.randomUUID();
+						session.persist( i % 2 == 0 ? new LongEntity( i ) : new LongSubEntity( i ) );
+						session.persist( new IntEntity( i ) );
+						session.persist( new UuidEntity( uuids[i] ) );
+						session.persist( new StringEntity( "id" + i ) );
+					}
+				}
+		);
+
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < COUNT; i++ ) {
+						session.get( LongEntity.class, (long) i );
+						session.get( IntEntity.class, i );
+						session.get( UuidEntity.class, uuids[i] );
+						session.get( StringEntity.class, "id" + i );
+					}
+
+					final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+					final Map<EntityKey, Object> entitiesByKey = persistenceContext.getEntitiesByKey();
+					assertThat( entitiesByKey ).hasSize( COUNT * 4 );
+
+					final Set<String> entityNames = new HashSet<>();
+					for ( Map.Entry<EntityKey, Object> entry : entitiesByKey.entrySet() ) {
+						final EntityKey key = entry.getKey();
+						entityNames.add( key.getEntityName() );
+						assertThat( persistenceContext.getEntity( key ) ).isSameAs( entry.getValue() );
+						assertThat( session.getIdentifier( entry.getValue() ) ).isEqualTo( key.getIdentifier() );
+						assertThat( key.getEntityName() ).isEqualTo( session.getEntityName( entry.getValue() ) );
+					}
+					assertThat( entityNames ).containsExactlyInAnyOrder(
+							LongEntity.class.getName(),
+							LongSubEntity.class.getName(),
+							IntEntity.class.getName(),
+							UuidEntity.class.getName(),
+							StringEntity.class.getName()
+					);
+					assertThat( session.getStatistics().getEntityKeys() ).hasSize( COUNT * 4 );
+
+					for ( int i = 0; i < COUNT; i += 2 ) {
+						session.detach( session.get( LongEntity.class, (long) i ) );
+						session.detach( session.get( UuidEntity.class, uuids[i] ) );
+					}
+					assertThat( entitiesByKey ).hasSize( COUNT * 3 );
+					for ( int i = 0; i < COUNT; i++ ) {
+						assertThat( persistenceContext.containsEntity( key( session, LongEntity.class, (long) i ) ) )
+								.isEqualTo( i % 2 == 1 );
+						assertThat( persistenceContext.containsEntity( key( session, UuidEntity.class, uuids[i] ) ) )
+								.isEqualTo( i % 2 == 1 );
+						assertThat( persistenceContext.containsEntity( key( session, IntEntity.class, i ) ) ).isTrue();
+					}
+					// an identifier of another type is never equal
+					assertThat( persistenceContext.getEntity( key( session, IntEntity.class, 1L ) ) ).isNull();
+				}
+		);
+	}
+
+	@Test
+	public void testManagedEntitiesIterator(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < COUNT; i++ ) {
+						session.persist( new LongEntity( i ) );
+						session.persist( new StringEntity( "id" + i ) );
+					}
+				}
+		);
+
+		scope.inTransaction(
+				session -> {
+					final LongEntity[] entities = new LongEntity[COUNT];
+					for ( int i = 0; i < COUNT; i++ ) {
+						entities[i] = session.get( LongEntity.class, (long) i );
+						session.get( StringEntity.class, "id" + i );
+					}
+
+					final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+					final Set<Object> managed = new HashSet<>();
+					persistenceContext.managedEntitiesIterator().forEachRemaining( managed::add );
+					assertThat( managed ).hasSize( COUNT * 2 ).contains( (Object[]) entities );
+
+					// the iterators are fail-fast
+					final Iterator<Object> iterator = persistenceContext.managedEntitiesIterator();
+					iterator.next();
+					session.detach( entities[0] );
+					assertThatThrownBy( iterator::next ).isInstanceOf( ConcurrentModificationException.class );
+
+					// the table shrinks as the entities are evicted, and the remaining ones are still found
+					for ( int i = 1; i < COUNT - 5; i++ ) {
+						session.detach( entities[i] );
+					}
+					assertThat( persistenceContext.getEntitiesByKey() ).hasSize( COUNT + 5 );
+					for ( int i = 0; i < COUNT; i++ ) {
+						assertThat( persistenceContext.containsEntity( key( session, LongEntity.class, (long) i ) ) )
+								.isEqualTo( i >= COUNT - 5 );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testReplaceEntityWhileIterating(SessionFactoryScope scope) {
+		final int count = 40;
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < count; i++ ) {
+						session.persist( new LongEntity( i ) );
+					}
+				}
+		);
+
+		// whatever the number of entities, and so whether the table is at its resize threshold
+		for ( int n = 1; n <= count; n++ ) {
+			final int numberOfEntities = n;
+			scope.inTransaction(
+					session -> {
+						final LongEntity[] entities = new LongEntity[numberOfEntities];
+						for ( int i = 0; i < numberOfEntities; i++ ) {
+							entities[i] = session.get( LongEntity.class, (long) i );
+						}
+
+						final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+						final List<Object> iterated = new ArrayList<>();
+						final Iterator<Object> iterator = persistenceContext.managedEntitiesIterator();
+						for ( int i = 0; i <= numberOfEntities / 2; i++ ) {
+							iterated.add( iterator.next() );
+						}
+						// replacing the entity of a key is not a structural modification
+						persistenceContext.addEntity( key( session, LongEntity.class, 0L ), entities[0] );
+						iterator.forEachRemaining( iterated::add );
+						assertThat( iterated ).containsExactlyInAnyOrder( (Object[]) entities );
+					}
+			);
+		}
+	}
+
+	private static EntityKey key(SessionImplementor session, Class<?> entityClass, Object id) {
+		final EntityPersister persister = session.getFactory()
+				.getMappingMetamodel()
+				.getEntityDescriptor( entityClass );
+		return session.generateEntityKey( id, persister );
+	}
+
+	@Entity(name = "LongEntity")
+	@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+	public static class LongEntity {
+		@Id
+		private long id;
+
+		public LongEntity() {
+		}
+
+		public LongEntity(long id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "LongSubEntity")
+	public static class LongSubEntity extends LongEntity {
+		public LongSubEntity() {
+		}
+
+		public LongSubEntity(long id) {
+			super( id );
+		}
+	}
+
+	@Entity(name = "IntEntity")
+	public static class IntEntity {
+		@Id
+		private Integer id;
+
+		public IntEntity() {
+		}
+
+		public IntEntity(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "UuidEntity")
+	public static class UuidEntity {
+		@Id
+		private UUID id;
+
+		public UuidEntity() {
+		}
+
+		public UuidEntity(UUID id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "StringEntity")
+	public static class StringEntity {
+		@Id
+		private String id;
+
+		public StringEntity() {
+		}
+
+		public StringEntity(String id) {
+			this.id = id;
+		}
+	}
+}
@@ -128,6 +128,31 @@ public class OptimizerUnitTest {
 		assertEquals( 21, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testBasicPooledConcurrentOptimizerUsage() {
+		Long next;
+		SourceMock sequence = new SourceMock( 1, 10 );
+		Optimizer optimizer = buildPooledConcurrentOptimizer( -1, 10 );
+		for ( int i = 1; i <= 8; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // twice to initialize state
+		assertEquals( 11, sequence.getCurrentValue() );
+		// 75% of the pool was consumed, so the next pool is fetched ahead of time
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 9, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+		// force a "clock over", without calling the sequence
+		for ( int i = 10; i <= 12; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
 	@Test
 	public void testSubsequentPooledOptimizerUsage() {
 		// test the pooled optimizer in situation where the sequence is already beyond its initial value on init.
@@ -324,6 +349,10 @@ public class OptimizerUnitTest {
 		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LOTL, initial, increment );
 	}
 
+	private static Optimizer buildPooledConcurrentOptimizer(long initial, int increment) {
+		return buildOptimizer( StandardOptimizerDescriptor.POOLED_CONCURRENT, initial, increment );
+	}
+
 	private static Optimizer buildOptimizer(
 			StandardOptimizerDescriptor descriptor,
 			long initial,
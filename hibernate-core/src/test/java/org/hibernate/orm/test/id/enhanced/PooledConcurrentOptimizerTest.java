@@ -0,0 +1,138 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.id.enhanced;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledConcurrentOptimizer;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PooledConcurrentOptimizer} fetching sequence values in the background
+ */
+@DomainModel(annotatedClasses = PooledConcurrentOptimizerTest.Book.class)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.PREFERRED_POOLED_OPTIMIZER, value = "pooled-concurrent"),
+				@Setting(name = AvailableSettings.STATEMENT_INSPECTOR, value = "org.hibernate.orm.test.id.enhanced.PooledConcurrentOptimizerTest$SequenceStatementInspector")
+		}
+)
+@SessionFactory
+public class PooledConcurrentOptimizerTest {
+
+	private static final AtomicInteger sessionSequenceCalls = new AtomicInteger();
+
+	@Test
+	public void testBackgroundPrefetch(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					for ( int i = 1; i <= 20; i++ ) {
+						final Book book = new Book();
+						session.persist( book );
+						assertThat( book.id ).isEqualTo( i );
+					}
+				}
+		);
+		// after the first call, the sequence was only called in the background,
+		// from stateless sessions, to which the inspector does not apply
+		assertThat( sessionSequenceCalls.get() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testPrefetchThread() throws Exception {
+		final PooledConcurrentOptimizer optimizer = new PooledConcurrentOptimizer( Long.class, 4 );
+		final PrefetchCallback callback = new PrefetchCallback( new AtomicLong(), new CompletableFuture<>() );
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			Thread.currentThread().setContextClassLoader( new ClassLoader( contextClassLoader ) { } );
+			for ( int i = 1; i <= 4; i++ ) {
+				assertThat( optimizer.generate( callback ) ).isEqualTo( (long) i );
+			}
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader( contextClassLoader );
+		}
+		// the prefetch thread does not pin the context class loader of the calling thread
+		final Thread thread = callback.prefetchThread.get( 10, TimeUnit.SECONDS );
+		assertThat( thread ).isNotSameAs( Thread.currentThread() );
+		assertThat( thread.isDaemon() ).isTrue();
+		assertThat( thread.getContextClassLoader() ).isNull();
+	}
+
+	private static class PrefetchCallback implements AccessCallback {
+		private final AtomicLong hiValue;
+		private final CompletableFuture<Thread> prefetchThread;
+		private final boolean detached;
+
+		private PrefetchCallback(AtomicLong hiValue, CompletableFuture<Thread> prefetchThread) {
+			this( hiValue, prefetchThread, false );
+		}
+
+		private PrefetchCallback(AtomicLong hiValue, CompletableFuture<Thread> prefetchThread, boolean detached) {
+			this.hiValue = hiValue;
+			this.prefetchThread = prefetchThread;
+			this.detached = detached;
+		}
+
+		@Override
+		public IntegralDataTypeHolder getNextValue() {
+			if ( detached ) {
+				prefetchThread.complete( Thread.currentThread() );
+			}
+			return IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class ).initialize( hiValue.addAndGet( 4 ) );
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+
+		@Override
+		public AccessCallback detachedCallback() {
+			return new PrefetchCallback( hiValue, prefetchThread, true );
+		}
+	}
+
+	public static class SequenceStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			if ( sql.contains( "book_seq" ) ) {
+				sessionSequenceCalls.incrementAndGet();
+			}
+			return sql;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		@GeneratedValue(generator = "book_seq")
+		@SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 4)
+		private Integer id;
+	}
+}
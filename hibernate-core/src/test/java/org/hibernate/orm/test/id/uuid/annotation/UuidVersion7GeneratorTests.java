@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.id.uuid.annotation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.UuidGenerator;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UuidGenerator.Style#VERSION_7}
+ */
+@DomainModel( annotatedClasses = UuidVersion7GeneratorTests.Book.class )
+@SessionFactory
+public class UuidVersion7GeneratorTests {
+	@Test
+	public void basicUseTest(SessionFactoryScope scope) {
+		final List<UUID> ids = new ArrayList<>();
+		scope.inTransaction( (session) -> {
+			for ( int i = 0; i < 10; i++ ) {
+				final Book book = new Book( "edition " + i );
+				session.persist( book );
+				ids.add( book.id );
+			}
+		} );
+
+		assertThat( ids ).isSorted().doesNotHaveDuplicates()
+				.allSatisfy( id -> assertThat( id.version() ).isEqualTo( 7 ) );
+		scope.inTransaction( (session) -> {
+			assertThat( session.find( Book.class, ids.get( 0 ) ).title ).isEqualTo( "edition 0" );
+		} );
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		@UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+		private UUID id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(String title) {
+			this.title = title;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.id.uuid.strategy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+
+import org.hibernate.testing.orm.junit.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link UuidVersion7Strategy}
+ */
+@BaseUnitTest
+public class UuidVersion7StrategyTest {
+
+	@Test
+	public void testLayout() {
+		final long before = System.currentTimeMillis();
+		final UUID uuid = new UuidVersion7Strategy().generateUuid( null );
+		final long after = System.currentTimeMillis();
+
+		assertThat( uuid.version() ).isEqualTo( 7 );
+		assertThat( uuid.variant() ).isEqualTo( 2 );
+		assertThat( uuid.getMostSignificantBits() >>> 16 ).isBetween( before, after );
+	}
+
+	@Test
+	public void testMonotonicWithinMillisecond() {
+		final UuidVersion7Strategy strategy = new UuidVersion7Strategy();
+		// more values than the counter can hold in a single millisecond
+		UUID previous = strategy.generateUuid( null );
+		for ( int i = 0; i < 10_000; i++ ) {
+			final UUID uuid = strategy.generateUuid( null );
+			assertThat( uuid.version() ).isEqualTo( 7 );
+			assertThat( uuid ).isGreaterThan( previous );
+			previous = uuid;
+		}
+	}
+
+	@Test
+	public void testMonotonicUnderContention() throws Exception {
+		final UuidVersion7Strategy strategy = new UuidVersion7Strategy();
+		final int threads = 8;
+		final int count = 20_000;
+
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		try {
+			final List<Future<List<UUID>>> futures = new ArrayList<>();
+			for ( int i = 0; i < threads; i++ ) {
+				futures.add( executor.submit( () -> {
+					final List<UUID> generated = new ArrayList<>( count );
+					for ( int j = 0; j < count; j++ ) {
+						generated.add( strategy.generateUuid( null ) );
+					}
+					return generated;
+				} ) );
+			}
+
+			final Set<UUID> all = new HashSet<>();
+			for ( Future<List<UUID>> future : futures ) {
+				final List<UUID> generated = future.get( 30, TimeUnit.SECONDS );
+				// the values generated by each thread are strictly increasing
+				assertThat( generated ).isSorted().doesNotHaveDuplicates();
+				all.addAll( generated );
+			}
+			// and the values of all the threads are unique, even ignoring the random bits
+			assertThat( all ).hasSize( threads * count );
+			final Set<Long> mostSignificantBits = new HashSet<>();
+			all.forEach( uuid -> mostSignificantBits.add( uuid.getMostSignificantBits() ) );
+			assertThat( mostSignificantBits ).hasSize( threads * count );
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
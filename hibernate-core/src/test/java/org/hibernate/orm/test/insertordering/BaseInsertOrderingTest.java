@@ -89,6 +89,10 @@ abstract class BaseInsertOrderingTest extends BaseSessionFactoryFunctionalTest {
 		}
 	}
 
+	void verifyPreparedStatements(String... expectedSql) {
+		assertThat( connectionProvider.getPreparedSQLStatements() ).containsExactly( expectedSql );
+	}
+
 	void verifyPreparedStatementCount(int expectedBatchCount) {
 		final int realBatchCount = connectionProvider.getPreparedSQLStatements().size();
 		assertThat( realBatchCount )
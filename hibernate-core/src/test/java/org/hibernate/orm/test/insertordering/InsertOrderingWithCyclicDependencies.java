@@ -0,0 +1,171 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.insertordering;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the order of the inserts of entities which depend on each other, or on themselves,
+ * as sorted by {@link org.hibernate.engine.internal.InsertActionSorter}
+ */
+public class InsertOrderingWithCyclicDependencies extends BaseInsertOrderingTest {
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] {
+				Publisher.class,
+				Author.class,
+				Book.class,
+				Review.class,
+				Category.class,
+				Product.class
+		};
+	}
+
+	@Test
+	public void testCycleMixedWithAcyclicEntities() {
+		sessionFactoryScope().inTransaction( session -> {
+			Book previousBook = null;
+			for ( int i = 0; i < 2; i++ ) {
+				final Publisher publisher = new Publisher();
+				session.persist( publisher );
+
+				final Author author = new Author();
+				author.favoriteBook = previousBook;
+				session.persist( author );
+
+				final Book book = new Book();
+				book.author = author;
+				session.persist( book );
+
+				final Review review = new Review();
+				review.book = book;
+				session.persist( review );
+
+				previousBook = book;
+			}
+
+			clearBatches();
+		} );
+
+		// the acyclic entities are grouped, while the inserts of the authors and
+		// books, which depend on each other, keep their original relative order
+		verifyPreparedStatements(
+				"insert into Publisher (name,id) values (?,?)",
+				"insert into Author (favoriteBook_id,name,id) values (?,?,?)",
+				"insert into Book (author_id,title,id) values (?,?,?)",
+				"insert into Author (favoriteBook_id,name,id) values (?,?,?)",
+				"insert into Book (author_id,title,id) values (?,?,?)",
+				"insert into Review (book_id,text,id) values (?,?,?)"
+		);
+	}
+
+	@Test
+	public void testSelfReference() {
+		sessionFactoryScope().inTransaction( session -> {
+			for ( int i = 0; i < 2; i++ ) {
+				final Category category = new Category();
+				session.persist( category );
+
+				final Category subcategory = new Category();
+				subcategory.parent = category;
+				session.persist( subcategory );
+
+				final Product product = new Product();
+				product.category = subcategory;
+				session.persist( product );
+			}
+
+			clearBatches();
+		} );
+
+		// the categories are inserted in their original order, parents first
+		verifyPreparedStatements(
+				"insert into Category (name,parent_id,id) values (?,?,?)",
+				"insert into Product (category_id,name,id) values (?,?,?)"
+		);
+		verifyContainsBatches(
+				new Batch( "insert into Category (name,parent_id,id) values (?,?,?)", 4 ),
+				new Batch( "insert into Product (category_id,name,id) values (?,?,?)", 2 )
+		);
+	}
+
+	@Entity(name = "Publisher")
+	public static class Publisher {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		String name;
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Book favoriteBook;
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		String title;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Author author;
+	}
+
+	@Entity(name = "Review")
+	public static class Review {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		String text;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Book book;
+	}
+
+	@Entity(name = "Category")
+	public static class Category {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Category parent;
+	}
+
+	@Entity(name = "Product")
+	public static class Product {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		Category category;
+	}
+}
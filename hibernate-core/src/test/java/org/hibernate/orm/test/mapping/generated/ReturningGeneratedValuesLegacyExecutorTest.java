@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.mapping.generated;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
+import org.hibernate.engine.jdbc.mutation.MutationExecutor;
+import org.hibernate.engine.jdbc.mutation.OperationResultChecker;
+import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementDetails;
+import org.hibernate.engine.jdbc.mutation.internal.MutationExecutorServiceInitiator;
+import org.hibernate.engine.jdbc.mutation.internal.StandardMutationExecutorService;
+import org.hibernate.engine.jdbc.mutation.spi.MutationExecutorService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.sql.model.MutationOperationGroup;
+import org.hibernate.sql.model.ValuesAnalysis;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.generator.EventType.INSERT;
+import static org.hibernate.generator.EventType.UPDATE;
+
+/**
+ * Tests that the generated values are selected when a {@link MutationExecutor}
+ * does not accept a {@link org.hibernate.engine.jdbc.mutation.GeneratedValuesConsumer}
+ */
+@DomainModel(annotatedClasses = ReturningGeneratedValuesLegacyExecutorTest.Document.class)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "10"),
+				@Setting(
+						name = MutationExecutorServiceInitiator.EXECUTOR_KEY,
+						value = "org.hibernate.orm.test.mapping.generated.ReturningGeneratedValuesLegacyExecutorTest$LegacyMutationExecutorService"
+				)
+		}
+)
+@SessionFactory(statementInspectorClass = SQLStatementInspector.class)
+@RequiresDialect(value = H2Dialect.class, majorVersion = 2)
+public class ReturningGeneratedValuesLegacyExecutorTest {
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Document" ).executeUpdate() );
+	}
+
+	@Test
+	public void testGeneratedValuesAreSelected(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+
+		scope.inTransaction(
+				session -> {
+					final List<Document> documents = new ArrayList<>();
+					for ( int i = 0; i < 3; i++ ) {
+						final Document document = new Document( i, "document " + i );
+						session.persist( document );
+						documents.add( document );
+					}
+					session.flush();
+
+					for ( Document document : documents ) {
+						assertThat( document.status ).isEqualTo( "draft" );
+						assertThat( document.createdAt ).isNotNull();
+						assertThat( document.lastUpdatedAt ).isNotNull();
+						document.title = document.title + " (revised)";
+						document.lastUpdatedAt = null;
+					}
+					session.flush();
+
+					for ( Document document : documents ) {
+						assertThat( document.lastUpdatedAt ).isNotNull();
+					}
+				}
+		);
+
+		// one select per inserted and per updated row
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "select" ) )
+				.hasSize( 6 );
+	}
+
+	public static class LegacyMutationExecutorService implements MutationExecutorService {
+		private final MutationExecutorService wrapped = new StandardMutationExecutorService( 10 );
+
+		@Override
+		public MutationExecutor createExecutor(
+				Supplier<BatchKey> batchKeySupplier,
+				MutationOperationGroup operationGroup,
+				SharedSessionContractImplementor session) {
+			return new LegacyMutationExecutor( wrapped.createExecutor( batchKeySupplier, operationGroup, session ) );
+		}
+	}
+
+	/**
+	 * An executor which does not know about generated values
+	 */
+	private static class LegacyMutationExecutor implements MutationExecutor {
+		private final MutationExecutor wrapped;
+
+		private LegacyMutationExecutor(MutationExecutor wrapped) {
+			this.wrapped = wrapped;
+		}
+
+		@Override
+		public JdbcValueBindings getJdbcValueBindings() {
+			return wrapped.getJdbcValueBindings();
+		}
+
+		@Override
+		public PreparedStatementDetails getPreparedStatementDetails(String tableName) {
+			return wrapped.getPreparedStatementDetails( tableName );
+		}
+
+		@Override
+		public Object execute(
+				Object modelReference,
+				ValuesAnalysis valuesAnalysis,
+				TableInclusionChecker inclusionChecker,
+				OperationResultChecker resultChecker,
+				SharedSessionContractImplementor session) {
+			return wrapped.execute( modelReference, valuesAnalysis, inclusionChecker, resultChecker, session );
+		}
+
+		@Override
+		public void release() {
+			wrapped.release();
+		}
+	}
+
+	@Entity(name = "Document")
+	public static class Document {
+		@Id
+		private Integer id;
+		private String title;
+		@Generated
+		@ColumnDefault("'draft'")
+		private String status;
+		@CurrentTimestamp(event = INSERT, source = SourceType.DB)
+		private Instant createdAt;
+		@CurrentTimestamp(event = { INSERT, UPDATE }, source = SourceType.DB)
+		private Instant lastUpdatedAt;
+
+		public Document() {
+		}
+
+		public Document(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+}
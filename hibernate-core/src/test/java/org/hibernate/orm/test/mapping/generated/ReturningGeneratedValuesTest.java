@@ -0,0 +1,192 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.mapping.generated;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CurrentTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+
+import org.hibernate.testing.jdbc.SQLStatementInspector;
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.RequiresDialect;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hibernate.generator.EventType.INSERT;
+import static org.hibernate.generator.EventType.UPDATE;
+
+/**
+ * Tests for {@link org.hibernate.dialect.Dialect#supportsReturningGeneratedValues()}
+ */
+@DomainModel(
+		annotatedClasses = {
+				ReturningGeneratedValuesTest.Document.class,
+				ReturningGeneratedValuesTest.Report.class
+		}
+)
+@ServiceRegistry(settings = @Setting(name = AvailableSettings.STATEMENT_BATCH_SIZE, value = "10"))
+@SessionFactory(statementInspectorClass = SQLStatementInspector.class)
+@RequiresDialect(value = H2Dialect.class, majorVersion = 2)
+public class ReturningGeneratedValuesTest {
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Document" ).executeUpdate();
+					session.createMutationQuery( "delete from Report" ).executeUpdate();
+				}
+		);
+	}
+
+	@Test
+	public void testBatchedInsertAndUpdate(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+		statementInspector.clear();
+
+		final List<Document> documents = new ArrayList<>();
+		scope.inTransaction(
+				session -> {
+					for ( int i = 0; i < 15; i++ ) {
+						final Document document = new Document( i, "document " + i );
+						session.persist( document );
+						documents.add( document );
+					}
+					session.flush();
+
+					for ( Document document : documents ) {
+						assertThat( document.status ).isEqualTo( "draft" );
+						assertThat( document.createdAt ).isNotNull();
+						assertThat( document.lastUpdatedAt ).isNotNull();
+					}
+
+					for ( Document document : documents ) {
+						document.title = document.title + " (revised)";
+						document.lastUpdatedAt = null;
+					}
+					session.flush();
+
+					for ( Document document : documents ) {
+						assertThat( document.lastUpdatedAt ).isNotNull();
+					}
+				}
+		);
+
+		// the generated values are returned by the inserts and updates
+		assertThat( statementInspector.getSqlQueries() ).noneMatch( sql -> sql.startsWith( "select" ) );
+
+		scope.inTransaction(
+				session -> {
+					for ( Document document : documents ) {
+						final Document loaded = session.find( Document.class, document.id );
+						assertThat( loaded.title ).isEqualTo( document.title );
+						assertThat( loaded.createdAt ).isEqualTo( document.createdAt );
+						assertThat( loaded.lastUpdatedAt ).isEqualTo( document.lastUpdatedAt );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testNonBatchedInsertAndUpdate(SessionFactoryScope scope) {
+		final SQLStatementInspector statementInspector = scope.getStatementInspector( SQLStatementInspector.class );
+
+		scope.inTransaction( session -> session.persist( new Report( 1, "R-1", "first draft" ) ) );
+
+		statementInspector.clear();
+		final Report report = scope.fromTransaction(
+				session -> {
+					final Report created = session.bySimpleNaturalId( Report.class ).load( "R-1" );
+					assertThat( created.status ).isEqualTo( "draft" );
+					assertThat( created.createdAt ).isNotNull();
+
+					created.content = "second draft";
+					created.lastUpdatedAt = null;
+					session.flush();
+					assertThat( created.lastUpdatedAt ).isNotNull();
+					return created;
+				}
+		);
+
+		// only the load of the report, the updated values are returned by the update
+		assertThat( statementInspector.getSqlQueries() )
+				.filteredOn( sql -> sql.startsWith( "select" ) )
+				.hasSize( 1 );
+
+		scope.inTransaction(
+				session -> {
+					final Report loaded = session.find( Report.class, 1 );
+					assertThat( loaded.content ).isEqualTo( "second draft" );
+					assertThat( loaded.lastUpdatedAt ).isEqualTo( report.lastUpdatedAt );
+				}
+		);
+	}
+
+	@Entity(name = "Document")
+	public static class Document {
+		@Id
+		private Integer id;
+		private String title;
+		@Generated
+		@ColumnDefault("'draft'")
+		private String status;
+		@CurrentTimestamp(event = INSERT, source = SourceType.DB)
+		private Instant createdAt;
+		@CurrentTimestamp(event = { INSERT, UPDATE }, source = SourceType.DB)
+		private Instant lastUpdatedAt;
+
+		public Document() {
+		}
+
+		public Document(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+
+	// the natural id prevents the generated values from being processed after a batch
+	@Entity(name = "Report")
+	public static class Report {
+		@Id
+		private Integer id;
+		@NaturalId
+		private String code;
+		private String content;
+		@Generated
+		@ColumnDefault("'draft'")
+		private String status;
+		@CurrentTimestamp(event = INSERT, source = SourceType.DB)
+		private Instant createdAt;
+		@CurrentTimestamp(event = { INSERT, UPDATE }, source = SourceType.DB)
+		private Instant lastUpdatedAt;
+
+		public Report() {
+		}
+
+		public Report(Integer id, String code, String content) {
+			this.id = id;
+			this.code = code;
+			this.content = content;
+		}
+	}
+}
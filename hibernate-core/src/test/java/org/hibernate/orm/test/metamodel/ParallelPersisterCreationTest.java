@@ -0,0 +1,203 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.metamodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Formula;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+import org.hibernate.testing.orm.domain.StandardDomainModel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AvailableSettings#PERSISTER_CREATION_PARALLELISM}
+ */
+public class ParallelPersisterCreationTest {
+
+	@Test
+	public void testParallelCreationMatchesSerialCreation() {
+		final List<String> serial;
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( 1 ) ) {
+			serial = describe( sessionFactory.getMappingMetamodel() );
+		}
+
+		final List<String> parallel;
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( 4 ) ) {
+			parallel = describe( sessionFactory.getMappingMetamodel() );
+		}
+
+		assertThat( serial ).isNotEmpty();
+		assertThat( parallel ).isEqualTo( serial );
+	}
+
+	@Test
+	public void testParallelCreationOfHierarchySharingFormula() {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory(
+				4,
+				metadataSources -> metadataSources.addAnnotatedClasses(
+						Shape.class,
+						Circle.class,
+						Square.class,
+						Triangle.class,
+						Hexagon.class
+				)
+		) ) {
+			sessionFactory.inTransaction( session -> {
+				session.persist( new Circle( 1, "circle" ) );
+				session.persist( new Square( 2, "square" ) );
+				session.persist( new Triangle( 3, "triangle" ) );
+				session.persist( new Hexagon( 4, "hexagon" ) );
+			} );
+			sessionFactory.inTransaction( session -> {
+				assertThat( session.find( Circle.class, 1 ).getNameLength() ).isEqualTo( 6 );
+				assertThat( session.find( Square.class, 2 ).getNameLength() ).isEqualTo( 6 );
+				assertThat( session.find( Triangle.class, 3 ).getNameLength() ).isEqualTo( 8 );
+				assertThat( session.find( Hexagon.class, 4 ).getNameLength() ).isEqualTo( 7 );
+			} );
+		}
+	}
+
+	private static SessionFactoryImplementor buildSessionFactory(int parallelism) {
+		return buildSessionFactory(
+				parallelism,
+				metadataSources -> {
+					StandardDomainModel.GAMBIT.getDescriptor().applyDomainModel( metadataSources );
+					StandardDomainModel.RETAIL.getDescriptor().applyDomainModel( metadataSources );
+					StandardDomainModel.HELPDESK.getDescriptor().applyDomainModel( metadataSources );
+				}
+		);
+	}
+
+	private static SessionFactoryImplementor buildSessionFactory(
+			int parallelism,
+			Consumer<MetadataSources> domainModel) {
+		final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.PERSISTER_CREATION_PARALLELISM, parallelism )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( registry );
+			domainModel.accept( metadataSources );
+			return (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+	}
+
+	private static List<String> describe(MappingMetamodel mappingMetamodel) {
+		final List<String> description = new ArrayList<>();
+		mappingMetamodel.forEachEntityDescriptor(
+				persister -> description.add( describe( persister ) )
+		);
+		mappingMetamodel.forEachCollectionDescriptor(
+				persister -> description.add( describe( persister ) )
+		);
+		description.sort( null );
+		return description;
+	}
+
+	private static String describe(EntityPersister persister) {
+		final StringBuilder description = new StringBuilder( persister.getEntityName() )
+				.append( Arrays.toString( persister.getPropertySpaces() ) )
+				.append( persister.getIdentifierPropertyName() )
+				.append( persister.getIdentifierType().getName() )
+				.append( persister.getNumberOfAttributeMappings() );
+		final String[] propertyNames = persister.getPropertyNames();
+		final Type[] propertyTypes = persister.getPropertyTypes();
+		for ( int i = 0; i < propertyNames.length; i++ ) {
+			description.append( ',' ).append( propertyNames[i] ).append( ':' ).append( propertyTypes[i].getName() );
+		}
+		return description.toString();
+	}
+
+	private static String describe(CollectionPersister persister) {
+		return persister.getRole()
+				+ Arrays.toString( persister.getCollectionSpaces() )
+				+ persister.getKeyType().getName()
+				+ persister.getElementType().getName();
+	}
+
+	@Entity(name = "Shape")
+	public static class Shape {
+		@Id
+		private Integer id;
+		private String name;
+		@Formula("length(name)")
+		private Integer nameLength;
+
+		public Shape() {
+		}
+
+		public Shape(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Integer getNameLength() {
+			return nameLength;
+		}
+	}
+
+	@Entity(name = "Circle")
+	public static class Circle extends Shape {
+		public Circle() {
+		}
+
+		public Circle(Integer id, String name) {
+			super( id, name );
+		}
+	}
+
+	@Entity(name = "Square")
+	public static class Square extends Shape {
+		public Square() {
+		}
+
+		public Square(Integer id, String name) {
+			super( id, name );
+		}
+	}
+
+	@Entity(name = "Triangle")
+	public static class Triangle extends Shape {
+		public Triangle() {
+		}
+
+		public Triangle(Integer id, String name) {
+			super( id, name );
+		}
+	}
+
+	@Entity(name = "Hexagon")
+	public static class Hexagon extends Shape {
+		public Hexagon() {
+		}
+
+		public Hexagon(Integer id, String name) {
+			super( id, name );
+		}
+	}
+}
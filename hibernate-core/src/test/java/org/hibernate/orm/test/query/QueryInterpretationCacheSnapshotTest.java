@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.QueryInterpretationCache;
+import org.hibernate.tool.schema.Action;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AvailableSettings#QUERY_PLAN_CACHE_SNAPSHOT_FILE}
+ */
+public class QueryInterpretationCacheSnapshotTest {
+
+	@Test
+	public void testSnapshotIsUsedToWarmUpCache(@TempDir Path directory) throws Exception {
+		final Path snapshotFile = directory.resolve( "query-plans.bin" );
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( snapshotFile, Person.class ) ) {
+			assertThat( interpretationCache( sessionFactory ).getNumberOfCachedHqlInterpretations() ).isZero();
+			sessionFactory.inTransaction(
+					session -> {
+						session.createQuery( "from Person p where p.name = :name", Person.class )
+								.setParameter( "name", "Gavin" )
+								.getResultList();
+						session.createNativeQuery( "select count(*) from Person where name = ?" )
+								.setParameter( 1, "Gavin" )
+								.getSingleResult();
+					}
+			);
+		}
+		assertThat( snapshotFile ).exists();
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( snapshotFile, Person.class ) ) {
+			awaitHqlInterpretations( interpretationCache( sessionFactory ), 1 );
+			assertThat( interpretationCache( sessionFactory ).getNumberOfCachedHqlInterpretations() ).isEqualTo( 1 );
+		}
+	}
+
+	@Test
+	public void testSnapshotIsIgnoredForDifferentMappingModel(@TempDir Path directory) throws Exception {
+		final Path snapshotFile = directory.resolve( "query-plans.bin" );
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( snapshotFile, Person.class ) ) {
+			sessionFactory.inTransaction(
+					session -> session.createQuery( "from Person", Person.class ).getResultList()
+			);
+		}
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( snapshotFile, Person.class, Address.class ) ) {
+			// give a (wrongly started) warm-up the chance to run
+			Thread.sleep( 200 );
+			assertThat( interpretationCache( sessionFactory ).getNumberOfCachedHqlInterpretations() ).isZero();
+		}
+	}
+
+	@Test
+	public void testUnreadableSnapshotIsIgnored(@TempDir Path directory) throws Exception {
+		final Path snapshotFile = directory.resolve( "query-plans.bin" );
+		Files.write( snapshotFile, new byte[] { 1, 2, 3 } );
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( snapshotFile, Person.class ) ) {
+			sessionFactory.inTransaction(
+					session -> session.createQuery( "from Person", Person.class ).getResultList()
+			);
+		}
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( snapshotFile, Person.class ) ) {
+			awaitHqlInterpretations( interpretationCache( sessionFactory ), 1 );
+		}
+	}
+
+	private static SessionFactoryImplementor buildSessionFactory(Path snapshotFile, Class<?>... entityClasses) {
+		final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.QUERY_PLAN_CACHE_SNAPSHOT_FILE, snapshotFile.toString() )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, Action.CREATE_DROP.getExternalHbm2ddlName() )
+				.build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( registry );
+			for ( Class<?> entityClass : entityClasses ) {
+				metadataSources.addAnnotatedClass( entityClass );
+			}
+			return (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+	}
+
+	private static QueryInterpretationCache interpretationCache(SessionFactoryImplementor sessionFactory) {
+		return sessionFactory.getQueryEngine().getInterpretationCache();
+	}
+
+	private static void awaitHqlInterpretations(QueryInterpretationCache cache, int expected) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 10_000;
+		while ( cache.getNumberOfCachedHqlInterpretations() < expected && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		assertThat( cache.getNumberOfCachedHqlInterpretations() ).isGreaterThanOrEqualTo( expected );
+	}
+
+	@Entity(name = "Person")
+	public static class Person {
+		@Id
+		private Long id;
+		private String name;
+	}
+
+	@Entity(name = "Address")
+	public static class Address {
+		@Id
+		private Long id;
+		private String street;
+	}
+}
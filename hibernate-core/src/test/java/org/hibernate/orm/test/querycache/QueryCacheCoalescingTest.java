@@ -0,0 +1,237 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.CacheMode;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@value AvailableSettings#QUERY_CACHE_STALE_GRACE_PERIOD}
+ * and {@value AvailableSettings#QUERY_CACHE_COALESCING_TIMEOUT}
+ */
+@DomainModel(annotatedClasses = QueryCacheCoalescingTest.Book.class)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_QUERY_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.QUERY_CACHE_STALE_GRACE_PERIOD, value = "10000"),
+				@Setting(name = AvailableSettings.QUERY_CACHE_COALESCING_TIMEOUT, value = "10000"),
+				@Setting(name = AvailableSettings.STATEMENT_INSPECTOR, value = "org.hibernate.orm.test.querycache.QueryCacheCoalescingTest$BlockingStatementInspector")
+		}
+)
+@SessionFactory
+public class QueryCacheCoalescingTest {
+
+	private static final String COUNT_QUERY = "select count(b) from Book b";
+
+	private static final AtomicInteger countQueries = new AtomicInteger();
+	private static volatile Thread blockedThread;
+	private static volatile CountDownLatch blocked;
+	private static volatile CountDownLatch released;
+	private static volatile boolean failBlocked;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		executor = Executors.newFixedThreadPool( 2 );
+		scope.inTransaction(
+				session -> {
+					for ( int i = 1; i <= 3; i++ ) {
+						session.persist( new Book( i, "edition " + i ) );
+					}
+				}
+		);
+		scope.getSessionFactory().getCache().evictQueryRegions();
+		countQueries.set( 0 );
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		if ( released != null ) {
+			released.countDown();
+		}
+		failBlocked = false;
+		executor.shutdownNow();
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Book" ).executeUpdate() );
+	}
+
+	@Test
+	public void testStaleResultsDuringComputation(SessionFactoryScope scope) throws Exception {
+		assertThat( countBooks( scope ) ).isEqualTo( 3 );
+		scope.inTransaction( session -> session.persist( new Book( 4, "edition 4" ) ) );
+
+		final Future<Long> computation = countBooksBlocked( scope );
+		// the previous result is returned while it is being computed again
+		assertThat( countBooks( scope ) ).isEqualTo( 3 );
+
+		released.countDown();
+		assertThat( computation.get( 10, TimeUnit.SECONDS ) ).isEqualTo( 4 );
+		assertThat( countBooks( scope ) ).isEqualTo( 4 );
+		assertThat( countQueries.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testNoStaleResultsAfterChangesInTransaction(SessionFactoryScope scope) throws Exception {
+		assertThat( countBooks( scope ) ).isEqualTo( 3 );
+		scope.inTransaction( session -> session.persist( new Book( 4, "edition 4" ) ) );
+
+		final Future<Long> computation = countBooksBlocked( scope );
+		scope.inTransaction(
+				session -> {
+					session.persist( new Book( 5, "edition 5" ) );
+					assertThat( session.createSelectionQuery( COUNT_QUERY, Long.class )
+										.setCacheable( true )
+										.getSingleResult() ).isEqualTo( 5 );
+				}
+		);
+
+		released.countDown();
+		assertThat( computation.get( 10, TimeUnit.SECONDS ) ).isGreaterThanOrEqualTo( 4 );
+	}
+
+	@Test
+	public void testCoalescedComputation(SessionFactoryScope scope) throws Exception {
+		final Future<Long> computation = countBooksBlocked( scope );
+		final Future<Long> coalesced = executor.submit( () -> countBooks( scope ) );
+		// the second caller waits for the result being computed
+		assertThatThrownBy( () -> coalesced.get( 500, TimeUnit.MILLISECONDS ) ).isInstanceOf( TimeoutException.class );
+
+		released.countDown();
+		assertThat( computation.get( 10, TimeUnit.SECONDS ) ).isEqualTo( 3 );
+		assertThat( coalesced.get( 10, TimeUnit.SECONDS ) ).isEqualTo( 3 );
+		assertThat( countQueries.get() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testNoCoalescingWithComputationNotPut(SessionFactoryScope scope) throws Exception {
+		// the results of a query executed with CacheMode.GET are never put
+		final Future<Long> computation = countBooksBlocked( scope, CacheMode.GET );
+		final Future<Long> uncoalesced = executor.submit( () -> countBooks( scope ) );
+		assertThat( uncoalesced.get( 5, TimeUnit.SECONDS ) ).isEqualTo( 3 );
+
+		released.countDown();
+		assertThat( computation.get( 10, TimeUnit.SECONDS ) ).isEqualTo( 3 );
+		assertThat( countQueries.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void testCoalescedComputationFailing(SessionFactoryScope scope) throws Exception {
+		failBlocked = true;
+		final Future<Long> computation = countBooksBlocked( scope );
+		final Future<Long> coalesced = executor.submit( () -> countBooks( scope ) );
+		assertThatThrownBy( () -> coalesced.get( 500, TimeUnit.MILLISECONDS ) ).isInstanceOf( TimeoutException.class );
+
+		released.countDown();
+		assertThatThrownBy( () -> computation.get( 10, TimeUnit.SECONDS ) ).isInstanceOf( ExecutionException.class );
+		// the second caller stops waiting as soon as the computation fails
+		assertThat( coalesced.get( 5, TimeUnit.SECONDS ) ).isEqualTo( 3 );
+		assertThat( countQueries.get() ).isEqualTo( 2 );
+	}
+
+	private Future<Long> countBooksBlocked(SessionFactoryScope scope) throws InterruptedException {
+		return countBooksBlocked( scope, CacheMode.NORMAL );
+	}
+
+	/**
+	 * Count the books in a thread which blocks just before executing the query,
+	 * until {@link #released}.
+	 */
+	private Future<Long> countBooksBlocked(SessionFactoryScope scope, CacheMode cacheMode)
+			throws InterruptedException {
+		blocked = new CountDownLatch( 1 );
+		released = new CountDownLatch( 1 );
+		final Future<Long> future = executor.submit(
+				() -> {
+					blockedThread = Thread.currentThread();
+					try {
+						return countBooks( scope, cacheMode );
+					}
+					finally {
+						blockedThread = null;
+					}
+				}
+		);
+		assertThat( blocked.await( 10, TimeUnit.SECONDS ) ).isTrue();
+		return future;
+	}
+
+	private static long countBooks(SessionFactoryScope scope) {
+		return countBooks( scope, CacheMode.NORMAL );
+	}
+
+	private static long countBooks(SessionFactoryScope scope, CacheMode cacheMode) {
+		return scope.fromTransaction(
+				session -> session.createSelectionQuery( COUNT_QUERY, Long.class )
+						.setCacheable( true )
+						.setCacheMode( cacheMode )
+						.getSingleResult()
+		);
+	}
+
+	public static class BlockingStatementInspector implements StatementInspector {
+		@Override
+		public String inspect(String sql) {
+			if ( sql.startsWith( "select count(" ) ) {
+				countQueries.incrementAndGet();
+				if ( Thread.currentThread() == blockedThread ) {
+					blocked.countDown();
+					try {
+						released.await( 10, TimeUnit.SECONDS );
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					if ( failBlocked ) {
+						throw new IllegalStateException( "Failing the blocked query" );
+					}
+				}
+			}
+			return sql;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+	}
+}
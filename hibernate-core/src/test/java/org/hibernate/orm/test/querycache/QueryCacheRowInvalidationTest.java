@@ -0,0 +1,180 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.util.List;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.cache.internal.TimestampsCacheEnabledImpl;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@value AvailableSettings#USE_QUERY_CACHE_ROW_INVALIDATION}
+ */
+@DomainModel(annotatedClasses = QueryCacheRowInvalidationTest.Book.class)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_QUERY_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_QUERY_CACHE_ROW_INVALIDATION, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true")
+		}
+)
+@SessionFactory
+public class QueryCacheRowInvalidationTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.persist( new Book( 1, "Hibernate in Action", "Gavin King" ) );
+					session.persist( new Book( 2, "Java Persistence with Hibernate", "Gavin King" ) );
+					session.persist( new Book( 3, "Effective Java", "Joshua Bloch" ) );
+				}
+		);
+		scope.getSessionFactory().getCache().evictQueryRegions();
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction( session -> session.createMutationQuery( "delete from Book" ).executeUpdate() );
+	}
+
+	@Test
+	public void testUpdateOfOtherEntity(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		assertThat( countBooks( scope ) ).isEqualTo( 3 );
+
+		scope.inTransaction( session -> session.find( Book.class, 3 ).title = "Effective Java, Third Edition" );
+
+		statistics.clear();
+		// the entity query does not contain the updated entity
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+		// the scalar query depends on the whole table
+		assertThat( countBooks( scope ) ).isEqualTo( 3 );
+		assertThat( statistics.getQueryCacheMissCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testUpdateOfContainedEntity(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+
+		scope.inTransaction( session -> session.find( Book.class, 1 ).title = "Hibernate in Action, Second Edition" );
+
+		statistics.clear();
+		final List<Book> books = findBooksBy( scope, "Gavin King" );
+		assertThat( statistics.getQueryCacheMissCount() ).isEqualTo( 1 );
+		assertThat( books ).extracting( book -> book.title )
+				.containsExactly( "Hibernate in Action, Second Edition", "Java Persistence with Hibernate" );
+	}
+
+	@Test
+	public void testUpdateOfEntityInSameBucket(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		final int sameBucketId = 1 + TimestampsCacheEnabledImpl.ROW_BUCKETS;
+		scope.inTransaction( session -> session.persist( new Book( sameBucketId, "Java Concurrency in Practice", "Brian Goetz" ) ) );
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+
+		scope.inTransaction( session -> session.find( Book.class, 3 ).title = "Effective Java, Third Edition" );
+		statistics.clear();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+
+		// the timestamps are kept per bucket of identifiers, shared with a contained entity
+		scope.inTransaction( session -> session.find( Book.class, sameBucketId ).title = "JCiP" );
+		statistics.clear();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		assertThat( statistics.getQueryCacheMissCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testDeletion(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+
+		scope.inTransaction( session -> session.remove( session.find( Book.class, 3 ) ) );
+		statistics.clear();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+
+		scope.inTransaction( session -> session.remove( session.find( Book.class, 2 ) ) );
+		statistics.clear();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 1 );
+		assertThat( statistics.getQueryCacheMissCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testInsertAndBulkUpdate(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+
+		scope.inTransaction( session -> session.persist( new Book( 4, "Hibernate Reactive", "Gavin King" ) ) );
+		statistics.clear();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 3 );
+		assertThat( statistics.getQueryCacheMissCount() ).isEqualTo( 1 );
+
+		scope.inTransaction(
+				session -> session.createMutationQuery( "update Book set author = 'Steve Ebersole' where id = 4" )
+						.executeUpdate()
+		);
+		statistics.clear();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		assertThat( statistics.getQueryCacheMissCount() ).isEqualTo( 1 );
+	}
+
+	private static List<Book> findBooksBy(SessionFactoryScope scope, String author) {
+		return scope.fromTransaction(
+				session -> session.createSelectionQuery( "from Book where author = :author order by id", Book.class )
+						.setParameter( "author", author )
+						.setCacheable( true )
+						.getResultList()
+		);
+	}
+
+	private static long countBooks(SessionFactoryScope scope) {
+		return scope.fromTransaction(
+				(SessionImplementor session) -> session.createSelectionQuery( "select count(*) from Book", Long.class )
+						.setCacheable( true )
+						.getSingleResult()
+		);
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+		private String author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, String author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+}
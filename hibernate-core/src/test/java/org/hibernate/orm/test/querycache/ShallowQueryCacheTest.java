@@ -0,0 +1,188 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.querycache;
+
+import java.util.List;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@value AvailableSettings#USE_SHALLOW_QUERY_CACHE}
+ */
+@DomainModel(
+		annotatedClasses = {
+				ShallowQueryCacheTest.Book.class,
+				ShallowQueryCacheTest.Review.class
+		}
+)
+@ServiceRegistry(
+		settings = {
+				@Setting(name = AvailableSettings.USE_SECOND_LEVEL_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_QUERY_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.USE_SHALLOW_QUERY_CACHE, value = "true"),
+				@Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true")
+		}
+)
+@SessionFactory
+public class ShallowQueryCacheTest {
+
+	@BeforeEach
+	public void setUp(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.persist( new Book( 1, "Hibernate in Action", "Gavin King" ) );
+					session.persist( new Book( 2, "Java Persistence with Hibernate", "Gavin King" ) );
+					session.persist( new Book( 3, "Effective Java", "Joshua Bloch" ) );
+					session.persist( new Review( 1, "Excellent" ) );
+				}
+		);
+	}
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Book" ).executeUpdate();
+					session.createMutationQuery( "delete from Review" ).executeUpdate();
+				}
+		);
+		scope.getSessionFactory().getCache().evictAllRegions();
+	}
+
+	@Test
+	public void testEntitiesFromSecondLevelCache(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+
+		statistics.clear();
+		final List<Book> books = findBooksBy( scope, "Gavin King" );
+		assertThat( books ).extracting( book -> book.title )
+				.containsExactly( "Hibernate in Action", "Java Persistence with Hibernate" );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+		assertThat( statistics.getSecondLevelCacheHitCount() ).isEqualTo( 2 );
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testEntitiesMissingFromSecondLevelCache(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksBy( scope, "Gavin King" ) ).hasSize( 2 );
+		scope.getSessionFactory().getCache().evictEntityData( Book.class );
+
+		statistics.clear();
+		final List<Book> books = findBooksBy( scope, "Gavin King" );
+		assertThat( books ).extracting( book -> book.title )
+				.containsExactly( "Hibernate in Action", "Java Persistence with Hibernate" );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+		// the missing entities are loaded in a single batch
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void testEntitiesAndScalars(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findBooksAndTitles( scope ) ).hasSize( 3 );
+
+		statistics.clear();
+		final List<Object[]> results = findBooksAndTitles( scope );
+		assertThat( results ).hasSize( 3 );
+		for ( Object[] result : results ) {
+			assertThat( ( (Book) result[0] ).title ).isEqualTo( result[1] );
+		}
+		assertThat( results.get( 2 )[2] ).isEqualTo( "Joshua Bloch" );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testNonCacheableEntity(SessionFactoryScope scope) {
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		assertThat( findReviews( scope ) ).hasSize( 1 );
+
+		statistics.clear();
+		assertThat( findReviews( scope ) ).extracting( review -> review.text ).containsExactly( "Excellent" );
+		assertThat( statistics.getQueryCacheHitCount() ).isEqualTo( 1 );
+		assertThat( statistics.getPrepareStatementCount() ).isEqualTo( 0 );
+	}
+
+	private static List<Book> findBooksBy(SessionFactoryScope scope, String author) {
+		return scope.fromTransaction(
+				session -> session.createSelectionQuery( "from Book where author = :author order by id", Book.class )
+						.setParameter( "author", author )
+						.setCacheable( true )
+						.getResultList()
+		);
+	}
+
+	private static List<Object[]> findBooksAndTitles(SessionFactoryScope scope) {
+		return scope.fromTransaction(
+				session -> session.createSelectionQuery( "select b, b.title, b.author from Book b order by b.id", Object[].class )
+						.setCacheable( true )
+						.getResultList()
+		);
+	}
+
+	private static List<Review> findReviews(SessionFactoryScope scope) {
+		return scope.fromTransaction(
+				session -> session.createSelectionQuery( "from Review", Review.class )
+						.setCacheable( true )
+						.getResultList()
+		);
+	}
+
+	@Entity(name = "Book")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Book {
+		@Id
+		private Integer id;
+		private String title;
+		private String author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, String title, String author) {
+			this.id = id;
+			this.title = title;
+			this.author = author;
+		}
+	}
+
+	@Entity(name = "Review")
+	public static class Review {
+		@Id
+		private Integer id;
+		private String text;
+
+		public Review() {
+		}
+
+		public Review(Integer id, String text) {
+			this.id = id;
+			this.text = text;
+		}
+	}
+}
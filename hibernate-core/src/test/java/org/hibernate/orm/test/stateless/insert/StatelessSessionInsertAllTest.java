@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.test.stateless.insert;
+
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.orm.junit.DomainModel;
+import org.hibernate.testing.orm.junit.ServiceRegistry;
+import org.hibernate.testing.orm.junit.SessionFactory;
+import org.hibernate.testing.orm.junit.SessionFactoryScope;
+import org.hibernate.testing.orm.junit.Setting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests {@link org.hibernate.StatelessSession#insertAll}
+ */
+@DomainModel(
+		annotatedClasses = {
+				StatelessSessionInsertAllTest.Parent.class,
+				StatelessSessionInsertAllTest.Child.class,
+				StatelessSessionInsertAllTest.Event.class
+		}
+)
+@ServiceRegistry(settings = @Setting(name = AvailableSettings.GENERATE_STATISTICS, value = "true"))
+@SessionFactory
+public class StatelessSessionInsertAllTest {
+
+	private static final int COUNT = 120;
+
+	@AfterEach
+	public void tearDown(SessionFactoryScope scope) {
+		scope.inTransaction(
+				session -> {
+					session.createMutationQuery( "delete from Child" ).executeUpdate();
+					session.createMutationQuery( "delete from Parent" ).executeUpdate();
+					session.createMutationQuery( "delete from Event" ).executeUpdate();
+				}
+		);
+	}
+
+	@Test
+	public void testInsertAll(SessionFactoryScope scope) {
+		final List<Object> entities = new ArrayList<>();
+		final List<Parent> parents = new ArrayList<>();
+		for ( int i = 0; i < COUNT; i++ ) {
+			final Parent parent = new Parent( "parent " + i );
+			parents.add( parent );
+			entities.add( parent );
+		}
+		for ( int i = 0; i < COUNT; i++ ) {
+			entities.add( new Child( parents.get( i ) ) );
+		}
+
+		final Statistics statistics = scope.getSessionFactory().getStatistics();
+		statistics.clear();
+		scope.inStatelessTransaction(
+				session -> {
+					session.insertAll( entities );
+					assertThat( session.getJdbcBatchSize() ).isNull();
+					// the rows are in the database when insertAll() returns
+					assertThat( session.createSelectionQuery( "select count(*) from Child", Long.class )
+										.getSingleResult() ).isEqualTo( COUNT );
+				}
+		);
+
+		// the inserts were batched, rather than each prepared and executed
+		assertThat( statistics.getPrepareStatementCount() ).isLessThan( COUNT );
+		for ( Parent parent : parents ) {
+			assertThat( parent.id ).isNotNull();
+		}
+
+		scope.inStatelessSession(
+				session -> {
+					final List<Child> children = session.createSelectionQuery(
+							"from Child c join fetch c.parent order by c.id",
+							Child.class
+					).getResultList();
+					assertThat( children ).hasSize( COUNT );
+					for ( int i = 0; i < COUNT; i++ ) {
+						assertThat( children.get( i ).parent.name ).isEqualTo( "parent " + i );
+					}
+				}
+		);
+	}
+
+	@Test
+	public void testInsertAllWithIdentity(SessionFactoryScope scope) {
+		final List<Event> events = new ArrayList<>();
+		for ( int i = 0; i < 10; i++ ) {
+			events.add( new Event( "event " + i ) );
+		}
+
+		scope.inStatelessTransaction( session -> session.insertAll( events ) );
+
+		for ( Event event : events ) {
+			assertThat( event.id ).isNotNull();
+		}
+		scope.inStatelessSession(
+				session -> assertThat( session.createSelectionQuery( "select count(*) from Event", Long.class )
+											.getSingleResult() ).isEqualTo( 10L )
+		);
+	}
+
+	@Entity(name = "Parent")
+	public static class Parent {
+		@Id
+		@GeneratedValue
+		private Long id;
+		private String name;
+
+		public Parent() {
+		}
+
+		public Parent(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "Child")
+	public static class Child {
+		@Id
+		@GeneratedValue
+		private Long id;
+		@ManyToOne
+		private Parent parent;
+
+		public Child() {
+		}
+
+		public Child(Parent parent) {
+			this.parent = parent;
+		}
+	}
+
+	@Entity(name = "Event")
+	public static class Event {
+		@Id
+		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Long id;
+		private String name;
+
+		public Event() {
+		}
+
+		public Event(String name) {
+			this.name = name;
+		}
+	}
+}
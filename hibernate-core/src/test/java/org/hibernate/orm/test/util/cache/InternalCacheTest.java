@@ -0,0 +1,157 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.test.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.HibernateException;
+import org.hibernate.internal.util.cache.InternalCache;
+import org.hibernate.internal.util.cache.InternalCacheEviction;
+import org.hibernate.internal.util.cache.TinyLfuInternalCache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InternalCacheTest {
+
+	@ParameterizedTest
+	@EnumSource(InternalCacheEviction.class)
+	public void testPutAndGet(InternalCacheEviction eviction) {
+		final InternalCache<String, String> cache = eviction.createCache( 100 );
+		assertNull( cache.get( "a" ) );
+		cache.put( "a", "1" );
+		assertEquals( "1", cache.get( "a" ) );
+		cache.put( "a", "2" );
+		assertEquals( "2", cache.get( "a" ) );
+		assertEquals( 1, cache.heldElementsEstimate() );
+	}
+
+	@ParameterizedTest
+	@EnumSource(InternalCacheEviction.class)
+	public void testComputeIfAbsent(InternalCacheEviction eviction) {
+		final InternalCache<String, String> cache = eviction.createCache( 100 );
+		assertEquals( "A", cache.computeIfAbsent( "a", key -> key.toUpperCase() ) );
+		assertEquals( "A", cache.computeIfAbsent( "a", key -> "not called" ) );
+	}
+
+	@ParameterizedTest
+	@EnumSource(InternalCacheEviction.class)
+	public void testClear(InternalCacheEviction eviction) {
+		final InternalCache<Integer, Integer> cache = eviction.createCache( 100 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, i );
+		}
+		cache.clear();
+		assertEquals( 0, cache.heldElementsEstimate() );
+		assertNull( cache.get( 1 ) );
+	}
+
+	@Test
+	public void testTinyLfuUsableAfterClear() {
+		final TinyLfuInternalCache<Integer, Integer> cache = new TinyLfuInternalCache<>( 10 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, i );
+		}
+		cache.clear();
+		for ( int i = 0; i < 10; i++ ) {
+			cache.put( i, i );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			assertEquals( i, cache.get( i ) );
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(InternalCacheEviction.class)
+	public void testBounded(InternalCacheEviction eviction) {
+		final InternalCache<Integer, Integer> cache = eviction.createCache( 100 );
+		for ( int i = 0; i < 10_000; i++ ) {
+			cache.put( i, i );
+		}
+		assertTrue( cache.heldElementsEstimate() <= 100, "Cache holds " + cache.heldElementsEstimate() );
+	}
+
+	@Test
+	public void testTinyLfuKeepsFrequentlyUsedEntriesDuringScan() {
+		final TinyLfuInternalCache<String, String> cache = new TinyLfuInternalCache<>( 100 );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( "hot" + i, "hot" );
+		}
+		for ( int round = 0; round < 5; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				cache.get( "hot" + i );
+			}
+		}
+
+		// a burst of one-off entries, 10 times the size of the cache
+		for ( int i = 0; i < 1_000; i++ ) {
+			cache.put( "cold" + i, "cold" );
+		}
+
+		int retained = 0;
+		for ( int i = 0; i < 50; i++ ) {
+			if ( cache.get( "hot" + i ) != null ) {
+				retained++;
+			}
+		}
+		assertTrue( retained >= 45, "Only " + retained + " of the 50 hot entries were retained" );
+		assertTrue( cache.heldElementsEstimate() <= 100 );
+	}
+
+	@Test
+	public void testTinyLfuConcurrentAccess() throws Exception {
+		final TinyLfuInternalCache<Integer, Integer> cache = new TinyLfuInternalCache<>( 256 );
+		final ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for ( int t = 0; t < 8; t++ ) {
+				futures.add( executor.submit( () -> {
+					final ThreadLocalRandom random = ThreadLocalRandom.current();
+					for ( int i = 0; i < 100_000; i++ ) {
+						// skewed towards low keys
+						final int key = random.nextInt( 1 + random.nextInt( 2_000 ) );
+						final Integer value = cache.computeIfAbsent( key, k -> k );
+						assertEquals( key, value );
+						if ( i % 10_000 == 0 ) {
+							cache.put( key, key );
+						}
+					}
+				} ) );
+			}
+			for ( Future<?> future : futures ) {
+				future.get( 60, TimeUnit.SECONDS );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertTrue( cache.heldElementsEstimate() <= 256, "Cache holds " + cache.heldElementsEstimate() );
+	}
+
+	@Test
+	public void testInterpretSetting() {
+		assertSame( InternalCacheEviction.LIRS, InternalCacheEviction.interpret( null ) );
+		assertSame( InternalCacheEviction.LIRS, InternalCacheEviction.interpret( "lirs" ) );
+		assertSame( InternalCacheEviction.TINY_LFU, InternalCacheEviction.interpret( "tinylfu" ) );
+		assertSame( InternalCacheEviction.TINY_LFU, InternalCacheEviction.interpret( "TINY_LFU" ) );
+		assertSame( InternalCacheEviction.TINY_LFU, InternalCacheEviction.interpret( InternalCacheEviction.TINY_LFU ) );
+		assertThrows( HibernateException.class, () -> InternalCacheEviction.interpret( "fifo" ) );
+	}
+}
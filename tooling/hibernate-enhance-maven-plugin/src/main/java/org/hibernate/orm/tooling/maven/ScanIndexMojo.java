@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.orm.tooling.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import org.hibernate.boot.archive.scan.spi.ScanIndex;
+
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+/**
+ * Writes the {@link ScanIndex} of the classes and resources of the project,
+ * which Hibernate uses in place of scanning the packaged archive at runtime.
+ */
+@Mojo(name = "scan-index", defaultPhase = LifecyclePhase.PROCESS_CLASSES)
+public class ScanIndexMojo extends AbstractMojo {
+
+	@Component
+	private BuildContext buildContext;
+
+	@Parameter(property = "dir", defaultValue = "${project.build.outputDirectory}")
+	private String dir;
+
+	@Override
+	public void execute() throws MojoExecutionException {
+		final File root = new File( dir );
+		if ( !root.isDirectory() ) {
+			getLog().info( "Skipping Hibernate scan index generation since there is no classes dir " + dir );
+			return;
+		}
+
+		final File indexFile = new File( root, ScanIndex.RESOURCE_NAME );
+		if ( !indexFile.getParentFile().isDirectory() && !indexFile.getParentFile().mkdirs() ) {
+			throw new MojoExecutionException( "Unable to create directory for scan index " + indexFile );
+		}
+
+		try ( OutputStream outputStream = buildContext.newFileOutputStream( indexFile ) ) {
+			ScanIndex.write( Collections.singletonList( root.toURI().toURL() ), outputStream );
+		}
+		catch (IOException e) {
+			throw new MojoExecutionException( "Error writing scan index to file [" + indexFile.getAbsolutePath() + "]", e );
+		}
+		getLog().info( "Wrote Hibernate scan index for classes on " + dir );
+	}
+}
@@ -7,6 +7,7 @@
 package org.hibernate.orm.tooling.gradle;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Set;
 
 import org.gradle.api.Action;
@@ -24,10 +25,12 @@ import org.gradle.api.tasks.compile.JavaCompile;
 
 import org.hibernate.orm.tooling.gradle.enhance.EnhancementHelper;
 import org.hibernate.orm.tooling.gradle.metamodel.JpaMetamodelGenerationTask;
+import org.hibernate.orm.tooling.gradle.scan.ScanIndexTask;
 
 import static org.hibernate.orm.tooling.gradle.HibernateOrmSpec.HIBERNATE;
 import static org.hibernate.orm.tooling.gradle.metamodel.JpaMetamodelGenerationTask.COMPILE_META_TASK_NAME;
 import static org.hibernate.orm.tooling.gradle.metamodel.JpaMetamodelGenerationTask.GEN_TASK_NAME;
+import static org.hibernate.orm.tooling.gradle.scan.ScanIndexTask.SCAN_INDEX_TASK_NAME;
 
 /**
  * Hibernate ORM Gradle plugin
@@ -43,6 +46,7 @@ public class HibernateOrmPlugin implements Plugin<Project> {
 
 		prepareEnhancement( ormDsl, project );
 		prepareModelGen( ormDsl, project );
+		prepareScanIndex( ormDsl, project );
 		prepareHbmTransformation( ormDsl, project );
 
 
@@ -152,6 +156,35 @@ public class HibernateOrmPlugin implements Plugin<Project> {
 		} );
 	}
 
+	private void prepareScanIndex(HibernateOrmSpec ormDsl, Project project) {
+		final TaskProvider<ScanIndexTask> scanIndexTaskRef = project.getTasks().register( SCAN_INDEX_TASK_NAME, ScanIndexTask.class, (scanIndexTask) -> {
+			scanIndexTask.onlyIf( (t) -> ormDsl.isScanIndexEnabled() );
+
+			if ( !ormDsl.isScanIndexEnabled() ) {
+				return;
+			}
+
+			final SourceSet sourceSet = ormDsl.getSourceSet().get();
+			scanIndexTask.injectSourceSet( ormDsl.getSourceSet() );
+			scanIndexTask.getOutputDirectory().set( ormDsl.getScanIndex().getOutputDirectory() );
+			// not the `classes` task, which depends on the output of this task
+			scanIndexTask.dependsOn( sourceSet.getOutput().getClassesDirs() );
+			scanIndexTask.dependsOn( sourceSet.getProcessResourcesTaskName() );
+		} );
+
+		project.afterEvaluate( (p) -> {
+			if ( !ormDsl.isScanIndexEnabled() ) {
+				return;
+			}
+
+			// package the index along with the classes of the source-set
+			ormDsl.getSourceSet().get().getOutput().dir(
+					Collections.singletonMap( "builtBy", scanIndexTaskRef ),
+					ormDsl.getScanIndex().getOutputDirectory()
+			);
+		} );
+	}
+
 	private void prepareHbmTransformation(HibernateOrmSpec ormDsl, Project project) {
 
 	}
@@ -21,6 +21,7 @@ import org.gradle.api.tasks.SourceSet;
 
 import org.hibernate.orm.tooling.gradle.enhance.EnhancementSpec;
 import org.hibernate.orm.tooling.gradle.metamodel.JpaMetamodelGenerationSpec;
+import org.hibernate.orm.tooling.gradle.scan.ScanIndexSpec;
 
 /**
  * Main DSL extension for Hibernate ORM.  Available as `project.hibernate`
@@ -34,6 +35,7 @@ public abstract class HibernateOrmSpec implements ExtensionAware {
 
 	private EnhancementSpec enhancementDsl;
 	private JpaMetamodelGenerationSpec jpaMetamodelDsl;
+	private ScanIndexSpec scanIndexDsl;
 
 	private final Property<Boolean> useSameVersion;
 	private final Property<SourceSet> sourceSet;
@@ -41,6 +43,7 @@ public abstract class HibernateOrmSpec implements ExtensionAware {
 
 	private final Provider<EnhancementSpec> enhancementDslAccess;
 	private final Provider<JpaMetamodelGenerationSpec> jpaMetamodelDslAccess;
+	private final Provider<ScanIndexSpec> scanIndexDslAccess;
 
 
 	@Inject
@@ -58,6 +61,7 @@ public abstract class HibernateOrmSpec implements ExtensionAware {
 
 		enhancementDslAccess = project.provider( () -> enhancementDsl );
 		jpaMetamodelDslAccess = project.provider( () -> jpaMetamodelDsl );
+		scanIndexDslAccess = project.provider( () -> scanIndexDsl );
 	}
 
 	private static SourceSet mainSourceSet(Project project) {
@@ -206,6 +210,35 @@ public abstract class HibernateOrmSpec implements ExtensionAware {
 		action.execute( getJpaMetamodel() );
 	}
 
+	/**
+	 * DSL extension for configuring generation of the scan index used by Hibernate in place
+	 * of scanning the archive at runtime.  Also acts as the trigger for opting into the generation
+	 */
+	public ScanIndexSpec getScanIndex() {
+		if ( scanIndexDsl == null ) {
+			scanIndexDsl = getExtensions().create( ScanIndexSpec.DSL_NAME, ScanIndexSpec.class, this, project );
+		}
+		return scanIndexDsl;
+	}
+
+	/**
+	 * Provider access to {@link #getScanIndex()}
+	 */
+	public Provider<ScanIndexSpec> getScanIndexDslAccess() {
+		return scanIndexDslAccess;
+	}
+
+	public boolean isScanIndexEnabled() {
+		return scanIndexDsl != null;
+	}
+
+	/**
+	 * @see #getScanIndex()
+	 */
+	public void scanIndex(Action<ScanIndexSpec> action) {
+		action.execute( getScanIndex() );
+	}
+
 	@Override
 	public abstract ExtensionContainer getExtensions();
 }
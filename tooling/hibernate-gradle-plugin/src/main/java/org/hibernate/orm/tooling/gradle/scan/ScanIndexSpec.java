@@ -0,0 +1,51 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.tooling.gradle.scan;
+
+import javax.inject.Inject;
+
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+
+import org.hibernate.orm.tooling.gradle.HibernateOrmSpec;
+
+/**
+ * DSL extension for configuring the generation of the scan index - available
+ * as `project.hibernate.scanIndex`
+ *
+ * @see org.hibernate.boot.archive.scan.spi.ScanIndex
+ */
+public class ScanIndexSpec {
+	public static final String SCAN_INDEX = "scanIndex";
+	public static final String DSL_NAME = SCAN_INDEX;
+
+	private final Project project;
+
+	private final DirectoryProperty outputDirectory;
+
+	@Inject
+	public ScanIndexSpec(HibernateOrmSpec ormDsl, Project project) {
+		this.project = project;
+
+		outputDirectory = project.getObjects().directoryProperty();
+		outputDirectory.convention(
+				project.getLayout().getBuildDirectory().dir( "generated/resources/" + SCAN_INDEX )
+		);
+	}
+
+	/**
+	 * The directory to which the index is written.  It is added to the output of
+	 * the source-set, so that the index is packaged along with the classes
+	 */
+	public DirectoryProperty getOutputDirectory() {
+		return outputDirectory;
+	}
+
+	public void outputDirectory(Object ref) {
+		outputDirectory.set( project.file( ref ) );
+	}
+}
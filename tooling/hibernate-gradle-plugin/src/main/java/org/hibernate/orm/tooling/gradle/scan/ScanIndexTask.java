@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.orm.tooling.gradle.scan;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetOutput;
+import org.gradle.api.tasks.TaskAction;
+
+import org.hibernate.boot.archive.scan.spi.ScanIndex;
+
+import static org.hibernate.orm.tooling.gradle.HibernateOrmSpec.HIBERNATE;
+
+/**
+ * Writes the {@link ScanIndex} of the classes and resources of the source-set,
+ * so that Hibernate does not need to scan the packaged archive at runtime
+ */
+public class ScanIndexTask extends DefaultTask {
+	public static final String SCAN_INDEX_TASK_NAME = "generateHibernateScanIndex";
+
+	private final Property<SourceSet> sourceSetProperty;
+
+	private final DirectoryProperty outputDirectory;
+
+	@Inject
+	public ScanIndexTask() {
+		setGroup( HIBERNATE );
+		setDescription( "Generates the index used by Hibernate in place of scanning the archive" );
+
+		sourceSetProperty = getProject().getObjects().property( SourceSet.class );
+
+		outputDirectory = getProject().getObjects().directoryProperty();
+	}
+
+	public void injectSourceSet(Provider<SourceSet> sourceSetAccess) {
+		sourceSetProperty.set( sourceSetAccess );
+	}
+
+	@OutputDirectory
+	public DirectoryProperty getOutputDirectory() {
+		return outputDirectory;
+	}
+
+	@InputFiles
+	@SkipWhenEmpty
+	public FileCollection getSources() {
+		// not SourceSetOutput as a whole, which includes the output of this task
+		final SourceSetOutput output = sourceSetProperty.get().getOutput();
+		return output.getClassesDirs().plus( getProject().files( output.getResourcesDir() ) );
+	}
+
+	@TaskAction
+	public void generateScanIndex() {
+		final List<URL> archiveUrls = new ArrayList<>();
+		for ( File dir : getSources() ) {
+			if ( dir.isDirectory() ) {
+				try {
+					archiveUrls.add( dir.toURI().toURL() );
+				}
+				catch (MalformedURLException e) {
+					throw new GradleException( "Could not interpret directory as URL : " + dir, e );
+				}
+			}
+		}
+
+		final File indexFile = new File( outputDirectory.get().getAsFile(), ScanIndex.RESOURCE_NAME );
+		try {
+			Files.createDirectories( indexFile.getParentFile().toPath() );
+			try ( OutputStream outputStream = new BufferedOutputStream( Files.newOutputStream( indexFile.toPath() ) ) ) {
+				ScanIndex.write( archiveUrls, outputStream );
+			}
+		}
+		catch (IOException e) {
+			throw new GradleException( "Could not write scan index : " + indexFile, e );
+		}
+	}
+}